@@ -18,28 +18,32 @@
 package org.nexial.commons.utils;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.DirectoryFileFilter;
-import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.core.utils.ConsoleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 import javax.validation.constraints.NotNull;
 
 import static java.io.File.separator;
+import static java.nio.file.FileVisitResult.CONTINUE;
 import static org.apache.commons.io.comparator.LastModifiedFileComparator.LASTMODIFIED_COMPARATOR;
 import static org.apache.commons.io.comparator.LastModifiedFileComparator.LASTMODIFIED_REVERSE;
 import static org.apache.commons.io.comparator.NameFileComparator.NAME_COMPARATOR;
@@ -149,48 +153,48 @@ public final class FileUtil {
         return deleted;
     }
 
+    /**
+     * list the files under {@code directory} (or also its sub-directories, if {@code recursive}) with file name
+     * matching {@code filenameRegex}. The directory tree is walked once, matching each file by the attributes read
+     * during the walk; unreadable sub-directories are skipped.
+     */
     @NotNull
     public static List<File> listFiles(String directory, final String filenameRegex, final boolean recursive) {
-        if (StringUtils.isBlank(directory)) { return new ArrayList<>(); }
-
-        final File path = new File(directory);
-        final boolean detectAllFiles = StringUtils.isBlank(filenameRegex);
-
-        IOFileFilter fileFilter = new IOFileFilter() {
-            public boolean accept(File file) {
-                // for windows, we want to compare the file name case-insensitively
-                return file.isFile() &&
-                       (detectAllFiles || RegexUtils.match(file.getName(), filenameRegex, false, !IS_OS_WINDOWS));
-            }
-
-            public boolean accept(File dir, String name) {
-                boolean isSamePath = dir.getAbsolutePath().equals(path.getAbsolutePath());
-                if (detectAllFiles) {
-                    return recursive ?
-                           StringUtils.startsWith(dir.getAbsolutePath(), path.getAbsolutePath()) :
-                           isSamePath;
-                }
+        List<File> files = new ArrayList<>();
+        if (StringUtils.isBlank(directory)) { return files; }
 
-                // for windows, we want to compare the file name case-insensitively
-                boolean matched = RegexUtils.match(name, filenameRegex, false, !IS_OS_WINDOWS);
-                return recursive ? matched : isSamePath && matched;
-            }
-        };
-
-        IOFileFilter dirFilter =
-            recursive ?
-            DirectoryFileFilter.INSTANCE :
-            new IOFileFilter() {
-                public boolean accept(File file) {
-                    return file.isAbsolute() && file.getAbsoluteFile().equals(path.getAbsoluteFile());
-                }
+        Path path = Paths.get(directory);
+        if (!Files.isDirectory(path)) { return files; }
 
-                public boolean accept(File dir, String name) { return name.equals(path.getName()); }
-            };
+        boolean detectAllFiles = StringUtils.isBlank(filenameRegex);
+        try {
+            Files.walkFileTree(path, EnumSet.noneOf(FileVisitOption.class), recursive ? Integer.MAX_VALUE : 1,
+                               new SimpleFileVisitor<Path>() {
+                                   @Override
+                                   public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                                       boolean isFile = attrs.isRegularFile() ||
+                                                        attrs.isSymbolicLink() && Files.isRegularFile(file);
+                                       // for windows, we want to compare the file name case-insensitively
+                                       if (isFile &&
+                                           (detectAllFiles || RegexUtils.match(file.getFileName().toString(),
+                                                                               filenameRegex,
+                                                                               false,
+                                                                               !IS_OS_WINDOWS))) {
+                                           files.add(file.toFile());
+                                       }
+                                       return CONTINUE;
+                                   }
+
+                                   @Override
+                                   public FileVisitResult visitFileFailed(Path file, IOException e) {
+                                       ConsoleUtils.error("Unable to access " + file + ": " + e.getMessage());
+                                       return CONTINUE;
+                                   }
+                               });
+        } catch (IOException e) {
+            ConsoleUtils.error("Unable to list files in " + directory + ": " + e.getMessage());
+        }
 
-        Collection<File> matched = FileUtils.listFiles(path, fileFilter, dirFilter);
-        List<File> files = new ArrayList<>();
-        matched.stream().filter(Objects::nonNull).forEach(files::add);
         return files;
     }
 
@@ -421,6 +425,11 @@ public final class FileUtil {
     }
 
     public static void zip(String filePattern, String targetZipFile) throws IOException {
+        zip(filePattern, targetZipFile, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** zip the files matching {@code filePattern}, compressing up to {@code threads} files at the same time */
+    public static void zip(String filePattern, String targetZipFile, int threads) throws IOException {
         if (StringUtils.isBlank(filePattern)) { throw new IOException("Invalid filePattern: " + filePattern); }
         if (StringUtils.isBlank(targetZipFile)) { throw new IOException("Invali target ZIP file: " + targetZipFile); }
 
@@ -458,59 +467,35 @@ public final class FileUtil {
 
         List<File> compressCandidates = listFiles(dir, files, true);
 
-        // create byte buffer
-        byte[] buffer = new byte[1024 * 8];
-
-        FileOutputStream fos = null;
-        ZipOutputStream zos = null;
-        FileInputStream fis = null;
-
-        try {
-            fos = FileUtils.openOutputStream(new File(targetZipFile));
-            zos = new ZipOutputStream(fos);
-
-            for (File candidate : compressCandidates) {
-                fis = new FileInputStream(candidate);
-
-                // begin writing a new ZIP entry, positions the stream to the start of the entry data
-                String fullpath = candidate.getAbsolutePath();
-                String entryName = StringUtils.substringAfter(fullpath, dir);
-                zos.putNextEntry(new ZipEntry(entryName));
-
-                int length;
-                while ((length = fis.read(buffer)) > 0) { zos.write(buffer, 0, length); }
-
-                zos.closeEntry();
-
-                // close the InputStream
-                fis.close();
-                fis = null;
-            }
-        } finally {
-            if (fis != null) {
+        // files are compressed concurrently (each into its own scatter store), then written to the zip one by one
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        ParallelScatterZipCreator zipCreator = new ParallelScatterZipCreator(executor);
+        for (File candidate : compressCandidates) {
+            String fullpath = candidate.getAbsolutePath();
+            ZipArchiveEntry entry = new ZipArchiveEntry(StringUtils.substringAfter(fullpath, dir));
+            entry.setMethod(ZipEntry.DEFLATED);
+            entry.setTime(candidate.lastModified());
+            zipCreator.addArchiveEntry(entry, () -> {
                 try {
-                    fis.close();
+                    return Files.newInputStream(candidate.toPath());
                 } catch (IOException e) {
-                    ConsoleUtils.error("Error closing candidate input stream: " + e.getMessage());
+                    throw new UncheckedIOException(e);
                 }
-            }
-
-            // close the ZipOutputStream
-            if (zos != null) {
-                try {
-                    zos.close();
-                } catch (IOException e) {
-                    ConsoleUtils.error("Error closing zip output stream: " + e.getMessage());
-                }
-            }
+            });
+        }
 
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {
-                    ConsoleUtils.error("Error closing file output stream: " + e.getMessage());
-                }
-            }
+        File target = new File(targetZipFile);
+        FileUtils.forceMkdirParent(target);
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(target)) {
+            zipCreator.writeTo(zos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while creating " + targetZipFile, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new IOException("Unable to create " + targetZipFile + ": " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
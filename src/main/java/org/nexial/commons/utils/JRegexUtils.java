@@ -27,8 +27,14 @@ import jregex.Pattern;
 import jregex.Replacer;
 
 public final class JRegexUtils {
+    // no compilation flags are used here
+    private static final PatternCache<Pattern> PATTERNS = new PatternCache<>((regex, flags) -> new Pattern(regex));
+
     private JRegexUtils() {}
 
+    /** cache of all the compiled patterns used via this class, along with their usage statistics */
+    public static PatternCache<Pattern> getPatternCache() { return PATTERNS; }
+
     /**
      * general utility to search on <code >text</code> based on <code >regex</code> and substitute the matches with
      * <code >replace</code>.  The added feature is the multiline consideration for <code >text</code>.
@@ -38,7 +44,7 @@ public final class JRegexUtils {
         if (StringUtils.isEmpty(text)) { return text; }
         if (StringUtils.isEmpty(regex)) { return text; }
 
-        Pattern p = new Pattern(regex);
+        Pattern p = PATTERNS.get(regex, 0);
 
         StringBuilder sb = new StringBuilder();
         String[] lines = StringUtils.split(text, '\n');
@@ -61,7 +67,7 @@ public final class JRegexUtils {
         if (StringUtils.isBlank(text)) { return list; }
         if (StringUtils.isBlank(regex)) { return list; }
 
-        Pattern p = new Pattern(regex);
+        Pattern p = PATTERNS.get(regex, 0);
         Matcher m = p.matcher(text);
 
         // some regex would produce matches and groups
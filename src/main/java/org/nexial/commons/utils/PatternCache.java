@@ -0,0 +1,169 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.commons.utils;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * bounded, thread-safe cache of compiled regular expressions, keyed by regex and compilation flags. When the cache
+ * is full, the least recently used patterns are evicted. Usage counts are kept per pattern (as well as overall
+ * hits, misses and evictions) so that the dominating patterns can be reported.
+ *
+ * @param <P> compiled pattern type, such as {@link java.util.regex.Pattern} or {@link jregex.Pattern}
+ */
+public final class PatternCache<P> {
+    public static final int DEF_MAX_SIZE = 1000;
+
+    private final BiFunction<String, Integer, P> compiler;
+    private final int maxSize;
+    private final Map<Key, Entry<P>> patterns = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PatternCache(BiFunction<String, Integer, P> compiler) { this(compiler, DEF_MAX_SIZE); }
+
+    public PatternCache(BiFunction<String, Integer, P> compiler, int maxSize) {
+        this.compiler = compiler;
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /** compiled form of {@code regex}, compiled only if not already cached. */
+    public P get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Entry<P> entry = patterns.get(key);
+        if (entry != null) {
+            hits.increment();
+            return entry.use();
+        }
+
+        misses.increment();
+        // compile outside of any lock; worst case the same regex is compiled more than once by concurrent threads
+        entry = new Entry<>(compiler.apply(regex, flags));
+        Entry<P> existing = patterns.putIfAbsent(key, entry);
+        if (existing != null) { return existing.use(); }
+
+        if (patterns.size() > maxSize) { evict(); }
+        return entry.use();
+    }
+
+    public long getHitCount() { return hits.sum(); }
+
+    public long getMissCount() { return misses.sum(); }
+
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public int size() { return patterns.size(); }
+
+    public double getHitRate() {
+        long total = getHitCount() + getMissCount();
+        return total == 0 ? 0 : (double) getHitCount() / total;
+    }
+
+    /** the {@code limit} most used patterns (regex and flags) and their usage counts, most used first. */
+    public Map<String, Long> getTopPatterns(int limit) {
+        // snapshot usage counts first, since they might change while sorting
+        List<Map.Entry<String, Long>> usages = new ArrayList<>();
+        patterns.forEach((key, entry) -> usages.add(new SimpleEntry<>(key.toString(), entry.getUsage())));
+        usages.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        usages.stream().limit(limit).forEach(usage -> top.put(usage.getKey(), usage.getValue()));
+        return top;
+    }
+
+    public void clear() {
+        patterns.clear();
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() +
+               ", evictions=" + getEvictionCount();
+    }
+
+    /** remove the least recently used patterns, along with 10% headroom so that eviction is not done on every miss */
+    private synchronized void evict() {
+        int excess = patterns.size() - maxSize;
+        if (excess <= 0) { return; }
+
+        // snapshot last access time first, since they might change while sorting
+        List<Map.Entry<Key, Long>> lastUsed = new ArrayList<>();
+        patterns.forEach((key, entry) -> lastUsed.add(new SimpleEntry<>(key, entry.lastUsed)));
+        lastUsed.sort(Map.Entry.comparingByValue());
+        lastUsed.stream()
+                .limit(excess + maxSize / 10)
+                .forEach(oldest -> { if (patterns.remove(oldest.getKey()) != null) { evictions.increment(); } });
+    }
+
+    private static final class Key {
+        private final String regex;
+        private final int flags;
+        private final int hash;
+
+        private Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+            this.hash = 31 * regex.hashCode() + flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Key)) { return false; }
+            Key key = (Key) o;
+            return flags == key.flags && Objects.equals(regex, key.regex);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+
+        @Override
+        public String toString() { return flags == 0 ? regex : regex + " (flags=" + flags + ")"; }
+    }
+
+    private static final class Entry<P> {
+        private final P pattern;
+        private final LongAdder usage = new LongAdder();
+        private volatile long lastUsed;
+
+        private Entry(P pattern) {
+            this.pattern = pattern;
+            this.lastUsed = System.nanoTime();
+        }
+
+        private P use() {
+            usage.increment();
+            lastUsed = System.nanoTime();
+            return pattern;
+        }
+
+        private long getUsage() { return usage.sum(); }
+    }
+}
@@ -34,9 +34,13 @@ import static java.util.regex.Pattern.*;
  */
 public final class RegexUtils {
     private static final int REGEX_FLAGS = MULTILINE | UNIX_LINES | DOTALL;
+    private static final PatternCache<Pattern> PATTERNS = new PatternCache<>(Pattern::compile);
 
     private RegexUtils() { }
 
+    /** cache of all the compiled patterns used via this class, along with their usage statistics */
+    public static PatternCache<Pattern> getPatternCache() { return PATTERNS; }
+
     /**
      * general utility to search on <code >text</code> based on <code >regex</code> and substitute the matches with
      * <code >replace</code>.  The added feature is the multiline consideration for <code >text</code>.
@@ -47,7 +51,7 @@ public final class RegexUtils {
         if (StringUtils.isEmpty(regex)) { return text; }
 
         replace = StringUtils.defaultString(replace);
-        Pattern p = Pattern.compile(regex, REGEX_FLAGS);
+        Pattern p = compile(regex, REGEX_FLAGS);
 
         StringBuilder sb = new StringBuilder();
         String[] lines = StringUtils.splitPreserveAllTokens(text, '\n');
@@ -77,7 +81,7 @@ public final class RegexUtils {
         if (StringUtils.isEmpty(text)) { return text; }
         if (StringUtils.isEmpty(regex)) { return text; }
 
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(true, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(true, caseSensitive)).matcher(text);
         if (matcher.find()) { return matcher.replaceAll(replace); }
         return text;
     }
@@ -96,7 +100,7 @@ public final class RegexUtils {
         if (StringUtils.isEmpty(regex)) { return true; }
         if (StringUtils.isEmpty(text)) { return false; }
 
-        return Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text).matches();
+        return compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text).matches();
     }
 
     /** "contain" match (instead of exact) */
@@ -119,7 +123,7 @@ public final class RegexUtils {
         // commented out so that we can match empty string via ^$
 //        if (StringUtils.isEmpty(text)) { return false; }
         if (StringUtils.isEmpty(text)) { return StringUtils.equals(regex, "^$"); }
-        return Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text).find();
+        return compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text).find();
     }
 
     /**
@@ -154,7 +158,7 @@ public final class RegexUtils {
         if (!acceptBlank && StringUtils.isBlank(text)) { return list; }
         if (StringUtils.isBlank(regex)) { return list; }
 
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
         if (matcher.matches() && matcher.groupCount() > 0) {
             // always starts with 1 since group 0 represents the "entire" match
             for (int i = 1; i <= matcher.groupCount(); i++) { list.add(matcher.group(i)); }
@@ -176,7 +180,7 @@ public final class RegexUtils {
         if (!acceptBlank && StringUtils.isBlank(text)) { return list; }
         if (StringUtils.isBlank(regex)) { return list; }
 
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
         while (matcher.find()) { list.add(matcher.group()); }
         return list;
     }
@@ -187,7 +191,7 @@ public final class RegexUtils {
         if (StringUtils.isEmpty(text)) { return text; }
         if (StringUtils.isBlank(regex)) { return text; }
 
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
         while (matcher.find()) { text = matcher.replaceAll(""); }
 
         return text;
@@ -201,7 +205,7 @@ public final class RegexUtils {
         if (StringUtils.isBlank(regex)) { return text; }
 
         String retained = "";
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
         while (matcher.find()) {
             MatchResult result = matcher.toMatchResult();
             retained += StringUtils.substring(text, result.start(), result.end());
@@ -219,7 +223,7 @@ public final class RegexUtils {
         if (StringUtils.isEmpty(text)) { return text; }
         if (StringUtils.isBlank(regex)) { return text; }
 
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
         if (matcher.find()) {
             MatchResult result = matcher.toMatchResult();
             return StringUtils.substring(text, result.start(), result.end());
@@ -235,7 +239,7 @@ public final class RegexUtils {
 
         if (StringUtils.isEmpty(text) || StringUtils.isEmpty(regex)) { return extracted; }
 
-        Matcher matcher = Pattern.compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
+        Matcher matcher = compile(regex, deriveRegexFlags(multiline, caseSensitive)).matcher(text);
         while (matcher.find()) {
             MatchResult result = matcher.toMatchResult();
             extracted.add(StringUtils.substring(text, result.start(), result.end()));
@@ -244,6 +248,8 @@ public final class RegexUtils {
         return extracted;
     }
 
+    private static Pattern compile(String regex, int flags) { return PATTERNS.get(regex, flags); }
+
     private static int deriveRegexFlags(boolean multiline, boolean caseSensitive) {
         int flags = multiline ? REGEX_FLAGS : 0;
         if (!caseSensitive) { flags |= CASE_INSENSITIVE; }
@@ -17,7 +17,6 @@
 
 package org.nexial.core;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,12 +28,17 @@ import org.nexial.core.excel.ExcelStyleHelper;
 import org.nexial.core.excel.ext.CellTextReader;
 import org.nexial.core.model.ExecutionDefinition;
 import org.nexial.core.model.ExecutionVariableConsole;
+import org.nexial.core.model.ExecutionVariables;
+import org.nexial.core.model.ExecutionVariables.Scope;
 import org.nexial.core.model.IterationManager;
 import org.nexial.core.model.TestData;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecUtils;
 import org.nexial.core.utils.OutputFileUtils;
+import org.nexial.core.utils.ParsedFileCache;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
@@ -62,6 +66,10 @@ import static org.nexial.core.utils.ExecUtils.IGNORED_CLI_OPT;
  * </ol>
  */
 public class ExecutionInputPrep {
+    /** the output directory of {@code execDef} for the execution of {@code runId} */
+    public static String resolveOutputLocation(ExecutionDefinition execDef, String runId) {
+        return StringUtils.appendIfMissing(execDef.getOutPath(), separator) + runId;
+    }
 
     /** called from {@link ExecutionThread} for each iteration. */
     public static Excel prep(String runId, ExecutionDefinition execDef, int iterationIndex) throws IOException {
@@ -69,9 +77,8 @@ public class ExecutionInputPrep {
         assert execDef != null;
 
         // 1. create output directory structure
-        String outBaseParent = StringUtils.appendIfMissing(execDef.getOutPath(), separator);
-        String outBase = outBaseParent + runId;
-        System.setProperty(OUTPUT_LOCATION, outBase);
+        String outBase = resolveOutputLocation(execDef, runId);
+        ExecutionVariables.setProperty(OUTPUT_LOCATION, outBase, Scope.SCRIPT);
         createSubdirs(runId, outBase);
 
         // 2. copy output file to tmp directory for data merge
@@ -97,41 +104,23 @@ public class ExecutionInputPrep {
         outputFileName = OutputFileUtils.addTestPlan(outputFileName, execDef);
         File outputFile = new File(outputFileName);
 
-        FileUtils.copyFile(testScript, outputFile);
-        System.setProperty(OPT_INPUT_EXCEL_FILE, outputFileName);
-
-        // 3. remove unused sheets
-        List<String> scenarios = execDef.getScenarios();
-        List<Integer> unusedWorksheetIndices = new ArrayList<>();
-        Excel outputExcel = new Excel(outputFile, false, true);
+        ExecutionVariables.setProperty(OPT_INPUT_EXCEL_FILE, outputFileName, Scope.ITERATION);
 
-        // collect the index of all unused worksheets
-        for (Worksheet worksheet : outputExcel.getWorksheetsStartWith("")) {
-            if (!StringUtils.equals(worksheet.getName(), SHEET_SYSTEM) && !scenarios.contains(worksheet.getName())) {
-                unusedWorksheetIndices.add(outputExcel.getWorkbook().getSheetIndex(worksheet.getSheet()));
-            }
-        }
-
-        // remove the latter ones first so that we don't need to deal with shift in positions
-        if (CollectionUtils.isNotEmpty(unusedWorksheetIndices)) {
-            Collections.reverse(unusedWorksheetIndices);
-            for (Integer index : unusedWorksheetIndices) { outputExcel.getWorkbook().removeSheetAt(index); }
-            outputExcel.save();
-            // (2018/12/16,automike): memory consumption precaution
-            outputExcel.close();
-            outputExcel = new Excel(outputFile, false, true);
-        }
+        // 3. clone (in memory) the test script, without the unused sheets
+        Excel outputExcel = new Excel(outputFile, new ByteArrayInputStream(resolveTemplate(execDef, testScript)), true);
 
         // 4. merge expanded test data to output file
         // this is necessary since the output directory (and final output file) could be remote
         // merging test data to remote output file could be time-consuming
-        ConsoleUtils.log(runId, "merging test data to tmp file " + outputFile);
+        ConsoleUtils.log(runId, "merging test data to " + outputFile);
 
         // we are no longer concerned with remote file access. The best practice to follow is NOT to use remote fs
         TestData testData = execDef.getTestData();
         if (testData == null || testData.getSettingAsBoolean(REFETCH_DATA_FILE)) {
             testData = execDef.getTestData(true);
         }
+        testData.getScriptReferenceData()
+                .forEach((name, value) -> ExecutionVariables.setProperty(name, value, Scope.SCRIPT));
         if (!ExecUtils.isRunningInZeroTouchEnv()) {
             testData = new ExecutionVariableConsole().processRuntimeVariables(testData, iterationIndex);
         }
@@ -154,12 +143,9 @@ public class ExecutionInputPrep {
             }
         }
 
-        // save it before use it
-        outputExcel.save();
-        // (2018/12/16,automike): memory consumption precaution
-        outputExcel.close();
-
-        return new Excel(outputFile, false, true);
+        // the merged test script is not saved here; it is written to `outputFile` as the execution results are
+        // saved (i.e. at the end of the iteration)
+        return outputExcel;
     }
 
     public static boolean isTestStepDisabled(List<XSSFCell> row) {
@@ -208,6 +194,38 @@ public class ExecutionInputPrep {
         return true;
     }
 
+    /**
+     * the content of {@code testScript}, with only the sheets needed by {@code execDef}. The content is prepared once
+     * and reused by all the iterations and plan rows of the same test script and scenarios, as long as the test
+     * script remains unchanged (e.g. in interactive mode).
+     */
+    private static byte[] resolveTemplate(ExecutionDefinition execDef, File testScript) throws IOException {
+        List<String> scenarios = execDef.getScenarios();
+        return ParsedFileCache.get(testScript, "template:" + scenarios, (file, content) -> {
+            Excel excel = new Excel(file, new ByteArrayInputStream(content), false);
+            try {
+                // collect the index of all unused worksheets
+                List<Integer> unusedWorksheetIndices = new ArrayList<>();
+                for (Worksheet worksheet : excel.getWorksheetsStartWith("")) {
+                    if (!StringUtils.equals(worksheet.getName(), SHEET_SYSTEM) &&
+                        !scenarios.contains(worksheet.getName())) {
+                        unusedWorksheetIndices.add(excel.getWorkbook().getSheetIndex(worksheet.getSheet()));
+                    }
+                }
+
+                // remove the latter ones first so that we don't need to deal with shift in positions
+                Collections.reverse(unusedWorksheetIndices);
+                for (Integer index : unusedWorksheetIndices) { excel.getWorkbook().removeSheetAt(index); }
+
+                ByteArrayOutputStream template = new ByteArrayOutputStream(content.length);
+                excel.getWorkbook().write(template);
+                return template.toByteArray();
+            } finally {
+                excel.close();
+            }
+        });
+    }
+
     private static Excel mergeTestData(Excel excel, TestData testData, int iterationIndex) {
         XSSFSheet dataSheet = excel.getWorkbook().createSheet(SHEET_MERGED_DATA);
 
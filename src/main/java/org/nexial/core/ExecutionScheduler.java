@@ -0,0 +1,232 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionSummary;
+import org.nexial.core.utils.ConsoleUtils;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.NexialConst.Data.*;
+import static org.nexial.core.NexialConst.Exec.*;
+import static org.nexial.core.NexialConst.ExitStatus.OUTPUT_LOCATION;
+import static org.nexial.core.NexialConst.LogMessage.*;
+import static org.nexial.core.SystemVariables.getDefault;
+import static org.nexial.core.SystemVariables.getDefaultInt;
+
+/**
+ * schedules the {@link ExecutionDefinition}s of an execution (i.e. the steps of one or more test plans) onto
+ * {@link ExecutionThread}s, with a bounded number of scripts running at the same time.
+ * <ul>
+ * <li>the total number of concurrently running scripts is capped by {@code nexial.maxParallelScripts}.</li>
+ * <li>each script is tagged by the type of resources it consumes - {@code ui} for scripts automating browser,
+ * desktop or mobile applications, {@code api} for everything else. Each type has its own cap
+ * ({@code nexial.maxParallelScripts.ui} and {@code nexial.maxParallelScripts.api}) so that a few heavy UI scripts
+ * would not starve the lighter API scripts queued behind them.</li>
+ * <li>a serial step (i.e. {@code wait=true}) acts as a barrier: it is only started after all the steps before it
+ * have been started, and no subsequent step is started until it completes. Its post-execution data is carried
+ * over to the subsequent steps.</li>
+ * </ul>
+ * Completion of each {@link ExecutionThread} is signalled back to this scheduler (no polling). The execution
+ * summaries are returned in plan order regardless of the order in which the scripts completed.
+ */
+final class ExecutionScheduler {
+    private final String runId;
+    private final List<ExecutionDefinition> executions;
+    private final int maxParallel;
+    private final Map<String, Integer> maxParallelByType = new HashMap<>();
+    private final Map<String, Integer> runningByType = new HashMap<>();
+    private final Map<ExecutionThread, Integer> running = new IdentityHashMap<>();
+    private final BlockingQueue<ExecutionThread> completed = new LinkedBlockingQueue<>();
+    private final ExecutionSummary[] summaries;
+    private final Function<ExecutionDefinition, ExecutionThread> threadFactory;
+
+    // serial execution in progress; nothing else gets started until it completes
+    private ExecutionThread barrier;
+    private Map<String, Object> intraExecution;
+
+    ExecutionScheduler(String runId, List<ExecutionDefinition> executions) {
+        this(runId, executions, exec -> {
+            // re-read data sheets to ensure the latest data being considered
+            exec.getTestData(true);
+            return ExecutionThread.newInstance(exec);
+        });
+    }
+
+    /**
+     * @param threadFactory creates the (yet to be started) {@link ExecutionThread} for each execution
+     */
+    ExecutionScheduler(String runId,
+                       List<ExecutionDefinition> executions,
+                       Function<ExecutionDefinition, ExecutionThread> threadFactory) {
+        this.runId = runId;
+        this.threadFactory = threadFactory;
+        this.executions = executions;
+        this.summaries = new ExecutionSummary[executions.size()];
+        this.maxParallel = resolveLimit(MAX_PARALLEL_SCRIPTS);
+        maxParallelByType.put(RESOURCE_TYPE_UI, resolveLimit(MAX_PARALLEL_UI_SCRIPTS));
+        maxParallelByType.put(RESOURCE_TYPE_API, resolveLimit(MAX_PARALLEL_API_SCRIPTS));
+    }
+
+    /**
+     * derive the resource type of a script based on the command targets (i.e. plugins) it uses.
+     */
+    static String deriveResourceType(Collection<String> targets) {
+        if (CollectionUtils.isEmpty(targets)) { return RESOURCE_TYPE_API; }
+        boolean usesUi = targets.stream()
+                                .anyMatch(target -> UI_TARGETS.contains(StringUtils.lowerCase(StringUtils.trim(target))));
+        return usesUi ? RESOURCE_TYPE_UI : RESOURCE_TYPE_API;
+    }
+
+    /**
+     * run all the scheduled executions and wait for all of them to complete.
+     *
+     * @return the execution summary of each completed script, in plan order
+     */
+    List<ExecutionSummary> execute() throws InterruptedException {
+        LinkedList<Integer> pending = new LinkedList<>();
+        for (int i = 0; i < executions.size(); i++) { pending.add(i); }
+
+        while (true) {
+            dispatch(pending);
+            if (running.isEmpty()) { break; }
+            onComplete(awaitCompletion());
+        }
+
+        List<ExecutionSummary> completedSummaries = new ArrayList<>();
+        for (ExecutionSummary summary : summaries) { if (summary != null) { completedSummaries.add(summary); } }
+        return completedSummaries;
+    }
+
+    /**
+     * start as many pending executions as the available slots allow, in plan order.
+     */
+    private void dispatch(LinkedList<Integer> pending) {
+        boolean skippedAny = false;
+
+        Iterator<Integer> iterator = pending.iterator();
+        while (barrier == null && iterator.hasNext()) {
+            if (BooleanUtils.toBoolean(System.getProperty(LAST_PLAN_STEP, getDefault(LAST_PLAN_STEP)))) {
+                pending.clear();
+                return;
+            }
+
+            int index = iterator.next();
+            ExecutionDefinition exec = executions.get(index);
+            if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
+                ConsoleUtils.log(runId, RB.Abort.text("script.endIf", exec.getTestScript()));
+                iterator.remove();
+                continue;
+            }
+
+            // serial execution must wait for all its predecessors to start
+            if (exec.isSerialMode() && skippedAny) { return; }
+
+            if (!hasAvailableSlot(exec)) {
+                // a serial execution also blocks its successors
+                if (exec.isSerialMode()) { return; }
+                skippedAny = true;
+                continue;
+            }
+
+            iterator.remove();
+            ExecutionThread launcherThread = launch(index, exec);
+            if (exec.isSerialMode()) { barrier = launcherThread; }
+        }
+    }
+
+    private ExecutionThread launch(int index, ExecutionDefinition exec) {
+        exec.setRunId(runId);
+        // the output location of the first script is reported at the end of execution
+        if (index == 0) { System.setProperty(OUTPUT_LOCATION, ExecutionInputPrep.resolveOutputLocation(exec, runId)); }
+
+        String msgPrefix = "[" + exec.getTestScript() + "] ";
+        ConsoleUtils.log(runId, msgPrefix + RESOLVE_RUN_ID + runId);
+
+        ExecutionThread launcherThread = threadFactory.apply(exec);
+        if (index == 0) { launcherThread.setFirstScript(true); }
+        if (index == executions.size() - 1) { launcherThread.setLastScript(true); }
+        if (MapUtils.isNotEmpty(intraExecution)) { launcherThread.setIntraExecutionData(intraExecution); }
+        launcherThread.setCompletionListener(completed::add);
+
+        running.put(launcherThread, index);
+        runningByType.merge(resolveResourceType(exec), 1, Integer::sum);
+
+        ConsoleUtils.log(runId, msgPrefix + NEW_THREAD_STARTED);
+        launcherThread.start();
+        if (!exec.isSerialMode()) { ConsoleUtils.log(runId, msgPrefix + "in progress, proceed to next execution"); }
+
+        return launcherThread;
+    }
+
+    private ExecutionThread awaitCompletion() throws InterruptedException {
+        while (true) {
+            ExecutionThread launcherThread = completed.poll(1, MINUTES);
+            if (launcherThread != null) { return launcherThread; }
+
+            if (BooleanUtils.toBoolean(System.getProperty(OPT_DEVMODE_LOGGING, "false"))) {
+                ConsoleUtils.log(runId, "waiting for " + running.size() + " execution thread(s) to complete...");
+            }
+        }
+    }
+
+    private void onComplete(ExecutionThread launcherThread) throws InterruptedException {
+        // make sure the thread is truly done before harvesting its state
+        launcherThread.join();
+
+        Integer index = running.remove(launcherThread);
+        if (index == null) { return; }
+
+        ExecutionDefinition exec = launcherThread.getExecDef();
+        runningByType.merge(resolveResourceType(exec), -1, Integer::sum);
+        summaries[index] = launcherThread.getExecutionSummary();
+        ConsoleUtils.log(runId, "[" + exec.getTestScript() + "] " + NOW_COMPLETED);
+
+        if (launcherThread == barrier) {
+            // pass the post-execution state of data to the next execution
+            intraExecution = launcherThread.getIntraExecutionData();
+            barrier = null;
+            executions.set(index, null);
+        }
+    }
+
+    private boolean hasAvailableSlot(ExecutionDefinition exec) {
+        if (running.size() >= maxParallel) { return false; }
+        String resourceType = resolveResourceType(exec);
+        return runningByType.getOrDefault(resourceType, 0) < maxParallelByType.get(resourceType);
+    }
+
+    private static String resolveResourceType(ExecutionDefinition exec) {
+        return StringUtils.equals(exec.getResourceType(), RESOURCE_TYPE_UI) ? RESOURCE_TYPE_UI : RESOURCE_TYPE_API;
+    }
+
+    private static int resolveLimit(String name) {
+        return Math.max(1, NumberUtils.toInt(System.getProperty(name), getDefaultInt(name)));
+    }
+}
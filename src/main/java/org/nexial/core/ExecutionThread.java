@@ -44,6 +44,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static java.io.File.separator;
 import static org.nexial.core.NexialConst.*;
@@ -55,6 +62,7 @@ import static org.nexial.core.NexialConst.Project.appendLog;
 import static org.nexial.core.NexialConst.Web.*;
 import static org.nexial.core.SystemVariables.getDefault;
 import static org.nexial.core.SystemVariables.getDefaultBool;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.excel.ExcelConfig.PLAN_ROW_START_INDEX;
 import static org.nexial.core.model.ExecutionEvent.*;
 import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.ITERATION;
@@ -83,13 +91,20 @@ public final class ExecutionThread extends Thread {
     private final List<File> completedTests = new ArrayList<>();
     private boolean firstScript;
     private boolean lastScript;
+    // notified when this thread is done executing, regardless of outcome
+    private Consumer<ExecutionThread> completionListener;
+    // what this thread executes; the script of `execDef` unless otherwise specified
+    private Runnable script = this::executeScript;
 
     // capture the data after an execution run (all iteration, all scenarios within 1 file)
     private Map<String, Object> intraExecutionData = new HashMap<>();
 
     public static ExecutionContext get() { return THREAD_LOCAL.get(); }
 
-    public static void set(ExecutionContext context) { THREAD_LOCAL.set(context); }
+    public static void set(ExecutionContext context) {
+        THREAD_LOCAL.set(context);
+        ExecutionVariables.bind(context == null ? null : context.getVariables());
+    }
 
     public static void unset() {
         ExecutionContext context = THREAD_LOCAL.get();
@@ -97,6 +112,7 @@ public final class ExecutionThread extends Thread {
             context.endScript();
             THREAD_LOCAL.remove();
         }
+        ExecutionVariables.bind(null);
     }
 
     public static ExecutionThread newInstance(ExecutionDefinition execDef) {
@@ -105,12 +121,31 @@ public final class ExecutionThread extends Thread {
         return self;
     }
 
+    /** execute {@code script} in place of the script of {@code execDef}; mostly for testing. */
+    static ExecutionThread newInstance(ExecutionDefinition execDef, Runnable script) {
+        ExecutionThread self = newInstance(execDef);
+        self.script = script;
+        return self;
+    }
+
     public void setFirstScript(boolean firstScript) { this.firstScript = firstScript;}
 
     public void setLastScript(boolean lastScript) { this.lastScript = lastScript;}
 
+    public void setCompletionListener(Consumer<ExecutionThread> completionListener) {
+        this.completionListener = completionListener;
+    }
+
     @Override
     public void run() {
+        try {
+            script.run();
+        } finally {
+            if (completionListener != null) { completionListener.accept(this); }
+        }
+    }
+
+    private void executeScript() {
         if (execDef == null) { throw new RuntimeException("No ExecutionContext instance in current thread context"); }
 
         String runId = execDef.getRunId();
@@ -156,104 +191,239 @@ public final class ExecutionThread extends Thread {
         executionSummary.setPlanFile(execDef.getPlanFile());
         executionSummary.setPlanDescription(execDef.getDescription());
 
-        for (int iterationIndex = 1; iterationIndex <= totalIterations; iterationIndex++) {
-            // SINGLE THREAD EXECUTION WITHIN FOR LOOP!
-            if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) { break; }
+        int parallelism = Math.min(execDef.getTestData().getSettingAsInt(ITERATION_PARALLELISM), totalIterations);
+        if (execDef.isLoadTestMode()) {
+            executeLoadTest(context, iterationManager);
+        } else if (parallelism > 1) {
+            executeIterationsInParallel(context, iterationManager, parallelism);
+        } else {
+            for (int iterationIndex = 1; iterationIndex <= totalIterations; iterationIndex++) {
+                // SINGLE THREAD EXECUTION WITHIN FOR LOOP!
+                if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) { break; }
 
-            int iterationRef = iterationManager.getIterationRef(iterationIndex - 1);
-            Excel testScript = null;
-            boolean allPass = true;
+                // we need to infuse "between" #default and whatever data sheets is assigned for this test script
+                execDef.infuseIntraExecutionData(intraExecutionData);
 
-            // we need to infuse "between" #default and whatever data sheets is assigned for this test script
-            execDef.infuseIntraExecutionData(intraExecutionData);
+                IterationOutcome outcome = executeIteration(context, iterationManager, iterationIndex, false);
+                mergeIterationOutcome(outcome);
+                if (outcome.stop) { break; }
+            }
+        }
 
-            ExecutionSummary iterSummary = new ExecutionSummary();
-            iterSummary.setName(iterationIndex + " of " + totalIterations);
-            iterSummary.setExecutionLevel(ITERATION);
-            iterSummary.setStartTime(System.currentTimeMillis());
-            iterSummary.setScriptFile(scriptLocation);
-            iterSummary.setIterationIndex(iterationIndex);
-            iterSummary.setIterationTotal(totalIterations);
+        onScriptComplete(context, executionSummary, iterationManager, ticktock);
 
+        ExecutionThread.unset();
+        MemManager.recordMemoryChanges(scriptName + " completed");
+    }
+
+    /**
+     * execute iterations concurrently (up to {@code parallelism} at a time), each over its own forked
+     * {@link ExecutionContext}. Iterations are assumed to be independent of each other, so all of them start with
+     * the same data state. The results are merged back in iteration order so that the output is the same as that
+     * of a serial execution.
+     */
+    private void executeIterationsInParallel(ExecutionContext context,
+                                             IterationManager iterationManager,
+                                             int parallelism) {
+        String runId = execDef.getRunId();
+        int totalIterations = iterationManager.getIterationCount();
+        ConsoleUtils.log(runId, "executing " + totalIterations + " iterations, " + parallelism + " at a time");
+
+        // we need to infuse "between" #default and whatever data sheets is assigned for this test script
+        execDef.infuseIntraExecutionData(intraExecutionData);
+
+        ExecutionContext[] forks = new ExecutionContext[totalIterations];
+        IterationOutcome[] outcomes = new IterationOutcome[totalIterations];
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            parallelism, runnable -> new Thread(runnable, getName() + "-iteration-" + threadCount.incrementAndGet()));
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i <= totalIterations; i++) {
+            int iterationIndex = i;
+            futures.add(executor.submit(() -> {
+                if (stop.get() || BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
+                    return;
+                }
+
+                ExecutionContext forked = context.fork();
+                forks[iterationIndex - 1] = forked;
+                ExecutionThread.set(forked);
+                try {
+                    IterationOutcome outcome = executeIteration(forked, iterationManager, iterationIndex, true);
+                    outcomes[iterationIndex - 1] = outcome;
+                    if (outcome.stop) { stop.set(true); }
+                } finally {
+                    ExecutionThread.unset();
+                    forked.dispose();
+                }
+            }));
+        }
+        executor.shutdown();
+
+        for (Future<?> future : futures) {
             try {
+                future.get();
+            } catch (InterruptedException e) {
+                ConsoleUtils.error(runId, "Interrupted while waiting for iterations to complete", e);
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                break;
+            } catch (ExecutionException e) {
+                ConsoleUtils.error(runId, "Unable to complete iteration: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        // merge in iteration order, so that the last iteration is the last one to update the data state
+        int lastIterationRef = 0;
+        for (int i = 0; i < totalIterations; i++) {
+            if (forks[i] != null) { context.join(forks[i]); }
+            if (outcomes[i] != null) {
+                mergeIterationOutcome(outcomes[i]);
+                lastIterationRef = outcomes[i].iterationRef;
+            }
+        }
+
+        collectIntraExecutionData(context, lastIterationRef);
+    }
+
+    /**
+     * execute this script as a load test, instead of its iterations. The load test is reported as one iteration.
+     *
+     * @see LoadTestRunner
+     */
+    private void executeLoadTest(ExecutionContext context, IterationManager iterationManager) {
+        // we need to infuse "between" #default and whatever data sheets is assigned for this test script
+        execDef.infuseIntraExecutionData(intraExecutionData);
+
+        IterationOutcome outcome = new IterationOutcome(iterationManager.getIterationRef(0));
+        LoadTestRunner runner = new LoadTestRunner(execDef, context, getName());
+        try {
+            outcome.summary = runner.run();
+            outcome.testScriptFile = runner.getTestScriptFile();
+            outcome.summary.generateExcelReport(outcome.testScriptFile);
+        } catch (Throwable e) {
+            ConsoleUtils.error(execDef.getRunId(), "Unable to complete load test: " + e.getMessage(), e);
+            executionSummary.setError(e);
+        }
+
+        mergeIterationOutcome(outcome);
+        collectIntraExecutionData(context, outcome.iterationRef);
+    }
+
+    private void mergeIterationOutcome(IterationOutcome outcome) {
+        if (outcome.summary == null) { return; }
+        executionSummary.addNestSummary(outcome.summary);
+        completedTests.add(outcome.testScriptFile);
+    }
+
+    private IterationOutcome executeIteration(ExecutionContext context,
+                                              IterationManager iterationManager,
+                                              int iterationIndex,
+                                              boolean forked) {
+        int totalIterations = iterationManager.getIterationCount();
+        int iterationRef = iterationManager.getIterationRef(iterationIndex - 1);
+        String runId = execDef.getRunId();
+        String scriptLocation = execDef.getTestScript();
+        Excel testScript = null;
+        boolean allPass = true;
+        IterationOutcome outcome = new IterationOutcome(iterationRef);
+
+        ExecutionSummary iterSummary = new ExecutionSummary();
+        iterSummary.setName(iterationIndex + " of " + totalIterations);
+        iterSummary.setExecutionLevel(ITERATION);
+        iterSummary.setStartTime(System.currentTimeMillis());
+        iterSummary.setScriptFile(scriptLocation);
+        iterSummary.setIterationIndex(iterationIndex);
+        iterSummary.setIterationTotal(totalIterations);
+
+        try {
+            if (forked) {
+                // input prep (re)reads test data into the shared execution definition; one iteration at a time
+                synchronized (execDef) { testScript = ExecutionInputPrep.prep(runId, execDef, iterationIndex); }
+            } else {
                 testScript = ExecutionInputPrep.prep(runId, execDef, iterationIndex);
-                iterSummary.setTestScript(testScript.getOriginalFile());
-                context.useTestScript(testScript);
-
-                context.startIteration(iterationIndex, iterationRef, totalIterations, firstScript);
-
-                ExecutionLogger logger = context.getLogger();
-                logPlan(context, scriptLocation, iterationIndex);
-
-                logger.log(context, EXECUTING_ITERATION + iterationIndex + " of " + totalIterations +
-                                    "; Iteration Id " + iterationRef);
-                allPass = context.execute();
-
-                onIterationComplete(context, iterSummary, iterationIndex);
-                if (shouldStopNow(context, allPass)) { break; }
-            } catch (Throwable e) {
-                onIterationException(context, iterSummary, iterationIndex, e);
-                if (shouldStopNow(context, allPass)) { break; }
-            } finally {
-                context.setData(ITERATION_ENDED, true);
-                iterSummary.setEndTime(System.currentTimeMillis());
-                context.setCurrentActivity(null);
-
-                File testScriptFile = null;
-                if (testScript == null) {
-                    // possibly the script prep/parsing routine failed (ie ExecutionInputPrep.prep()), but the output
-                    // file might already be generated. If so then we should use the generated output file and generate
-                    // output (as much as possible).
-                    String scriptOutputFullPath = context.getStringData(OPT_INPUT_EXCEL_FILE);
-                    if (StringUtils.isNotBlank(scriptOutputFullPath)) {testScriptFile = new File(scriptOutputFullPath);}
-                } else {
-                    testScriptFile = testScript.getFile();
-                    // sync #data sheet with context
-                    ExecutionResultHelper.updateOutputDataSheet(context, testScript);
-                }
+            }
+            // the output is written when the execution results are saved at the end of this iteration, and in
+            // between only periodically or when a scenario fails
+            testScript.enableDeferredSave(context.getIntData(OUTPUT_FLUSH_INTERVAL_MS,
+                                                             getDefaultInt(OUTPUT_FLUSH_INTERVAL_MS)));
+            iterSummary.setTestScript(testScript.getOriginalFile());
+            context.useTestScript(testScript);
 
-                String testScriptFileName = "UNKNOWN TEST SCRIPT";
+            context.startIteration(iterationIndex, iterationRef, totalIterations, firstScript);
 
-                if (FileUtil.isFileReadable(testScriptFile)) {
-                    testScriptFileName = testScriptFile.getName();
+            ExecutionLogger logger = context.getLogger();
+            logPlan(context, scriptLocation, iterationIndex);
+
+            logger.log(context, EXECUTING_ITERATION + iterationIndex + " of " + totalIterations +
+                                "; Iteration Id " + iterationRef);
+            allPass = context.execute();
+
+            onIterationComplete(context, iterSummary, iterationIndex);
+            outcome.stop = shouldStopNow(context, allPass);
+        } catch (Throwable e) {
+            onIterationException(context, iterSummary, iterationIndex, e);
+            outcome.stop = shouldStopNow(context, allPass);
+        } finally {
+            context.setData(ITERATION_ENDED, true);
+            iterSummary.setEndTime(System.currentTimeMillis());
+            context.setCurrentActivity(null);
+
+            File testScriptFile = null;
+            if (testScript == null) {
+                // possibly the script prep/parsing routine failed (ie ExecutionInputPrep.prep()), but the output
+                // file might already be generated. If so then we should use the generated output file and generate
+                // output (as much as possible).
+                String scriptOutputFullPath = context.getStringData(OPT_INPUT_EXCEL_FILE);
+                if (StringUtils.isNotBlank(scriptOutputFullPath)) {testScriptFile = new File(scriptOutputFullPath);}
+            } else {
+                testScriptFile = testScript.getFile();
+                // sync #data sheet with context
+                ExecutionResultHelper.updateOutputDataSheet(context, testScript);
+            }
 
-                    // now the execution for this iteration is done. We'll add new execution summary page to its output.
-                    iterSummary.setFailedFast(context.isFailFast());
-                    iterSummary.aggregatedNestedExecutions(context);
+            String testScriptFileName = "UNKNOWN TEST SCRIPT";
 
-                    // report status at iteration level
-                    CloudWebTestingPlatform.reportCloudBrowserStatus(context, iterSummary, IterationComplete);
+            // the in-memory test script is not yet saved to `testScriptFile`
+            if (testScript != null || FileUtil.isFileReadable(testScriptFile)) {
+                testScriptFileName = testScriptFile.getName();
 
-                    if (testScript != null) {
-                        iterSummary.generateExcelReport(testScript);
-                    } else {
-                        iterSummary.generateExcelReport(testScriptFile);
-                    }
+                // now the execution for this iteration is done. We'll add new execution summary page to its output.
+                iterSummary.setFailedFast(context.isFailFast());
+                iterSummary.aggregatedNestedExecutions(context);
 
-                    NexialListenerFactory.fireEvent(NexialExecutionEvent.newIterationEndEvent(scriptLocation,
-                                                                                              iterationIndex,
-                                                                                              iterSummary));
-                    executionSummary.addNestSummary(iterSummary);
-                    completedTests.add(testScriptFile);
+                // report status at iteration level
+                CloudWebTestingPlatform.reportCloudBrowserStatus(context, iterSummary, IterationComplete);
 
-                    ExecutionReporter.openExecutionResult(context, testScriptFile);
+                if (testScript != null) {
+                    iterSummary.generateExcelReport(testScript);
+                } else {
+                    iterSummary.generateExcelReport(testScriptFile);
                 }
 
-                collectIntraExecutionData(context, iterationRef);
-                ExecutionMailConfig.configure(context);
+                NexialListenerFactory.fireEvent(NexialExecutionEvent.newIterationEndEvent(scriptLocation,
+                                                                                          iterationIndex,
+                                                                                          iterSummary));
+                outcome.summary = iterSummary;
+                outcome.testScriptFile = testScriptFile;
 
-                context.endIteration();
+                ExecutionReporter.openExecutionResult(context, testScriptFile);
+            }
 
-                MemManager.recordMemoryChanges(testScriptFileName + " completed");
+            // forked context does not carry over to the next iteration; collected after all iterations complete
+            if (!forked) { collectIntraExecutionData(context, iterationRef); }
+            ExecutionMailConfig.configure(context);
 
-                context.setData(ITERATION_ENDED, false);
-            }
-        }
+            context.endIteration();
 
-        onScriptComplete(context, executionSummary, iterationManager, ticktock);
+            MemManager.recordMemoryChanges(testScriptFileName + " completed");
 
-        ExecutionThread.unset();
-        MemManager.recordMemoryChanges(scriptName + " completed");
+            context.setData(ITERATION_ENDED, false);
+        }
+
+        return outcome;
     }
 
     private void logPlan(ExecutionContext context, String scriptLocation, int iterationIndex) {
@@ -528,4 +698,14 @@ public final class ExecutionThread extends Thread {
             execution.setTestScriptLink(testScript.getAbsolutePath());
         }
     }
+
+    /** result of a single iteration, to be merged into the script-level execution summary */
+    private static final class IterationOutcome {
+        private final int iterationRef;
+        private ExecutionSummary summary;
+        private File testScriptFile;
+        private boolean stop;
+
+        private IterationOutcome(int iterationRef) { this.iterationRef = iterationRef; }
+    }
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionSummary;
+import org.nexial.core.model.LoadTestMetrics;
+import org.nexial.core.model.LoadTestMetrics.Metric;
+import org.nexial.core.utils.ConsoleUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.io.File.separator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.NexialConst.Data.*;
+import static org.nexial.core.NexialConst.Iteration.CURR_ITERATION;
+import static org.nexial.core.model.ExecutionSummary.ExecutionLevel.ITERATION;
+
+/**
+ * runs a script as a load test: the script is executed repeatedly by a number of virtual users, each over its own
+ * {@link ExecutionContext#fork() forked} context. The number of virtual users starts at
+ * {@link ExecutionDefinition#getMinimumLoad()}, increases linearly to {@link ExecutionDefinition#getMaximumLoad()}
+ * over the ramp-up period, stays there for the hold period and then decreases linearly over the ramp-down period.
+ * <p>
+ * The test script (with the data of the first iteration) is prepared and serialized only once per run; each virtual
+ * user iteration opens its own in-memory copy from the serialized content (steps write their results into the
+ * workbook, so it cannot be shared among virtual users), so that the script is never re-read from disk and no output
+ * file is generated per virtual user iteration. Instead, latency (p50/p90/p99), throughput and
+ * error rates per command and per iteration are written as {@code *.loadtest.json} and {@code *.loadtest.csv} in
+ * the output directory.
+ */
+final class LoadTestRunner {
+    private final ExecutionDefinition execDef;
+    private final ExecutionContext context;
+    private final String threadNamePrefix;
+    private final LoadTestMetrics metrics = new LoadTestMetrics();
+    // next time slot (System.nanoTime) for an iteration to start, to keep throughput at the target rate
+    private final AtomicLong nextIterationSlot = new AtomicLong();
+    private File testScriptFile;
+    // the prepared test script, shared by all virtual users
+    private byte[] preparedScript;
+
+    LoadTestRunner(ExecutionDefinition execDef, ExecutionContext context, String threadNamePrefix) {
+        this.execDef = execDef;
+        this.context = context;
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /** the prepared test script (in the output directory) executed by all virtual users */
+    File getTestScriptFile() { return testScriptFile; }
+
+    LoadTestMetrics getMetrics() { return metrics; }
+
+    ExecutionSummary run() throws IOException {
+        String runId = execDef.getRunId();
+        int maxUsers = execDef.getMaximumLoad();
+
+        prepare(ExecutionInputPrep.prep(runId, execDef, 1));
+
+        ConsoleUtils.log(runId, "executing load test of " + execDef.getTestScript() + " with " +
+                                execDef.getMinimumLoad() + " to " + maxUsers + " virtual users; ramp up " +
+                                execDef.getRampUpSec() + "s, hold for " + execDef.getHoldForSec() + "s, ramp down " +
+                                execDef.getRampDownSec() + "s");
+
+        ExecutionSummary summary = new ExecutionSummary();
+        summary.setName("load test (" + maxUsers + " virtual users)");
+        summary.setExecutionLevel(ITERATION);
+        summary.setScriptFile(execDef.getTestScript());
+        summary.setTestScript(testScriptFile);
+        summary.setIterationIndex(1);
+        summary.setIterationTotal(1);
+        summary.setStartTime(System.currentTimeMillis());
+
+        metrics.start();
+        long startNanos = System.nanoTime();
+        nextIterationSlot.set(startNanos);
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            maxUsers, runnable -> new Thread(runnable, threadNamePrefix + "-vu-" + threadCount.incrementAndGet()));
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < maxUsers; i++) {
+            long startAt = startNanos + toNanos(startOffsetMs(i));
+            long stopAt = startNanos + toNanos(stopOffsetMs(i));
+            futures.add(executor.submit(() -> runVirtualUser(startAt, stopAt)));
+        }
+        executor.shutdown();
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                ConsoleUtils.error(runId, "Interrupted while waiting for virtual users to complete", e);
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                break;
+            } catch (ExecutionException e) {
+                ConsoleUtils.error(runId, "Virtual user terminated unexpectedly: " + e.getCause().getMessage(),
+                                   e.getCause());
+            }
+        }
+
+        metrics.end();
+        summary.setEndTime(System.currentTimeMillis());
+
+        int stepCount = (int) metrics.getStepCount();
+        int failCount = (int) metrics.getStepFailCount();
+        summary.setTotalSteps(stepCount);
+        summary.adjustExecutedSteps(stepCount);
+        summary.setPassCount(stepCount - failCount);
+        summary.setFailCount(failCount);
+
+        writeReports(runId);
+        return summary;
+    }
+
+    /** serialize and save the prepared {@code testScript}, from which all virtual users execute */
+    void prepare(Excel testScript) throws IOException {
+        testScriptFile = testScript.getFile();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        testScript.getWorkbook().write(content);
+        testScript.close();
+        preparedScript = content.toByteArray();
+        FileUtils.writeByteArrayToFile(testScriptFile, preparedScript);
+    }
+
+    /**
+     * the copy of the prepared test script for one virtual user iteration. Steps write their results into it, but
+     * it is never saved: virtual users run concurrently, and the file I/O would be included in the latency measured.
+     */
+    Excel newVirtualUserScript() throws IOException {
+        Excel script = new Excel(testScriptFile, new ByteArrayInputStream(preparedScript), true);
+        script.enableInMemoryOnly();
+        return script;
+    }
+
+    /** virtual users up to the minimum load start right away; the rest are spread evenly over the ramp-up period */
+    long startOffsetMs(int user) {
+        int minUsers = execDef.getMinimumLoad();
+        int maxUsers = execDef.getMaximumLoad();
+        if (user < minUsers || maxUsers == minUsers) { return 0; }
+        return execDef.getRampUpSec() * 1000L * (user - minUsers + 1) / (maxUsers - minUsers);
+    }
+
+    /** virtual users stop in reverse order of their start, spread evenly over the ramp-down period */
+    long stopOffsetMs(int user) {
+        int maxUsers = execDef.getMaximumLoad();
+        long holdEndMs = (execDef.getRampUpSec() + execDef.getHoldForSec()) * 1000L;
+        return holdEndMs + execDef.getRampDownSec() * 1000L * (maxUsers - 1 - user) / maxUsers;
+    }
+
+    private void runVirtualUser(long startAt, long stopAt) {
+        if (!sleepUntil(startAt) || System.nanoTime() >= stopAt) { return; }
+
+        ExecutionContext user = context.fork();
+        user.setLoadTestMetrics(metrics);
+        ExecutionThread.set(user);
+        metrics.userStarted();
+
+        try {
+            int iteration = 0;
+            while (System.nanoTime() < stopAt && !shouldStop()) {
+                if (!awaitIterationSlot()) { break; }
+
+                iteration++;
+                long iterationStart = System.nanoTime();
+                boolean pass = false;
+                try {
+                    user.useTestScript(newVirtualUserScript());
+                    user.setData(CURR_ITERATION, iteration);
+                    pass = user.execute();
+                } catch (Throwable e) {
+                    ConsoleUtils.error(context.getRunId(), "Error in load test iteration: " + e.getMessage(), e);
+                } finally {
+                    metrics.recordIteration(System.nanoTime() - iterationStart, pass);
+                    user.endIteration();
+                }
+
+                long thinkTimeMs = execDef.getThinkTimeMs();
+                if (thinkTimeMs > 0 && !sleepUntil(System.nanoTime() + toNanos(thinkTimeMs))) { break; }
+            }
+        } finally {
+            metrics.userStopped();
+            ExecutionThread.unset();
+            user.dispose();
+        }
+    }
+
+    /** wait for the next available time slot, if a target throughput is specified. */
+    private boolean awaitIterationSlot() {
+        double targetTps = execDef.getTargetTps();
+        if (targetTps <= 0) { return true; }
+
+        long interval = (long) (1_000_000_000L / targetTps);
+        long now = System.nanoTime();
+        long slot = Math.max(nextIterationSlot.getAndUpdate(next -> Math.max(next, now) + interval), now);
+        return sleepUntil(slot);
+    }
+
+    private boolean shouldStop() {
+        return Thread.currentThread().isInterrupted() ||
+               BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"));
+    }
+
+    private void writeReports(String runId) {
+        String outBase = StringUtils.appendIfMissing(execDef.getOutPath(), separator) + runId + separator;
+        String baseName = StringUtils.substringBeforeLast(new File(execDef.getTestScript()).getName(), ".");
+        if (StringUtils.isNotBlank(execDef.getPlanFile())) {
+            baseName = execDef.getPlanFilename() + "_" + execDef.getPlanName() + "_" + execDef.getPlanSequence() + "_" +
+                       baseName;
+        }
+
+        File json = new File(outBase + baseName + ".loadtest.json");
+        File csv = new File(outBase + baseName + ".loadtest.csv");
+        try {
+            FileUtils.writeStringToFile(json, GSON.toJson(metrics.toReport()), UTF_8);
+            FileUtils.writeStringToFile(csv, toCsv(), UTF_8);
+            ConsoleUtils.log(runId, "load test metrics saved to " + json + " and " + csv);
+        } catch (IOException e) {
+            ConsoleUtils.error(runId, "Unable to save load test metrics: " + e.getMessage(), e);
+        }
+    }
+
+    private String toCsv() {
+        double durationSec = Math.max(metrics.getEndTime() - metrics.getStartTime(), 1) / 1000.0;
+        StringBuilder csv = new StringBuilder("command,count,errors,error rate,throughput per sec," +
+                                              "min ms,mean ms,p50 ms,p90 ms,p99 ms,max ms\n");
+        appendCsv(csv, "(iteration)", metrics.getIterations(), durationSec);
+        metrics.getCommands().forEach((command, metric) -> appendCsv(csv, command, metric, durationSec));
+        return csv.toString();
+    }
+
+    private static void appendCsv(StringBuilder csv, String name, Metric metric, double durationSec) {
+        csv.append(name);
+        metric.toReport(durationSec).values().forEach(value -> csv.append(",").append(value));
+        csv.append("\n");
+    }
+
+    private static long toNanos(long ms) { return ms * 1_000_000L; }
+
+    /** return false if interrupted */
+    private static boolean sleepUntil(long nanoTime) {
+        long waitMs = (nanoTime - System.nanoTime()) / 1_000_000L;
+        if (waitMs <= 0) { return true; }
+        try {
+            Thread.sleep(waitMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
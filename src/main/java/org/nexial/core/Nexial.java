@@ -49,6 +49,7 @@ import org.nexial.core.utils.CheckUtils;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecUtils;
 import org.nexial.core.utils.InputFileUtils;
+import org.nexial.core.utils.ParsedFileCache;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import java.io.File;
@@ -56,6 +57,7 @@ import java.io.IOException;
 import java.security.Security;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
@@ -188,14 +190,14 @@ import static org.nexial.core.utils.ExecUtils.NEXIAL_MANIFEST;
  * </ol>
  */
 public class Nexial {
-    private static final int THREAD_WAIT_LOG_INTERVAL = 60;
     private static final String SPRING_CONTEXT = "classpath:/nexial-integration.xml";
 
     private ClassPathXmlApplicationContext springContext;
     private TestProject project;
     private List<ExecutionDefinition> executions;
-    private int threadWaitCounter;
     private ExecutionMode executionMode;
+    // resource type (ui or api) of each script, derived while scanning for its scenarios
+    private final Map<File, String> scriptResourceTypes = new HashMap<>();
 
     public enum ExecutionMode { EXECUTE_SCRIPT, EXECUTE_PLAN, INTERACTIVE, INTEGRATION, READY }
 
@@ -459,6 +461,7 @@ public class Nexial {
                     exec.setDataFile(dataFilePath);
                     exec.setDataSheets(dataSheets);
                     exec.setProject(project);
+                    exec.setResourceType(scriptResourceTypes.get(testScript));
 
                     // 2.1 mark option for parallel run and fail fast
                     exec.setFailFast(BooleanUtils.toBoolean(
@@ -466,7 +469,7 @@ public class Nexial {
                     exec.setSerialMode(BooleanUtils.toBoolean(
                         StringUtils.defaultIfBlank(readCellValue(row, COL_IDX_PLAN_WAIT), DEF_PLAN_SERIAL_MODE)));
                     exec.setLoadTestMode(BooleanUtils.toBoolean(readCellValue(row, COL_IDX_PLAN_LOAD_TEST)));
-                    if (exec.isLoadTestMode()) { fail(RB.Tools.text("plan.noLoadTesting")); }
+                    if (exec.isLoadTestMode()) { parseLoadTestSpec(row, exec, msgSuffix); }
 
                     try {
                         // 3. for each row, parse script (and scenario) and data (and datasheet)
@@ -561,16 +564,16 @@ public class Nexial {
 
         Excel excel = null;
         try {
-            excel = new Excel(testScript, DEF_OPEN_EXCEL_AS_DUP);
+            // the content of the test script is cached, so that it is not read again for other plans or plan rows
+            excel = new Excel(testScript, ParsedFileCache.open(testScript), true);
             List<Worksheet> validScenarios = InputFileUtils.retrieveValidTestScenarios(excel);
             if (CollectionUtils.isEmpty(validScenarios)) { fail(RB.Tools.text("script.noScenario", testScript)); }
 
             validScenarios.forEach(worksheet -> scenarios.add(worksheet.getName()));
+            scriptResourceTypes.put(testScript, deriveResourceType(validScenarios));
         } catch (IOException e) {
             fail(RB.Tools.text("script.bad", testScript));
         } finally {
-            if (DEF_OPEN_EXCEL_AS_DUP && excel != null) { FileUtils.deleteQuietly(excel.getFile().getParentFile()); }
-
             try {
                 // (2018/12/16,automike): memory consumption precaution
                 if (excel != null) { excel.close(); }
@@ -582,6 +585,23 @@ public class Nexial {
         return scenarios;
     }
 
+    /**
+     * derive the type of resources ({@code ui} or {@code api}) consumed by a script, based on the targets of its
+     * test steps. This is used to schedule parallel executions.
+     */
+    protected String deriveResourceType(List<Worksheet> scenarios) {
+        Set<String> targets = new HashSet<>();
+        int startRowIndex = ADDR_COMMAND_START.getRowStartIndex();
+        scenarios.forEach(worksheet -> {
+            int lastRowIndex = worksheet.getSheet().getLastRowNum();
+            for (int i = startRowIndex; i <= lastRowIndex; i++) {
+                XSSFRow row = worksheet.getSheet().getRow(i);
+                if (row != null) { targets.add(readCellValue(row, COL_IDX_TARGET)); }
+            }
+        });
+        return ExecutionScheduler.deriveResourceType(targets);
+    }
+
     // todo: move to InputFileUtils
     protected File deriveDataFileFromPlan(XSSFRow row, TestProject project, File testPlan, File testScript) {
         String dataFilePath = readCellValue(row, COL_IDX_PLAN_TEST_DATA);
@@ -642,6 +662,34 @@ public class Nexial {
         return new File(dataFilePath);
     }
 
+    /**
+     * parse the load test specification of a plan step: {@code min, max, ramp up sec, hold for sec}, optionally
+     * followed by {@code ramp down sec, think time ms, target iterations per sec}.
+     */
+    protected void parseLoadTestSpec(XSSFRow row, ExecutionDefinition exec, String msgSuffix) {
+        String spec = readCellValue(row, COL_IDX_PLAN_LOAD_TEST_SPEC);
+        List<String> values = TextUtils.toList(spec, ",", true);
+        if (CollectionUtils.size(values) < 4 || CollectionUtils.size(values) > 7 ||
+            !values.stream().allMatch(NumberUtils::isCreatable)) {
+            fail(RB.Tools.text("plan.badLoadTestSpec", spec, msgSuffix));
+        }
+
+        exec.setMinimumLoad(NumberUtils.toInt(values.get(0)));
+        exec.setMaximumLoad(NumberUtils.toInt(values.get(1)));
+        exec.setRampUpSec(NumberUtils.toInt(values.get(2)));
+        exec.setHoldForSec(NumberUtils.toInt(values.get(3)));
+        if (values.size() > 4) { exec.setRampDownSec(NumberUtils.toInt(values.get(4))); }
+        if (values.size() > 5) { exec.setThinkTimeMs(NumberUtils.toLong(values.get(5))); }
+        if (values.size() > 6) { exec.setTargetTps(NumberUtils.toDouble(values.get(6))); }
+
+        if (exec.getMaximumLoad() < 1 || exec.getMinimumLoad() < 0 ||
+            exec.getMinimumLoad() > exec.getMaximumLoad() ||
+            exec.getRampUpSec() < 0 || exec.getHoldForSec() < 0 || exec.getRampDownSec() < 0 ||
+            exec.getThinkTimeMs() < 0 || exec.getTargetTps() < 0) {
+            fail(RB.Tools.text("plan.badLoadTestSpec", spec, msgSuffix));
+        }
+    }
+
     // todo: move to InputFileUtils
     protected List<String> deriveDataSheetsFromPlan(XSSFRow row, List<String> scenarios) {
         String planDataSheets = readCellValue(row, COL_IDX_PLAN_DATA_SHEETS);
@@ -762,79 +810,9 @@ public class Nexial {
         summary.setExecutionLevel(EXECUTION);
         summary.setStartTime(System.currentTimeMillis());
 
-        List<ExecutionThread> executionThreads = new ArrayList<>();
-        Map<String, Object> intraExecution = null;
-
-        int lastUse = executions.size() - 1;
         try {
-            for (int i = 0; i < executions.size(); i++) {
-                if (BooleanUtils.toBoolean(System.getProperty(LAST_PLAN_STEP, getDefault(LAST_PLAN_STEP)))) { break; }
-
-                ExecutionDefinition exec = executions.get(i);
-                if (BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
-                    ConsoleUtils.log(runId, RB.Abort.text("script.endIf", exec.getTestScript()));
-                    continue;
-                }
-                // re-read data sheets to ensure the latest data being considered
-                exec.getTestData(true);
-                exec.setRunId(runId);
-
-                String msgPrefix = "[" + exec.getTestScript() + "] ";
-                ConsoleUtils.log(runId, msgPrefix + RESOLVE_RUN_ID + runId);
-
-                ExecutionThread launcherThread = ExecutionThread.newInstance(exec);
-                if (i == 0) { launcherThread.setFirstScript(true); }
-                if (i == lastUse) { launcherThread.setLastScript(true); }
-                if (MapUtils.isNotEmpty(intraExecution)) { launcherThread.setIntraExecutionData(intraExecution); }
-
-                ConsoleUtils.log(runId, msgPrefix + NEW_THREAD_STARTED);
-                launcherThread.start();
-
-                if (exec.isSerialMode()) {
-                    while (true) {
-                        if (launcherThread.isAlive()) {
-                            debugThread(runId, msgPrefix + "awaits execution thread to complete...");
-                            Thread.sleep(LAUNCHER_THREAD_COMPLETION_WAIT_MS);
-                        } else {
-                            ConsoleUtils.log(runId, msgPrefix + NOW_COMPLETED);
-                            // pass the post-execution state of data to the next execution
-                            intraExecution = launcherThread.getIntraExecutionData();
-                            summary.addNestSummary(launcherThread.getExecutionSummary());
-                            launcherThread = null;
-                            break;
-                        }
-                    }
-
-                    executions.set(i, null);
-                    exec = null;
-                } else {
-                    executionThreads.add(launcherThread);
-                    ConsoleUtils.log(runId, msgPrefix + "in progress, proceed to next execution");
-                }
-            }
-
-            while (true) {
-                final boolean[] stillRunning = {false};
-                for (int i = 0; i < executionThreads.size(); i++) {
-                    ExecutionThread t = executionThreads.get(i);
-                    if (t != null) {
-                        if (t.isAlive()) {
-                            stillRunning[0] = true;
-                        } else {
-                            summary.addNestSummary(t.getExecutionSummary());
-                            // relinquish reference to completed/dead threads
-                            executionThreads.set(i, null);
-                        }
-                    }
-                }
-
-                if (!stillRunning[0]) { break; }
-
-                debugThread(runId, "waiting for execution thread(s) to complete...");
-                Thread.yield();
-                Thread.sleep(LAUNCHER_THREAD_COMPLETION_WAIT_MS);
-            }
-
+            ExecutionScheduler scheduler = new ExecutionScheduler(runId, executions);
+            scheduler.execute().forEach(summary::addNestSummary);
             ConsoleUtils.log(runId, MSG_THREAD_TERMINATED);
         } catch (Throwable e) {
             ConsoleUtils.error(e.getMessage());
@@ -1261,6 +1239,7 @@ public class Nexial {
         // }
 
         beforeShutdownMemUsage();
+        beforeShutdownRegexUsage();
 
         System.setProperty(EXIT_STATUS, exitStatus + "");
         ConsoleUtils.log(END_OF_EXECUTION2 + ":" + NL +
@@ -1312,6 +1291,24 @@ public class Nexial {
         }
     }
 
+    private static void beforeShutdownRegexUsage() {
+        if (!BooleanUtils.toBoolean(System.getProperty(OPT_REGEX_STATS, getDefault(OPT_REGEX_STATS)))) { return; }
+
+        PatternCache<Pattern> patterns = RegexUtils.getPatternCache();
+        StringBuilder usage = new StringBuilder();
+        usage.append("| »      ").append(patterns).append(", hit rate=")
+             .append(Math.round(patterns.getHitRate() * 1000) / 10.0).append("%").append(NL);
+        patterns.getTopPatterns(20).forEach((regex, count) -> usage.append("| »      ")
+                                                                   .append(StringUtils.leftPad(count + "", 10))
+                                                                   .append("  ")
+                                                                   .append(regex)
+                                                                   .append(NL));
+        ConsoleUtils.log(NL +
+                         "/-REGEX-USAGE-------------------------------------------------------------------" + NL +
+                         usage +
+                         "\\-------------------------------------------------------------------------------");
+    }
+
     private void notifyCompletion(ExecutionSummary summary) {
         try {
             springContext.getBean("nexialMailer", ExecutionNotifier.class).notify(summary);
@@ -1319,21 +1316,4 @@ public class Nexial {
             ConsoleUtils.error(RB.Tools.text("mail.fail", e.getMessage()));
         }
     }
-
-    /**
-     * log {@code msg} to console if the System property {@code nexial.devLogging} is {@code "true"}.
-     */
-    private void debugThread(String runId, String msg) {
-        boolean debugOn = BooleanUtils.toBoolean(System.getProperty(OPT_DEVMODE_LOGGING, "false"));
-        if (!debugOn) { return; }
-
-        if (threadWaitCounter < THREAD_WAIT_LOG_INTERVAL) {
-            threadWaitCounter++;
-        } else if (threadWaitCounter == 60) {
-            ConsoleUtils.log(runId, msg);
-            threadWaitCounter++;
-        } else {
-            threadWaitCounter = 0;
-        }
-    }
 }
@@ -92,7 +92,6 @@ public final class NexialConst {
 
     public static final int DEF_SLEEP_MS = 250;
     public static final int MIN_STABILITY_WAIT_MS = 400;
-    public static final int LAUNCHER_THREAD_COMPLETION_WAIT_MS = 1000;
     public static final long ONEDAY = 24 * 60 * 60 * 1000;
     public static final long THIRTYDAYS = ONEDAY * 30;
     public static final long ONEYEAR = ONEDAY * 365;
@@ -183,6 +182,12 @@ public final class NexialConst {
     // csv | [CSV(...) => ...]
     public static final String CSV_MAX_COLUMNS = registerSysVar(NAMESPACE + "csv.maxColumns", 512);
     public static final String CSV_MAX_COLUMN_WIDTH = registerSysVar(NAMESPACE + "csv.maxColumnWidth", 4096);
+    // csv.compareExtended: files larger than this (in MB) are sorted on disk, in runs of `compareSortRunSize` records
+    public static final String CSV_COMPARE_SPILL_THRESHOLD_MB =
+        registerSysVar(NAMESPACE + "csv.compareSpillThresholdMB", 256);
+    public static final String CSV_COMPARE_SORT_RUN_SIZE = registerSysVar(NAMESPACE + "csv.compareSortRunSize", 100000);
+    // csv.compareExtended: number of chunks compared in parallel; 0 for the number of available processors
+    public static final String CSV_COMPARE_PARALLELISM = registerSysVar(NAMESPACE + "csv.compareParallelism", 0);
 
     //plugin: xml
     public static XMLOutputter COMPRESSED_XML_OUTPUTTER = new XMLOutputter(Format.getCompactFormat());
@@ -310,9 +315,14 @@ public final class NexialConst {
     public static final String OPT_CLOUD_OUTPUT_BASE = registerSysVar(NAMESPACE + "outputCloudBase");
     public static final String OUTPUT_TO_CLOUD = registerSysVar(NAMESPACE + "outputToCloud", false);
     public static final String S3_PATH_SEP = "/";
+    // write the results of the iteration in progress to its output file at most this often (after a scenario
+    // completes), so that they survive a crash; 0 to write the output only at the end of the iteration
+    public static final String OUTPUT_FLUSH_INTERVAL_MS = registerSysVar(NAMESPACE + "outputFlushIntervalMs", 60000);
 
     // mem mgmt
     public static final String OPT_MANAGE_MEM = registerSysVar(NAMESPACE + "manageMemory", false);
+    // report usage of compiled regular expressions before exit
+    public static final String OPT_REGEX_STATS = registerSysVar(NAMESPACE + "regexStats", false);
 
     public static final Gson GSON = new GsonBuilder().setPrettyPrinting()
                                                      .disableHtmlEscaping()
@@ -585,6 +595,7 @@ public final class NexialConst {
                                                                                          ITERATION + "=1",
                                                                                          FALLBACK_TO_PREVIOUS + "=true",
                                                                                          REFETCH_DATA_FILE + "=true",
+                                                                                         ITERATION_PARALLELISM + "=1",
                                                                                          POST_EXEC_MAIL_TO + "=");
         public static final String NULL = "(null)";
         public static final String EMPTY = "(empty)";
@@ -724,6 +735,8 @@ public final class NexialConst {
         // read-only: reload data file between iteration or not
         public static final String REFETCH_DATA_FILE = SCOPE + "refetchDataFile";
         public static final String FALLBACK_TO_PREVIOUS = SCOPE + "fallbackToPrevious";
+        // read-only: number of iterations to execute concurrently; iterations must be independent of each other
+        public static final String ITERATION_PARALLELISM = SCOPE + "iterationParallelism";
         public static final String ITERATION_SEP = ",";
         public static final String ITERATION_RANGE_SEP = "-";
 
@@ -1169,6 +1182,20 @@ public final class NexialConst {
         public static final String EXEC_SYNOPSIS = registerSysVar(NAMESPACE + "executionSynopsis");
         public static final String MIN_EXEC_SUCCESS_RATE = registerSysVar(NAMESPACE + "minExecSuccessRate", 100);
 
+        // max. number of plan steps (scripts) executing at the same time, overall and per resource type
+        // note: only consider sysprop, not data variable
+        public static final String RESOURCE_TYPE_UI = "ui";
+        public static final String RESOURCE_TYPE_API = "api";
+        public static final List<String> UI_TARGETS =
+            Arrays.asList("web", "webalert", "webcookie", "desktop", "mobile", "javaui", "tn.5250");
+        public static final String MAX_PARALLEL_SCRIPTS =
+            registerSysVar(NAMESPACE + "maxParallelScripts", Runtime.getRuntime().availableProcessors());
+        public static final String MAX_PARALLEL_UI_SCRIPTS =
+            registerSysVar(MAX_PARALLEL_SCRIPTS + "." + RESOURCE_TYPE_UI,
+                           Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        public static final String MAX_PARALLEL_API_SCRIPTS =
+            registerSysVar(MAX_PARALLEL_SCRIPTS + "." + RESOURCE_TYPE_API, Runtime.getRuntime().availableProcessors());
+
         // system-wide enable/disable email notification
         public static final String ENABLE_EMAIL = registerSysVar(NAMESPACE + "enableEmail", false);
         public static final String POST_EXEC_MAIL_TO_OLD = SCOPE + "mailTo";
@@ -1334,6 +1361,8 @@ public final class NexialConst {
         // todo: need to evaluate how to use these 3 to modify the nexial result and excel output
         public static final String COMPARE_INCLUDE_MOVED = registerSysVar(NS_IO + "compareIncludeMoved");
         public static final String OPT_IO_COPY_CONFIG = registerSysVar(NS_IO + "copyConfig", COPY_CONFIG_DEF);
+        // number of files copied, moved, deleted or zipped at the same time
+        public static final String OPT_IO_PARALLELISM = registerSysVar(NS_IO + "parallelism", 4);
 
         private Compare() { }
 
@@ -1551,6 +1580,26 @@ public final class NexialConst {
         public static final String CSV_ROW_SEP = "\n";
         public static final String CSV_FIELD_DEIM = ",";
         public static final String IMPORT_BUFFER_SIZE = registerSysVar(NAMESPACE + "rdbms.importBufferSize", 100);
+        // number of rows imported per transaction; each transaction is sent in batches of IMPORT_BUFFER_SIZE rows
+        public static final String IMPORT_COMMIT_SIZE = registerSysVar(NAMESPACE + "rdbms.importCommitSize", 10000);
+        // number of rows fetched at a time from the source database of localdb.importRecords
+        public static final String IMPORT_FETCH_SIZE = registerSysVar(NAMESPACE + "rdbms.importFetchSize", 1000);
+        // max. number of queries (of the same rdbms.runSQLs or rdbms.saveResults) executed at the same time
+        public static final String QUERY_PARALLELISM = registerSysVar(NAMESPACE + "rdbms.queryParallelism", 1);
+        // number of rows of a query result kept in memory; the rest are kept in a temp file
+        public static final String RESULT_SPILL_THRESHOLD = registerSysVar(NAMESPACE + "rdbms.resultSpillThreshold",
+                                                                           100000);
+        // connection pool, per database connection; these are shared by all executions with the same setup
+        public static final String OPT_DB_POOL_MIN_IDLE = ".pool.minIdle";
+        public static final String OPT_DB_POOL_MAX_IDLE = ".pool.maxIdle";
+        public static final String OPT_DB_POOL_MAX_TOTAL = ".pool.maxTotal";
+        public static final String OPT_DB_POOL_MAX_WAIT_MS = ".pool.maxWaitMs";
+        public static final String OPT_DB_POOL_VALIDATION_QUERY = ".pool.validationQuery";
+        public static final String OPT_DB_POOL_TEST_ON_BORROW = ".pool.testOnBorrow";
+        public static final String OPT_DB_POOL_STATEMENTS = ".pool.poolPreparedStatements";
+        public static final String OPT_DB_POOL_MAX_STATEMENTS = ".pool.maxOpenPreparedStatements";
+        // default number of rows fetched at a time, per database connection
+        public static final String OPT_DB_FETCH_SIZE = ".fetchSize";
         // to overcome unknown but valid JDBC drivers
         public static final String OPT_DB_CLASSNAME = ".JavaClassName";
         // for mongodb jdbc connection only
@@ -23,6 +23,7 @@ import java.io.IOException;
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.ExecutionVariables;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.ExecUtils;
 
@@ -51,7 +52,7 @@ public class NexialS3Helper extends S3Support {
     public String resolveOutputDir() {
         if (context == null) {
             // no choice but to resolve output dir via System props.
-            return resolveOutputDir(System.getProperty(OPT_PROJECT_NAME), ExecUtils.deriveRunId());
+            return resolveOutputDir(ExecutionVariables.getProperty(OPT_PROJECT_NAME), ExecUtils.deriveRunId());
         } else {
             return context.getStringData(OPT_CLOUD_OUTPUT_BASE, outputBase) + S3_PATH_SEP +
                    context.getProject().getName() + S3_PATH_SEP +
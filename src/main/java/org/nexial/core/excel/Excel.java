@@ -96,6 +96,11 @@ public class Excel {
     private File originalFile;
     private boolean recalcBeforeSave;
     private boolean retainCellType;
+    private boolean deferredSave;
+    // never written to `file`; e.g. the script of a load test virtual user
+    private boolean inMemoryOnly;
+    private long flushIntervalMs;
+    private long lastSaved;
 
     public class Worksheet {
         private final XSSFSheet sheet;
@@ -639,6 +644,11 @@ public class Excel {
         }
 
         public void save() throws IOException {
+            if (inMemoryOnly) { return; }
+            if (deferredSave && (flushIntervalMs <= 0 || System.currentTimeMillis() - lastSaved < flushIntervalMs)) {
+                return;
+            }
+
             File file = getFile();
             // XSSFWorkbook workbook = getWorkbook();
             XSSFWorkbook workbook = sheet.getWorkbook();
@@ -648,6 +658,7 @@ public class Excel {
             }
 
             Excel.save(file, workbook);
+            lastSaved = System.currentTimeMillis();
         }
 
         @NotNull
@@ -667,17 +678,7 @@ public class Excel {
             return values;
         }
 
-        protected String prepCellData(String cellValue) {
-            if (StringUtils.isEmpty(cellValue)) { return cellValue; }
-
-            cellValue = StringUtils.replace(cellValue, "\"", "\"\"");
-
-            if (StringUtils.containsAny(cellValue, ",", "\r", "\n")) {
-                return TextUtils.wrapIfMissing(cellValue, "\"", "\"");
-            }
-
-            return cellValue;
-        }
+        protected String prepCellData(String cellValue) { return toCsvCellData(cellValue); }
 
         /** set a worksheet as readonly -- mainly so that user won't accidentally modify test result */
         protected void setAsReadOnly() {
@@ -880,14 +881,60 @@ public class Excel {
         if (initCommonStyles) { initCommonStyles(); }
     }
 
+    /**
+     * open a workbook from {@code content}, such as an in-memory copy of another workbook. {@code file} is where
+     * this workbook will be saved to; it does not need to exist yet.
+     */
+    public Excel(File file, InputStream content, boolean initCommonStyles) throws IOException {
+        assert file != null && content != null;
+
+        this.file = file;
+        workbook = new XSSFWorkbook(content);
+        allsheets = gatherWorksheets();
+        workbookStyles = gatherCellStyles();
+
+        if (initCommonStyles) { initCommonStyles(); }
+    }
+
     public void enableRecalcBeforeSave() { recalcBeforeSave = true; }
 
     public void disableRecalcBeforeSave() { recalcBeforeSave = false; }
 
+    public boolean isRecalcBeforeSave() { return recalcBeforeSave; }
+
     public void enableRetainCellType() { retainCellType = true; }
 
     public void disableRetainCellType() { retainCellType = false; }
 
+    /**
+     * defer saving until the end of the execution (via {@link #save()}), hence worksheet-level saves (via
+     * {@link Worksheet#save()}) are skipped.
+     */
+    public void enableDeferredSave() { enableDeferredSave(0); }
+
+    /**
+     * defer saving until the end of the execution (via {@link #save()}), except that a worksheet-level save (via
+     * {@link Worksheet#save()}) still writes the workbook if it was last written {@code flushIntervalMs} or longer
+     * ago. 0 or less skips all worksheet-level saves.
+     */
+    public void enableDeferredSave(long flushIntervalMs) {
+        deferredSave = true;
+        this.flushIntervalMs = flushIntervalMs;
+        lastSaved = System.currentTimeMillis();
+    }
+
+    public void disableDeferredSave() { deferredSave = false; }
+
+    public boolean isDeferredSave() { return deferredSave; }
+
+    /**
+     * keep this workbook in memory only: both {@link #save()} and {@link Worksheet#save()} would no longer write to
+     * {@link #getFile()}.
+     */
+    public void enableInMemoryOnly() { inMemoryOnly = true; }
+
+    public boolean isInMemoryOnly() { return inMemoryOnly; }
+
     public Worksheet worksheet(String name) { return worksheet(name, false); }
 
     public Worksheet worksheet(String name, boolean create) {
@@ -1035,7 +1082,11 @@ public class Excel {
         if (workbook != null) { workbook.close(); }
     }
 
-    public void save() throws IOException { save(file, workbook); }
+    public void save() throws IOException {
+        if (inMemoryOnly) { return; }
+        save(file, workbook);
+        lastSaved = System.currentTimeMillis();
+    }
 
     public static void save(File excelFile, XSSFWorkbook excelWorkbook) throws IOException {
         OutputStream out = null;
@@ -1287,8 +1338,9 @@ public class Excel {
     }
 
     public static FileMagic deriveFileFormat(File excelFile) {
-        try {
-            return FileMagic.valueOf(FileUtils.readFileToByteArray(excelFile));
+        // only the first few bytes are needed
+        try (InputStream in = new BufferedInputStream(new FileInputStream(excelFile))) {
+            return FileMagic.valueOf(in);
         } catch (IOException e) {
             throw new IllegalArgumentException("Unable to derive file type for " + e.getMessage());
         }
@@ -1363,6 +1415,19 @@ public class Excel {
         return newFont;
     }
 
+    /** escape {@code cellValue} as a CSV field, as done by {@link Worksheet#readRange(ExcelAddress)} */
+    public static String toCsvCellData(String cellValue) {
+        if (StringUtils.isEmpty(cellValue)) { return cellValue; }
+
+        cellValue = StringUtils.replace(cellValue, "\"", "\"\"");
+
+        if (StringUtils.containsAny(cellValue, ",", "\r", "\n")) {
+            return TextUtils.wrapIfMissing(cellValue, "\"", "\"");
+        }
+
+        return cellValue;
+    }
+
     @Nullable
     protected static FormulaEvaluator deriveFormulaEvaluator(Cell cell) {
         if (cell == null) { return null; }
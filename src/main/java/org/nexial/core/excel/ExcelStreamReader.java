@@ -0,0 +1,325 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.excel;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFReader.SheetIterator;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.nexial.commons.utils.TextUtils;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import java.io.*;
+import java.util.*;
+import javax.xml.parsers.ParserConfigurationException;
+
+import static org.apache.poi.poifs.filesystem.FileMagic.OOXML;
+
+/**
+ * Read-only, streaming access to a xlsx file via the POI event API. Unlike {@link Excel}, a worksheet is never
+ * loaded as a whole: its rows are parsed one at a time and only those within the requested range are kept (reading
+ * stops past the end of the range), so that the memory needed to read a range does not depend on the size of the
+ * workbook. The shared strings of the workbook are loaded once and used by all subsequent reads.
+ * <p>
+ * Cell values are formatted the same way as {@link Excel#getCellValue(org.apache.poi.xssf.usermodel.XSSFCell)},
+ * except that formula cells are read as their last calculated result, rather than being re-evaluated.
+ */
+public class ExcelStreamReader implements Closeable {
+    private final File file;
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private ReadOnlySharedStringsTable sharedStrings;
+    private StylesTable styles;
+    private List<String> worksheetNames;
+
+    /** receives the values of one row at a time */
+    @FunctionalInterface
+    public interface RowHandler {
+        /** {@code values} is empty if {@code rowIndex} is not found in the worksheet */
+        void handle(int rowIndex, List<String> values) throws IOException;
+    }
+
+    public ExcelStreamReader(File file) throws IOException {
+        assert file != null && file.canRead();
+        this.file = file;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            reader = new XSSFReader(pkg);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unable to open " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** true if {@code file} can be read via this class; i.e. a xlsx file, and not password-protected */
+    public static boolean isStreamable(File file) {
+        return file != null && file.canRead() && Excel.deriveFileFormat(file) == OOXML;
+    }
+
+    public File getFile() { return file; }
+
+    public List<String> getWorksheetNames() throws IOException {
+        if (worksheetNames == null) {
+            List<String> names = new ArrayList<>();
+            SheetIterator sheets = sheets();
+            while (sheets.hasNext()) {
+                try (InputStream ignored = sheets.next()) { names.add(sheets.getSheetName()); }
+            }
+            worksheetNames = names;
+        }
+        return worksheetNames;
+    }
+
+    /** same as {@link Excel#worksheet(String)}, worksheet name is matched case-insensitively */
+    public boolean hasWorksheet(String worksheet) throws IOException {
+        return getWorksheetNames().stream().anyMatch(name -> StringUtils.equalsIgnoreCase(name, worksheet));
+    }
+
+    /**
+     * stream the cell values of {@code range} to {@code handler}, one row at a time. Rows not found in
+     * {@code worksheet} are either skipped ({@code skipNullRows}) or handled as an empty list.
+     */
+    public void read(String worksheet, ExcelAddress range, boolean skipNullRows, RowHandler handler)
+        throws IOException {
+        assert range != null && range.getStart() != null && range.getEnd() != null;
+        assert handler != null;
+
+        RangeHandler rangeHandler = new RangeHandler(range, skipNullRows, handler);
+        try (InputStream sheet = openSheet(worksheet)) {
+            if (sheet == null) {
+                throw new IOException("Unable to read worksheet '" + worksheet + "' from file '" + file + "'");
+            }
+
+            XMLReader parser = SAXHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles(),
+                                                             null,
+                                                             sharedStrings(),
+                                                             rangeHandler,
+                                                             new DataFormatter(),
+                                                             false));
+            parser.parse(new InputSource(sheet));
+        } catch (EndOfRange e) {
+            // done reading; no need to parse the rest of the worksheet
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SAXException e) {
+            if (e.getException() instanceof IOException) { throw (IOException) e.getException(); }
+            throw new IOException("Unable to read worksheet '" + worksheet + "': " + e.getMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw new IOException("Unable to read worksheet '" + worksheet + "': " + e.getMessage(), e);
+        }
+
+        rangeHandler.completeRange();
+    }
+
+    /**
+     * same as {@link Excel.Worksheet#cells(ExcelAddress)}, but the values (via
+     * {@link Excel#getCellValue(org.apache.poi.xssf.usermodel.XSSFCell)}) are returned instead of the cells.
+     */
+    public List<List<String>> cells(String worksheet, ExcelAddress range) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        read(worksheet, range, true, (rowIndex, values) -> rows.add(values));
+        return rows;
+    }
+
+    /** same as {@link Excel.Worksheet#readRange(ExcelAddress)} */
+    public List<List<String>> readRange(String worksheet, ExcelAddress range) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        read(worksheet, range, false, (rowIndex, values) -> rows.add(toCsvCellData(values)));
+        return rows;
+    }
+
+    /**
+     * write {@code range} as CSV to {@code writer}, in the same form as the {@code csv} operation of the
+     * {@code EXCEL} expression -- records are separated by {@code recordDelim}, without trailing record delimiter.
+     * As with {@link Excel.Worksheet#readRange(ExcelAddress)}, rows of {@code range} not found in {@code worksheet}
+     * (including those past its last row) are written as empty records.
+     *
+     * @return the number of records written
+     */
+    public int writeCsv(String worksheet, ExcelAddress range, String delim, String recordDelim, Writer writer)
+        throws IOException {
+        return writeCsv(worksheet, range, delim, recordDelim, false, writer);
+    }
+
+    /**
+     * same as {@link #writeCsv(String, ExcelAddress, String, String, Writer)}. When {@code continued} is true, the
+     * records follow those already written to {@code writer}, so the first record is preceded by {@code recordDelim}.
+     */
+    public int writeCsv(String worksheet,
+                        ExcelAddress range,
+                        String delim,
+                        String recordDelim,
+                        boolean continued,
+                        Writer writer) throws IOException {
+        int[] count = {0};
+        read(worksheet, range, false, (rowIndex, values) -> {
+            if (count[0]++ > 0 || continued) { writer.write(recordDelim); }
+            writer.write(TextUtils.toCsvContent(Collections.singletonList(toCsvCellData(values)), delim, ""));
+        });
+        return count[0];
+    }
+
+    @Override
+    public void close() {
+        // opened as read-only; nothing to save
+        pkg.revert();
+        sharedStrings = null;
+        styles = null;
+    }
+
+    private static List<String> toCsvCellData(List<String> values) {
+        List<String> csvData = new ArrayList<>(values.size());
+        values.forEach(value -> csvData.add(Excel.toCsvCellData(value)));
+        return csvData;
+    }
+
+    private SheetIterator sheets() throws IOException {
+        try {
+            return (SheetIterator) reader.getSheetsData();
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unable to read worksheets from " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private InputStream openSheet(String worksheet) throws IOException {
+        SheetIterator sheets = sheets();
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            if (StringUtils.equalsIgnoreCase(sheets.getSheetName(), worksheet)) { return sheet; }
+            sheet.close();
+        }
+        return null;
+    }
+
+    private ReadOnlySharedStringsTable sharedStrings() throws IOException {
+        if (sharedStrings == null) {
+            try {
+                sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            } catch (SAXException e) {
+                throw new IOException("Unable to read shared strings from " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return sharedStrings;
+    }
+
+    private StylesTable styles() throws IOException {
+        if (styles == null) {
+            try {
+                styles = reader.getStylesTable();
+            } catch (OpenXML4JException e) {
+                throw new IOException("Unable to read styles from " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return styles;
+    }
+
+    /** thrown to stop parsing once the end of the requested range is passed */
+    private static final class EndOfRange extends RuntimeException {
+        private EndOfRange() { super("end of range", null, false, false); }
+    }
+
+    /** collect the values of the rows within range, and pass them on to {@link RowHandler} */
+    private static final class RangeHandler implements SheetContentsHandler {
+        private final int startRow;
+        private final int endRow;
+        private final int startColumn;
+        private final int endColumn;
+        private final boolean skipNullRows;
+        private final RowHandler handler;
+        // the next row expected within range; rows between this and the current row are not in the worksheet
+        private int nextRow;
+        private String[] currentRow;
+        private int currentColumn;
+
+        private RangeHandler(ExcelAddress range, boolean skipNullRows, RowHandler handler) {
+            startRow = range.getStart().getLeft();
+            startColumn = range.getStart().getRight();
+            endRow = range.getEnd().getLeft();
+            endColumn = range.getEnd().getRight();
+            this.skipNullRows = skipNullRows;
+            this.handler = handler;
+            nextRow = startRow;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            if (rowNum > endRow) { throw new EndOfRange(); }
+
+            currentColumn = -1;
+            if (rowNum < startRow) { return; }
+
+            handleMissingRows(rowNum);
+            currentRow = new String[endColumn - startColumn + 1];
+            Arrays.fill(currentRow, "");
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (currentRow == null) { return; }
+
+            handle(rowNum, Arrays.asList(currentRow));
+            currentRow = null;
+            nextRow = rowNum + 1;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // cell reference is optional in the file format; if missing, it is the next cell of the current row
+            currentColumn = cellReference == null ? currentColumn + 1 : new CellReference(cellReference).getCol();
+            if (currentRow == null || currentColumn < startColumn || currentColumn > endColumn) { return; }
+            currentRow[currentColumn - startColumn] = StringUtils.defaultString(formattedValue);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) { }
+
+        private void completeRange() throws IOException {
+            try {
+                handleMissingRows(endRow + 1);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void handleMissingRows(int upTo) {
+            if (skipNullRows) { return; }
+            for (int i = nextRow; i < upTo; i++) { handle(i, new ArrayList<>()); }
+            nextRow = upTo;
+        }
+
+        private void handle(int rowIndex, List<String> values) {
+            try {
+                handler.handle(rowIndex, values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
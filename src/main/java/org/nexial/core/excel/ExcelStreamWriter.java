@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.excel;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.nexial.core.excel.Excel.Worksheet;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Append-only, streaming (SXSSF) writer of a worksheet. Rows are kept in memory only within a small window; older
+ * rows are flushed to a (compressed) temp file, so that the memory needed to write a large amount of rows does not
+ * depend on the number of rows written.
+ * <p>
+ * The worksheet can be new or existing, but only rows after the last row of the worksheet can be written, and they
+ * must be written in ascending order. See {@link #isAppendable(Worksheet, int)}. Use {@link #getWorkbook()} to
+ * create cell styles, such as via {@link ExcelStyleHelper#generate(XSSFWorkbook, ExcelConfig.StyleConfig)}.
+ * <p>
+ * Once this writer is created, the underlying {@link Excel} should not be modified or saved directly.
+ */
+public class ExcelStreamWriter implements Closeable {
+    public static final int DEF_ROW_WINDOW = 100;
+
+    private final File file;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private int lastRowIndex;
+
+    public ExcelStreamWriter(Excel excel, String worksheet) {
+        assert excel != null && excel.getFile() != null;
+
+        file = excel.getFile();
+        XSSFSheet existing = excel.getWorkbook().getSheet(worksheet);
+        lastRowIndex = lastRowIndex(existing);
+
+        workbook = new SXSSFWorkbook(excel.getWorkbook(), DEF_ROW_WINDOW, true);
+        sheet = existing == null ? workbook.createSheet(worksheet) : workbook.getSheet(existing.getSheetName());
+    }
+
+    /** true if rows can be streamed to {@code worksheet} starting from {@code rowIndex} */
+    public static boolean isAppendable(Worksheet worksheet, int rowIndex) {
+        return worksheet != null && rowIndex > lastRowIndex(worksheet.getSheet());
+    }
+
+    public File getFile() { return file; }
+
+    /** the underlying workbook, such as to create cell styles and fonts */
+    public XSSFWorkbook getWorkbook() { return workbook.getXSSFWorkbook(); }
+
+    public int getLastRowIndex() { return lastRowIndex; }
+
+    public Row writeRow(int rowIndex, int startColumn, List<String> values) {
+        return writeRow(rowIndex, startColumn, values, null);
+    }
+
+    /** write {@code values} as text to {@code rowIndex}, starting from {@code startColumn} */
+    public Row writeRow(int rowIndex, int startColumn, List<String> values, CellStyle style) {
+        if (rowIndex <= lastRowIndex) {
+            throw new IllegalArgumentException("Unable to write to row " + (rowIndex + 1) + " of worksheet '" +
+                                               sheet.getSheetName() + "'; only row " + (lastRowIndex + 2) +
+                                               " or later can be written");
+        }
+
+        Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < values.size(); i++) {
+            Cell cell = row.createCell(startColumn + i);
+            cell.setCellValue(values.get(i));
+            if (style != null) { cell.setCellStyle(style); }
+        }
+
+        lastRowIndex = rowIndex;
+        return row;
+    }
+
+    public void save() throws IOException {
+        // same as Excel.save(File,XSSFWorkbook), but the workbook and the flushed rows are merged as they are written
+        try (FileOutputStream out = FileUtils.openOutputStream(file)) { workbook.write(out); }
+    }
+
+    /** remove the temp files of the flushed rows */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private static int lastRowIndex(XSSFSheet sheet) {
+        return sheet == null || sheet.getPhysicalNumberOfRows() == 0 ? -1 : sheet.getLastRowNum();
+    }
+}
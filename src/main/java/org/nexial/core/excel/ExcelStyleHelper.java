@@ -22,7 +22,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.BorderStyle;
@@ -163,8 +162,10 @@ public final class ExcelStyleHelper {
         fixCellWidth(cell.getSheet(), cell, COL_IDX_DESCRIPTION, DEF_CHAR_WIDTH_FACTOR_TAHOMA);
     }
 
-    public static void formatSectionDescription(TestStep testStep) {
-        enhanceDescriptionFormat(formatDescriptionCell(testStep, STYLE_SECTION_DESCRIPTION));
+    public static void formatSectionDescription(Worksheet worksheet, TestStep testStep) {
+        List<XSSFCell> row = testStep.resolveRow(worksheet);
+        formatDescriptionCell(worksheet, row, STYLE_SECTION_DESCRIPTION);
+        enhanceDescriptionFormat(worksheet, row);
     }
 
     public static void formatRepeatUntilDescription(Worksheet worksheet, XSSFCell cell) {
@@ -172,12 +173,14 @@ public final class ExcelStyleHelper {
         fixCellWidth(cell.getSheet(), cell, COL_IDX_DESCRIPTION, DEF_CHAR_WIDTH_FACTOR_TAHOMA);
     }
 
-    public static TestStep formatRepeatUntilDescription(TestStep testStep) {
-        return enhanceDescriptionFormat(formatDescriptionCell(testStep, STYLE_REPEAT_UNTIL_DESCRIPTION));
+    public static void formatRepeatUntilDescription(Worksheet worksheet, TestStep testStep) {
+        List<XSSFCell> row = testStep.resolveRow(worksheet);
+        formatDescriptionCell(worksheet, row, STYLE_REPEAT_UNTIL_DESCRIPTION);
+        enhanceDescriptionFormat(worksheet, row);
     }
 
-    public static TestStep formatFailedStepDescription(TestStep testStep) {
-        return formatDescriptionCell(testStep, STYLE_FAILED_STEP_DESCRIPTION);
+    public static void formatFailedStepDescription(Worksheet worksheet, List<XSSFCell> row) {
+        formatDescriptionCell(worksheet, row, STYLE_FAILED_STEP_DESCRIPTION);
     }
 
     public static void formatTargetCell(Worksheet worksheet, XSSFCell cell) {
@@ -190,10 +193,9 @@ public final class ExcelStyleHelper {
         fixCellWidth(worksheet.getSheet(), cell, COL_IDX_COMMAND, DEF_CHAR_WIDTH_FACTOR_CONSOLAS);
     }
 
-    public static void formatParams(TestStep testStep) {
-        Worksheet worksheet = testStep.getWorksheet();
+    public static void formatParams(Worksheet worksheet, TestStep testStep) {
         XSSFCellStyle style = worksheet.getStyle(STYLE_PARAM);
-        List<XSSFCell> row = testStep.getRow();
+        List<XSSFCell> row = testStep.resolveRow(worksheet);
         for (int i = COL_IDX_PARAMS_START; i < COL_IDX_PARAMS_END; i++) {
             XSSFCell cell = row.get(i);
             if (isStepSkipped(cell.getRow())) {
@@ -338,21 +340,18 @@ public final class ExcelStyleHelper {
         return font;
     }
 
-    @NotNull
-    private static TestStep enhanceDescriptionFormat(TestStep testStep) {
-        String result = Excel.getCellValue(testStep.getRow().get(COL_IDX_RESULT));
-        XSSFCellStyle cellStyle = testStep.getRow().get(COL_IDX_DESCRIPTION).getCellStyle();
+    private static void enhanceDescriptionFormat(Worksheet worksheet, List<XSSFCell> row) {
+        String result = Excel.getCellValue(row.get(COL_IDX_RESULT));
+        XSSFCellStyle cellStyle = row.get(COL_IDX_DESCRIPTION).getCellStyle();
         XSSFFont font = cellStyle.getFont();
 
         if (StringUtils.startsWith(result, MSG_SKIPPED)) {
             font.setItalic(true);
             font.setColor(new XSSFColor(new Color(100, 100, 100)));
-            return testStep;
+            return;
         }
 
-        if (StringUtils.startsWith(result, MSG_FAIL)) { return formatFailedStepDescription(testStep); }
-
-        return testStep;
+        if (StringUtils.startsWith(result, MSG_FAIL)) { formatFailedStepDescription(worksheet, row); }
     }
 
     // add prefix to description
@@ -363,13 +362,10 @@ public final class ExcelStyleHelper {
         }
     }
 
-    @NotNull
-    private static TestStep formatDescriptionCell(TestStep testStep, String styleName) {
-        XSSFCell cell = testStep.getRow().get(COL_IDX_DESCRIPTION);
-        Worksheet worksheet = testStep.getWorksheet();
+    private static void formatDescriptionCell(Worksheet worksheet, List<XSSFCell> row, String styleName) {
+        XSSFCell cell = row.get(COL_IDX_DESCRIPTION);
         cell.setCellStyle(worksheet.getStyle(styleName));
         fixCellWidth(cell.getSheet(), cell, COL_IDX_DESCRIPTION, DEF_CHAR_WIDTH_FACTOR_TAHOMA);
-        return testStep;
     }
 
     public static XSSFCellStyle cloneCellStyle(XSSFCellStyle oldCellStyle, XSSFWorkbook workbook) {
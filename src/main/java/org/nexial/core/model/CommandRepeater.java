@@ -21,7 +21,6 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.logs.ExecutionLogger;
 import org.nexial.core.logs.TrackTimeLogs;
@@ -64,19 +63,24 @@ public class CommandRepeater {
 
     public List<TestStep> getSteps() { return steps; }
 
-    public void formatSteps() {
-        initialTestStep = formatRepeatUntilDescription(initialTestStep);
-
+    /** write the results of the loop steps to {@code worksheet}, where this repeat-until is */
+    public void writeResults(Worksheet worksheet) {
         if (CollectionUtils.isEmpty(steps)) { return; }
+        steps.forEach(step -> step.writeResult(worksheet));
+    }
 
-        Worksheet worksheet = initialTestStep.getWorksheet();
+    public void formatSteps(Worksheet worksheet) {
+        formatRepeatUntilDescription(worksheet, initialTestStep);
+
+        if (CollectionUtils.isEmpty(steps)) { return; }
 
         // one loop through to fix all the styles for loop steps
         for (TestStep step : steps) {
-            formatRepeatUntilDescription(step);
-            formatTargetCell(worksheet, step.getRow().get(COL_IDX_TARGET));
-            formatCommandCell(worksheet, step.getRow().get(COL_IDX_COMMAND));
-            formatParams(step);
+            formatRepeatUntilDescription(worksheet, step);
+            List<XSSFCell> row = step.resolveRow(worksheet);
+            formatTargetCell(worksheet, row.get(COL_IDX_TARGET));
+            formatCommandCell(worksheet, row.get(COL_IDX_COMMAND));
+            formatParams(worksheet, step);
         }
     }
 
@@ -182,12 +186,7 @@ public class CommandRepeater {
                     if (!isSkipped) {
                         // time tracking
                         trackTimeLogs.checkEndTracking(context, testStep);
-                        List<XSSFCell> row = testStep.getRow();
-                        XSSFCell cellDescription = row.get(COL_IDX_DESCRIPTION);
-                        String description = Excel.getCellValue(cellDescription);
-                        if (StringUtils.isNotEmpty(description)) {
-                            cellDescription.setCellValue(context.replaceTokens(description, true));
-                        }
+                        testStep.resolveDescription();
                     }
 
                     // check onError event
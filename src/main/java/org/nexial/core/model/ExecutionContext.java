@@ -35,6 +35,7 @@ import org.nexial.commons.utils.EnvUtils;
 import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.MemManager;
+import org.nexial.core.NexialConst;
 import org.nexial.core.TokenReplacementException;
 import org.nexial.core.aws.NexialS3Helper;
 import org.nexial.core.aws.SmsHelper;
@@ -46,6 +47,7 @@ import org.nexial.core.interactive.InteractiveSession;
 import org.nexial.core.logs.ExecutionLogger;
 import org.nexial.core.logs.TrackTimeLogs;
 import org.nexial.core.mail.NexialMailer;
+import org.nexial.core.model.ExecutionVariables.Scope;
 import org.nexial.core.plugins.CanTakeScreenshot;
 import org.nexial.core.plugins.NexialCommand;
 import org.nexial.core.plugins.mobile.MobileProfile;
@@ -110,10 +112,12 @@ public class ExecutionContext {
     private static final String NAME_POST_TOKEN = "POST_TOKEN";
     private static final String NAME_INITIAL = "INITIAL";
     private static final String NON_DELIM_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789_-";
+    private static final String NAME_INTERNAL_PREFIX = "nexialInternal.";
     private static final String NAME_SPRING_CONTEXT = "nexialInternal.springContext";
     private static final String NAME_PLUGIN_MANAGER = "nexialInternal.pluginManager";
     private static final String NAME_TRACK_TIME_LOGS = "nexialInternal.trackTimeLogs";
     private static final String NAME_CURRENT_COMMAND_PROFILES = "nexialInternal.currentCommandProfiles";
+    private static final String NAME_VARIABLES = "nexialInternal.variables";
 
     // function parsing
     private static final String ESCAPED_DOLLAR = "\\$";
@@ -162,7 +166,13 @@ public class ExecutionContext {
     protected ClassPathXmlApplicationContext springContext;
     protected PluginManager plugins;
     protected Map<String, Object> data = new ListOrderedMap<>();
+    // thread-confined replacement of System properties as the "override" tier of data variables
+    protected ExecutionVariables variables = new ExecutionVariables();
+    // only available when running as a virtual user of a load test
+    protected LoadTestMetrics loadTestMetrics;
     protected ExpressionProcessor expression;
+    private String excludedVarsSpec;
+    private List<String> excludedVars;
     protected ExecutionEventListener executionEventListener;
     protected CanTakeScreenshot screenshotAgent;
     protected Syspath syspath;
@@ -252,6 +262,13 @@ public class ExecutionContext {
     public ExecutionContext(ExecutionDefinition execDef) { this(execDef, null); }
 
     public ExecutionContext(ExecutionDefinition execDef, Map<String, Object> intraExecutionData) {
+        if (MapUtils.isNotEmpty(intraExecutionData) &&
+            intraExecutionData.get(NAME_VARIABLES) instanceof ExecutionVariables) {
+            // carry over the variables of the previous script, without affecting it
+            variables = ((ExecutionVariables) intraExecutionData.remove(NAME_VARIABLES)).snapshot();
+            variables.clear(Scope.SCRIPT);
+        }
+
         this.execDef = execDef;
         this.project = adjustPath(execDef);
         this.hostname = StringUtils.upperCase(EnvUtils.getHostName());
@@ -316,6 +333,63 @@ public class ExecutionContext {
         NexialListenerFactory.fireEvent(NexialExecutionEvent.newExecutionStartEvent(this));
     }
 
+    /**
+     * create an isolated context off {@code parent}: same execution definition, spring context and a copy of its
+     * data variables, but with its own plugins. Used to execute iterations in parallel.
+     *
+     * @see #fork()
+     */
+    protected ExecutionContext(ExecutionContext parent) {
+        this.execDef = parent.execDef;
+        this.project = parent.project;
+        this.hostname = parent.hostname;
+
+        springContext = parent.springContext;
+        initSpringBeans();
+
+        // prototype-scoped; new set of plugins for this context
+        plugins = springContext.getBean("pluginManager", PluginManager.class);
+        plugins.setContext(this);
+        plugins.init();
+
+        data.putAll(parent.data);
+        data.remove(NAME_TRACK_TIME_LOGS);
+        currentCommandProfiles.putAll(parent.currentCommandProfiles);
+        variables = parent.variables.snapshot();
+
+        expression = new ExpressionProcessor(this);
+        executionLogger = new ExecutionLogger(this);
+    }
+
+    /**
+     * fork an isolated copy of this context, to be merged back via {@link #join(ExecutionContext)}.
+     */
+    public ExecutionContext fork() { return new ExecutionContext(this); }
+
+    /**
+     * merge the data variables and step counts of a {@link #fork() forked} context back into this context.
+     */
+    public void join(ExecutionContext forked) {
+        if (forked == null || forked == this) { return; }
+
+        forked.data.forEach((name, value) -> {
+            if (!StringUtils.startsWith(name, NAME_INTERNAL_PREFIX)) { data.put(name, value); }
+        });
+
+        scriptStepCount += forked.scriptStepCount;
+        scriptPassCount += forked.scriptPassCount;
+        scriptFailCount += forked.scriptFailCount;
+        scriptWarnCount += forked.scriptWarnCount;
+    }
+
+    /**
+     * release the plugins of a {@link #fork() forked} context. The spring context is shared with the parent context
+     * and thus remains open.
+     */
+    public void dispose() {
+        if (plugins != null) { plugins.destroy(); }
+    }
+
     public void useTestScript(Excel testScript) throws IOException {
         this.testScript = testScript;
         setData(OPT_INPUT_EXCEL_FILE, testScript.getFile().getAbsoluteFile());
@@ -591,7 +665,7 @@ public class ExecutionContext {
         if (StringUtils.isBlank(name)) { return null; }
 
         name = adjustForMacroFlex(name);
-        String sysProp = System.getProperty(name);
+        String sysProp = variables.get(name);
         if (StringUtils.isNotEmpty(sysProp)) { return sysProp; }
         return MapUtils.getObject(data, name);
     }
@@ -701,12 +775,8 @@ public class ExecutionContext {
             });
 
             // scan system properties _later_ so that they can override those also found in `data`
-            System.getProperties().forEach((key, value) -> {
-                String sKey = key.toString();
-                if (StringUtils.startsWith(sKey, prefix1)) {
-                    props.put(StringUtils.substringAfter(sKey, prefix1), replaceTokens(Objects.toString(value)));
-                }
-            });
+            variables.getByPrefix(prefix1).forEach((key, value) -> props.put(StringUtils.substringAfter(key, prefix1),
+                                                                             replaceTokens(value)));
         }
 
         if (MapUtils.isEmpty(props)) {
@@ -718,12 +788,8 @@ public class ExecutionContext {
             });
 
             // scan system properties _later_ so that they can override those also found in `data`
-            System.getProperties().forEach((key, value) -> {
-                String sKey = key.toString();
-                if (StringUtils.startsWith(sKey, prefix)) {
-                    props.put(StringUtils.substringAfter(sKey, prefix), replaceTokens(Objects.toString(value)));
-                }
-            });
+            variables.getByPrefix(prefix).forEach((key, value) -> props.put(StringUtils.substringAfter(key, prefix),
+                                                                            replaceTokens(value)));
         }
 
         return props;
@@ -738,11 +804,7 @@ public class ExecutionContext {
                          .stream()
                          .filter(name -> StringUtils.isEmpty(prefix) || StringUtils.startsWith(name, prefix))
                          .collect(Collectors.toList()));
-        names.addAll(System.getProperties()
-                           .stringPropertyNames()
-                           .stream()
-                           .filter(name -> StringUtils.isEmpty(prefix) || StringUtils.startsWith(name, prefix))
-                           .collect(Collectors.toList()));
+        names.addAll(variables.names(prefix));
 
         return names;
     }
@@ -756,8 +818,7 @@ public class ExecutionContext {
                          .stream()
                          .filter(name -> StringUtils.isEmpty(regex) || RegexUtils.match(name, regex))
                          .collect(Collectors.toList()));
-        names.addAll(System.getProperties()
-                           .stringPropertyNames()
+        names.addAll(variables.names(null)
                            .stream()
                            .filter(name -> StringUtils.isEmpty(regex) || RegexUtils.match(name, regex))
                            .collect(Collectors.toList()));
@@ -811,7 +872,7 @@ public class ExecutionContext {
         if (StringUtils.isBlank(name)) {
             return removed;
         } else {
-            String removedFromSys = System.clearProperty(name);
+            String removedFromSys = variables.remove(name);
             return StringUtils.isEmpty(removed) ? removedFromSys : removed;
         }
     }
@@ -854,7 +915,7 @@ public class ExecutionContext {
 
             // logic updated; see below
             // if (updateSysProps || referenceDataForExecution.contains(name)) { System.setProperty(name, value); }
-            if (updateSysProps) { System.setProperty(name, value); }
+            if (updateSysProps) { publishVariable(name, value); }
         }
     }
 
@@ -902,9 +963,21 @@ public class ExecutionContext {
         if (StringUtils.isBlank(text)) { return text; }
         if (StringUtils.equals(text, getNullValueToken())) { return null; }
 
-        text = treatCommonValueShorthand(text);
+        TokenTemplate template = TokenTemplate.of(text, NexialConst::treatCommonValueShorthand);
+        text = template.getText();
         if (text == null) { return null; }
 
+        // nothing to resolve
+        if (template.isLiteral()) { return enforceUnixEOL(text); }
+
+        List<String> ignoredVars = getIgnoredVars();
+
+        // most common case: only simple values, resolved in a single pass over the parsed template
+        if (!template.isDynamic()) {
+            String resolved = renderSimpleTokens(template, ignoredVars, retainCrypt);
+            if (resolved != null) { return postReplaceTokens(resolved, retainCrypt); }
+        }
+
         // pre-first pass  ;-)
         // substitute crypt value
         if (!retainCrypt) { text = handleCryptValue(text); }
@@ -915,9 +988,8 @@ public class ExecutionContext {
         // second pass: simple value ONLY
         Map<String, Object> collectionValues = new HashMap<>();
         Map<String, Object> complexValues = new HashMap<>();
-        Set<String> tokens = findTokens(text);
-
-        List<String> ignoredVars = TextUtils.toList(getRawStringData(OPT_VAR_EXCLUDE_LIST), getTextDelim(), false);
+        // function may have introduced new tokens
+        Set<String> tokens = template.isDynamic() ? findTokens(text) : new HashSet<>(template.getTokenNames());
         if (CollectionUtils.isNotEmpty(ignoredVars)) { ignoredVars.forEach(tokens::remove); }
 
         boolean allTokenResolvedToNull = CollectionUtils.isNotEmpty(tokens);
@@ -980,7 +1052,8 @@ public class ExecutionContext {
                 // check to see if there's any reference to the ${var}[index] pattern
                 if (isListCompatible(stringValue)) {
                     String regexIndexRef = ESCAPED_TOKEN_START + token + ESCAPED_TOKEN_END + "\\[.+?\\]";
-                    boolean hasIndexRef = RegexUtils.match(text, regexIndexRef, true);
+                    boolean hasIndexRef = StringUtils.contains(text, tokenized + TOKEN_ARRAY_START) &&
+                                          RegexUtils.match(text, regexIndexRef, true);
 
                     // if there's substitution for ${...}[#] and the `value` can be treated as list
                     if (hasIndexRef) {
@@ -1050,6 +1123,10 @@ public class ExecutionContext {
         // fourth pass: map and complex object type
         if (MapUtils.isNotEmpty(complexValues)) { text = replaceComplexTokens(text, complexValues); }
 
+        return postReplaceTokens(text, retainCrypt);
+    }
+
+    private String postReplaceTokens(String text, boolean retainCrypt) {
         // fifth pass: nexial expression
         text = handleExpression(text);
 
@@ -1059,8 +1136,57 @@ public class ExecutionContext {
         return enforceUnixEOL(text);
     }
 
+    /**
+     * resolve {@code template} in one pass, provided that all its tokens resolve to simple, non-null values which
+     * would not form new tokens. Return {@code null} if {@code template} requires the full treatment of
+     * {@link #replaceTokens(String, boolean)}.
+     */
+    private String renderSimpleTokens(TokenTemplate template, List<String> ignoredVars, boolean retainCrypt) {
+        Map<String, String> values = new HashMap<>();
+        for (String token : template.getTokenNames()) {
+            if (ignoredVars.contains(token)) { continue; }
+
+            Object value = getObjectData(token);
+            if (value == null || value.equals(NULL)) { return null; }
+
+            String stringValue = value.toString();
+            if (NON_PRINTABLE_REPLACEMENTS.containsKey(stringValue)) {
+                values.put(token, NON_PRINTABLE_REPLACEMENTS.get(stringValue));
+                continue;
+            }
+
+            Class valueType = value.getClass();
+            if (!valueType.isPrimitive() && !SIMPLE_VALUES.contains(valueType)) { return null; }
+
+            stringValue = StringUtils.defaultString(getStringData(token));
+            if (retainCrypt && CellTextReader.isCrypt(stringValue)) {
+                stringValue = TOKEN_START + token + TOKEN_END;
+            } else if (StringUtils.contains(stringValue, "$")) {
+                // substituted value might combine with surrounding text to form new token
+                return null;
+            }
+
+            values.put(token, stringValue);
+        }
+
+        return template.render(values);
+    }
+
+    /** the variables excluded from token replacement, re-parsed only when its definition changes */
+    private List<String> getIgnoredVars() {
+        String spec = getRawStringData(OPT_VAR_EXCLUDE_LIST) + "\n" + getTextDelim();
+        if (!StringUtils.equals(spec, excludedVarsSpec)) {
+            List<String> ignored = TextUtils.toList(getRawStringData(OPT_VAR_EXCLUDE_LIST), getTextDelim(), false);
+            excludedVars = ignored == null ? Collections.emptyList() : Collections.unmodifiableList(ignored);
+            excludedVarsSpec = spec;
+        }
+        return excludedVars;
+    }
+
     public String handleExpression(String text) {
         if (StringUtils.isBlank(text)) { return text; }
+        // every expression has its operations after `=>`; no need to go further without it
+        if (!StringUtils.contains(text, "=>")) { return text; }
         if (expression == null) { expression = new ExpressionProcessor(this); }
 
         try {
@@ -1204,6 +1330,7 @@ public class ExecutionContext {
         intraExecutionData.put(NAME_PLUGIN_MANAGER, plugins);
         intraExecutionData.put(NAME_SPRING_CONTEXT, springContext);
         intraExecutionData.put(NAME_CURRENT_COMMAND_PROFILES, currentCommandProfiles);
+        intraExecutionData.put(NAME_VARIABLES, variables);
         intraExecutionData.remove(IS_FIRST_ITERATION);
         intraExecutionData.remove(IS_LAST_ITERATION);
     }
@@ -1261,6 +1388,7 @@ public class ExecutionContext {
 
         getExecutionEventListener().onIterationComplete();
         removeTrackTimeLogs();
+        variables.clear(Scope.ITERATION);
 
         if (testScript != null) {
             try {
@@ -1324,7 +1452,16 @@ public class ExecutionContext {
 
     public void setMacroStepFailed(boolean stepFailed) { data.put(MACRO_STEP_FAILED, stepFailed); }
 
-    public void setInMacroFlex(boolean isInMacro) { this.isInMacro = isInMacro; }
+    public ExecutionVariables getVariables() { return variables; }
+
+    public LoadTestMetrics getLoadTestMetrics() { return loadTestMetrics; }
+
+    public void setLoadTestMetrics(LoadTestMetrics loadTestMetrics) { this.loadTestMetrics = loadTestMetrics; }
+
+    public void setInMacroFlex(boolean isInMacro) {
+        this.isInMacro = isInMacro;
+        if (!isInMacro) { variables.clear(Scope.MACRO); }
+    }
 
     // support flow controls - EndIf()
     public boolean isMacroBreakIteration() { return getBooleanData(MACRO_BREAK_CURRENT_ITERATION, false); }
@@ -1445,21 +1582,26 @@ public class ExecutionContext {
 
     public static boolean getSystemThenContextBooleanData(String name, ExecutionContext context, boolean def) {
         return BooleanUtils.toBoolean(
-            System.getProperty(name, (context == null ? def : context.getBooleanData(name, def)) + ""));
+            ExecutionVariables.getProperty(name, (context == null ? def : context.getBooleanData(name, def)) + ""));
     }
 
     public static int getSystemThenContextIntData(String name, ExecutionContext context, int def) {
         return NumberUtils.toInt(
-            System.getProperty(name, (context == null ? def : context.getIntData(name, def)) + ""));
+            ExecutionVariables.getProperty(name, (context == null ? def : context.getIntData(name, def)) + ""));
     }
 
     public static String getSystemThenContextStringData(String name, ExecutionContext context, String def) {
-        if (System.getProperty(name) == null) {
+        if (ExecutionVariables.getProperty(name) == null) {
             String value = context == null ? def : context.getStringData(name, def);
-            System.setProperty(name, value);
+            if (context == null) {
+                // not executing
+                System.setProperty(name, value);
+            } else {
+                context.variables.set(name, value);
+            }
             return value;
         } else {
-            return System.getProperty(name, def);
+            return ExecutionVariables.getProperty(name, def);
         }
     }
 
@@ -1672,11 +1814,11 @@ public class ExecutionContext {
         if (remove) {
             data.remove(MACRO_FLEX_PREFIX + name);
             data.remove(name);
-            System.clearProperty(name);
+            variables.remove(name);
             return;
         }
 
-        if (StringUtils.isEmpty(System.getProperty(name))) {
+        if (StringUtils.isEmpty(variables.get(name))) {
             if (prefixedForMacroFlex(name)) {
                 data.put(MACRO_FLEX_PREFIX + name, value);
             } else {
@@ -1685,19 +1827,19 @@ public class ExecutionContext {
 
             // some reference data are considered "special" and should be elevated to "execution" level so that they
             // can be used as such for Execution Dashboard
-            if (referenceDataForExecution.contains(name)) { System.setProperty(name, Objects.toString(value)); }
+            if (referenceDataForExecution.contains(name)) { publishVariable(name, Objects.toString(value)); }
         } else {
-            System.setProperty(name, Objects.toString(value));
+            variables.set(name, Objects.toString(value), prefixedForMacroFlex(name) ? Scope.MACRO : Scope.EXECUTION);
         }
     }
 
     /**
      * perhaps it's a system property? first check System property, then internal map
      */
-    protected String getRawStringData(String name) { return System.getProperty(name, flattenAsString(data.get(name))); }
+    protected String getRawStringData(String name) { return variables.get(name, flattenAsString(data.get(name))); }
 
     protected String getRawStringData(String name, String def) {
-        return StringUtils.defaultString(System.getProperty(name),
+        return StringUtils.defaultString(variables.get(name),
                                          data.containsKey(name) ? flattenAsString(data.get(name)) : def);
     }
 
@@ -1720,11 +1862,7 @@ public class ExecutionContext {
         Object[] deleteCandidates = data.keySet().stream().filter(key -> StringUtils.startsWith(key, prefix)).toArray();
         for (Object deleteCandidate : deleteCandidates) { data.remove(Objects.toString(deleteCandidate)); }
 
-        Object[] sysProps = System.getProperties().keySet().toArray();
-        for (Object key : sysProps) {
-            String sKey = Objects.toString(key);
-            if (StringUtils.startsWith(sKey, prefix)) { System.clearProperty(sKey); }
-        }
+        variables.removeByPrefix(prefix);
     }
 
     protected Map<String, String> gatherReferenceData(String prefix) { return getDataByPrefix(prefix); }
@@ -2174,9 +2312,9 @@ public class ExecutionContext {
 
         // 5. fill in to sys prop, if not defined - only for critical sys prop
         defaultContextProps.forEach((name, def) -> {
-            if (StringUtils.isBlank(System.getProperty(name))) {
+            if (StringUtils.isBlank(variables.get(name))) {
                 String value = hasData(name) ? getStringData(name) : def;
-                if (StringUtils.isNotEmpty(value)) { System.setProperty(name, value); }
+                if (StringUtils.isNotEmpty(value)) { variables.set(name, value); }
             }
         });
 
@@ -2256,6 +2394,15 @@ public class ExecutionContext {
 
     private Map<String, Object> getDataMap() { return data; }
 
+    /**
+     * execution-level data (such as project directories and reference data for Execution Dashboard) are visible
+     * outside of this context - those are published to System properties as well.
+     */
+    private void publishVariable(String name, String value) {
+        variables.set(name, value);
+        System.setProperty(name, value);
+    }
+
     private void overrideIfSysPropFound(String propName) {
         if (StringUtils.isNotBlank(System.getProperty(propName))) { setData(propName, System.getProperty(propName)); }
     }
@@ -2423,7 +2570,7 @@ public class ExecutionContext {
     private String adjustForMacroFlex(String name) {
         if (StringUtils.startsWith(name, NAMESPACE)) { return name; }
         if (!isInMacro) { return name; }
-        if (System.getProperties().containsKey(MACRO_FLEX_PREFIX + name)) { return MACRO_FLEX_PREFIX + name; }
+        if (variables.has(MACRO_FLEX_PREFIX + name)) { return MACRO_FLEX_PREFIX + name; }
         if (data.containsKey(MACRO_FLEX_PREFIX + name)) { return MACRO_FLEX_PREFIX + name; }
         return name;
     }
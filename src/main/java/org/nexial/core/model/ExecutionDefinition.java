@@ -20,6 +20,7 @@ package org.nexial.core.model;
 import org.nexial.commons.utils.FileUtil;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.utils.ConsoleUtils;
+import org.nexial.core.utils.ParsedFileCache;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,7 +28,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.nexial.core.NexialConst.Data.DEF_OPEN_EXCEL_AS_DUP;
 import static org.nexial.core.excel.Excel.MIN_EXCEL_FILE_SIZE;
 
 public class ExecutionDefinition {
@@ -43,6 +43,12 @@ public class ExecutionDefinition {
     private int maximumLoad;
     private int rampUpSec;
     private int holdForSec;
+    private int rampDownSec;
+    private long thinkTimeMs;
+    // target throughput of a load test, in iterations per second across all virtual users; 0 means unthrottled
+    private double targetTps;
+    // the type of resources (ui or api) this script would consume; used when scheduling parallel executions
+    private String resourceType;
 
     private TestProject project;
     private String runId;
@@ -103,6 +109,22 @@ public class ExecutionDefinition {
 
     public void setHoldForSec(int holdForSec) { this.holdForSec = holdForSec; }
 
+    public int getRampDownSec() { return rampDownSec; }
+
+    public void setRampDownSec(int rampDownSec) { this.rampDownSec = rampDownSec; }
+
+    public long getThinkTimeMs() { return thinkTimeMs; }
+
+    public void setThinkTimeMs(long thinkTimeMs) { this.thinkTimeMs = thinkTimeMs; }
+
+    public double getTargetTps() { return targetTps; }
+
+    public void setTargetTps(double targetTps) { this.targetTps = targetTps; }
+
+    public String getResourceType() { return resourceType; }
+
+    public void setResourceType(String resourceType) { this.resourceType = resourceType; }
+
     public TestProject getProject() { return project; }
 
     public void setProject(TestProject project) { this.project = project; }
@@ -155,7 +177,9 @@ public class ExecutionDefinition {
             throw new IllegalArgumentException("specified data file is not readable or valid: " + this.dataFile);
         }
 
-        Excel dataFile = new Excel(this.dataFile, DEF_OPEN_EXCEL_AS_DUP, false);
+        // the same data file is usually shared by multiple plan rows (and re-fetched between iterations); it is read
+        // once and read again only when changed. The data is still parsed here since it depends on the data sheets
+        Excel dataFile = new Excel(this.dataFile, ParsedFileCache.open(this.dataFile), false);
         Map<String, List<String>> runtimeDataMap = testData == null ? new HashMap<>() : testData.getRuntimeDataMap();
 
         // parse and collect all relevant test data, so we can merge then into iteration-bound test script
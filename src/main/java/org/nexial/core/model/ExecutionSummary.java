@@ -544,8 +544,9 @@ public class ExecutionSummary {
             ConsoleUtils.error("Unable to generate Excel report because test script is null");
             return;
         }
-        if (!FileUtil.isFileReadable(testScript.getFile(), MIN_EXCEL_FILE_SIZE)) {
-            ConsoleUtils.error("Unable to generate Excel report because " + testScript.getFile() + " is not readable");
+        // test script might not be saved yet, but it must be associated to an output file
+        if (testScript.getFile() == null) {
+            ConsoleUtils.error("Unable to generate Excel report because test script has no output file");
             return;
         }
 
@@ -587,10 +588,15 @@ public class ExecutionSummary {
 
             // set column widths
             for (int i = 0; i < COLUMN_WIDTHS.size(); i++) { summarySheet.setColumnWidth(i, COLUMN_WIDTHS.get(i)); }
+        } catch (Throwable e) {
+            ConsoleUtils.error("Unable to generate Excel report to " + testScript + ": " + e.getMessage());
+        }
 
+        // save regardless, since the execution results might not be saved otherwise
+        try {
             testScript.save();
         } catch (Throwable e) {
-            ConsoleUtils.error("Unable to generate Excel report to " + testScript + ": " + e.getMessage());
+            ConsoleUtils.error("Unable to save Excel report to " + scriptFile + ": " + e.getMessage());
         }
     }
 
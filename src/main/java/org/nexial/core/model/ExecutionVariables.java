@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * layered variable store that stands in for System properties as the "shared" tier of data variables. Each
+ * {@link ExecutionContext} owns one store, and the store of the context being executed is bound to the current
+ * thread, so that concurrently running scripts (or iterations) no longer overwrite each other's state through
+ * JVM-global System properties.
+ * <p>
+ * Variables are resolved from the innermost scope outwards:
+ * {@link Scope#MACRO} -> {@link Scope#ITERATION} -> {@link Scope#SCRIPT} -> {@link Scope#EXECUTION} -> System
+ * properties. Removing a variable masks it (including any System property by the same name) for this store only.
+ * <p>
+ * {@link #snapshot()} creates a copy-on-write copy for forked work: both copies share the same layers until either
+ * one writes to a layer, at which point that layer is copied.
+ * <p>
+ * A store is confined to the thread executing its context and is NOT thread-safe.
+ */
+public final class ExecutionVariables {
+    public enum Scope { EXECUTION, SCRIPT, ITERATION, MACRO }
+
+    private static final ThreadLocal<ExecutionVariables> CURRENT = new ThreadLocal<>();
+    // marker for removed variables, so that the same variable in the outer scopes (or System) is masked
+    private static final String REMOVED = new String("__nexial.removed__");
+    private static final Scope[] LOOKUP_ORDER = { Scope.MACRO, Scope.ITERATION, Scope.SCRIPT, Scope.EXECUTION };
+
+    private final EnumMap<Scope, Layer> layers = new EnumMap<>(Scope.class);
+
+    private static final class Layer {
+        private Map<String, String> values;
+        private boolean shared;
+
+        private Layer(Map<String, String> values, boolean shared) {
+            this.values = values;
+            this.shared = shared;
+        }
+
+        private Map<String, String> writable() {
+            if (shared) {
+                values = new HashMap<>(values);
+                shared = false;
+            }
+            return values;
+        }
+    }
+
+    public ExecutionVariables() {
+        for (Scope scope : Scope.values()) { layers.put(scope, new Layer(new HashMap<>(), false)); }
+    }
+
+    private ExecutionVariables(ExecutionVariables source) {
+        source.layers.forEach((scope, layer) -> {
+            layer.shared = true;
+            layers.put(scope, new Layer(layer.values, true));
+        });
+    }
+
+    /** bind {@code variables} to the current thread; {@code null} to unbind */
+    public static void bind(ExecutionVariables variables) {
+        if (variables == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(variables);
+        }
+    }
+
+    /** the store bound to the current thread, if any */
+    public static ExecutionVariables current() { return CURRENT.get(); }
+
+    /**
+     * thread-aware replacement of {@link System#getProperty(String)}: consult the store bound to the current thread
+     * (if any) before System properties.
+     */
+    public static String getProperty(String name) {
+        ExecutionVariables variables = current();
+        return variables == null ? System.getProperty(name) : variables.get(name);
+    }
+
+    public static String getProperty(String name, String def) {
+        String value = getProperty(name);
+        return value == null ? def : value;
+    }
+
+    /**
+     * thread-aware replacement of {@link System#setProperty(String, String)}: update the store bound to the current
+     * thread. Values are never written to System properties, where they would leak into other executions; hence a
+     * store must be bound (i.e. the current thread is executing a script).
+     *
+     * @throws IllegalStateException if no store is bound to the current thread
+     */
+    public static void setProperty(String name, String value) { setProperty(name, value, Scope.EXECUTION); }
+
+    public static void setProperty(String name, String value, Scope scope) {
+        ExecutionVariables variables = current();
+        if (variables == null) {
+            throw new IllegalStateException("Unable to set '" + name + "': no execution bound to current thread " +
+                                            Thread.currentThread().getName());
+        }
+        variables.set(name, value, scope);
+    }
+
+    /** copy-on-write copy of this store, for use by forked work. */
+    public ExecutionVariables snapshot() { return new ExecutionVariables(this); }
+
+    public String get(String name) {
+        if (StringUtils.isEmpty(name)) { return null; }
+        for (Scope scope : LOOKUP_ORDER) {
+            String value = layers.get(scope).values.get(name);
+            if (value != null) { return value == REMOVED ? null : value; }
+        }
+        return System.getProperty(name);
+    }
+
+    public String get(String name, String def) {
+        String value = get(name);
+        return value == null ? def : value;
+    }
+
+    public boolean has(String name) { return get(name) != null; }
+
+    public void set(String name, String value) { set(name, value, Scope.EXECUTION); }
+
+    /**
+     * set {@code name} at {@code scope}. The same variable in the inner scopes are discarded so that the new value
+     * takes effect.
+     */
+    public void set(String name, String value, Scope scope) {
+        if (StringUtils.isEmpty(name)) { return; }
+        if (value == null) {
+            remove(name);
+            return;
+        }
+
+        layers.get(scope).writable().put(name, value);
+        for (Scope inner : Scope.values()) {
+            if (inner.ordinal() > scope.ordinal() && layers.get(inner).values.containsKey(name)) {
+                layers.get(inner).writable().remove(name);
+            }
+        }
+    }
+
+    /** remove (and mask) {@code name} in all scopes. Return the value prior to removal. */
+    public String remove(String name) {
+        String current = get(name);
+        if (current == null) { return null; }
+
+        for (Scope scope : Scope.values()) {
+            if (layers.get(scope).values.containsKey(name)) { layers.get(scope).writable().remove(name); }
+        }
+        if (System.getProperty(name) != null) { layers.get(Scope.EXECUTION).writable().put(name, REMOVED); }
+        return current;
+    }
+
+    public void removeByPrefix(String prefix) { names(prefix).forEach(this::remove); }
+
+    /** all visible variables (including System properties) with names starting with {@code prefix}. */
+    public Map<String, String> getByPrefix(String prefix) {
+        Map<String, String> matches = new TreeMap<>();
+        names(prefix).forEach(name -> matches.put(name, get(name)));
+        return matches;
+    }
+
+    /** names of all visible variables (including System properties) starting with {@code prefix}. */
+    public Set<String> names(String prefix) {
+        Set<String> names = new TreeSet<>();
+        System.getProperties().stringPropertyNames().forEach(name -> {
+            if (StringUtils.isEmpty(prefix) || StringUtils.startsWith(name, prefix)) { names.add(name); }
+        });
+        layers.values().forEach(layer -> layer.values.keySet().forEach(name -> {
+            if (StringUtils.isEmpty(prefix) || StringUtils.startsWith(name, prefix)) { names.add(name); }
+        }));
+        names.removeIf(name -> get(name) == null);
+        return names;
+    }
+
+    /** discard all variables set at {@code scope}, such as when an iteration or macro ends. */
+    public void clear(Scope scope) {
+        Layer layer = layers.get(scope);
+        if (layer.values.isEmpty()) { return; }
+        layers.put(scope, new Layer(new HashMap<>(), false));
+    }
+}
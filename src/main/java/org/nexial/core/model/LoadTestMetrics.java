@@ -0,0 +1,174 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * latency, throughput and error metrics collected during a load test (see {@link ExecutionDefinition#isLoadTestMode()}).
+ * Metrics are collected per command and per iteration, from all virtual users concurrently. Latencies are kept in a
+ * histogram (instead of individual samples) so that memory consumption stays constant regardless of test duration.
+ */
+public class LoadTestMetrics {
+    private final Map<String, Metric> commands = new ConcurrentHashMap<>();
+    private final Metric iterations = new Metric();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicInteger peakUsers = new AtomicInteger();
+    private long startTime;
+    private long endTime;
+
+    public void start() { startTime = System.currentTimeMillis(); }
+
+    public void end() { endTime = System.currentTimeMillis(); }
+
+    public long getStartTime() { return startTime; }
+
+    public long getEndTime() { return endTime; }
+
+    public void userStarted() { peakUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max); }
+
+    public void userStopped() { activeUsers.decrementAndGet(); }
+
+    public int getActiveUsers() { return activeUsers.get(); }
+
+    public int getPeakUsers() { return peakUsers.get(); }
+
+    /** record the outcome of a test step. Skipped steps are not counted. */
+    public void recordStep(String command, long elapsedNanos, StepResult result) {
+        if (result != null && result.isSkipped()) { return; }
+        commands.computeIfAbsent(command, name -> new Metric()).record(elapsedNanos, result != null && result.isSuccess());
+    }
+
+    public void recordIteration(long elapsedNanos, boolean success) { iterations.record(elapsedNanos, success); }
+
+    public Metric getIterations() { return iterations; }
+
+    public Map<String, Metric> getCommands() { return new TreeMap<>(commands); }
+
+    public long getStepCount() { return commands.values().stream().mapToLong(Metric::getCount).sum(); }
+
+    public long getStepFailCount() { return commands.values().stream().mapToLong(Metric::getErrorCount).sum(); }
+
+    /** summary of all metrics collected, suitable for reporting (such as JSON). */
+    public Map<String, Object> toReport() {
+        double durationSec = Math.max(endTime - startTime, 1) / 1000.0;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startTime", startTime);
+        report.put("endTime", endTime);
+        report.put("durationMs", endTime - startTime);
+        report.put("peakUsers", getPeakUsers());
+        report.put("iterations", iterations.toReport(durationSec));
+
+        Map<String, Object> commandReports = new LinkedHashMap<>();
+        getCommands().forEach((command, metric) -> commandReports.put(command, metric.toReport(durationSec)));
+        report.put("commands", commandReports);
+        return report;
+    }
+
+    /** latency histogram and error count of one command (or iteration). Thread-safe. */
+    public static class Metric {
+        // logarithmic buckets of microseconds, each 2% wider than the previous; ~1100 buckets covers up to an hour
+        private static final double BUCKET_GROWTH = 1.02;
+        private static final double LOG_BUCKET_GROWTH = Math.log(BUCKET_GROWTH);
+        private static final int BUCKET_COUNT = (int) Math.ceil(Math.log(3_600_000_000.0) / LOG_BUCKET_GROWTH) + 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator minMicros = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        public void record(long elapsedNanos, boolean success) {
+            long micros = Math.max(elapsedNanos / 1000, 0);
+            buckets.incrementAndGet(toBucket(micros));
+            count.increment();
+            if (!success) { errorCount.increment(); }
+            totalMicros.add(micros);
+            minMicros.accumulate(micros);
+            maxMicros.accumulate(micros);
+        }
+
+        public long getCount() { return count.sum(); }
+
+        public long getErrorCount() { return errorCount.sum(); }
+
+        public double getErrorRate() {
+            long total = getCount();
+            return total == 0 ? 0 : (double) getErrorCount() / total;
+        }
+
+        public double getMeanMs() {
+            long total = getCount();
+            return total == 0 ? 0 : totalMicros.sum() / 1000.0 / total;
+        }
+
+        public double getMinMs() { return getCount() == 0 ? 0 : minMicros.get() / 1000.0; }
+
+        public double getMaxMs() { return maxMicros.get() / 1000.0; }
+
+        /**
+         * latency (in ms) below which {@code percentile} percent of the samples fall. Accurate to the bucket width
+         * (2%), and never more than the maximum latency recorded.
+         */
+        public double getPercentileMs(double percentile) {
+            long total = getCount();
+            if (total == 0) { return 0; }
+
+            long target = Math.max((long) Math.ceil(percentile / 100 * total), 1);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulative += buckets.get(i);
+                if (cumulative >= target) { return Math.min(toMicros(i), maxMicros.get()) / 1000.0; }
+            }
+            return getMaxMs();
+        }
+
+        public Map<String, Object> toReport(double durationSec) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", getCount());
+            report.put("errors", getErrorCount());
+            report.put("errorRate", round(getErrorRate()));
+            report.put("throughputPerSec", round(getCount() / durationSec));
+            report.put("minMs", round(getMinMs()));
+            report.put("meanMs", round(getMeanMs()));
+            report.put("p50Ms", round(getPercentileMs(50)));
+            report.put("p90Ms", round(getPercentileMs(90)));
+            report.put("p99Ms", round(getPercentileMs(99)));
+            report.put("maxMs", round(getMaxMs()));
+            return report;
+        }
+
+        private static int toBucket(long micros) {
+            if (micros <= 1) { return 0; }
+            return (int) Math.min(Math.ceil(Math.log(micros) / LOG_BUCKET_GROWTH), BUCKET_COUNT - 1);
+        }
+
+        private static long toMicros(int bucket) { return (long) Math.ceil(Math.pow(BUCKET_GROWTH, bucket)); }
+
+        private static double round(double value) { return Math.round(value * 1000) / 1000.0; }
+    }
+}
@@ -34,10 +34,14 @@ import org.nexial.core.excel.ExcelArea;
 import org.nexial.core.excel.ExcelStyleHelper;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.InputFileUtils;
+import org.nexial.core.utils.ParsedFileCache;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.validation.constraints.NotNull;
@@ -46,7 +50,6 @@ import static java.io.File.separator;
 import static org.apache.poi.ss.usermodel.CellType.STRING;
 import static org.apache.poi.ss.usermodel.Row.MissingCellPolicy.CREATE_NULL_AS_BLANK;
 import static org.nexial.core.CommandConst.*;
-import static org.nexial.core.NexialConst.Data.DEF_OPEN_EXCEL_AS_DUP;
 import static org.nexial.core.NexialConst.Data.SECTION_DESCRIPTION_PREFIX;
 import static org.nexial.core.NexialConst.Project.SCRIPT_FILE_EXT;
 import static org.nexial.core.NexialConst.Project.SCRIPT_FILE_SUFFIX;
@@ -56,8 +59,6 @@ import static org.nexial.core.excel.ExcelConfig.*;
 public class MacroMerger {
     private static final String TEST_STEPS_PREFIX = FIRST_STEP_ROW + ":" + COL_REASON;
     private static final String CONDITION_DISABLE = "SkipIf(true) ";
-    // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-    // private static final Map<String, List<List<String>>> MACRO_CACHE = new HashMap<>();
 
     private Excel excel;
     private ExecutionDefinition execDef;
@@ -374,56 +375,54 @@ public class MacroMerger {
 
         File macroFile = resolveMacroFile(project, StringUtils.appendIfMissing(paramFile, SCRIPT_FILE_EXT));
 
-        // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-        // String macroKey = macroFile + ":" + paramSheet + ":" + paramMacro;
-        // if (MACRO_CACHE.containsKey(macroKey)) {
-        //     shortcut: in case the same macro is referenced
-        // ConsoleUtils.log("reading macro from cache: " + macroKey);
-        // return MACRO_CACHE.get(macroKey);
-        // }
-
-        // open specified sheet
-        Excel macroExcel = new Excel(macroFile, DEF_OPEN_EXCEL_AS_DUP, false);
-        Worksheet macroSheet = macroExcel.worksheet(paramSheet);
-        int lastMacroRow = macroSheet.findLastDataRow(ADDR_MACRO_COMMAND_START);
-        ExcelArea macroArea = new ExcelArea(macroSheet, new ExcelAddress("A2:L" + lastMacroRow), false);
-        List<List<XSSFCell>> macroStepArea = macroArea.getWholeArea();
-        List<List<String>> macroSteps = new ArrayList<>();
-        boolean macroFound = false;
-
-        // 6. read test steps based on macro name
-        for (List<XSSFCell> macroRow : macroStepArea) {
-            String currentMacroName = Excel.getCellValue(macroRow.get(COL_IDX_TESTCASE));
-            if (StringUtils.equals(currentMacroName, paramMacro)) {
-                macroFound = true;
-                macroSteps.add(collectMacroStep(macroRow));
-                continue;
-            }
+        // macros of the same sheet are parsed once and shared across iterations and plan rows; the macro library is
+        // parsed again only when its content has changed (to support dynamic macro changes during execution and
+        // interactive mode)
+        Map<String, List<List<String>>> macros = ParsedFileCache.get(
+            macroFile, "macro:" + paramSheet, (file, content) -> harvestMacros(file, content, paramSheet));
+        List<List<String>> macroSteps = macros.get(paramMacro);
+        return macroSteps == null ? new ArrayList<>() : macroSteps;
+    }
 
-            if (macroFound) {
-                if (StringUtils.isBlank(currentMacroName)) {
-                    macroSteps.add(collectMacroStep(macroRow));
-                } else {
-                    return macroSteps;
-                    // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-                    // MACRO_CACHE.put(macroKey, macroSteps);
-                    // macroSteps = new ArrayList<>();
-                    // macroFound = false;
-                    // break;
-                }
+    /**
+     * collect all the macros of {@code macroSheet}, keyed by macro name. Only the first macro of the same name is
+     * collected. The collected macros are read-only since they are shared.
+     */
+    protected Map<String, List<List<String>>> harvestMacros(File macroFile, byte[] content, String macroSheetName)
+        throws IOException {
+        Excel macroExcel = new Excel(macroFile, new ByteArrayInputStream(content), false);
+        try {
+            Worksheet macroSheet = macroExcel.worksheet(macroSheetName);
+            if (macroSheet == null) {
+                throw new IOException("Unable to read macro sheet '" + macroSheetName + "' from file '" +
+                                      macroFile.getAbsolutePath() + "'");
             }
-        }
 
-        // (2018/12/16,automike): memory consumption precaution
-        macroExcel.close();
+            int lastMacroRow = macroSheet.findLastDataRow(ADDR_MACRO_COMMAND_START);
+            ExcelArea macroArea = new ExcelArea(macroSheet, new ExcelAddress("A2:L" + lastMacroRow), false);
+            List<List<XSSFCell>> macroStepArea = macroArea.getWholeArea();
+
+            Map<String, List<List<String>>> macros = new HashMap<>();
+            String macroName = null;
+            List<List<String>> macroSteps = null;
+            for (List<XSSFCell> macroRow : macroStepArea) {
+                String currentMacroName = Excel.getCellValue(macroRow.get(COL_IDX_TESTCASE));
+                if (StringUtils.isNotBlank(currentMacroName) && !StringUtils.equals(currentMacroName, macroName)) {
+                    // start of next macro; ignore if the same macro name is found again later on
+                    macroName = currentMacroName;
+                    macroSteps = macros.containsKey(macroName) ? null : new ArrayList<>();
+                    if (macroSteps != null) { macros.put(macroName, macroSteps); }
+                }
 
-        return macroSteps;
+                if (macroSteps != null) { macroSteps.add(Collections.unmodifiableList(collectMacroStep(macroRow))); }
+            }
 
-        // (2018/12/9,automike): remove to support dynamic macro changes during execution and interactive mode
-        // capture last one
-        // if (macroFound && !macroSteps.isEmpty()) { MACRO_CACHE.put(macroKey, macroSteps); }
-        // if (!MACRO_CACHE.containsKey(macroKey)) { ConsoleUtils.error("Unable to resolve macro via " + macroKey);}
-        // return MACRO_CACHE.get(macroKey);
+            macros.replaceAll((name, steps) -> Collections.unmodifiableList(steps));
+            return Collections.unmodifiableMap(macros);
+        } finally {
+            // (2018/12/16,automike): memory consumption precaution
+            macroExcel.close();
+        }
     }
 
     protected List<String> collectMacroStep(List<XSSFCell> macroRow) {
@@ -39,6 +39,7 @@ import org.nexial.core.variable.TypeConversionException;
 import java.io.File;
 import java.io.Serializable;
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.validation.constraints.NotNull;
 
@@ -169,6 +170,35 @@ public class NexialFilter implements Serializable {
 
     public List<String> getControlList() { return controlList; }
 
+    /**
+     * the values which the (normalized) data must equal to in order to match this filter via
+     * {@link #isMatch(String, boolean)}, or {@code null} if this filter cannot be evaluated by equality alone. This
+     * allows filter evaluation via index lookup, such as in CSV expression.
+     *
+     * @see #normalizeData(String)
+     */
+    public Set<String> getEqualityKeys() {
+        switch (comparator) {
+            case Equal, Equal_2 -> {
+                String control = normalizeCondition(controls);
+                // numeric or empty control would also match data of different text
+                if (canBeNumber(control) || EMPTY_ALIASES.contains(control)) { return null; }
+                return Collections.singleton(control);
+            }
+            case Is, In -> {
+                if (!TextUtils.isBetween(StringUtils.trim(controls), IS_OPEN_TAG, IS_CLOSE_TAG)) { return null; }
+                if (StringUtils.equals(StringUtils.deleteWhitespace(controls), IS_OPEN_TAG + IS_CLOSE_TAG)) {
+                    return Collections.singleton("");
+                }
+                return toControlStream(controls).collect(Collectors.toSet());
+            }
+            default -> { return null; }
+        }
+    }
+
+    /** the form of {@code data} as compared by {@link #isMatch(String, boolean)} */
+    public static String normalizeData(String data) { return data == null ? NULL : normalizeCondition(data); }
+
     public boolean isMatch(ExecutionContext context, String msgPrefix) {
 
         String actual = context.replaceTokens(subject);
@@ -34,6 +34,12 @@ import javax.validation.constraints.NotNull;
 import static org.nexial.core.NexialConst.Data.CMD_PROFILE_DEFAULT;
 import static org.nexial.core.NexialConst.Data.CMD_PROFILE_SEP;
 
+/**
+ * manages the plugins (command targets) of an {@link ExecutionContext}. Plugins are stateful (bound to the
+ * context that initialized them), hence this class and the plugins it manages are "prototype-scoped": each execution
+ * context gets its own set of plugins via {@code springContext.getBean("pluginManager")}, so that concurrent executions
+ * in the same JVM do not share plugin instances.
+ */
 public class PluginManager implements ApplicationContextAware {
     protected ApplicationContext springContext;
     protected ExecutionContext context;
@@ -140,4 +146,17 @@ public class PluginManager implements ApplicationContextAware {
     }
 
     public void clearBrowser(String profile) { profileBrowsers.remove(profile); }
+
+    /** release the plugins initialized by this plugin manager; for use when its execution context is discarded */
+    public void destroy() {
+        initialized.forEach((name, plugin) -> {
+            try {
+                plugin.destroy();
+            } catch (Exception e) {
+                ConsoleUtils.error("Unable to destroy plugin " + name + ": " + e.getMessage());
+            }
+        });
+        initialized.clear();
+        profileBrowsers.clear();
+    }
 }
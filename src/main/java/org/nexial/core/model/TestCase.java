@@ -112,8 +112,6 @@ public class TestCase {
                 executionSummary.incrementSkipped();
 
                 if (StringUtils.equals(testStep.getCommandFQN(), CMD_SECTION)) {
-                    formatSectionDescription(testStep);
-
                     int steps = testStep.formatSkippedSections(testSteps, i, true);
 
                     i += steps;
@@ -186,8 +184,6 @@ public class TestCase {
             }
         }
 
-        formatTestCase(testSteps);
-
         executionSummary.setEndTime(System.currentTimeMillis());
         executionSummary.setFailedFast(context.isFailFast());
         executionSummary.aggregatedNestedExecutions(context);
@@ -197,6 +193,24 @@ public class TestCase {
         return allPassed;
     }
 
+    /**
+     * write the results of the executed steps of this activity to the scenario sheet, and format its sections and
+     * repeat-until loops accordingly.
+     */
+    public void writeResults() {
+        if (CollectionUtils.isEmpty(testSteps)) { return; }
+
+        Worksheet worksheet = testScenario.getWorksheet();
+        for (TestStep testStep : testSteps) {
+            testStep.writeResult(worksheet);
+            if (testStep.isCommandRepeater() && testStep.getCommandRepeater() != null) {
+                testStep.getCommandRepeater().writeResults(worksheet);
+            }
+        }
+
+        formatTestCase(worksheet, testSteps);
+    }
+
     public void close() {
         if (CollectionUtils.isNotEmpty(testSteps)) {
             testSteps.forEach(TestStep::close);
@@ -207,7 +221,7 @@ public class TestCase {
         testScenario = null;
     }
 
-    private void formatTestCase(List<TestStep> testSteps) {
+    private void formatTestCase(Worksheet worksheet, List<TestStep> testSteps) {
         if (CollectionUtils.isEmpty(testSteps)) { return; }
 
         // compensate for macro/section
@@ -216,22 +230,22 @@ public class TestCase {
             TestStep testStep = testSteps.get(i);
 
             if (testStep.isCommandRepeater() && testStep.getCommandRepeater() != null) {
-                testStep = formatRepeatUntilDescription(testStep);
-                testStep.getCommandRepeater().formatSteps();
+                formatRepeatUntilDescription(worksheet, testStep);
+                testStep.getCommandRepeater().formatSteps(worksheet);
             }
 
             if (StringUtils.equals(testStep.getCommandFQN(), CMD_SECTION)) {
-                formatSectionDescription(testStep);
+                formatSectionDescription(worksheet, testStep);
 
                 int adjustedStepCount = i + Integer.parseInt(testStep.getParams().get(0));
                 for (int j = i + 1; j <= adjustedStepCount; j++) {
                     if (totalSteps > j) {
                         TestStep sectionStep = testSteps.get(j);
-                        formatSectionDescription(sectionStep);
+                        formatSectionDescription(worksheet, sectionStep);
 
                         if (sectionStep.isCommandRepeater()) {
-                            formatRepeatUntilDescription(sectionStep);
-                            sectionStep.getCommandRepeater().formatSteps();
+                            formatRepeatUntilDescription(worksheet, sectionStep);
+                            sectionStep.getCommandRepeater().formatSteps(worksheet);
                             adjustedStepCount += sectionStep.getCommandRepeater().getStepCount();
                         }
                     } else {
@@ -91,6 +91,7 @@ public class TestData {
     private final Map<String, List<String>> dataMap = new HashMap<>();
     private final Map<String, List<String>> defaultDataMap = new HashMap<>();
     private final Map<String, List<String>> runtimeDataMap = new HashMap<>();
+    private final Map<String, String> scriptReferenceData = new LinkedHashMap<>();
 
     public TestData(Excel excel, List<String> dataSheetNames) {
         assert excel != null && excel.getFile() != null && CollectionUtils.isNotEmpty(dataSheetNames);
@@ -117,17 +118,21 @@ public class TestData {
 
         packUnusedIterationData();
 
-        // to be added/displayed in execution output #summary
-        System.setProperty(SCRIPT_REF_PREFIX + DATA_SHEETS,
-                           validDataSheets.stream()
-                                          .filter(validSheet -> validSheet.getName().equals(SHEET_DEFAULT_DATA) ||
-                                                                dataSheetNames.contains(validSheet.getName()))
-                                          .map(Worksheet::getName)
-                                          .distinct()
-                                          .collect(Collectors.joining(", ")));
-        System.setProperty(SCRIPT_REF_PREFIX + DATA_FILE, dataFile.getName());
+        // to be added/displayed in execution output #summary; published to the script's variables by
+        // ExecutionInputPrep, since test data is (re)loaded outside of the thread executing the script
+        scriptReferenceData.put(SCRIPT_REF_PREFIX + DATA_SHEETS,
+                                validDataSheets.stream()
+                                               .filter(validSheet -> validSheet.getName().equals(SHEET_DEFAULT_DATA) ||
+                                                                     dataSheetNames.contains(validSheet.getName()))
+                                               .map(Worksheet::getName)
+                                               .distinct()
+                                               .collect(Collectors.joining(", ")));
+        scriptReferenceData.put(SCRIPT_REF_PREFIX + DATA_FILE, dataFile.getName());
     }
 
+    /** the data file and data sheets in use, as script reference data */
+    public Map<String, String> getScriptReferenceData() { return scriptReferenceData; }
+
     public String getMailTo() { return getSetting(POST_EXEC_MAIL_TO); }
 
     public String getIteration() { return getSetting(ITERATION); }
@@ -160,7 +165,7 @@ public class TestData {
      * </ol>
      */
     public String getSetting(String name) {
-        String value = System.getProperty(name);
+        String value = ExecutionVariables.getProperty(name);
         if (value == null) {
             value = scopeSettings.computeIfAbsent(name, k -> SCOPE_SETTING_DEFAULTS.get(name));
         } else {
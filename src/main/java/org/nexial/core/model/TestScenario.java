@@ -112,6 +112,7 @@ public class TestScenario {
         ExecutionEventListener executionEventListener = context.getExecutionEventListener();
         executionEventListener.onScenarioStart();
 
+        List<TestCase> executedTestCases = new ArrayList<>();
         for (TestCase testCase : testCases) {
             context.setCurrentActivity(testCase);
 
@@ -135,6 +136,7 @@ public class TestScenario {
                 continue;
             }
 
+            executedTestCases.add(testCase);
             if (!testCase.execute()) {
                 allPass = false;
                 if (shouldFailFast || context.isFailImmediate()) {
@@ -161,10 +163,21 @@ public class TestScenario {
         executionSummary.setFailedFast(shouldFailFast);
         executionSummary.aggregatedNestedExecutions(context);
 
+        // the step results are buffered during execution; write them out before the macro steps are refilled
+        executedTestCases.forEach(TestCase::writeResults);
+
         // refill macro steps
         ExecutionResultHelper helper = new ExecutionResultHelper(allSteps, worksheet, executionSummary);
         helper.updateScenarioResults();
 
+        // the output is otherwise written periodically or at the end of the iteration; write it now since the
+        // execution might not get that far
+        if (!allPass || context.isFailImmediate() || context.isEndImmediate() ||
+            BooleanUtils.toBoolean(System.getProperty(END_SCRIPT_IMMEDIATE, "false"))) {
+            Excel excel = worksheet.excel();
+            if (excel.isDeferredSave()) { excel.save(); }
+        }
+
         executionEventListener.onScenarioComplete(executionSummary);
 
         // clear off any scenario-ref incurred during the execution of this scenario.. we don't want current
@@ -291,7 +304,7 @@ public class TestScenario {
         if (hasActivity && existingActivities.contains(activity)) {
             // found duplicate activity name!
             String error = RB.Fatal.text("activity.dup", errorPrefix, activity);
-            String currentExcelScript = System.getProperty(OPT_INPUT_EXCEL_FILE);
+            String currentExcelScript = ExecutionVariables.getProperty(OPT_INPUT_EXCEL_FILE);
             if (StringUtils.isNotBlank(currentExcelScript)) {
                 throw new InvalidInputRuntimeException(error, currentExcelScript);
             } else {
@@ -310,7 +323,7 @@ public class TestScenario {
         // expectation: first parameter is the number of test steps for the repeats
         // expectation: second parameter is the max. wait time in ms
         String errMsg = "[ROW " + (startFrom + ADDR_COMMAND_START.getRowStartIndex()) + "] from worksheet "
-                        + testStep.getWorksheet().getName() +
+                        + testStep.getSheetName() +
                         " wrong parameters specified for " + CMD_REPEAT_UNTIL + ": " + testStep.getParams();
         if (CollectionUtils.size(testStep.getParams()) != 2) {
             ConsoleUtils.error(errMsg);
@@ -342,7 +355,7 @@ public class TestScenario {
         TestCase currentTestCase = testStep.getTestCase();
         for (int i = startFrom; i < (startFrom + numOfStepsIncluded); i++) {
             List<XSSFCell> row = wholeArea.get(i);
-            TestStep nextStep = new TestStep(currentTestCase, row, testStep.getWorksheet());
+            TestStep nextStep = new TestStep(currentTestCase, row, area.getWorksheet());
             if (nextStep.isMacroExpander()) { nextStep.macroPartOfRepeatUntil = true; }
 
                 /*// To nested repeatuntil command
@@ -362,7 +375,7 @@ public class TestScenario {
             commandRepeater.addStep(nextStep);
 
             // to collect nested section commands
-            int num = collectSectionCommands(nextStep, i, commandRepeater, wholeArea, currentTestCase);
+            int num = collectSectionCommands(nextStep, i, commandRepeater, area, currentTestCase);
             numOfStepsIncluded += num;
             i += num;
         }
@@ -373,12 +386,12 @@ public class TestScenario {
 
     private int collectSectionCommands(TestStep testStep, int startFrom,
                                        CommandRepeater commandRepeater,
-                                       List<List<XSSFCell>> wholeArea,
+                                       ExcelArea area,
                                        TestCase currentTestCase) {
 
         if (!StringUtils.equals(testStep.getCommandFQN(), CMD_SECTION)) { return 0; }
         String errMsg = "[ROW " + (startFrom + ADDR_COMMAND_START.getRowStartIndex()) + "] from worksheet "
-                        + testStep.getWorksheet().getName() +
+                        + testStep.getSheetName() +
                         " wrong parameters specified for " + CMD_SECTION + ": " + testStep.getParams();
         String steps = context.replaceTokens(testStep.getParams().get(0));
         int numOfStepsIncluded = NumberUtils.toInt(steps);
@@ -387,6 +400,7 @@ public class TestScenario {
             throw new RuntimeException(errMsg);
         }
 
+        List<List<XSSFCell>> wholeArea = area.getWholeArea();
         if ((startFrom + numOfStepsIncluded) > wholeArea.size()) {
             String errMsg1 = errMsg + " - number of steps specified greater than available in this test scenario";
             ConsoleUtils.error(errMsg1);
@@ -395,11 +409,11 @@ public class TestScenario {
 
         for (int i = startFrom + 1; i <= (startFrom + numOfStepsIncluded); i++) {
             List<XSSFCell> row = wholeArea.get(i);
-            TestStep nextStep = new TestStep(currentTestCase, row, testStep.getWorksheet());
+            TestStep nextStep = new TestStep(currentTestCase, row, area.getWorksheet());
             if (nextStep.isMacroExpander()) { nextStep.macroPartOfRepeatUntil = true; }
             commandRepeater.addStep(nextStep);
             if (StringUtils.equals(nextStep.getCommandFQN(), CMD_SECTION)) {
-                int stepCount = collectSectionCommands(nextStep, i, commandRepeater, wholeArea, currentTestCase);
+                int stepCount = collectSectionCommands(nextStep, i, commandRepeater, area, currentTestCase);
                 numOfStepsIncluded += stepCount;
                 i += stepCount;
             }
@@ -23,17 +23,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.time.StopWatch;
-import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.nexial.commons.utils.DateUtility;
 import org.nexial.commons.utils.FileUtil;
 import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
-import org.nexial.core.ExecutionInputPrep;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
-import org.nexial.core.excel.ExcelStyleHelper;
+import org.nexial.core.excel.ExcelAddress;
 import org.nexial.core.excel.ext.CellTextReader;
 import org.nexial.core.logs.ExecutionLogger;
 import org.nexial.core.logs.TrackTimeLogs;
@@ -58,6 +56,7 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -68,7 +67,6 @@ import static java.io.File.separator;
 import static java.lang.System.lineSeparator;
 import static org.apache.commons.lang3.StringUtils.*;
 import static org.apache.commons.lang3.builder.ToStringStyle.SIMPLE_STYLE;
-import static org.apache.poi.ss.usermodel.CellType.BLANK;
 import static org.apache.tika.utils.SystemUtils.*;
 import static org.nexial.commons.utils.EnvUtils.platformSpecificEOL;
 import static org.nexial.core.CommandConst.*;
@@ -97,8 +95,10 @@ public class TestStep extends TestStepManifest {
                                                                       "\t=&nbsp;&nbsp;&nbsp;&nbsp;");
 
     protected ExecutionContext context;
-    protected Worksheet worksheet;
-    protected List<XSSFCell> row;
+    protected String sheetName;
+    protected TestStepDefinition definition;
+    // the result to write to the output; written only when the output is, via `writeResult()`
+    protected TestStepResult bufferedResult;
     protected TestCase testCase;
     protected List<NestedMessage> nestedTestResults;
     protected boolean isCommandRepeater;
@@ -120,26 +120,27 @@ public class TestStep extends TestStepManifest {
         assert CollectionUtils.isNotEmpty(row);
 
         this.testCase = testCase;
-        this.row = row;
-        this.worksheet = worksheet;
         this.context = testCase.getTestScenario().getContext();
 
         assert context != null && isNotBlank(context.getId());
         assert worksheet != null && worksheet.getFile() != null;
 
-        int rowIndex = row.get(0).getRowIndex();
-        setRowIndex(rowIndex);
-        scriptRowIndex = rowIndex;
-        readDescriptionCell(row);
-        readTargetCell(row);
-        readCommandCell(row);
-        readParamCells(row);
-        readFlowControlsCell(row);
-        readCaptureScreenCell(row);
+        sheetName = worksheet.getName();
+        definition = TestStepDefinition.of(row, "[" + worksheet.getFile().getName() + "][" + sheetName + "]" +
+                                                "[" + testCase.getName() + "]");
+        setRowIndex(definition.getRowIndex());
+        scriptRowIndex = definition.getRowIndex();
+        setDescription(definition.getDescription());
+        setTarget(definition.getTarget());
+        setCommand(definition.getCommand());
+        setParams(definition.getParams());
+        linkableParams = new ArrayList<>(Collections.nCopies(definition.getParamCount(), null));
+        setFlowControls(definition.getFlowControls());
+        setCaptureScreen(definition.isCaptureScreen());
 
         setMessageId(String.format("[%s][%s][%s][STEP %s][%s][%s]",
                                    worksheet.getFile().getName(),
-                                   worksheet.getName(),
+                                   sheetName,
                                    testCase.getName() + (macro == null ? "" : " (" + macro.getMacroName() + ")"),
                                    leftPad((getRowIndex() + 1) + "", 3),
                                    target,
@@ -153,9 +154,13 @@ public class TestStep extends TestStepManifest {
         macroPartOfRepeatUntil = false;
     }
 
-    public Worksheet getWorksheet() { return worksheet; }
+    /** name of the scenario or macro sheet this step is parsed from */
+    public String getSheetName() { return sheetName; }
 
-    public List<XSSFCell> getRow() { return row; }
+    /** reference of the first cell of this step's row, such as {@code A12} */
+    public String getReference() { return new CellReference(getRowIndex(), COL_IDX_TESTCASE).formatAsString(); }
+
+    public TestStepDefinition getDefinition() { return definition; }
 
     public TestCase getTestCase() { return testCase; }
 
@@ -190,7 +195,7 @@ public class TestStep extends TestStepManifest {
             MessageUtils.isFail(message) ||
             MessageUtils.isWarn(message) ||
             MessageUtils.isSkipped(message)) { return; }
-        if (worksheet == null) { return; }
+        if (nestedTestResults == null) { return; }
         nestedTestResults.add(new NestedMessage(message));
     }
 
@@ -250,6 +255,9 @@ public class TestStep extends TestStepManifest {
             result = toFailedResult(e);
         } finally {
             tickTock.stop();
+            if (context.getLoadTestMetrics() != null) {
+                context.getLoadTestMetrics().recordStep(getCommandFQN(), tickTock.getNanoTime(), result);
+            }
             trackTimeLogs.checkEndTracking(context, this);
             if (this.isCommandRepeater()) { context.setCurrentTestStep(this); }
             postExecCommand(result, tickTock.getTime());
@@ -288,7 +296,7 @@ public class TestStep extends TestStepManifest {
         String repeatUntilIndex = context != null && context.hasData(REPEAT_UNTIL_LOOP_IN) ?
                                   "_" + leftPad(context.getStringData(REPEAT_UNTIL_LOOP_INDEX), 3, '0') :
                                   "";
-        String stepIndex = row.get(0).getReference();
+        String stepIndex = getReference();
         if (context != null && context.hasData(MACRO_INVOKED_FROM)) {
             stepIndex = context.getStringData(MACRO_INVOKED_FROM) + "." + stepIndex;
         }
@@ -320,13 +328,46 @@ public class TestStep extends TestStepManifest {
         return params;
     }
 
-    public void close() {
-        worksheet = null;
+    /**
+     * write the result of this step, as buffered since it completed, to its row of {@code worksheet} - the scenario
+     * or the macro sheet this step is parsed from. Steps not executed are written too, since their disabled marker
+     * should be visible on the output.
+     */
+    public void writeResult(Worksheet worksheet) {
+        List<XSSFCell> row = resolveRow(worksheet);
+
+        // setting macro name to empty for the first cell so that activity cell formatting avoided
+        if (macro != null) { row.get(COL_IDX_TESTCASE).setCellValue(""); }
+        // make it visible on the output that this step is disabled
+        if (definition != null && definition.isDisabled()) {
+            row.get(COL_IDX_FLOW_CONTROLS).setCellValue(CONDITION_DISABLE);
+        }
+
+        if (bufferedResult != null) { bufferedResult.writeTo(worksheet, row); }
+    }
 
-        if (CollectionUtils.isNotEmpty(row)) {
-            row.clear();
-            row = null;
+    /** the cells of this step's row in {@code worksheet}, from activity to reason */
+    public List<XSSFCell> resolveRow(Worksheet worksheet) {
+        int rowNum = getRowIndex() + 1;
+        return worksheet.cells(new ExcelAddress("" + COL_TEST_CASE + rowNum + ":" + COL_REASON + rowNum)).get(0);
+    }
+
+    /**
+     * resolve the description of a step that is executed without its result being recorded (i.e. steps of a
+     * repeat-until loop). The description resolved in the first loop is kept.
+     */
+    public void resolveDescription() {
+        if (isEmpty(description)) { return; }
+        if (bufferedResult == null) {
+            bufferedResult = TestStepResult.ofDescription(context.replaceTokens(description, true));
+        } else if (bufferedResult.getDescription() == null) {
+            bufferedResult.setDescription(context.replaceTokens(description, true));
         }
+    }
+
+    public void close() {
+        definition = null;
+        bufferedResult = null;
 
         if (CollectionUtils.isNotEmpty(nestedTestResults)) {
             nestedTestResults.clear();
@@ -551,35 +592,6 @@ public class TestStep extends TestStepManifest {
         }
     }
 
-    protected void readDescriptionCell(List<XSSFCell> row) {
-        XSSFCell cell = row.get(COL_IDX_DESCRIPTION);
-        setDescription(cell != null ? defaultIfEmpty(cell.toString(), "") : "");
-    }
-
-    protected void readTargetCell(List<XSSFCell> row) {
-        XSSFCell cell = row.get(COL_IDX_TARGET);
-        if (cell == null || isBlank(cell.toString())) {
-            throw new IllegalArgumentException(defaultString(messageId) + " no target specified" +
-                                               (cell != null ? " on ROW " + (cell.getRowIndex() + 1) : ""));
-        }
-        setTarget(cell.toString());
-    }
-
-    protected void readCommandCell(List<XSSFCell> row) {
-        XSSFCell cell = row.get(COL_IDX_COMMAND);
-        if (cell == null || isBlank(cell.toString())) {
-            throw new IllegalArgumentException(defaultString(messageId) + " no command specified" +
-                                               (cell != null ? " on ROW " + (cell.getRowIndex() + 1) : ""));
-        }
-        setCommand(cell.toString());
-    }
-
-    protected void readParamCells(List<XSSFCell> row) {
-        this.params = readParamValues(row);
-        linkableParams = new ArrayList<>(this.params.size());
-        for (int i = 0; i < this.params.size(); i++) { linkableParams.add(i, null); }
-    }
-
     protected void postExecCommand(StepResult result, long elapsedMs) {
         // also include screenshot-on-error handling
         updateResult(result, elapsedMs);
@@ -615,11 +627,6 @@ public class TestStep extends TestStepManifest {
         context.evaluateResult(result);
     }
 
-    protected void readCaptureScreenCell(List<XSSFCell> row) {
-        XSSFCell cell = row.get(COL_IDX_CAPTURE_SCREEN);
-        setCaptureScreen(startsWithIgnoreCase(Excel.getCellValue(cell), "X"));
-    }
-
     protected String handleScreenshot(StepResult result) {
         if (result == null || result.isSkipped()) { return null; }
 
@@ -651,6 +658,10 @@ public class TestStep extends TestStepManifest {
         }
     }
 
+    /**
+     * capture the result of this step for the output. Everything that depends on the current state of the execution
+     * is resolved now; the output itself is written later via {@link #writeResult(Worksheet)}.
+     */
     protected void updateResult(StepResult result, long elapsedMs) {
         boolean isSkipped = result.isSkipped();
         boolean isEnded = result.isEnded();
@@ -666,9 +677,11 @@ public class TestStep extends TestStepManifest {
 
         boolean interactiveMode = context.isInteractiveMode();
         boolean pass = result.isSuccess();
-        String commandName = row.get(COL_IDX_TARGET).toString() + "." + row.get(COL_IDX_COMMAND).toString();
+        String commandName = getCommandFQN();
         String message = result.getMessage();
-        boolean violateSLA = false;
+
+        // a repeated execution replaces the result of the previous one
+        bufferedResult = TestStepResult.executed(interactiveMode);
 
         // SLA not applicable to composite commands and all wait* commands
         if (!isSkipped && !isEnded &&
@@ -679,40 +692,15 @@ public class TestStep extends TestStepManifest {
                 result.markElapsedTimeSlaNotMet();
                 pass = false;
                 message = result.getMessage();
-                violateSLA = true;
             }
         }
+        bufferedResult.setOutcome(result, pass);
 
         if (!interactiveMode) {
-            ExcelStyleHelper.formatActivityCell(worksheet, row.get(COL_IDX_TESTCASE));
-
-            // description
-            XSSFCell cellDescription = row.get(COL_IDX_DESCRIPTION);
-            String description = Excel.getCellValue(cellDescription);
-            if (startsWith(description, SECTION_DESCRIPTION_PREFIX)) {
-                ExcelStyleHelper.formatSectionDescription(worksheet, cellDescription);
-            } else if (contains(description, REPEAT_DESCRIPTION_PREFIX)) {
-                ExcelStyleHelper.formatRepeatUntilDescription(worksheet, cellDescription);
-            } else {
-                ExcelStyleHelper.formatDescription(worksheet, cellDescription);
-            }
-
-            ExcelStyleHelper.formatTargetCell(worksheet, row.get(COL_IDX_TARGET));
-            ExcelStyleHelper.formatCommandCell(worksheet, row.get(COL_IDX_COMMAND));
-
-
-            if (isSkipped) {
-                XSSFCellStyle styleSkipped = worksheet.getStyle(STYLE_PARAM_SKIPPED);
-                for (int i = COL_IDX_PARAMS_START; i <= COL_IDX_PARAMS_END; i++) {
-                    row.get(i).setCellStyle(styleSkipped);
-                }
-            } else if (!isEnded) {
-                cellDescription.setCellValue(context.containsCrypt(description) ?
-                                             CellTextReader.readValue(description) :
-                                             context.replaceTokens(description, true));
-
-                XSSFCellStyle styleParam = worksheet.getStyle(STYLE_PARAM);
-                XSSFCellStyle styleTaintedParam = worksheet.getStyle(STYLE_TAINTED_PARAM);
+            if (!isSkipped && !isEnded) {
+                bufferedResult.setDescription(context.containsCrypt(description) ?
+                                              CellTextReader.readValue(description) :
+                                              context.replaceTokens(description, true));
 
                 // merging resolved parameter value (what's evaluated) and parameter template (what's written)
                 List<String> mergedParams = params == null ? new ArrayList<>() : new ArrayList<>(params);
@@ -739,42 +727,44 @@ public class TestStep extends TestStepManifest {
                 }
 
                 // update the params that can be expressed as links (file or url)
-                for (int i = COL_IDX_PARAMS_START; i <= COL_IDX_PARAMS_END; i++) {
-                    int paramIdx = i - COL_IDX_PARAMS_START;
+                List<String> paramTexts = definition != null ? definition.getParamTexts() : params;
+                TestStepResult.Param[] outputParams =
+                    new TestStepResult.Param[COL_IDX_PARAMS_END - COL_IDX_PARAMS_START + 1];
+                for (int paramIdx = 0; paramIdx < outputParams.length; paramIdx++) {
                     if (mergedParams.size() <= paramIdx) { break; }
-                    XSSFCell paramCell = row.get(i);
 
                     String param = mergedParams.get(paramIdx);
                     if (isBlank(param)) { continue; }
 
-                    String origParamValue = Excel.getCellValue(paramCell);
+                    TestStepResult.Param outputParam = new TestStepResult.Param();
+                    outputParams[paramIdx] = outputParam;
+
+                    String origParamValue = paramTexts.size() > paramIdx ? paramTexts.get(paramIdx) : "";
                     if (isBlank(origParamValue)) {
-                        paramCell.setCellType(BLANK);
+                        outputParam.blank = true;
                         continue;
                     }
 
                     // respect the crypts... if value has crypt:, then keep it as is
                     if (context.containsCrypt(origParamValue)) {
-                        paramCell.setCellComment(toSystemComment(paramCell, "detected crypto"));
+                        outputParam.comment = "detected crypto";
                         continue;
-                    } else if (i == COL_IDX_PARAMS_START && StringUtils.equals(getCommandFQN(), CMD_VERBOSE)) {
+                    } else if (paramIdx == 0 && StringUtils.equals(getCommandFQN(), CMD_VERBOSE)) {
                         message = trim(platformSpecificEOL(message));
                         if (length(message) > MAX_VERBOSE_CHAR) { message = abbreviate(message, MAX_VERBOSE_CHAR); }
-                        paramCell.setCellValue(message);
-                        paramCell.setCellComment(toSystemComment(paramCell, origParamValue));
+                        outputParam.value = message;
+                        outputParam.comment = origParamValue;
                         continue;
                     }
 
                     String taintedValue = CellTextReader.getOriginal(origParamValue, param);
                     boolean tainted = !StringUtils.equals(origParamValue, taintedValue);
                     if (tainted) {
-                        paramCell.setCellValue(context.truncateForDisplay(taintedValue));
-                        if (isNotEmpty(origParamValue)) {
-                            paramCell.setCellComment(toSystemComment(paramCell, origParamValue));
-                        }
-                        paramCell.setCellStyle(styleTaintedParam);
+                        outputParam.value = context.truncateForDisplay(taintedValue);
+                        if (isNotEmpty(origParamValue)) { outputParam.comment = origParamValue; }
+                        outputParam.style = STYLE_TAINTED_PARAM;
                     } else {
-                        paramCell.setCellStyle(styleParam);
+                        outputParam.style = STYLE_PARAM;
                     }
 
                     String link = resolveParamAsLink(param);
@@ -783,7 +773,8 @@ public class TestStep extends TestStepManifest {
                         linkableParams.set(paramIdx, link);
 
                         if (isURL(link)) {
-                            worksheet.setHyperlink(paramCell, link, param);
+                            outputParam.link = link;
+                            outputParam.linkLabel = param;
                             continue;
                         }
 
@@ -796,7 +787,7 @@ public class TestStep extends TestStepManifest {
                             if (FileUtil.isFileReadable(link, 1)) {
                                 // target file should exist with at least 1 byte
                                 File tmpFile = new File(substringBeforeLast(link, separator) + separator +
-                                                        row.get(COL_IDX_TESTCASE).getReference() + "_" +
+                                                        getReference() + "_" +
                                                         substringAfterLast(link, separator));
 
                                 try {
@@ -808,7 +799,8 @@ public class TestStep extends TestStepManifest {
                                     context.setData(OPT_LAST_OUTPUT_PATH, substringBeforeLast(cloudUrl, "/"));
                                     ConsoleUtils.log("output-to-cloud enabled; copied  " + link + " to " + cloudUrl);
 
-                                    worksheet.setHyperlink(paramCell, cloudUrl, "(cloud) " + param);
+                                    outputParam.link = cloudUrl;
+                                    outputParam.linkLabel = "(cloud) " + param;
                                     continue;
                                 } catch (IOException e) {
                                     ConsoleUtils.log("Unable to copy resource to cloud: " + e.getMessage());
@@ -821,69 +813,42 @@ public class TestStep extends TestStepManifest {
                         }
 
                         // if `link` contains double quote, it's likely not a link..
-                        if (!containsAny(link, "\"")) { worksheet.setHyperlink(paramCell, link, param); }
+                        if (!containsAny(link, "\"")) {
+                            outputParam.link = link;
+                            outputParam.linkLabel = param;
+                        }
                         continue;
                     }
 
-                    ExcelStyleHelper.handleTextWrap(paramCell);
+                    outputParam.wrap = true;
                 }
+                bufferedResult.setParams(outputParams);
             }
 
-            // flow control
-            ExcelStyleHelper.formatFlowControlCell(worksheet, row.get(COL_IDX_FLOW_CONTROLS));
-
-            // elapsed time
-            if ((!isSkipped || !isEnded) && !violateSLA) {
-                row.get(COL_IDX_ELAPSED_MS).setCellStyle(worksheet.getStyle(STYLE_ELAPSED_MS));
-            }
-
-            createCommentForMacro(cellDescription, pass);
+            bufferedResult.setMacroComment(resolveMacroComment(pass));
 
             // result
-            XSSFCell cellResult = row.get(COL_IDX_RESULT);
             String resultMsg =
                 MESSAGE_REQUIRED_COMMANDS.contains(commandName) && (result.isSuccess() || result.isError()) ?
                 (result.isSuccess() ? MSG_PASS : MSG_FAIL) + message :
                 MessageUtils.markResult(message, pass, true);
-            cellResult.setCellValue(left(resultMsg, MAX_VERBOSE_CHAR));
-
-            if (result.isError()) {
-                ExcelStyleHelper.formatFailedStepDescription(this);
-                Excel.createComment(cellDescription, cellResult.getStringCellValue(), COMMENT_AUTHOR);
-            }
-
-            if (isSkipped) {
-                // paint both result and description the same style to improve readability
-                cellResult.setCellStyle(worksheet.getStyle(STYLE_SKIPPED_RESULT));
-                cellDescription.setCellStyle(worksheet.getStyle(STYLE_SKIPPED_RESULT));
-                Excel.createComment(cellDescription, message, COMMENT_AUTHOR);
-            } else if (isEnded) {
-                // paint both result and description the same style to improve readability
-                cellResult.setCellStyle(ExcelStyleHelper.generate(worksheet, TERMINATED));
-                cellDescription.setCellStyle(ExcelStyleHelper.generate(worksheet, TERMINATED));
-                Excel.createComment(cellDescription, message, COMMENT_AUTHOR);
-            } else {
-                cellResult.setCellStyle(worksheet.getStyle(pass ? STYLE_SUCCESS_RESULT : STYLE_FAILED_RESULT));
-            }
+            bufferedResult.setResultText(left(resultMsg, MAX_VERBOSE_CHAR));
+            bufferedResult.setMessage(message);
 
             // reason
-            XSSFCell cellReason = row.get(COL_IDX_REASON);
-            if (cellReason != null && !pass) {
+            if (!pass) {
                 if (isNotBlank(result.getDetailedLogLink())) {
                     // currently support just 1 log link
                     String logLink = result.getDetailedLogLink();
-                    if (isNotBlank(logLink)) {
-                        Excel.setHyperlink(cellReason, logLink, "details");
-                        ConsoleUtils.error("Check corresponding error log for details: " + logLink);
-                    }
+                    bufferedResult.setReasonLink(logLink);
+                    ConsoleUtils.error("Check corresponding error log for details: " + logLink);
                 } else {
                     Throwable exception = result.getException();
                     if (exception != null) {
                         Throwable rootCause = ExceptionUtils.getRootCause(exception);
-                        cellReason.setCellValue(context.truncateForDisplay(rootCause == null ?
-                                                                           exception.getMessage() :
-                                                                           rootCause.getMessage()));
-                        cellReason.setCellStyle(worksheet.getStyle(STYLE_MESSAGE));
+                        bufferedResult.setReasonText(context.truncateForDisplay(rootCause == null ?
+                                                                                exception.getMessage() :
+                                                                                rootCause.getMessage()));
                     }
                 }
             }
@@ -944,15 +909,9 @@ public class TestStep extends TestStepManifest {
     }
 
     protected boolean updateElapsedTime(long elapsedTime, boolean violateSLA) {
-        XSSFCell cellElapsedTime = row.get(COL_IDX_ELAPSED_MS);
-        cellElapsedTime.setCellValue(elapsedTime);
+        if (bufferedResult != null) { bufferedResult.setElapsedMs(elapsedTime, violateSLA); }
         context.setData(OPT_LAST_ELAPSED_TIME, elapsedTime);
-        if (violateSLA) {
-            cellElapsedTime.setCellStyle(worksheet.getStyle(STYLE_ELAPSED_MS_BAD_SLA));
-            return false;
-        }
-
-        return true;
+        return !violateSLA;
     }
 
     protected void log(String message) {
@@ -991,7 +950,7 @@ public class TestStep extends TestStepManifest {
         lwTestStep.setFlowControls(getFlowControls());
         lwTestStep.setCaptureScreen(isCaptureScreen());
         lwTestStep.setLogToTestScript(isLogToTestScript());
-        lwTestStep.setRowIndex(row.get(0).getRowIndex());
+        lwTestStep.setRowIndex(getRowIndex());
         if (scriptRowIndex != 0) { lwTestStep.scriptRowIndex = scriptRowIndex; }
         return lwTestStep;
     }
@@ -1006,44 +965,17 @@ public class TestStep extends TestStepManifest {
         return startsWithIgnoreCase(link, "http") || startsWithIgnoreCase(link, "file:");
     }
 
-    private Comment toSystemComment(XSSFCell paramCell, String message) {
-        return Excel.createComment(paramCell, toSystemComment(message), COMMENT_AUTHOR);
-    }
-
-    private String toSystemComment(String message) { return "test script:" + lineSeparator() + message; }
-
     // add macro name as a comment for description of section command
-    protected void createCommentForMacro(XSSFCell cellDescription, boolean pass) {
-        if (pass && isMacroExpander && macroExecutor != null) {
-            Macro macro = macroExecutor.getMacro();
-            String comment = "imported from: " + lineSeparator() +
-                             "[FROM]: ROW #" + (rowIndex + 1) + lineSeparator() +
-                             "[FILE]: " + macro.getFile() + lineSeparator() +
-                             "[SHEET] :" + macro.getSheet() + lineSeparator() +
-                             "[NAME] :" + macro.getMacroName();
-            Excel.createComment(cellDescription, comment, COMMENT_AUTHOR);
-        }
-    }
+    @Nullable
+    protected String resolveMacroComment(boolean pass) {
+        if (!pass || !isMacroExpander || macroExecutor == null) { return null; }
 
-    protected void readFlowControlsCell(List<XSSFCell> row) {
-        addSkipFlowControl();
-        XSSFCell cell = row.get(COL_IDX_FLOW_CONTROLS);
-        setFlowControls(FlowControl.parse(cell != null ? defaultString(Excel.getCellValue(cell), "") : ""));
+        Macro macro = macroExecutor.getMacro();
+        return "imported from: " + lineSeparator() +
+               "[FROM]: ROW #" + (rowIndex + 1) + lineSeparator() +
+               "[FILE]: " + macro.getFile() + lineSeparator() +
+               "[SHEET] :" + macro.getSheet() + lineSeparator() +
+               "[NAME] :" + macro.getMacroName();
     }
 
-    private void addSkipFlowControl() {
-        if (!ExecutionInputPrep.isTestStepDisabled(row)) { return; }
-
-        setFlowControls(FlowControl.parse("SkipIf(true)"));
-
-        // add SkipIf(true) condition to flow control cell
-        XSSFCell cellFlowControls = row.get(COL_IDX_FLOW_CONTROLS);
-        cellFlowControls.setCellValue(CONDITION_DISABLE);
-
-        // (2018/12/28,automike): we MUST NOT prepend or append since other flow control may supersede the flow
-        // control we are adding here to "disable" a command
-        // String currentFlowControls = Excel.getCellValue(cellFlowControls);
-        // currentFlowControls = StringUtils.prependIfMissing(currentFlowControls, CONDITION_DISABLE);
-        // cellFlowControls.setCellValue(currentFlowControls);
-    }
 }
\ No newline at end of file
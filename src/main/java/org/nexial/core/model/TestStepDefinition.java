@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.nexial.core.ExecutionInputPrep;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.model.FlowControl.Directive;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import static org.nexial.core.NexialConst.FlowControls.CONDITION_DISABLE;
+import static org.nexial.core.excel.ExcelConfig.*;
+
+/**
+ * compact and immutable form of a test step, as parsed from its row in a test script or macro. Unlike
+ * {@link TestStep}, it holds no reference to the underlying POI objects.
+ * <p>
+ * The same steps are parsed over and over (macros are harvested per invocation, repeat-until loops, iterations), so
+ * target and command are interned, and flow controls of the same text are parsed once and shared (read-only).
+ */
+public final class TestStepDefinition {
+    private static final Interner<String> NAMES = Interners.newWeakInterner();
+    private static final int MAX_FLOW_CONTROLS_CACHE_SIZE = 1000;
+    private static final Map<String, Map<Directive, FlowControl>> FLOW_CONTROLS =
+        Collections.synchronizedMap(new LRUMap<>(MAX_FLOW_CONTROLS_CACHE_SIZE));
+
+    private final int rowIndex;
+    private final String description;
+    private final String target;
+    private final String command;
+    private final String[] params;
+    private final List<String> paramList;
+    private final List<String> paramTexts;
+    private final Map<Directive, FlowControl> flowControls;
+    private final boolean captureScreen;
+    private final boolean disabled;
+
+    private TestStepDefinition(List<XSSFCell> row, String position) {
+        rowIndex = row.get(0).getRowIndex();
+
+        XSSFCell cell = row.get(COL_IDX_DESCRIPTION);
+        description = cell != null ? StringUtils.defaultIfEmpty(cell.toString(), "") : "";
+        target = NAMES.intern(readRequired(row.get(COL_IDX_TARGET), "target", position));
+        command = NAMES.intern(readRequired(row.get(COL_IDX_COMMAND), "command", position));
+
+        params = TestStep.readParamValues(row).toArray(new String[0]);
+        paramList = Collections.unmodifiableList(Arrays.asList(params));
+        String[] texts = new String[params.length];
+        for (int i = 0; i < texts.length; i++) { texts[i] = Excel.getCellValue(row.get(COL_IDX_PARAMS_START + i)); }
+        paramTexts = Collections.unmodifiableList(Arrays.asList(texts));
+
+        // disabled step (strike-out) is always skipped, regardless of its flow controls
+        disabled = ExecutionInputPrep.isTestStepDisabled(row);
+        cell = row.get(COL_IDX_FLOW_CONTROLS);
+        flowControls = parseFlowControls(disabled ?
+                                         CONDITION_DISABLE :
+                                         cell != null ? StringUtils.defaultString(Excel.getCellValue(cell), "") : "");
+
+        captureScreen = StringUtils.startsWithIgnoreCase(Excel.getCellValue(row.get(COL_IDX_CAPTURE_SCREEN)), "X");
+    }
+
+    /**
+     * parse {@code row} into a test step. {@code position} (such as {@code [file][scenario][activity]}) prefixes the
+     * error message should the row be missing its target or command.
+     */
+    public static TestStepDefinition of(List<XSSFCell> row, String position) {
+        return new TestStepDefinition(row, position);
+    }
+
+    public int getRowIndex() { return rowIndex; }
+
+    public String getDescription() { return description; }
+
+    public String getTarget() { return target; }
+
+    public String getCommand() { return command; }
+
+    /** read-only view of the parameters */
+    public List<String> getParams() { return paramList; }
+
+    public int getParamCount() { return params.length; }
+
+    /** read-only view of the parameters as written in the script, before any shorthand (such as "(empty)") applies */
+    public List<String> getParamTexts() { return paramTexts; }
+
+    /** read-only; shared by all the test steps of the same flow controls */
+    public Map<Directive, FlowControl> getFlowControls() { return flowControls; }
+
+    public boolean isCaptureScreen() { return captureScreen; }
+
+    public boolean isDisabled() { return disabled; }
+
+    private static String readRequired(XSSFCell cell, String name, String position) {
+        if (cell == null || StringUtils.isBlank(cell.toString())) {
+            throw new IllegalArgumentException((StringUtils.isBlank(position) ? "" : position + " ") +
+                                               "no " + name + " specified" +
+                                               (cell != null ? " on ROW " + (cell.getRowIndex() + 1) : ""));
+        }
+        return cell.toString();
+    }
+
+    private static Map<Directive, FlowControl> parseFlowControls(String text) {
+        if (StringUtils.isBlank(text)) { return FlowControl.parse(text); }
+
+        Map<Directive, FlowControl> parsed = FLOW_CONTROLS.get(text);
+        if (parsed == null) {
+            parsed = Collections.unmodifiableMap(FlowControl.parse(text));
+            FLOW_CONTROLS.put(text, parsed);
+        }
+        return parsed;
+    }
+}
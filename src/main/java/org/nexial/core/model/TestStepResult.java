@@ -0,0 +1,222 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.List;
+
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.excel.Excel.Worksheet;
+import org.nexial.core.excel.ExcelStyleHelper;
+
+import static java.lang.System.lineSeparator;
+import static org.apache.commons.lang3.StringUtils.*;
+import static org.apache.poi.ss.usermodel.CellType.BLANK;
+import static org.nexial.core.NexialConst.COMMENT_AUTHOR;
+import static org.nexial.core.NexialConst.Data.REPEAT_DESCRIPTION_PREFIX;
+import static org.nexial.core.NexialConst.Data.SECTION_DESCRIPTION_PREFIX;
+import static org.nexial.core.excel.ExcelConfig.*;
+
+/**
+ * the result of a {@link TestStep}, as it is to be written to the step's row in the output. Everything that depends
+ * on the execution context (resolved description and parameters, links, cloud resources) is resolved when the step
+ * completes; the workbook is only touched when the output is written, via {@link #writeTo(Worksheet, List)}.
+ */
+class TestStepResult {
+    /** how one parameter cell is to be written; {@code null} fields leave the cell as is */
+    static class Param {
+        boolean blank;
+        String value;
+        String comment;
+        String style;
+        String link;
+        String linkLabel;
+        boolean wrap;
+    }
+
+    // false if the step was not executed, but only has its description resolved (steps of a repeat-until loop)
+    private boolean executed;
+    private boolean interactive;
+    private boolean skipped;
+    private boolean ended;
+    private boolean pass;
+    private boolean error;
+    private String message;
+    private String resultText;
+    private String description;
+    private Long elapsedMs;
+    private boolean slaViolated;
+    private Param[] params;
+    private String macroComment;
+    private String reasonLink;
+    private String reasonText;
+
+    static TestStepResult ofDescription(String description) {
+        TestStepResult result = new TestStepResult();
+        result.description = description;
+        return result;
+    }
+
+    static TestStepResult executed(boolean interactive) {
+        TestStepResult result = new TestStepResult();
+        result.executed = true;
+        result.interactive = interactive;
+        return result;
+    }
+
+    boolean isExecuted() { return executed; }
+
+    String getDescription() { return description; }
+
+    void setDescription(String description) { this.description = description; }
+
+    void setMessage(String message) { this.message = message; }
+
+    void setResultText(String resultText) { this.resultText = resultText; }
+
+    /** {@code pass} might differ from {@code result}, such as when the step did not meet its SLA */
+    void setOutcome(StepResult result, boolean pass) {
+        skipped = result.isSkipped();
+        ended = result.isEnded();
+        error = result.isError();
+        this.pass = pass;
+    }
+
+    void setElapsedMs(long elapsedMs, boolean slaViolated) {
+        this.elapsedMs = elapsedMs;
+        this.slaViolated = slaViolated;
+    }
+
+    void setParams(Param[] params) { this.params = params; }
+
+    void setMacroComment(String macroComment) { this.macroComment = macroComment; }
+
+    void setReasonLink(String reasonLink) { this.reasonLink = reasonLink; }
+
+    void setReasonText(String reasonText) { this.reasonText = reasonText; }
+
+    /** write this result to {@code row} (from activity to reason) of {@code worksheet} */
+    void writeTo(Worksheet worksheet, List<XSSFCell> row) {
+        XSSFCell cellDescription = row.get(COL_IDX_DESCRIPTION);
+        if (!executed) {
+            if (isNotEmpty(description)) { cellDescription.setCellValue(description); }
+            return;
+        }
+
+        // elapsed time
+        XSSFCell cellElapsedTime = row.get(COL_IDX_ELAPSED_MS);
+        if (elapsedMs != null) { cellElapsedTime.setCellValue(elapsedMs); }
+        if (slaViolated) { cellElapsedTime.setCellStyle(worksheet.getStyle(STYLE_ELAPSED_MS_BAD_SLA)); }
+
+        // in interactive mode, only the elapsed time is kept
+        if (interactive) { return; }
+
+        ExcelStyleHelper.formatActivityCell(worksheet, row.get(COL_IDX_TESTCASE));
+
+        // description
+        String template = Excel.getCellValue(cellDescription);
+        if (startsWith(template, SECTION_DESCRIPTION_PREFIX)) {
+            ExcelStyleHelper.formatSectionDescription(worksheet, cellDescription);
+        } else if (contains(template, REPEAT_DESCRIPTION_PREFIX)) {
+            ExcelStyleHelper.formatRepeatUntilDescription(worksheet, cellDescription);
+        } else {
+            ExcelStyleHelper.formatDescription(worksheet, cellDescription);
+        }
+
+        ExcelStyleHelper.formatTargetCell(worksheet, row.get(COL_IDX_TARGET));
+        ExcelStyleHelper.formatCommandCell(worksheet, row.get(COL_IDX_COMMAND));
+
+        if (skipped) {
+            XSSFCellStyle styleSkipped = worksheet.getStyle(STYLE_PARAM_SKIPPED);
+            for (int i = COL_IDX_PARAMS_START; i <= COL_IDX_PARAMS_END; i++) { row.get(i).setCellStyle(styleSkipped); }
+        } else if (!ended) {
+            if (description != null) { cellDescription.setCellValue(description); }
+            if (params != null) {
+                for (int i = 0; i < params.length && COL_IDX_PARAMS_START + i <= COL_IDX_PARAMS_END; i++) {
+                    if (params[i] != null) { writeParam(worksheet, row.get(COL_IDX_PARAMS_START + i), params[i]); }
+                }
+            }
+        }
+
+        // flow control
+        ExcelStyleHelper.formatFlowControlCell(worksheet, row.get(COL_IDX_FLOW_CONTROLS));
+
+        // elapsed time
+        if ((!skipped || !ended) && !slaViolated) {
+            cellElapsedTime.setCellStyle(worksheet.getStyle(STYLE_ELAPSED_MS));
+        }
+
+        if (macroComment != null) { Excel.createComment(cellDescription, macroComment, COMMENT_AUTHOR); }
+
+        // result
+        XSSFCell cellResult = row.get(COL_IDX_RESULT);
+        cellResult.setCellValue(resultText);
+
+        if (error) {
+            ExcelStyleHelper.formatFailedStepDescription(worksheet, row);
+            Excel.createComment(cellDescription, cellResult.getStringCellValue(), COMMENT_AUTHOR);
+        }
+
+        if (skipped) {
+            // paint both result and description the same style to improve readability
+            cellResult.setCellStyle(worksheet.getStyle(STYLE_SKIPPED_RESULT));
+            cellDescription.setCellStyle(worksheet.getStyle(STYLE_SKIPPED_RESULT));
+            Excel.createComment(cellDescription, message, COMMENT_AUTHOR);
+        } else if (ended) {
+            // paint both result and description the same style to improve readability
+            cellResult.setCellStyle(ExcelStyleHelper.generate(worksheet, TERMINATED));
+            cellDescription.setCellStyle(ExcelStyleHelper.generate(worksheet, TERMINATED));
+            Excel.createComment(cellDescription, message, COMMENT_AUTHOR);
+        } else {
+            cellResult.setCellStyle(worksheet.getStyle(pass ? STYLE_SUCCESS_RESULT : STYLE_FAILED_RESULT));
+        }
+
+        // reason
+        XSSFCell cellReason = row.get(COL_IDX_REASON);
+        if (cellReason != null && !pass) {
+            if (reasonLink != null) {
+                Excel.setHyperlink(cellReason, reasonLink, "details");
+            } else if (reasonText != null) {
+                cellReason.setCellValue(reasonText);
+                cellReason.setCellStyle(worksheet.getStyle(STYLE_MESSAGE));
+            }
+        }
+    }
+
+    private static void writeParam(Worksheet worksheet, XSSFCell cell, Param param) {
+        if (param.blank) {
+            cell.setCellType(BLANK);
+            return;
+        }
+
+        if (param.value != null) { cell.setCellValue(param.value); }
+        if (param.comment != null) {
+            cell.setCellComment(Excel.createComment(cell,
+                                                    "test script:" + lineSeparator() + param.comment,
+                                                    COMMENT_AUTHOR));
+        }
+        if (param.style != null) { cell.setCellStyle(worksheet.getStyle(param.style)); }
+
+        if (param.link != null) {
+            worksheet.setHyperlink(cell, param.link, param.linkLabel);
+        } else if (param.wrap) {
+            ExcelStyleHelper.handleTextWrap(cell);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.commons.lang3.StringUtils;
+
+import static org.nexial.core.NexialConst.*;
+import static org.nexial.core.excel.ext.CipherHelper.CRYPT_IND;
+
+/**
+ * parsed form of a text subjected to {@link ExecutionContext#replaceTokens(String)}: the literal segments and the
+ * {@code ${...}} references between them. Since the same cell text is resolved over and over (loops, repeatUntil,
+ * iterations), the parsed form is cached per source text so that subsequent resolution requires no re-scanning.
+ * <p>
+ * A template is considered <b>dynamic</b> when it contains constructs that can only be resolved by the full
+ * token replacement logic: built-in functions ({@code $(...)}), crypt values, index references
+ * ({@code ${...}[...]}) or nested tokens. A template without any of these, nor any Nexial expression, is
+ * <b>literal</b> and needs no resolution at all.
+ */
+final class TokenTemplate {
+    private static final int MAX_CACHE_SIZE = 5000;
+    // larger text (such as request payload) are parsed every time, rather than kept around
+    private static final int MAX_CACHEABLE_LENGTH = 8 * 1024;
+    private static final String EXPRESSION_OPERATOR = "=>";
+    private static final Map<String, TokenTemplate> CACHE = Collections.synchronizedMap(new LRUMap<>(MAX_CACHE_SIZE));
+
+    private final String text;
+    // literals.size() is always tokens.size() + 1
+    private final List<String> literals = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final Set<String> tokenNames = new LinkedHashSet<>();
+    private boolean dynamic;
+    private boolean literal;
+
+    private TokenTemplate(String text) {
+        this.text = text;
+        parse();
+    }
+
+    /**
+     * parsed template of {@code source}, after {@code preprocessor} (such as the treatment of value shorthands) is
+     * applied. {@code preprocessor} must yield the same result for the same {@code source}.
+     */
+    static TokenTemplate of(String source, Function<String, String> preprocessor) {
+        if (source.length() > MAX_CACHEABLE_LENGTH) { return new TokenTemplate(preprocessor.apply(source)); }
+
+        TokenTemplate template = CACHE.get(source);
+        if (template == null) {
+            template = new TokenTemplate(preprocessor.apply(source));
+            CACHE.put(source, template);
+        }
+        return template;
+    }
+
+    static void clearCache() { CACHE.clear(); }
+
+    /** the source text, after pre-processing */
+    String getText() { return text; }
+
+    /** the distinct token names, in order of appearance */
+    Set<String> getTokenNames() { return tokenNames; }
+
+    boolean isDynamic() { return dynamic; }
+
+    boolean isLiteral() { return literal; }
+
+    /**
+     * render this template with the resolved {@code values} of its tokens. Tokens absent in {@code values} are
+     * kept as is.
+     */
+    String render(Map<String, String> values) {
+        StringBuilder buffer = new StringBuilder(text.length() + 16 * tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            buffer.append(literals.get(i));
+            String token = tokens.get(i);
+            String value = values.get(token);
+            if (value == null) {
+                buffer.append(TOKEN_START).append(token).append(TOKEN_END);
+            } else {
+                buffer.append(value);
+            }
+        }
+        return buffer.append(literals.get(tokens.size())).toString();
+    }
+
+    /** same scanning rule as {@link StringUtils#substringsBetween(String, String, String)} */
+    private void parse() {
+        if (text == null) {
+            literals.add("");
+            literal = true;
+            return;
+        }
+
+        int length = text.length();
+        int literalStart = 0;
+        int position = 0;
+        while (position < length - TOKEN_END.length()) {
+            int start = text.indexOf(TOKEN_START, position);
+            if (start < 0) { break; }
+
+            int tokenStart = start + TOKEN_START.length();
+            int end = text.indexOf(TOKEN_END, tokenStart);
+            if (end < 0) { break; }
+
+            String token = text.substring(tokenStart, end);
+            literals.add(text.substring(literalStart, start));
+            tokens.add(token);
+            tokenNames.add(token);
+
+            // nested token or index reference (${var}[index]) requires full treatment
+            if (token.isEmpty() || token.contains(TOKEN_START) || text.startsWith(TOKEN_ARRAY_START, end + 1)) {
+                dynamic = true;
+            }
+
+            position = end + TOKEN_END.length();
+            literalStart = position;
+        }
+        literals.add(text.substring(literalStart));
+
+        if (StringUtils.contains(text, TOKEN_FUNCTION_START) || StringUtils.contains(text, CRYPT_IND)) {
+            dynamic = true;
+        }
+
+        literal = !dynamic && tokens.isEmpty() && !StringUtils.contains(text, EXPRESSION_OPERATOR);
+    }
+}
@@ -50,6 +50,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -78,8 +79,10 @@ import static org.nexial.core.utils.OutputFileUtils.CASE_INSENSITIVE_SORT;
 public class BaseCommand implements NexialCommand {
     private static final String TMP_DELIM = "<--~.$.~-->";
     protected static final IncrementStrategy STRATEGY_DEFAULT = ALPHANUM;
+    // command methods per plugin class, so that plugin instances (one set per execution context) are cheap to create
+    private static final Map<Class<?>, Map<String, Method>> COMMAND_METHODS = new ConcurrentHashMap<>();
 
-    protected transient Map<String, Method> commandMethods = new HashMap<>();
+    protected transient Map<String, Method> commandMethods;
     protected transient ExecutionContext context;
 
     protected long pauseMs;
@@ -205,7 +208,7 @@ public class BaseCommand implements NexialCommand {
                                                       StringUtils.substringBeforeLast(link, "/"));
 
                 TestStep testStep = context.getCurrentTestStep();
-                if (testStep != null && testStep.getWorksheet() != null) {
+                if (testStep != null && testStep.getSheetName() != null) {
                     // test step undefined could mean that we are in interactive mode, or we are running unit testing
                     testStep.addNestedScreenCapture(link, "recording from " + screenRecorder.startingLocation);
                 }
@@ -955,7 +958,7 @@ public class BaseCommand implements NexialCommand {
 
         if (context != null) {
             TestStep testStep = context.getCurrentTestStep();
-            if (testStep != null && testStep.getWorksheet() != null) {
+            if (testStep != null && testStep.getSheetName() != null) {
                 // test step undefined could mean that we are in interactive mode, or we are running unit testing
                 context.setData(OPT_LAST_OUTPUT_LINK, link);
                 context.setData(OPT_LAST_OUTPUT_PATH, StringUtils.contains(link, "\\") ?
@@ -1053,7 +1056,7 @@ public class BaseCommand implements NexialCommand {
 
         MacroExecutor macroExecutor = new MacroExecutor(currentTestStep, macro, inputMap, outputMap);
         currentTestStep.setMacroExecutor(macroExecutor);
-        context.setData(MACRO_INVOKED_FROM, currentTestStep.getRow().get(0).getReference());
+        context.setData(MACRO_INVOKED_FROM, currentTestStep.getReference());
         return macroExecutor.start();
     }
 
@@ -1379,9 +1382,14 @@ public class BaseCommand implements NexialCommand {
     }
 
     protected void collectCommandMethods() {
+        commandMethods = COMMAND_METHODS.computeIfAbsent(getClass(), this::scanCommandMethods);
+    }
+
+    private Map<String, Method> scanCommandMethods(Class<?> commandClass) {
         CommandDiscovery discovery = CommandDiscovery.getInstance();
+        Map<String, Method> commandMethods = new HashMap<>();
 
-        Method[] allMethods = this.getClass().getDeclaredMethods();
+        Method[] allMethods = commandClass.getDeclaredMethods();
         Arrays.stream(allMethods).forEach(m -> {
             if (Modifier.isPublic(m.getModifiers()) &&
                 !Modifier.isStatic(m.getModifiers()) &&
@@ -1402,6 +1410,8 @@ public class BaseCommand implements NexialCommand {
                 }
             }
         });
+
+        return Collections.unmodifiableMap(commandMethods);
     }
 
     protected static Boolean handleRegex(String prefix, String expectedPattern, String actual, int flags) {
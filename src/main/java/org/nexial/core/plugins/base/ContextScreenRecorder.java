@@ -74,7 +74,7 @@ public class ContextScreenRecorder {
         String targetDir = appendCapture(new Syspath().out("fullpath")) + separator;
         FileUtils.forceMkdir(new File(targetDir));
         videoFile = targetDir + OutputFileUtils.generateOutputFilename(startsFrom, fileExt);
-        startingLocation = "ROW " + (startsFrom.getRow().get(0).getRowIndex() + 1);
+        startingLocation = "ROW " + (startsFrom.getRowIndex() + 1);
         ConsoleUtils.log(startingLocation, "start recording to '" + videoFile + "'");
 
         videoTitle = context.getTestScript().getFile().getName() + " : " + context.getCurrentTestStep().toString();
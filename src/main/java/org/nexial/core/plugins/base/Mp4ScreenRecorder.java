@@ -23,6 +23,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.nexial.core.NexialConst.Project;
 import org.nexial.core.ShutdownAdvisor;
+import org.nexial.core.model.ExecutionVariables;
 import org.nexial.core.utils.ConsoleUtils;
 
 import com.xuggle.mediatool.IMediaWriter;
@@ -107,7 +108,7 @@ public class Mp4ScreenRecorder extends MediaToolAdapter implements Runnable, Scr
 
     @Override
     public void start() {
-        String outputDir = System.getProperty(OPT_OUT_DIR, TEMP);
+        String outputDir = ExecutionVariables.getProperty(OPT_OUT_DIR, TEMP);
         start(Project.appendCapture(outputDir) + separator + RandomStringUtils.randomAlphabetic(10) + "." + mp4.name());
     }
 
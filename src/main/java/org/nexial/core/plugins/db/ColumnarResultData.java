@@ -0,0 +1,312 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.io.*;
+import java.lang.ref.Cleaner;
+import java.util.*;
+
+import org.nexial.core.utils.ConsoleUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.NexialConst.TEMP;
+
+/**
+ * rows of a query result, stored by column rather than as one {@link Map} per row. The first {@code spillThreshold}
+ * rows are kept in memory, one array per column; the remaining rows are written to a temp file and read back when
+ * accessed. This keeps the memory used by large query results bounded, while {@link JdbcResult#getData()} and
+ * {@link JdbcResult#cells(String)} continue to work.
+ * <p>
+ * The spilled rows are read through one reader, opened on first access and kept open (along with the temp file) until
+ * this result is no longer in use. Reads are done in chunks of about {@link #READ_CHUNK_SIZE} bytes; iterators hold no
+ * open stream, hence an iterator need not be exhausted.
+ * <p>
+ * Each row is presented as a read-only {@link Map} of column name and value, in column order. The rows themselves
+ * are read-only too.
+ */
+class ColumnarResultData extends AbstractList<Map<String, Object>> implements Serializable {
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final int INITIAL_CAPACITY = 16;
+    static final int READ_CHUNK_SIZE = 64 * 1024;
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_TEXT = 1;
+    private static final byte TYPE_BINARY = 2;
+
+    // same as the keys of a LinkedHashMap: in the order first added, and the last of any duplicate column wins
+    private final Map<String, Integer> columnIndices = new LinkedHashMap<>();
+    private final int spillThreshold;
+    private final Object[][] values;
+    private int size;
+
+    // rows beyond `spillThreshold`
+    private transient SpillFile spillFile;
+    private transient DataOutputStream spillOut;
+    private transient long[] spillOffsets;
+    private transient long spillLength;
+    private transient int spillSize;
+
+    ColumnarResultData(List<String> columns, int spillThreshold) {
+        for (int i = 0; i < columns.size(); i++) { columnIndices.put(columns.get(i), i); }
+        this.spillThreshold = Math.max(spillThreshold, 0);
+        this.values = new Object[columns.size()][Math.min(INITIAL_CAPACITY, this.spillThreshold)];
+    }
+
+    /** add one row of values, in the same order as the columns */
+    void addRow(Object[] row) throws IOException {
+        if (size < spillThreshold) {
+            for (int i = 0; i < values.length; i++) {
+                if (size == values[i].length) {
+                    values[i] = Arrays.copyOf(values[i], (int) Math.min((long) size + (size >> 1) + 1, spillThreshold));
+                }
+                values[i][size] = row[i];
+            }
+        } else {
+            spill(row);
+        }
+        size++;
+    }
+
+    /** no more rows would be added */
+    void doneAdding() throws IOException {
+        if (spillOut != null) {
+            spillOut.close();
+            spillOut = null;
+        }
+    }
+
+    boolean isSpilled() { return spillFile != null; }
+
+    /** all the values of {@code column}, or an empty list if {@code column} is not one of the columns */
+    List<Object> cells(String column) {
+        Integer index = columnIndices.get(column);
+        if (index == null) { return new ArrayList<>(); }
+
+        List<Object> cells = new ArrayList<>(size);
+        for (int i = 0; i < Math.min(size, spillThreshold); i++) { cells.add(values[index][i]); }
+        for (int from = 0; from < spillSize; ) {
+            int to = chunkEnd(from);
+            readSpilled(from, to).forEach(row -> cells.add(row[index]));
+            from = to;
+        }
+        return cells;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        if (index < 0 || index >= size) { throw new IndexOutOfBoundsException("Index out of range: " + index); }
+        if (index < spillThreshold) { return new Row(inMemoryRow(index)); }
+
+        int spillIndex = index - spillThreshold;
+        return new Row(readSpilled(spillIndex, spillIndex + 1).get(0));
+    }
+
+    /** the spilled rows are read a chunk at a time, instead of one {@link #get(int)} at a time */
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private List<Object[]> chunk = Collections.emptyList();
+            private int chunkStart;
+
+            @Override
+            public boolean hasNext() { return index < size; }
+
+            @Override
+            public Map<String, Object> next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+                if (index < spillThreshold) { return new Row(inMemoryRow(index++)); }
+
+                int spillIndex = index++ - spillThreshold;
+                if (spillIndex >= chunkStart + chunk.size()) {
+                    chunkStart = spillIndex;
+                    chunk = readSpilled(spillIndex, chunkEnd(spillIndex));
+                }
+                return new Row(chunk.get(spillIndex - chunkStart));
+            }
+        };
+    }
+
+    private Object[] inMemoryRow(int index) {
+        Object[] row = new Object[values.length];
+        for (int i = 0; i < values.length; i++) { row[i] = values[i][index]; }
+        return row;
+    }
+
+    private void spill(Object[] row) throws IOException {
+        if (spillFile == null) {
+            File tempDir = new File(TEMP);
+            tempDir.mkdirs();
+            File file = File.createTempFile("nexial-jdbc-", ".dat", tempDir);
+            file.deleteOnExit();
+            spillFile = new SpillFile(file);
+            // close the reader and remove the temp file as soon as this result is no longer in use
+            CLEANER.register(this, spillFile);
+
+            spillOffsets = new long[INITIAL_CAPACITY];
+        }
+
+        if (spillOut == null) {
+            spillOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile.file, true)));
+        }
+
+        if (spillSize == spillOffsets.length) {
+            spillOffsets = Arrays.copyOf(spillOffsets, spillSize + (spillSize >> 1) + 1);
+        }
+        spillOffsets[spillSize++] = spillLength;
+
+        for (Object value : row) {
+            if (value == null) {
+                spillOut.writeByte(TYPE_NULL);
+                spillLength++;
+            } else {
+                boolean binary = value instanceof byte[];
+                byte[] bytes = binary ? (byte[]) value : value.toString().getBytes(UTF_8);
+                spillOut.writeByte(binary ? TYPE_BINARY : TYPE_TEXT);
+                spillOut.writeInt(bytes.length);
+                spillOut.write(bytes);
+                spillLength += 1 + 4 + bytes.length;
+            }
+        }
+    }
+
+    private void flushSpill() throws IOException { if (spillOut != null) { spillOut.flush(); } }
+
+    private long spillEnd(int spillIndex) {
+        return spillIndex + 1 < spillSize ? spillOffsets[spillIndex + 1] : spillLength;
+    }
+
+    /** end (exclusive) of the chunk of spilled rows starting at {@code from}; at least 1 row */
+    private int chunkEnd(int from) {
+        int to = from + 1;
+        while (to < spillSize && spillEnd(to) - spillOffsets[from] <= READ_CHUNK_SIZE) { to++; }
+        return to;
+    }
+
+    /** the spilled rows from {@code from} (inclusive) to {@code to} (exclusive), read in one go */
+    private List<Object[]> readSpilled(int from, int to) {
+        try {
+            flushSpill();
+            long offset = spillOffsets[from];
+            byte[] bytes = spillFile.read(offset, (int) (spillEnd(to - 1) - offset));
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) { rows.add(readRow(in)); }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object[] readRow(DataInputStream in) throws IOException {
+        Object[] row = new Object[values.length];
+        for (int i = 0; i < row.length; i++) {
+            byte type = in.readByte();
+            if (type == TYPE_NULL) { continue; }
+
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            row[i] = type == TYPE_BINARY ? bytes : new String(bytes, UTF_8);
+        }
+        return row;
+    }
+
+    /** serialized as a plain list of rows, since the temp file does not go along */
+    private Object writeReplace() {
+        List<Map<String, Object>> rows = new ArrayList<>(size);
+        for (Map<String, Object> row : this) { rows.add(new LinkedHashMap<>(row)); }
+        return rows;
+    }
+
+    /**
+     * the temp file of the spilled rows, and the one reader of it. Also the cleanup action once the result is no
+     * longer in use, hence no reference back to the result.
+     */
+    private static final class SpillFile implements Runnable {
+        private final File file;
+        private RandomAccessFile reader;
+
+        private SpillFile(File file) { this.file = file; }
+
+        private synchronized byte[] read(long offset, int length) throws IOException {
+            if (reader == null) { reader = new RandomAccessFile(file, "r"); }
+            byte[] bytes = new byte[length];
+            reader.seek(offset);
+            reader.readFully(bytes);
+            return bytes;
+        }
+
+        @Override
+        public synchronized void run() {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    ConsoleUtils.log("Error when closing " + file + ": " + e.getMessage());
+                }
+                reader = null;
+            }
+            file.delete();
+        }
+    }
+
+    /** one row, as a read-only view of column name and value */
+    private final class Row extends AbstractMap<String, Object> {
+        private final Object[] row;
+
+        private Row(Object[] row) { this.row = row; }
+
+        @Override
+        public Object get(Object key) {
+            Integer index = columnIndices.get(key);
+            return index == null ? null : row[index];
+        }
+
+        @Override
+        public boolean containsKey(Object key) { return columnIndices.containsKey(key); }
+
+        @Override
+        public int size() { return columnIndices.size(); }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private final Iterator<Entry<String, Integer>> indices = columnIndices.entrySet().iterator();
+
+                        @Override
+                        public boolean hasNext() { return indices.hasNext(); }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            Entry<String, Integer> index = indices.next();
+                            return new SimpleImmutableEntry<>(index.getKey(), row[index.getValue()]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() { return columnIndices.size(); }
+            };
+        }
+    }
+}
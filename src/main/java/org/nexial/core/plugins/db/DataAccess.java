@@ -26,8 +26,9 @@ import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Map;
-import java.util.Properties;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import javax.sql.DataSource;
 
 import org.apache.commons.beanutils.BeanUtils;
@@ -54,6 +55,28 @@ import static org.nexial.core.utils.CheckUtils.requiresNotNull;
 public class DataAccess implements ApplicationContextAware {
     private static final String ISAM_PROP_DD = "jdbc:connx:DD";
     private static final String ISAM_PROP_GW = "GateWay";
+    private static final Map<String, SharedPool> DATA_SOURCES = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> DATA_SOURCES.values().forEach(SharedPool::close)));
+    }
+
+    /** a connection pool shared by all the daos of the same connection/pool setup */
+    private static final class SharedPool {
+        private final BasicDataSource dataSource;
+        // the daos using this pool. Weak, so that the daos of finished executions no longer count
+        private final Set<SimpleExtractionDao> daos = Collections.newSetFromMap(new WeakHashMap<>());
+
+        private SharedPool(BasicDataSource dataSource) { this.dataSource = dataSource; }
+
+        private void close() {
+            try {
+                dataSource.close();
+            } catch (SQLException e) {
+                ConsoleUtils.log("Error when closing connection pool: " + e.getMessage());
+            }
+        }
+    }
 
     protected Map<String, String> dbTypes;
     protected ApplicationContext spring;
@@ -140,30 +163,14 @@ public class DataAccess implements ApplicationContextAware {
         } else if (StringUtils.equals(dbType, "mongodb")) {
             dao = resolveMongoDao(db, className);
         } else {
-            BasicDataSource newDs = new BasicDataSource();
-            newDs.setDriverClassName(className);
-            newDs.setAccessToUnderlyingConnectionAllowed(true);
-            newDs.setPoolPreparedStatements(true);
-            newDs.setUrl(url);
-
-            // username/password are not required
-            String username = context.getStringData(db + OPT_DB_USER);
-            if (StringUtils.isNotBlank(username)) { newDs.setUsername(username); }
-
-            String password = context.getStringData(db + OPT_DB_PASSWORD);
-            if (StringUtils.isNotBlank(password)) { newDs.setPassword(password); }
-
-            // handle auto commit (single transaction or not)
-            boolean autocommit = context.getBooleanData(db + OPT_DB_AUTOCOMMIT, DEF_AUTOCOMMIT);
-            newDs.setDefaultAutoCommit(autocommit);
-            newDs.setAutoCommitOnReturn(autocommit);
-            if (!autocommit) { newDs.setDefaultTransactionIsolation(TRANSACTION_SERIALIZABLE); }
-
-            //set driver from downloaded driver jar
-            if (isDriverConfiguredForDownload) { newDs.setDriver(d); }
-
+            // connection pools are shared by all executions in this JVM, one per distinct connection/pool setup
+            Driver driver = isDriverConfiguredForDownload ? d : null;
             dao = new SimpleExtractionDao();
-            dao.setDataSource(newDs);
+            dao.setDataSource(leaseDataSource(toPoolKey(db, className, url),
+                                              dao,
+                                              () -> newDataSource(db, className, url, driver)));
+            int fetchSize = context.getIntData(db + OPT_DB_FETCH_SIZE, -1);
+            if (fetchSize > 0) { dao.setFetchSize(fetchSize); }
         }
 
         // allow dao to treat 'true null' as empty string, or whatever user decides
@@ -174,6 +181,119 @@ public class DataAccess implements ApplicationContextAware {
         return dao;
     }
 
+    /**
+     * the shared connection pool of {@code poolKey}, to be used by {@code dao}. A new pool is created via
+     * {@code newDataSource} if there's none yet (or it has been closed).
+     */
+    static BasicDataSource leaseDataSource(String poolKey,
+                                           SimpleExtractionDao dao,
+                                           Supplier<BasicDataSource> newDataSource) {
+        return DATA_SOURCES.compute(poolKey, (key, pool) -> {
+            SharedPool shared = pool != null && !pool.dataSource.isClosed() ? pool : new SharedPool(newDataSource.get());
+            shared.daos.add(dao);
+            return shared;
+        }).dataSource;
+    }
+
+    /**
+     * release the connection pool of {@code dao} (if any). The pool is closed, so that the next
+     * {@link #resolveDao(String)} starts anew, only if no other dao (of another execution) is still using it.
+     *
+     * @return true if the pool is closed
+     */
+    public boolean closeDataSource(SimpleExtractionDao dao) {
+        if (dao == null) { return false; }
+
+        DataSource dataSource = dao.getDataSource();
+        if (!(dataSource instanceof BasicDataSource)) { return false; }
+
+        boolean[] closed = {false};
+        DATA_SOURCES.keySet().forEach(poolKey -> DATA_SOURCES.computeIfPresent(poolKey, (key, pool) -> {
+            if (pool.dataSource != dataSource) { return pool; }
+
+            pool.daos.remove(dao);
+            if (!pool.daos.isEmpty()) {
+                ConsoleUtils.log("connection pool is still in use by other executions; not closed");
+                return pool;
+            }
+
+            pool.close();
+            closed[0] = true;
+            return null;
+        }));
+        return closed[0];
+    }
+
+    /** current usage of the connection pool of {@code dao}, or an empty string if it is not pooled */
+    public String getPoolMetrics(SimpleExtractionDao dao) {
+        return dao != null && dao.getDataSource() instanceof PooledDataSource ?
+               ((PooledDataSource) dao.getDataSource()).getMetrics() : "";
+    }
+
+    protected BasicDataSource newDataSource(String db, String className, String url, Driver driver) {
+        PooledDataSource newDs = new PooledDataSource();
+        newDs.setDriverClassName(className);
+        newDs.setAccessToUnderlyingConnectionAllowed(true);
+        newDs.setUrl(url);
+
+        // username/password are not required
+        String username = context.getStringData(db + OPT_DB_USER);
+        if (StringUtils.isNotBlank(username)) { newDs.setUsername(username); }
+
+        String password = context.getStringData(db + OPT_DB_PASSWORD);
+        if (StringUtils.isNotBlank(password)) { newDs.setPassword(password); }
+
+        // handle auto commit (single transaction or not)
+        boolean autocommit = context.getBooleanData(db + OPT_DB_AUTOCOMMIT, DEF_AUTOCOMMIT);
+        newDs.setDefaultAutoCommit(autocommit);
+        newDs.setAutoCommitOnReturn(autocommit);
+        if (!autocommit) { newDs.setDefaultTransactionIsolation(TRANSACTION_SERIALIZABLE); }
+
+        // pool sizing and validation; dbcp defaults apply unless specified
+        int minIdle = context.getIntData(db + OPT_DB_POOL_MIN_IDLE, -1);
+        if (minIdle >= 0) { newDs.setMinIdle(minIdle); }
+        int maxIdle = context.getIntData(db + OPT_DB_POOL_MAX_IDLE, -1);
+        if (maxIdle >= 0) { newDs.setMaxIdle(maxIdle); }
+        int maxTotal = context.getIntData(db + OPT_DB_POOL_MAX_TOTAL, 0);
+        if (maxTotal != 0) { newDs.setMaxTotal(maxTotal); }
+        int maxWaitMs = context.getIntData(db + OPT_DB_POOL_MAX_WAIT_MS, 0);
+        if (maxWaitMs != 0) { newDs.setMaxWaitMillis(maxWaitMs); }
+
+        String validationQuery = context.getStringData(db + OPT_DB_POOL_VALIDATION_QUERY);
+        if (StringUtils.isNotBlank(validationQuery)) { newDs.setValidationQuery(validationQuery); }
+        newDs.setTestOnBorrow(context.getBooleanData(db + OPT_DB_POOL_TEST_ON_BORROW, true));
+
+        // prepared statements are cached per connection
+        newDs.setPoolPreparedStatements(context.getBooleanData(db + OPT_DB_POOL_STATEMENTS, true));
+        int maxStatements = context.getIntData(db + OPT_DB_POOL_MAX_STATEMENTS, 0);
+        if (maxStatements != 0) { newDs.setMaxOpenPreparedStatements(maxStatements); }
+
+        //set driver from downloaded driver jar
+        if (driver != null) { newDs.setDriver(driver); }
+
+        ConsoleUtils.log("created connection pool for '" + db + "'");
+        return newDs;
+    }
+
+    /** everything that goes into {@link #newDataSource(String, String, String, Driver)} */
+    protected String toPoolKey(String db, String className, String url) {
+        return StringUtils.joinWith(
+            "\n",
+            className,
+            url,
+            context.getStringData(db + OPT_DB_USER),
+            context.getStringData(db + OPT_DB_PASSWORD),
+            context.getBooleanData(db + OPT_DB_AUTOCOMMIT, DEF_AUTOCOMMIT),
+            context.getIntData(db + OPT_DB_POOL_MIN_IDLE, -1),
+            context.getIntData(db + OPT_DB_POOL_MAX_IDLE, -1),
+            context.getIntData(db + OPT_DB_POOL_MAX_TOTAL, 0),
+            context.getIntData(db + OPT_DB_POOL_MAX_WAIT_MS, 0),
+            context.getStringData(db + OPT_DB_POOL_VALIDATION_QUERY),
+            context.getBooleanData(db + OPT_DB_POOL_TEST_ON_BORROW, true),
+            context.getBooleanData(db + OPT_DB_POOL_STATEMENTS, true),
+            context.getIntData(db + OPT_DB_POOL_MAX_STATEMENTS, 0));
+    }
+
     protected SimpleExtractionDao resolveIsamDao(String db) {
         String url = context.getStringData(db + OPT_DB_URL);
         Map<String, String> connInfo = TextUtils.toMap(url, ";", "=");
@@ -117,6 +117,8 @@ public class JdbcResult implements Serializable {
         // test to see if this is a known column
         if (CollectionUtils.isEmpty(columns) || !columns.contains(column)) { return cells; }
 
+        if (data instanceof ColumnarResultData) { return ((ColumnarResultData) data).cells(column); }
+
         data.forEach(row -> cells.add(row.get(column)));
 
         return cells;
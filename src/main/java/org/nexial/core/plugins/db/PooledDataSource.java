@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * {@link BasicDataSource} that also reports the usage of its connection pool, so that the database load of an
+ * execution can be sized accordingly.
+ */
+class PooledDataSource extends BasicDataSource {
+
+    /** current usage of the connection pool, or an empty string if the pool has not been created yet */
+    String getMetrics() {
+        GenericObjectPool<PoolableConnection> pool = getConnectionPool();
+        if (pool == null) { return ""; }
+
+        return "active=" + pool.getNumActive() + "/" + getMaxTotal() +
+               ", idle=" + pool.getNumIdle() +
+               ", waiting=" + pool.getNumWaiters() +
+               ", borrowed=" + pool.getBorrowedCount() +
+               ", created=" + pool.getCreatedCount() +
+               ", mean borrow wait=" + pool.getMeanBorrowWaitTimeMillis() + " ms" +
+               ", max borrow wait=" + pool.getMaxBorrowWaitTimeMillis() + " ms";
+    }
+}
@@ -31,19 +31,23 @@ import org.nexial.core.utils.ConsoleUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.StatementCallback;
 import org.springframework.jdbc.core.support.JdbcDaoSupport;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.sql.DataSource;
 import javax.validation.constraints.NotNull;
 
 import static java.sql.Types.*;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.nexial.core.NexialConst.NL;
 import static org.nexial.core.NexialConst.Rdbms.*;
 import static org.nexial.core.SystemVariables.getDefaultBool;
@@ -58,11 +62,13 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
     private static final String MSG_NULL_JDBC = "Unable to resolve data access; contain Nexial Support team";
     private static final List<Integer> BINARY_SQL_TYPES =
         Arrays.asList(BINARY, VARBINARY, LONGVARBINARY, JAVA_OBJECT, BLOB);
+    private static final Object[] END_OF_ROWS = new Object[0];
 
     protected String treatNullAs = DEF_TREAT_NULL_AS;
     protected Connection transactedConnection;
     protected Boolean autoCommit;
     protected ExecutionContext context;
+    protected int fetchSize = -1;
 
     protected class JdbcResultExtractor implements ResultSetExtractor<JdbcResult>, StatementCallback<JdbcResult> {
         private JdbcResult result;
@@ -180,6 +186,13 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
 
     public void setContext(ExecutionContext context) { this.context = context; }
 
+    /** number of rows fetched at a time, for queries executed via this dao */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        JdbcTemplate jdbc = getJdbcTemplate();
+        if (jdbc != null) { jdbc.setFetchSize(fetchSize); }
+    }
+
     public void close() {
         if (transactedConnection != null) {
             try {
@@ -215,8 +228,17 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
             JdbcResult result = extractor.getResult();
             result.setError(error + "; no SQL was executed");
             return result;
-        } else {
+        }
+
+        try {
             return executeStoredProcedure(connection, extractor);
+        } finally {
+            // return connection to the pool
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                ConsoleUtils.log("Error when closing database connection: " + e.getMessage());
+            }
         }
     }
 
@@ -225,6 +247,7 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         String sql = result.getSql();
 
         try (CallableStatement callStmt = connection.prepareCall(sql)) {
+            if (fetchSize > 0) { callStmt.setFetchSize(fetchSize); }
             //callStmt.setString(1, "...");
             //callStmt.registerOutParameter(2, OracleTypes.CURSOR);
 
@@ -253,6 +276,9 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
 
         ExecutionContext context = ExecutionThread.get();
 
+        int parallelism = resolveQueryParallelism(sqls);
+        if (parallelism > 1) { return executeConcurrently(sqls, parallelism, context, outcome); }
+
         AtomicReference<Boolean> explicitCommit = new AtomicReference<>(false);
         AtomicReference<Boolean> explicitRollback = new AtomicReference<>(false);
 
@@ -315,6 +341,94 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         return outcome;
     }
 
+    /**
+     * number of {@code sqls} that can be executed at the same time, each over its own pooled connection. This is 1
+     * (i.e. one after another) unless {@link org.nexial.core.NexialConst.Rdbms#QUERY_PARALLELISM} is more than 1, and
+     * <ul>
+     * <li>all of {@code sqls} are queries (i.e. read-only),</li>
+     * <li>none of {@code sqls} refers to the variable of an earlier query, which is set only after its execution,</li>
+     * <li>this dao is in auto-commit mode (no transaction to share) and is backed by a connection pool.</li>
+     * </ul>
+     */
+    protected int resolveQueryParallelism(List<SqlComponent> sqls) {
+        int parallelism = context == null ? getDefaultInt(QUERY_PARALLELISM) :
+                          context.getIntData(QUERY_PARALLELISM, getDefaultInt(QUERY_PARALLELISM));
+        if (parallelism < 2 || CollectionUtils.size(sqls) < 2) { return 1; }
+        if (!(getDataSource() instanceof BasicDataSource) || !isAutoCommit()) { return 1; }
+
+        for (int i = 0; i < sqls.size(); i++) {
+            SqlComponent sql = sqls.get(i);
+            if (sql.getType() == null || !sql.getType().hasResultset()) { return 1; }
+
+            for (int j = 0; j < i; j++) {
+                String varName = sqls.get(j).getVarName();
+                if (StringUtils.isNotBlank(varName) && StringUtils.contains(sql.getSql(), "${" + varName)) { return 1; }
+            }
+        }
+
+        return Math.min(parallelism, sqls.size());
+    }
+
+    /**
+     * execute {@code sqls} over up to {@code parallelism} pooled connections at the same time. The results are added
+     * to {@code outcome}, and to {@code context}, in the same order as {@code sqls}; each result has its own timing.
+     */
+    protected JdbcOutcome executeConcurrently(List<SqlComponent> sqls,
+                                              int parallelism,
+                                              ExecutionContext context,
+                                              JdbcOutcome outcome) {
+        List<String> queries = new ArrayList<>();
+        List<String> varNames = new ArrayList<>();
+        List<Future<JdbcResult>> results = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (SqlComponent sql : sqls) {
+                String query = sql.getSql();
+                String varName = sql.getVarName();
+                if (StringUtils.isBlank(query)) { continue; }
+
+                if (context != null) {
+                    query = context.replaceTokens(query);
+                    varName = context.replaceTokens(varName);
+                }
+
+                ConsoleUtils.log("Executing" + (StringUtils.isNotEmpty(varName) ? " '" + varName + "'" : "") + " - " +
+                                 query);
+
+                String finalQuery = query;
+                queries.add(query);
+                varNames.add(varName);
+                results.add(executor.submit(() -> executeSql(finalQuery, null)));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                String varName = varNames.get(i);
+                JdbcResult result;
+                try {
+                    result = results.get(i).get();
+                } catch (ExecutionException e) {
+                    result = new JdbcResult(queries.get(i));
+                    result.setError("Error occurred when executing '" + queries.get(i) + "':" +
+                                    ExceptionUtils.getRootCauseMessage(e));
+                }
+
+                if (result != null) {
+                    if (context != null) { context.setData(varName, result); }
+                    outcome.addOutcome(varName, result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome.addError("Query execution interrupted: " + e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        outcome.setElapsedTime(System.currentTimeMillis() - outcome.getStartTime());
+        return outcome;
+    }
+
     protected JdbcResult packData(JdbcResult result) {
         if (result == null || CollectionUtils.isEmpty(result.getData())) { return result; }
         result.setData(pack(result.getData()));
@@ -332,13 +446,21 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
             results.get(0).forEach((column, value) -> {
                 if (value != null && !StringUtils.equals(value.toString(), treatNullAs)) { newRow.put(column, value); }
             });
-            results.remove(0);
+            // query result might be read-only
+            results = new ArrayList<>();
             results.add(newRow);
         }
 
         return results;
     }
 
+    /**
+     * copy the result of {@code sql} into a new table (as created via {@code tableGenerator}) of {@code dao}. The
+     * query result is fetched {@link org.nexial.core.NexialConst.Rdbms#IMPORT_FETCH_SIZE} rows at a time, read by
+     * column type and handed over, through a bounded queue, to another thread that inserts them via
+     * {@link #bulkInsert(String, List, Iterator)}. Hence only a fraction of the query result is in memory at any time,
+     * and the reading and writing can proceed at the same time.
+     */
     protected JdbcResult importResults(SqlComponent sql, SimpleExtractionDao dao, TableSqlGenerator tableGenerator) {
         long startTime = System.currentTimeMillis();
 
@@ -348,7 +470,17 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         JdbcTemplate jdbc = getJdbcTemplate();
         if (jdbc == null) { throw new RuntimeException(MSG_NULL_JDBC); }
 
-        Integer rowsImported = jdbc.query(query, rs -> {
+        int fetchSize = context.getIntData(IMPORT_FETCH_SIZE, getDefaultInt(IMPORT_FETCH_SIZE));
+        int importBufferSize = context.getIntData(IMPORT_BUFFER_SIZE, getDefaultInt(IMPORT_BUFFER_SIZE));
+
+        PreparedStatementCreator statementCreator = connection -> {
+            PreparedStatement statement =
+                connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (fetchSize > 0) { statement.setFetchSize(fetchSize); }
+            return statement;
+        };
+
+        Integer rowsImported = jdbc.query(statementCreator, rs -> {
             if (!rs.next()) {
                 result.setError("Unable to retrieve query result; Query execution possibly did not complete");
                 return -1;
@@ -363,52 +495,273 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
                 return -1;
             }
 
-            // 2. generate DML to import data to target
-            int rowCount = 0;
-            int rowsAffected = 0;
-            int importBufferSize = context.getIntData(IMPORT_BUFFER_SIZE, getDefaultInt(IMPORT_BUFFER_SIZE));
-            StringBuilder error = new StringBuilder();
-            StringBuilder inserts = new StringBuilder();
             int numOfColumn = metaData.getColumnCount();
+            List<String> columns = new ArrayList<>();
+            int[] columnTypes = new int[numOfColumn];
+            for (int i = 1; i <= numOfColumn; i++) {
+                columns.add("\"" + metaData.getColumnLabel(i) + "\"");
+                columnTypes[i - 1] = metaData.getColumnType(i);
+            }
 
-            do {
-                inserts.append("INSERT INTO ").append(tableGenerator.getTable()).append(" VALUES (");
-                for (int i = 1; i <= numOfColumn; i++) {
-                    String data = rs.getString(i);
-                    if (rs.wasNull()) {
-                        data = "NULL";
-                    } else if (tableGenerator.isTextColumnType(metaData.getColumnType(i))) {
-                        data = "'" + StringUtils.replace(data, "'", "''") + "'";
+            // 2. insert rows to target while the rest of the rows are being fetched
+            int queueSize = Math.max(Math.max(fetchSize, importBufferSize), 1) * 2;
+            BlockingQueue<Object[]> queue = new ArrayBlockingQueue<>(queueSize);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<JdbcResult> insert = executor.submit(
+                    () -> dao.bulkInsert(tableGenerator.getTable(), columns, drain(queue)));
+
+                String error = null;
+                int rowsFetched = 0;
+                try {
+                    do {
+                        Object[] row = new Object[numOfColumn];
+                        for (int i = 1; i <= numOfColumn; i++) { row[i - 1] = readColumn(rs, i, columnTypes[i - 1]); }
+                        // stop reading if the insert had stopped (i.e. error); the row is then dropped
+                        boolean queued = queue.offer(row, 1, SECONDS);
+                        while (!queued && !insert.isDone()) { queued = queue.offer(row, 1, SECONDS); }
+                        if (queued) { rowsFetched++; }
+                    } while (!insert.isDone() && rs.next());
+                } catch (SQLException e) {
+                    // rows fetched so far will still be imported
+                    error = "Error fetching query result after " + rowsFetched + " rows: " + e.getMessage();
+                } finally {
+                    while (!insert.isDone() && !queue.offer(END_OF_ROWS, 1, SECONDS)) { }
+                }
+
+                JdbcResult insertResult = insert.get();
+                if (insertResult.hasError()) {
+                    error = StringUtils.isBlank(error) ? insertResult.getError() : error + NL + insertResult.getError();
+                }
+                if (StringUtils.isNotBlank(error)) { result.setError(error); }
+                return insertResult.getRowCount();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.setError("Import interrupted: " + e.getMessage());
+                return -1;
+            } catch (ExecutionException e) {
+                result.setError("Error importing query result: " + ExceptionUtils.getRootCauseMessage(e));
+                return -1;
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+
+        result.setRowCount(rowsImported == null ? -1 : rowsImported);
+        result.setTiming(startTime);
+
+        return result;
+    }
+
+    /** read a column value as the type most suitable for its column type, so that it can be bound as is */
+    private static Object readColumn(ResultSet rs, int index, int type) throws SQLException {
+        Object value;
+        switch (type) {
+            case BIGINT:
+            case BIT:
+            case INTEGER:
+            case SMALLINT:
+            case TINYINT:
+                value = rs.getLong(index);
+                break;
+            case DOUBLE:
+            case FLOAT:
+            case REAL:
+                value = rs.getDouble(index);
+                break;
+            case DECIMAL:
+            case NUMERIC:
+                value = rs.getBigDecimal(index);
+                break;
+            case BOOLEAN:
+                value = rs.getBoolean(index);
+                break;
+            case BINARY:
+            case BLOB:
+            case LONGVARBINARY:
+            case VARBINARY:
+                value = rs.getBytes(index);
+                break;
+            default:
+                // text, as well as date/time (to keep them readable in the target)
+                value = rs.getString(index);
+        }
+        return rs.wasNull() ? null : value;
+    }
+
+    /** rows taken off {@code queue}, until {@link #END_OF_ROWS} */
+    private static Iterator<Object[]> drain(BlockingQueue<Object[]> queue) {
+        return new Iterator<>() {
+            private Object[] next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        next = END_OF_ROWS;
                     }
-                    inserts.append(data);
-                    if (i < numOfColumn) { inserts.append(","); }
                 }
+                return next != END_OF_ROWS;
+            }
 
-                inserts.append(");").append(NL);
+            @Override
+            public Object[] next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+                Object[] row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
 
-                rowCount++;
+    /**
+     * insert {@code records} into {@code columns} of {@code table} via a single {@link PreparedStatement}. The
+     * records are streamed in, sent in batches of {@link org.nexial.core.NexialConst.Rdbms#IMPORT_BUFFER_SIZE} rows
+     * and committed every {@link org.nexial.core.NexialConst.Rdbms#IMPORT_COMMIT_SIZE} rows. For SQLite, journaling
+     * and disk sync are relaxed for the duration of the import.
+     * <p>
+     * Upon error, the current transaction is rolled back and the import stops; rows committed earlier remain. The
+     * row count of the returned result is the number of rows imported.
+     * <p>
+     * If this dao is not in auto-commit mode, the records are inserted as part of the current transaction instead: the
+     * transaction is neither committed nor rolled back (not even upon error), and the connection is used as is.
+     */
+    protected JdbcResult bulkInsert(String table, List<String> columns, Iterator<? extends Object[]> records) {
+        long startTime = System.currentTimeMillis();
 
-                if (rowCount % importBufferSize == 0) {
-                    JdbcOutcome insertResults = dao.executeSqls(SqlComponent.toList(inserts.toString()));
-                    rowsAffected += insertResults.getRowsAffected();
-                    if (result.hasError()) { error.append(result.getError()).append(NL); }
-                    inserts = new StringBuilder();
+        String sql = "INSERT INTO " + table + " (" + String.join(",", columns) + ") VALUES (" +
+                     StringUtils.repeat("?", ",", columns.size()) + ")";
+        JdbcResult result = new JdbcResult(sql);
+
+        JdbcTemplate jdbc = getJdbcTemplate();
+        if (jdbc == null) { throw new RuntimeException(MSG_NULL_JDBC); }
+
+        int batchSize = Math.max(context == null ? getDefaultInt(IMPORT_BUFFER_SIZE) :
+                                 context.getIntData(IMPORT_BUFFER_SIZE, getDefaultInt(IMPORT_BUFFER_SIZE)), 1);
+        int commitSize = Math.max(context == null ? getDefaultInt(IMPORT_COMMIT_SIZE) :
+                                  context.getIntData(IMPORT_COMMIT_SIZE, getDefaultInt(IMPORT_COMMIT_SIZE)), batchSize);
+
+        // reuse the current transaction, if any, so that we won't be locked out by it. The transaction belongs to
+        // the user, who decides when to commit or roll back
+        boolean ownConnection = isAutoCommit();
+        Connection connection;
+        try {
+            if (ownConnection) {
+                connection = jdbc.getDataSource().getConnection();
+            } else {
+                initTransactedConnection();
+                connection = transactedConnection;
+            }
+        } catch (SQLException e) {
+            result.setError("Unable to obtain underlying database connection; " + e.getMessage());
+            return result.setTiming(startTime);
+        }
+
+        int rowsImported = 0;
+        Map<String, String> pragmas = null;
+        boolean originalAutoCommit = true;
+        try {
+            if (ownConnection) {
+                // pragmas can't be changed within a transaction
+                if (StringUtils.equalsIgnoreCase(connection.getMetaData().getDatabaseProductName(), "SQLite")) {
+                    pragmas = tuneSqliteForImport(connection);
                 }
-            } while (rs.next());
 
-            JdbcOutcome insertResults = dao.executeSqls(SqlComponent.toList(inserts.toString()));
-            rowsAffected += insertResults.getRowsAffected();
-            if (result.hasError()) { error.append(result.getError()).append(NL); }
+                originalAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+            }
 
-            if (error.length() > 0) { result.setError(error.toString()); }
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int pending = 0;
+                while (records.hasNext()) {
+                    Object[] record = records.next();
+                    for (int i = 0; i < columns.size(); i++) {
+                        Object value = i < record.length ? record[i] : null;
+                        if (value == null) {
+                            statement.setNull(i + 1, NULL);
+                        } else {
+                            statement.setObject(i + 1, value);
+                        }
+                    }
+                    statement.addBatch();
+                    pending++;
+
+                    if (pending % batchSize == 0) { statement.executeBatch(); }
+                    if (pending == commitSize) {
+                        if (pending % batchSize != 0) { statement.executeBatch(); }
+                        if (ownConnection) { connection.commit(); }
+                        rowsImported += pending;
+                        pending = 0;
+                    }
+                }
 
-            return rowsAffected;
-        });
+                if (pending > 0) {
+                    if (pending % batchSize != 0) { statement.executeBatch(); }
+                    if (ownConnection) { connection.commit(); }
+                    rowsImported += pending;
+                }
+            } catch (SQLException e) {
+                result.setError("Error importing to " + table + " after " + rowsImported + " rows: " + e.getMessage());
+                if (ownConnection) {
+                    try {
+                        connection.rollback();
+                        result.setRolledBack(true);
+                    } catch (SQLException e1) {
+                        ConsoleUtils.error("Error when rolling back import: " + e1.getMessage());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            result.setError("Error preparing import to " + table + ": " + e.getMessage());
+        } finally {
+            if (ownConnection) {
+                try {
+                    connection.setAutoCommit(originalAutoCommit);
+                    if (pragmas != null) { restoreSqlitePragmas(connection, pragmas); }
+                } catch (SQLException e) {
+                    ConsoleUtils.error("Error when restoring database connection after import: " + e.getMessage());
+                }
 
-        result.setRowCount(rowsImported == null ? -1 : rowsImported);
-        result.setTiming(startTime);
+                // return connection to the pool
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    ConsoleUtils.log("Error when closing database connection: " + e.getMessage());
+                }
+            }
+        }
 
-        return result;
+        result.setRowCount(rowsImported);
+        return result.setTiming(startTime);
+    }
+
+    /**
+     * turn off the rollback journal on disk and the disk sync, which dominate the cost of bulk inserts in SQLite.
+     * @return the original pragma values, to be restored after the import
+     */
+    private static Map<String, String> tuneSqliteForImport(Connection connection) throws SQLException {
+        Map<String, String> pragmas = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : Arrays.asList("journal_mode", "synchronous")) {
+                try (ResultSet rs = statement.executeQuery("PRAGMA " + pragma)) {
+                    if (rs.next()) { pragmas.put(pragma, rs.getString(1)); }
+                }
+            }
+            statement.execute("PRAGMA journal_mode=MEMORY");
+            statement.execute("PRAGMA synchronous=OFF");
+        }
+        return pragmas;
+    }
+
+    private static void restoreSqlitePragmas(Connection connection, Map<String, String> pragmas) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+                statement.execute("PRAGMA " + pragma.getKey() + "=" + pragma.getValue());
+            }
+        }
     }
 
     protected void setAutoCommit(Boolean autoCommit) { this.autoCommit = autoCommit; }
@@ -484,24 +837,41 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
     protected <T extends JdbcResult> T resultToListOfMap(ResultSet rs, T result) throws SQLException {
         if (rs == null || !rs.next()) { return result; }
 
-        List<Map<String, Object>> rows = new ArrayList<>();
         ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        boolean[] binary = new boolean[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(StringUtils.trim(metaData.getColumnLabel(i)));
+            binary[i - 1] = BINARY_SQL_TYPES.contains(metaData.getColumnType(i));
+        }
 
-        // cycle through all rows
-        do {
-            Map<String, Object> row = new LinkedHashMap<>();
+        int spillThreshold = context == null ? getDefaultInt(RESULT_SPILL_THRESHOLD) :
+                             context.getIntData(RESULT_SPILL_THRESHOLD, getDefaultInt(RESULT_SPILL_THRESHOLD));
+        ColumnarResultData rows = new ColumnarResultData(columns, spillThreshold);
 
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                int columnType = metaData.getColumnType(i);
+        try {
+            // cycle through all rows
+            do {
+                Object[] row = new Object[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    // rs.getString(): String representation of column value, or null if the column is SQL NULL.
+                    Object value = binary[i - 1] ? rs.getBytes(i) : rs.getString(i);
+                    if (value == null && treatNullAs != null) { value = treatNullAs; }
+                    row[i - 1] = value;
+                }
+                rows.addRow(row);
+            } while (rs.next());
 
-                // rs.getString(): String representation of column value, or null if the column is SQL NULL.
-                Object value = BINARY_SQL_TYPES.contains(columnType) ? rs.getBytes(i) : rs.getString(i);
-                if (value == null && treatNullAs != null) { value = treatNullAs; }
-                row.put(StringUtils.trim(metaData.getColumnLabel(i)), value);
-            }
+            rows.doneAdding();
+        } catch (IOException e) {
+            throw new SQLException("Unable to store query result: " + e.getMessage(), e);
+        }
 
-            rows.add(row);
-        } while (rs.next());
+        if (rows.isSpilled()) {
+            ConsoleUtils.log("Query result of " + rows.size() + " rows; rows beyond " + spillThreshold +
+                             " are kept in a temp file");
+        }
 
         result.setData(rows);
         return result;
@@ -576,6 +946,7 @@ public class SimpleExtractionDao extends JdbcDaoSupport {
         if (isSP) { return executeStoredProcedure(transactedConnection, extractor); }
 
         try (Statement statement = transactedConnection.createStatement()) {
+            if (fetchSize > 0) { statement.setFetchSize(fetchSize); }
             return extractor.doInStatement(statement);
         } catch (SQLException e) {
             result.setError("Error executing " + sql + ": " + e.getMessage());
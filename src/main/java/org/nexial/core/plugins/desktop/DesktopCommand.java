@@ -27,7 +27,6 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.nexial.commons.utils.FileUtil;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.ShutdownAdvisor;
-import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.model.TestStep;
@@ -188,9 +187,7 @@ public class DesktopCommand extends BaseCommand implements ForcefulTerminate, Ca
                                         context.getIntData(DESKTOP_NOTIFY_WAITMS,
                                                            getDefaultInt(DESKTOP_NOTIFY_WAITMS)));
 
-        Worksheet worksheet = testStep.getWorksheet();
-        String msg = "[" + worksheet.getName() + "][ROW " + (testStep.getRow().get(0).getRowIndex() + 1) + "]" + NL +
-                     message;
+        String msg = "[" + testStep.getSheetName() + "][ROW " + (testStep.getRowIndex() + 1) + "]" + NL + message;
         DesktopNotification.notify(info, msg, waitMs);
     }
 
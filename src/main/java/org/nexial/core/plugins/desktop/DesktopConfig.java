@@ -25,6 +25,7 @@ import org.nexial.commons.utils.FileUtil;
 import org.nexial.commons.utils.ResourceUtils;
 import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.ExecutionVariables;
 import org.nexial.core.utils.ConsoleUtils;
 
 import java.io.*;
@@ -143,7 +144,7 @@ public class DesktopConfig {
 
         // todo: move to using ${project}/artifact/data/desktop/${appId}/application.json
         // todo: need to incorporate ExecutionContent so that we can retrieve context data here
-        String projectBase = System.getProperty(OPT_PROJECT_BASE);
+        String projectBase = ExecutionVariables.getProperty(OPT_PROJECT_BASE);
         if (StringUtils.isNotBlank(projectBase)) {
             DesktopConfig config = parseJson(StringUtils.appendIfMissing(projectBase, separator) +
                                              DEF_REL_LOC_TEST_DATA + "desktop" + separator + appId + separator +
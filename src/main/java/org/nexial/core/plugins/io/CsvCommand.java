@@ -37,8 +37,12 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.util.*;
 
+import static org.nexial.core.NexialConst.CSV_COMPARE_PARALLELISM;
+import static org.nexial.core.NexialConst.CSV_COMPARE_SORT_RUN_SIZE;
+import static org.nexial.core.NexialConst.CSV_COMPARE_SPILL_THRESHOLD_MB;
 import static org.nexial.core.NexialConst.CSV_MAX_COLUMNS;
 import static org.nexial.core.NexialConst.CSV_MAX_COLUMN_WIDTH;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.plugins.io.CsvExtendedComparison.CSV_EXT_COMP_HEADER;
 import static org.nexial.core.plugins.io.IoCommand.CompareMode.FAIL_FAST;
 import static org.nexial.core.plugins.io.IoCommand.CompareMode.THOROUGH;
@@ -78,6 +82,13 @@ public class CsvCommand extends IoCommand {
         comparison.setDelimiter(context.getTextDelim());
         comparison.setMaxColumns(context.getIntData(CSV_MAX_COLUMNS, -1));
         comparison.setMaxColumnWidth(context.getIntData(CSV_MAX_COLUMN_WIDTH, -1));
+        comparison.setSpillThreshold(
+            context.getIntData(CSV_COMPARE_SPILL_THRESHOLD_MB, getDefaultInt(CSV_COMPARE_SPILL_THRESHOLD_MB)) *
+            1024L * 1024L);
+        comparison.setSortRunSize(context.getIntData(CSV_COMPARE_SORT_RUN_SIZE,
+                                                     getDefaultInt(CSV_COMPARE_SORT_RUN_SIZE)));
+        comparison.setParallelism(context.getIntData(CSV_COMPARE_PARALLELISM,
+                                                     getDefaultInt(CSV_COMPARE_PARALLELISM)));
 
         // expected can either be a file or content
         if (BooleanUtils.toBoolean(collectConfig(configKey + "expected.readAsIs").orElse("false"))) {
@@ -104,6 +104,12 @@ public class CsvComparisonResult {
         discrepancies.add(newDiscrepancy(expected, "RECORD MISSING in '" + actualField + "'", expected[0], ""));
     }
 
+    /** add the discrepancies found in {@code result} (e.g. of a subset of the records) to this result */
+    public void merge(CsvComparisonResult result) {
+        discrepancies.addAll(result.discrepancies);
+        failedIdentities.addAll(result.failedIdentities);
+    }
+
     @Override
     public String toString() {
         boolean readyForReport = CollectionUtils.isNotEmpty(discrepancies) &&
@@ -35,7 +35,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 import static java.lang.Double.MIN_VALUE;
@@ -46,16 +48,23 @@ class CsvExtendedComparison implements Serializable {
 
     static final String CSV_EXT_COMP_HEADER = "[csv >> compareExtended]: ";
     static final String PARSE_NUM_MSG = "resort to text comparison due to non-numeric value found: ";
+    static final int DEF_SORT_RUN_SIZE = 100000;
+    static final int MIN_CHUNK_SIZE = 5000;
 
     private String expectedContent;
     private List<String> expectedIdentityColumns;
     private CsvParser expectedParser;
-    private List<String[]> expectedRecords;
+    private transient Iterator<String[]> expectedRecords;
+    // sorted records, if parsed in memory
+    private transient List<String[]> expectedRecordList;
+    private int expectedRowCount;
     private List<String> expectedHeaders;
     private String actualContent;
     private List<String> actualIdentityColumns;
     private CsvParser actualParser;
-    private List<String[]> actualRecords;
+    private transient Iterator<String[]> actualRecords;
+    private transient List<String[]> actualRecordList;
+    private int actualRowCount;
     private List<String> actualHeaders;
     private Map<String, String> fieldMapping;
     private List<String> ignoreFields;
@@ -80,6 +89,15 @@ class CsvExtendedComparison implements Serializable {
     private File expectedFile;
     private File actualFile;
 
+    // files larger than this (in bytes) are sorted externally, in runs of `sortRunSize` records each
+    private long spillThreshold = -1;
+    private int sortRunSize = DEF_SORT_RUN_SIZE;
+    private final transient List<CsvExternalSort> externalSorts = new ArrayList<>();
+
+    // in-memory records are compared in up to `parallelism` chunks (split by identity) at the same time
+    private int parallelism = 1;
+    private transient FieldComparison[] fieldComparisons;
+
     public enum ReportFormat {
         CSV(".csv"),
         CSV_DOUBLE_QUOTES(".csv"),
@@ -208,7 +226,37 @@ class CsvExtendedComparison implements Serializable {
 
     public void setListDelim(String listDelim) { this.listDelim = listDelim; }
 
+    public long getSpillThreshold() { return spillThreshold; }
+
+    /** file larger than {@code spillThreshold} bytes is sorted on disk; 0 or less to always sort in memory */
+    public void setSpillThreshold(long spillThreshold) { this.spillThreshold = spillThreshold; }
+
+    public int getSortRunSize() { return sortRunSize; }
+
+    public void setSortRunSize(int sortRunSize) { if (sortRunSize > 0) { this.sortRunSize = sortRunSize; } }
+
+    public int getParallelism() { return parallelism; }
+
+    /** 0 or less to use all available processors */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
     public CsvComparisonResult compare() throws IntegrationConfigException, IOException {
+        try {
+            return compareSorted();
+        } catch (UncheckedIOException e) {
+            // error reading back the externally sorted records
+            throw e.getCause();
+        } finally {
+            externalSorts.forEach(CsvExternalSort::close);
+            externalSorts.clear();
+            expectedRecordList = null;
+            actualRecordList = null;
+        }
+    }
+
+    private CsvComparisonResult compareSorted() throws IntegrationConfigException, IOException {
         sanityChecks();
 
         // parse and sort
@@ -224,9 +272,40 @@ class CsvExtendedComparison implements Serializable {
         ConsoleUtils.log(CSV_EXT_COMP_HEADER + "validate headers");
         validateHeaders();
 
-        int expectedLineCount = expectedRecords.size();
-        int actualLineCount = actualRecords.size();
+        fieldComparisons = compileFieldComparisons();
 
+        CsvComparisonResult result = newResult();
+        result.setActualRowCount(actualRowCount);
+        result.setExpectedRowCount(expectedRowCount);
+
+        // loop through expected
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + expectedRowCount + " rows in expected");
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + actualRowCount + " rows in actual");
+
+        List<int[]> chunks = splitChunks();
+        if (chunks.size() < 2) {
+            compareRange(result, expectedRecords, actualRecords, true);
+        } else {
+            ConsoleUtils.log(CSV_EXT_COMP_HEADER + "comparing in " + chunks.size() + " parallel chunks");
+            chunks.parallelStream()
+                  .map(chunk -> {
+                      CsvComparisonResult chunkResult = newResult();
+                      compareRange(chunkResult,
+                                   expectedRecordList.subList(chunk[0], chunk[1]).iterator(),
+                                   actualRecordList.subList(chunk[2], chunk[3]).iterator(),
+                                   false);
+                      return chunkResult;
+                  })
+                  // collected in chunk order, so that the discrepancies are in the same order as sequential compare
+                  .collect(Collectors.toList())
+                  .forEach(result::merge);
+        }
+
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processed all lines");
+        return result;
+    }
+
+    private CsvComparisonResult newResult() {
         CsvComparisonResult result = new CsvComparisonResult();
         result.setExpectedHeaders(expectedHeaders);
         result.setActualHeaders(actualHeaders);
@@ -235,19 +314,69 @@ class CsvExtendedComparison implements Serializable {
         result.setMismatchedField(mismatchedField);
         result.setExpectedField(expectedField);
         result.setActualField(actualField);
-        result.setActualRowCount(actualLineCount);
-        result.setExpectedRowCount(expectedLineCount);
+        return result;
+    }
 
-        // loop through expected
-        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + expectedLineCount + " rows in expected");
-        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processing " + actualLineCount + " rows in actual");
+    /**
+     * split the in-memory records into chunks of {@code [expected start, expected end, actual start, actual end)}.
+     * Chunks are split by identity -- all records of the same identity (on both sides) are in the same chunk -- so
+     * that comparing the chunks separately yields the same result as comparing all the records in one go.
+     */
+    private List<int[]> splitChunks() {
+        List<int[]> chunks = new ArrayList<>();
+        if (parallelism < 2 || expectedRecordList == null || actualRecordList == null) { return chunks; }
+
+        int chunkCount = Math.min(parallelism, expectedRowCount / MIN_CHUNK_SIZE);
+        if (chunkCount < 2) { return chunks; }
+
+        int chunkSize = expectedRowCount / chunkCount;
+        int expectedStart = 0;
+        int actualStart = 0;
+        while (expectedStart < expectedRowCount) {
+            int expectedEnd = Math.min(expectedStart + chunkSize, expectedRowCount);
+            // move the split past all the records of the same identity
+            while (expectedEnd < expectedRowCount &&
+                   expectedRecordList.get(expectedEnd)[0].equals(expectedRecordList.get(expectedEnd - 1)[0])) {
+                expectedEnd++;
+            }
 
-        int expectedCurrentLine = 0;
-        int actualCurrentLine = 0;
-        while (expectedCurrentLine < expectedLineCount && actualCurrentLine < actualLineCount) {
-            String[] expectedRecord = expectedRecords.get(expectedCurrentLine);
-            String[] actualRecord = actualRecords.get(actualCurrentLine);
+            int actualEnd = expectedEnd == expectedRowCount ?
+                            actualRowCount : lowerBound(actualRecordList, expectedRecordList.get(expectedEnd)[0]);
+            chunks.add(new int[]{expectedStart, expectedEnd, actualStart, actualEnd});
+
+            expectedStart = expectedEnd;
+            actualStart = actualEnd;
+        }
+
+        return chunks;
+    }
+
+    /** position of the first record with identity not less than {@code identity} */
+    private static int lowerBound(List<String[]> records, String identity) {
+        int low = 0;
+        int high = records.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (records.get(mid)[0].compareTo(identity) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
 
+    /**
+     * walk both sides (sorted by identity) side by side, only mismatches are kept.
+     */
+    private void compareRange(CsvComparisonResult result,
+                              Iterator<String[]> expectedRecords,
+                              Iterator<String[]> actualRecords,
+                              boolean feedback) {
+        int expectedCurrentLine = 0;
+        String[] expectedRecord = next(expectedRecords);
+        String[] actualRecord = next(actualRecords);
+        while (expectedRecord != null && actualRecord != null) {
             String expectedIdentity = expectedRecord[0];
             String actualIdentity = actualRecord[0];
             int identityCompared = expectedIdentity.compareTo(actualIdentity);
@@ -255,120 +384,120 @@ class CsvExtendedComparison implements Serializable {
             // if identity matched
             if (identityCompared == 0) {
                 // check all other mapped fields
-                fieldMapping.forEach((expectedField, actualField) -> {
-                    String expectedValue = expectedRecord[expectedHeaders.indexOf(expectedField) + 1];
-                    String actualValue = actualRecord[actualHeaders.indexOf(actualField) + 1];
-
-                    boolean compareAsText = true;
-
-                    // is this numeric compare?
-                    if (IterableUtils.contains(numberFields, expectedField)) {
-                        double expected = toNum(expectedField, expectedValue);
-                        double actual = toNum(actualField, actualValue);
-
-                        // if both value are not parsed as number
-                        if (expected == MIN_VALUE && actual == MIN_VALUE) {
-                            compareAsText = true;
-                        } else {
-                            compareAsText = false;
-                            if (expected != actual) {
-                                result.addMismatched(expectedRecord, expectedField, expectedValue, actualValue);
-                            }
-                        }
-                    }
-
-                    // we are now dealing with text comparison
-                    if (compareAsText) {
-                        // is this auto-trim compare?
-                        boolean autoTrim = IterableUtils.contains(autoTrimFields, expectedField);
-                        if (autoTrim) {
-                            expectedValue = StringUtils.trim(expectedValue);
-                            actualValue = StringUtils.trim(actualValue);
-                        }
-
-                        // is this case-insensitive compare?
-                        boolean insensitive = IterableUtils.contains(caseInsensitiveFields, expectedField);
-
-                        // is this compressed list compare?
-                        boolean asOrderedList = IterableUtils.contains(orderedListFields, expectedField);
-                        boolean asUnorderedList = IterableUtils.contains(unorderedListFields, expectedField);
-
-                        if (asOrderedList || asUnorderedList) {
-                            List<String> expectedList =
-                                TextUtils.toList(insensitive ? StringUtils.lowerCase(expectedValue) : expectedValue,
-                                                 listDelim,
-                                                 autoTrim);
-                            List<String> actualList =
-                                TextUtils.toList(insensitive ? StringUtils.lowerCase(actualValue) : actualValue,
-                                                 listDelim, autoTrim);
-
-                            if (asUnorderedList) {
-                                expectedList.sort(Comparator.naturalOrder());
-                                actualList.sort(Comparator.naturalOrder());
-                            }
-
-                            if (!CollectionUtils.isEqualCollection(expectedList, actualList)) {
-                                result.addMismatched(expectedRecord, expectedField, expectedValue, actualValue);
-                            }
-                        } else {
-                            // is this case-insensitive compare?
-                            if (insensitive) {
-                                if (!StringUtils.equalsIgnoreCase(expectedValue, actualValue)) {
-                                    result.addMismatched(expectedRecord, expectedField, expectedValue, actualValue);
-                                }
-                            } else {
-                                if (!StringUtils.equals(expectedValue, actualValue)) {
-                                    result.addMismatched(expectedRecord, expectedField, expectedValue, actualValue);
-                                }
-                            }
-                        }
-                    }
-
-                });
+                compareFields(result, expectedRecord, actualRecord);
 
                 // give a little feedback; let them know we are working on it
-                if (expectedCurrentLine % 5000 == 0) {
+                if (feedback && expectedCurrentLine % 5000 == 0) {
                     MemManager.gc(this);
                     ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processed line #" + expectedCurrentLine + "...");
                 }
 
                 expectedCurrentLine++;
-                actualCurrentLine++;
+                expectedRecord = next(expectedRecords);
+                actualRecord = next(actualRecords);
                 continue;
             }
 
             // if expected identity > actual identity
             if (identityCompared > 0) {
                 result.addMissingExpected(actualRecord);
-                actualCurrentLine++;
+                actualRecord = next(actualRecords);
                 continue;
             }
 
             // if expected identity < actual identity
-            if (identityCompared < 0) {
-                result.addMissingActual(expectedRecord);
-                expectedCurrentLine++;
-                continue;
-            }
+            result.addMissingActual(expectedRecord);
+            expectedCurrentLine++;
+            expectedRecord = next(expectedRecords);
         }
 
-        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "processed all lines");
+        while (expectedRecord != null) {
+            result.addMissingActual(expectedRecord);
+            expectedRecord = next(expectedRecords);
+        }
 
-        if (expectedCurrentLine < expectedLineCount) {
-            for (int i = expectedCurrentLine; i < expectedLineCount; i++) {
-                result.addMissingActual(expectedRecords.get(i));
-            }
+        while (actualRecord != null) {
+            result.addMissingExpected(actualRecord);
+            actualRecord = next(actualRecords);
         }
+    }
+
+    /** resolve, once, the column positions and the way to compare each of the mapped fields */
+    private FieldComparison[] compileFieldComparisons() {
+        List<FieldComparison> comparisons = new ArrayList<>();
+        fieldMapping.forEach((expectedField, actualField) -> {
+            boolean insensitive = IterableUtils.contains(caseInsensitiveFields, expectedField);
+            boolean autoTrim = IterableUtils.contains(autoTrimFields, expectedField);
+            boolean asOrderedList = IterableUtils.contains(orderedListFields, expectedField);
+            boolean asUnorderedList = IterableUtils.contains(unorderedListFields, expectedField);
+
+            BiPredicate<String, String> textMatcher;
+            if (asOrderedList || asUnorderedList) {
+                textMatcher = (expectedValue, actualValue) -> {
+                    List<String> expectedList =
+                        TextUtils.toList(insensitive ? StringUtils.lowerCase(expectedValue) : expectedValue,
+                                         listDelim,
+                                         autoTrim);
+                    List<String> actualList =
+                        TextUtils.toList(insensitive ? StringUtils.lowerCase(actualValue) : actualValue,
+                                         listDelim, autoTrim);
+
+                    if (asUnorderedList) {
+                        expectedList.sort(Comparator.naturalOrder());
+                        actualList.sort(Comparator.naturalOrder());
+                    }
 
-        if (actualCurrentLine < actualLineCount) {
-            for (int i = actualCurrentLine; i < actualLineCount; i++) {
-                result.addMissingExpected(actualRecords.get(i));
+                    return CollectionUtils.isEqualCollection(expectedList, actualList);
+                };
+            } else {
+                textMatcher = insensitive ? StringUtils::equalsIgnoreCase : StringUtils::equals;
             }
-        }
 
-        return result;
+            // position 0 is the identity value
+            comparisons.add(new FieldComparison(expectedField,
+                                                actualField,
+                                                expectedHeaders.indexOf(expectedField) + 1,
+                                                actualHeaders.indexOf(actualField) + 1,
+                                                IterableUtils.contains(numberFields, expectedField),
+                                                autoTrim,
+                                                textMatcher));
+        });
+        return comparisons.toArray(new FieldComparison[0]);
     }
 
+    private void compareFields(CsvComparisonResult result, String[] expectedRecord, String[] actualRecord) {
+        for (FieldComparison field : fieldComparisons) {
+            String expectedValue = expectedRecord[field.expectedIndex];
+            String actualValue = actualRecord[field.actualIndex];
+
+            // is this numeric compare?
+            if (field.numeric) {
+                double expected = toNum(field.expectedField, expectedValue);
+                double actual = toNum(field.actualField, actualValue);
+
+                // if either value is parsed as number; otherwise resort to text comparison
+                if (expected != MIN_VALUE || actual != MIN_VALUE) {
+                    if (expected != actual) {
+                        result.addMismatched(expectedRecord, field.expectedField, expectedValue, actualValue);
+                    }
+                    continue;
+                }
+            }
+
+            // we are now dealing with text comparison
+            if (field.autoTrim) {
+                expectedValue = StringUtils.trim(expectedValue);
+                actualValue = StringUtils.trim(actualValue);
+            }
+
+            if (!field.textMatcher.test(expectedValue, actualValue)) {
+                result.addMismatched(expectedRecord, field.expectedField, expectedValue, actualValue);
+            }
+        }
+    }
+
+    private static String[] next(Iterator<String[]> records) { return records.hasNext() ? records.next() : null; }
+
     protected double toNum(String expectedField, String expectedValue) {
         double expected = MIN_VALUE;
         try {
@@ -396,11 +525,20 @@ class CsvExtendedComparison implements Serializable {
 
     private void parseExpected() throws IOException {
         expectedHeaders = new ArrayList<>();
-        expectedRecords = new ArrayList<>();
-        if (expectedFile != null) {
-            expectedRecords = parseContent(expectedParser, expectedFile, expectedHeaders, expectedIdentityColumns);
+        if (expectedFile != null && isSpillNeeded(expectedFile)) {
+            CsvExternalSort sorted = parseSorted(expectedParser, expectedFile, expectedHeaders,
+                                                 expectedIdentityColumns);
+            expectedRowCount = sorted.size();
+            expectedRecords = sorted.sorted();
         } else {
-            expectedRecords = parseContent(expectedParser, expectedContent, expectedHeaders, expectedIdentityColumns);
+            List<String[]> records = expectedFile != null ?
+                                     parseContent(expectedParser, expectedFile, expectedHeaders,
+                                                  expectedIdentityColumns) :
+                                     parseContent(expectedParser, expectedContent, expectedHeaders,
+                                                  expectedIdentityColumns);
+            expectedRowCount = records.size();
+            expectedRecordList = records;
+            expectedRecords = records.iterator();
         }
 
         if (MapUtils.isEmpty(fieldMapping)) {
@@ -413,14 +551,22 @@ class CsvExtendedComparison implements Serializable {
 
     private void parseActual() throws IOException {
         actualHeaders = new ArrayList<>();
-        actualRecords = new ArrayList<>();
-        if (actualFile != null) {
-            actualRecords = parseContent(actualParser, actualFile, actualHeaders, actualIdentityColumns);
+        if (actualFile != null && isSpillNeeded(actualFile)) {
+            CsvExternalSort sorted = parseSorted(actualParser, actualFile, actualHeaders, actualIdentityColumns);
+            actualRowCount = sorted.size();
+            actualRecords = sorted.sorted();
         } else {
-            actualRecords = parseContent(actualParser, actualContent, actualHeaders, actualIdentityColumns);
+            List<String[]> records = actualFile != null ?
+                                     parseContent(actualParser, actualFile, actualHeaders, actualIdentityColumns) :
+                                     parseContent(actualParser, actualContent, actualHeaders, actualIdentityColumns);
+            actualRowCount = records.size();
+            actualRecordList = records;
+            actualRecords = records.iterator();
         }
     }
 
+    private boolean isSpillNeeded(File file) { return spillThreshold > 0 && file.length() > spillThreshold; }
+
     private List<String[]> parseContent(CsvParser parser,
                                         String content,
                                         List<String> fileHeaders,
@@ -457,10 +603,61 @@ class CsvExtendedComparison implements Serializable {
         return records;
     }
 
+    /**
+     * parse {@code file} one record at a time, and sort the records (by identity) via external merge sort so that
+     * the file does not need to fit in memory.
+     */
+    private CsvExternalSort parseSorted(CsvParser parser,
+                                        File file,
+                                        List<String> fileHeaders,
+                                        List<String> identityColumns) throws IOException {
+
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "parsing file " + file + " (" + file.length() + " bytes) " +
+                         "with external sort, " + sortRunSize + " records per run");
+
+        CsvExternalSort sorted = new CsvExternalSort(sortRunSize);
+        externalSorts.add(sorted);
+
+        parser.beginParsing(file);
+        try {
+            String[] record = parser.parseNext();
+            if (record == null) { throw new IOException("No record parsed from content"); }
+
+            // header is resolved once the first record is parsed
+            int[] identityIndices = resolveIdentityIndices(parser, fileHeaders, identityColumns);
+            while (record != null) {
+                sorted.add(ArrayUtils.insert(0, record, toIdentity(record, identityIndices)));
+                record = parser.parseNext();
+            }
+        } finally {
+            parser.stopParsing();
+        }
+
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "parsing file " + file + " - DONE");
+        return sorted;
+    }
+
     private void postParsing(CsvParser parser,
                              List<String[]> records,
                              List<String> fileHeaders,
                              List<String> identityColumns) throws IOException {
+        int[] identityIndices = resolveIdentityIndices(parser, fileHeaders, identityColumns);
+
+        for (int i = 0; i < records.size(); i++) {
+            String[] record = records.get(i);
+            records.set(i, ArrayUtils.insert(0, record, toIdentity(record, identityIndices)));
+        }
+
+        // position 0 is the identity value
+        records.sort(Comparator.comparing(row -> row[0]));
+    }
+
+    /**
+     * collect the file header into {@code fileHeaders}, and resolve the position of each identity column (-1 if not
+     * found).
+     */
+    private int[] resolveIdentityIndices(CsvParser parser, List<String> fileHeaders, List<String> identityColumns)
+        throws IOException {
         // check file header
         RecordMetaData recordMetadata = parser.getRecordMetadata();
         if (recordMetadata != null) { fileHeaders.addAll(Arrays.asList(recordMetadata.headers())); }
@@ -477,24 +674,20 @@ class CsvExtendedComparison implements Serializable {
             }
         }
 
-        for (int i = 0; i < records.size(); i++) {
-            String[] record = records.get(i);
-            String identity = identityColumns.stream()
-                                             .map(column -> {
-                                                 if (recordMetadata != null) {
-                                                     if (!recordMetadata.containsColumn(column)) { return ""; }
-                                                     int index = recordMetadata.indexOf(column);
-                                                     return ArrayUtils.getLength(record) > index ? record[index] : "";
-                                                 } else {
-                                                     return "";
-                                                 }
-                                             })
-                                             .collect(Collectors.joining(identSeparator));
-            records.set(i, ArrayUtils.insert(0, record, identity));
-        }
+        return identityColumns.stream()
+                              .mapToInt(column -> recordMetadata != null && recordMetadata.containsColumn(column) ?
+                                                  recordMetadata.indexOf(column) : -1)
+                              .toArray();
+    }
 
-        // position 0 is the identity value
-        records.sort(Comparator.comparing(row -> row[0]));
+    private String toIdentity(String[] record, int[] identityIndices) {
+        StringBuilder identity = new StringBuilder();
+        for (int i = 0; i < identityIndices.length; i++) {
+            if (i > 0) { identity.append(identSeparator); }
+            int index = identityIndices[i];
+            if (index != -1 && ArrayUtils.getLength(record) > index) { identity.append(record[index]); }
+        }
+        return identity.toString();
     }
 
     private void sanityChecks() throws IntegrationConfigException {
@@ -542,4 +735,31 @@ class CsvExtendedComparison implements Serializable {
 
         if (reportFormat == null) { reportFormat = ReportFormat.CSV; }
     }
+
+    /** how a mapped field is compared, resolved once per comparison */
+    private static final class FieldComparison {
+        private final String expectedField;
+        private final String actualField;
+        private final int expectedIndex;
+        private final int actualIndex;
+        private final boolean numeric;
+        private final boolean autoTrim;
+        private final BiPredicate<String, String> textMatcher;
+
+        private FieldComparison(String expectedField,
+                                String actualField,
+                                int expectedIndex,
+                                int actualIndex,
+                                boolean numeric,
+                                boolean autoTrim,
+                                BiPredicate<String, String> textMatcher) {
+            this.expectedField = expectedField;
+            this.actualField = actualField;
+            this.expectedIndex = expectedIndex;
+            this.actualIndex = actualIndex;
+            this.numeric = numeric;
+            this.autoTrim = autoTrim;
+            this.textMatcher = textMatcher;
+        }
+    }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import org.apache.commons.io.FileUtils;
+import org.nexial.core.utils.ConsoleUtils;
+
+import java.io.*;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.plugins.io.CsvExtendedComparison.CSV_EXT_COMP_HEADER;
+import static org.nexial.core.utils.ExecUtils.newRuntimeTempDir;
+
+/**
+ * external merge sort of CSV records, by their first field (i.e. the identity). Records are added in their original
+ * order and kept in memory up to {@code runSize} records at a time; each full batch is sorted and spilled to a temp
+ * file as a sorted "run". The sorted records are then read back via a k-way merge of all the runs, so that only one
+ * record per run is in memory at any time.
+ * <p>
+ * Like {@link List#sort(Comparator)}, the sort is stable: records of the same identity remain in their original
+ * order.
+ */
+class CsvExternalSort implements Closeable {
+    private static final Comparator<String[]> BY_IDENTITY = Comparator.comparing(record -> record[0]);
+
+    private final int runSize;
+    private final List<String[]> buffer = new ArrayList<>();
+    private final List<File> runs = new ArrayList<>();
+    private final List<RunReader> readers = new ArrayList<>();
+    private File tempDir;
+    private int recordCount;
+
+    CsvExternalSort(int runSize) { this.runSize = Math.max(runSize, 1); }
+
+    /** add {@code record} (in its original order) */
+    void add(String[] record) throws IOException {
+        buffer.add(record);
+        recordCount++;
+        if (buffer.size() >= runSize) { spill(); }
+    }
+
+    int size() { return recordCount; }
+
+    /** all the added records, sorted by identity. No more records should be added afterwards */
+    Iterator<String[]> sorted() throws IOException {
+        if (runs.isEmpty()) {
+            // everything fits in one run; no need to go to disk
+            buffer.sort(BY_IDENTITY);
+            return buffer.iterator();
+        }
+
+        if (!buffer.isEmpty()) { spill(); }
+
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "merging " + runs.size() + " sorted runs of " + recordCount +
+                         " records");
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(), (reader1, reader2) -> {
+            int compared = BY_IDENTITY.compare(reader1.current, reader2.current);
+            // earlier run first, to keep the sort stable
+            return compared != 0 ? compared : Integer.compare(reader1.index, reader2.index);
+        });
+        for (int i = 0; i < runs.size(); i++) {
+            RunReader reader = new RunReader(i, runs.get(i));
+            readers.add(reader);
+            if (reader.advance()) { queue.add(reader); }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() { return !queue.isEmpty(); }
+
+            @Override
+            public String[] next() {
+                RunReader reader = queue.poll();
+                if (reader == null) { throw new NoSuchElementException(); }
+
+                String[] record = reader.current;
+                try {
+                    if (reader.advance()) { queue.add(reader); }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return record;
+            }
+        };
+    }
+
+    /** remove all the runs spilled to disk */
+    @Override
+    public void close() {
+        readers.forEach(RunReader::close);
+        readers.clear();
+        buffer.clear();
+        runs.clear();
+        if (tempDir != null) {
+            FileUtils.deleteQuietly(tempDir);
+            tempDir = null;
+        }
+    }
+
+    private void spill() throws IOException {
+        if (tempDir == null) {
+            tempDir = new File(newRuntimeTempDir());
+            FileUtils.forceMkdir(tempDir);
+        }
+
+        buffer.sort(BY_IDENTITY);
+
+        File run = new File(tempDir, "run-" + runs.size() + ".dat");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run)))) {
+            for (String[] record : buffer) { writeRecord(out, record); }
+        }
+
+        runs.add(run);
+        buffer.clear();
+        ConsoleUtils.log(CSV_EXT_COMP_HEADER + "spilled sorted run #" + runs.size() + " (" + recordCount +
+                         " records so far)");
+    }
+
+    private static void writeRecord(DataOutputStream out, String[] record) throws IOException {
+        out.writeInt(record.length);
+        for (String value : record) {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = value.getBytes(UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /** @return null at the end of {@code in} */
+    private static String[] readRecord(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        String[] record = new String[length];
+        for (int i = 0; i < length; i++) {
+            int size = in.readInt();
+            if (size == -1) { continue; }
+
+            byte[] bytes = new byte[size];
+            in.readFully(bytes);
+            record[i] = new String(bytes, UTF_8);
+        }
+        return record;
+    }
+
+    private static final class RunReader implements Closeable {
+        private final int index;
+        private final DataInputStream in;
+        private String[] current;
+
+        private RunReader(int index, File run) throws IOException {
+            this.index = index;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(run)));
+        }
+
+        /** @return false if there's no more record in this run */
+        private boolean advance() throws IOException {
+            current = readRecord(in);
+            if (current != null) { return true; }
+
+            close();
+            return false;
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // not much we can do
+            }
+        }
+    }
+}
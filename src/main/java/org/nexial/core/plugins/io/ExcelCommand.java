@@ -26,6 +26,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StrTokenizer;
 import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
@@ -35,15 +36,20 @@ import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.*;
 import org.nexial.core.excel.ExcelAddress;
+import org.nexial.core.excel.ExcelStreamReader;
+import org.nexial.core.excel.ExcelStreamReader.RowHandler;
+import org.nexial.core.excel.ExcelStreamWriter;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.base.BaseCommand;
 import org.nexial.core.services.FileConversionAPI;
 import org.nexial.core.utils.CheckUtils;
+import org.nexial.core.variable.CsvDataType;
+import org.nexial.core.variable.CsvTransformer;
+import org.nexial.core.variable.ExcelTransformer;
+import org.nexial.core.variable.TypeConversionException;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.StringReader;
+import java.io.*;
 import java.lang.reflect.Array;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -57,6 +63,7 @@ import static org.nexial.core.NexialConst.Data.OPT_RETAIN_CELL_TYPE;
 import static org.nexial.core.SystemVariables.getDefaultBool;
 import static org.nexial.core.excel.Excel.*;
 import static org.nexial.core.utils.CheckUtils.*;
+import static org.nexial.core.variable.ExcelTransformer.CSV_RECORD_DELIM;
 
 public class ExcelCommand extends BaseCommand {
     @Override
@@ -106,10 +113,20 @@ public class ExcelCommand extends BaseCommand {
     public StepResult saveRange(String var, String file, String worksheet, String range) throws IOException {
         requiresValidAndNotReadOnlyVariableName(var);
 
-        List<List<XSSFCell>> rows = fetchRows(file, worksheet, range);
         Map<String, String> data = new LinkedHashMap<>();
-        for (List<XSSFCell> row : rows) {
-            for (XSSFCell cell : row) { data.put(cell.getReference(), Excel.getCellValue(cell)); }
+        if (isStreamable(file)) {
+            requires(StringUtils.isNotBlank(range), "invalid cell range", range);
+            int startColumn = new ExcelAddress(range).getColumnStartIndex();
+            streamRows(file, worksheet, range, true, (rowIndex, values) -> {
+                for (int i = 0; i < values.size(); i++) {
+                    data.put(new CellReference(rowIndex, startColumn + i).formatAsString(), values.get(i));
+                }
+            });
+        } else {
+            List<List<XSSFCell>> rows = fetchRows(file, worksheet, range);
+            for (List<XSSFCell> row : rows) {
+                for (XSSFCell cell : row) { data.put(cell.getReference(), Excel.getCellValue(cell)); }
+            }
         }
 
         if (MapUtils.isEmpty(data)) {
@@ -124,12 +141,16 @@ public class ExcelCommand extends BaseCommand {
     public StepResult saveData(String var, String file, String worksheet, String range) throws IOException {
         requiresValidAndNotReadOnlyVariableName(var);
 
-        List<List<XSSFCell>> rows = fetchRows(file, worksheet, range);
         List<List<String>> data = new ArrayList<>();
-        for (List<XSSFCell> row : rows) {
-            List<String> rowData = new ArrayList<>();
-            for (XSSFCell cell : row) { rowData.add(Excel.getCellValue(cell)); }
-            data.add(rowData);
+        if (isStreamable(file)) {
+            streamRows(file, worksheet, range, true, (rowIndex, values) -> data.add(values));
+        } else {
+            List<List<XSSFCell>> rows = fetchRows(file, worksheet, range);
+            for (List<XSSFCell> row : rows) {
+                List<String> rowData = new ArrayList<>();
+                for (XSSFCell cell : row) { rowData.add(Excel.getCellValue(cell)); }
+                data.add(rowData);
+            }
         }
 
         if (CollectionUtils.isEmpty(data)) {
@@ -187,9 +208,13 @@ public class ExcelCommand extends BaseCommand {
         requiresNotBlank(startCell, "invalid cell address", startCell);
 
         Excel excel = deriveExcel(file, true);
-        XSSFSheet sheet = excel.requireWorksheet(worksheet, true).getSheet();
-        addData(sheet, new ExcelAddress(startCell), to2dStringList(var));
-        excel.save();
+        Worksheet sheet = excel.requireWorksheet(worksheet, true);
+        ExcelAddress addr = new ExcelAddress(startCell);
+        List<List<String>> dataRows = to2dStringList(var);
+        if (!streamData(excel, sheet, addr, dataRows)) {
+            addData(sheet.getSheet(), addr, dataRows);
+            excel.save();
+        }
 
         // (2018/12/16,automike): memory consumption precaution
         excel.close();
@@ -211,9 +236,12 @@ public class ExcelCommand extends BaseCommand {
         }
 
         Excel excel = deriveExcel(file, true);
-        XSSFSheet sheet = excel.requireWorksheet(worksheet, true).getSheet();
-        addData(sheet, new ExcelAddress(startCell), data2d);
-        excel.save();
+        Worksheet sheet = excel.requireWorksheet(worksheet, true);
+        ExcelAddress addr = new ExcelAddress(startCell);
+        if (!streamData(excel, sheet, addr, data2d)) {
+            addData(sheet.getSheet(), addr, data2d);
+            excel.save();
+        }
 
         // (2018/12/16,automike): memory consumption precaution
         excel.close();
@@ -255,7 +283,7 @@ public class ExcelCommand extends BaseCommand {
         return StepResult.success("Data (" + array + ") saved to " + file + "#" + worksheet);
     }
 
-    public StepResult csv(String file, String worksheet, String range, String output) {
+    public StepResult csv(String file, String worksheet, String range, String output) throws IOException {
         // requiresReadableFile(file);
         requiresNotBlank(file, "Invalid file", file);
         requiresNotBlank(worksheet, "Invalid worksheet", worksheet);
@@ -264,6 +292,30 @@ public class ExcelCommand extends BaseCommand {
 
         FileUtils.deleteQuietly(new File(output));
         String[] ranges = StringUtils.split(range, context.getTextDelim());
+
+        if (isStreamable(file)) {
+            // rows are written as they are read; no need to load the entire workbook
+            try (ExcelStreamReader reader = new ExcelStreamReader(new File(file))) {
+                if (reader.hasWorksheet(worksheet)) {
+                    String delim = context.getTextDelim();
+                    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(FileUtil.makeParentDir(output)), DEF_FILE_ENCODING))) {
+                        // records of one range follow those of the previous ranges
+                        int written = 0;
+                        for (String r : ranges) {
+                            written += reader.writeCsv(worksheet,
+                                                       new ExcelAddress(r),
+                                                       delim,
+                                                       CSV_RECORD_DELIM,
+                                                       written > 0,
+                                                       writer);
+                        }
+                    }
+                    return StepResult.success("Excel content from " + worksheet + "," + range + " saved to " + output);
+                }
+            }
+        }
+
         Arrays.stream(ranges).forEach(r -> context.replaceTokens("[EXCEL(" + file + ") => " +
                                                                  " read(" + worksheet + "," + r + ")" +
                                                                  " csv" +
@@ -282,17 +334,25 @@ public class ExcelCommand extends BaseCommand {
         File outputFile = new File(output);
         FileUtils.deleteQuietly(outputFile);
 
-        Excel excel = new Excel(new File(file), false, false);
-        Worksheet ws = excel.requireWorksheet(worksheet, false);
-
         String delim = context.getTextDelim();
 
         List<List<String>> data = new ArrayList<>();
         final Integer[] maxColumns = {0};
 
         String[] cellRanges = StringUtils.split(ranges, delim);
-        Arrays.stream(cellRanges).forEach(r -> {
-            List<List<String>> rows = ws.readRange(new ExcelAddress(r));
+        List<List<List<String>>> rangeData = new ArrayList<>();
+        if (isStreamable(file)) {
+            try (ExcelStreamReader reader = new ExcelStreamReader(new File(file))) {
+                requires(reader.hasWorksheet(worksheet), "invalid worksheet", worksheet);
+                for (String r : cellRanges) { rangeData.add(reader.readRange(worksheet, new ExcelAddress(r))); }
+            }
+        } else {
+            Excel excel = new Excel(new File(file), false, false);
+            Worksheet ws = excel.requireWorksheet(worksheet, false);
+            Arrays.stream(cellRanges).forEach(r -> rangeData.add(ws.readRange(new ExcelAddress(r))));
+        }
+
+        rangeData.forEach(rows -> {
             if (CollectionUtils.isNotEmpty(rows)) {
                 // ensure proper allocation
                 int columnCount = rows.get(0).size();
@@ -334,12 +394,37 @@ public class ExcelCommand extends BaseCommand {
         return StepResult.success("Excel content from " + worksheet + "," + ranges + " saved (columnar) to " + output);
     }
 
-    public StepResult json(String file, String worksheet, String range, String header, String output) {
+    public StepResult json(String file, String worksheet, String range, String header, String output)
+        throws IOException {
         requiresReadableFile(file);
         requiresNotBlank(worksheet, "Invalid worksheet", worksheet);
         requiresNotBlank(range, "Invalid range", range);
         requiresNotBlank(output, "Invalid CSV output", output);
 
+        if (isStreamable(file)) {
+            // only the requested range is read, rather than the entire workbook
+            String delim = context.getTextDelim();
+            StringWriter csvContent = null;
+            try (ExcelStreamReader reader = new ExcelStreamReader(new File(file))) {
+                if (reader.hasWorksheet(worksheet)) {
+                    csvContent = new StringWriter();
+                    reader.writeCsv(worksheet, new ExcelAddress(range), delim, CSV_RECORD_DELIM, csvContent);
+                }
+            }
+
+            if (csvContent != null) {
+                try {
+                    boolean withHeader = CheckUtils.toBoolean(header);
+                    CsvDataType csv = ExcelTransformer.toCsv(csvContent.toString(), delim, withHeader);
+                    String json = new CsvTransformer<>().json(csv).getTextValue();
+                    FileUtils.writeStringToFile(FileUtil.makeParentDir(output), json, DEF_FILE_ENCODING);
+                } catch (TypeConversionException e) {
+                    return StepResult.fail("Unable to convert Excel content to JSON: " + e.getMessage());
+                }
+                return StepResult.success("Excel content from " + worksheet + "," + range + " saved to " + output);
+            }
+        }
+
         context.replaceTokens("[EXCEL(" + file + ") => " +
                               " read(" + worksheet + "," + range + ")" +
                               " json(" + CheckUtils.toBoolean(header) + ")" +
@@ -420,6 +505,21 @@ public class ExcelCommand extends BaseCommand {
         return sheet.cells(addr);
     }
 
+    /** stream {@code range} of {@code worksheet}, without loading the entire workbook. Only for xlsx files. */
+    protected void streamRows(String file, String worksheet, String range, boolean skipNullRows, RowHandler handler)
+        throws IOException {
+        try (ExcelStreamReader reader = new ExcelStreamReader(deriveReadableFile(file))) {
+            requires(reader.hasWorksheet(worksheet), "invalid worksheet", worksheet);
+            requires(StringUtils.isNotBlank(range), "invalid cell range", range);
+            reader.read(worksheet, new ExcelAddress(range), skipNullRows, handler);
+        }
+    }
+
+    /** read-only commands prefer streaming (constant memory) over loading the entire workbook */
+    protected static boolean isStreamable(String file) {
+        return StringUtils.isNotBlank(file) && ExcelStreamReader.isStreamable(new File(file));
+    }
+
     protected Excel deriveExcel(String file) throws IOException {
         Excel excel = new Excel(deriveReadableFile(file), false, false);
         postCreate(context, excel);
@@ -438,6 +538,26 @@ public class ExcelCommand extends BaseCommand {
         return new File(file);
     }
 
+    /**
+     * write {@code dataRows} via {@link ExcelStreamWriter}, if they are to be appended after the last row of
+     * {@code worksheet}. Rows are flushed to disk as they are written, rather than adding to the workbook in memory.
+     *
+     * @return false if {@code dataRows} cannot be streamed, and should be written via {@link #addData}
+     */
+    protected boolean streamData(Excel excel, Worksheet worksheet, ExcelAddress addr, List<List<String>> dataRows)
+        throws IOException {
+        // formula recalculation requires the entire workbook in memory
+        if (excel.isRecalcBeforeSave()) { return false; }
+        if (!ExcelStreamWriter.isAppendable(worksheet, addr.getRowStartIndex())) { return false; }
+
+        try (ExcelStreamWriter writer = new ExcelStreamWriter(excel, worksheet.getName())) {
+            int rowIndex = addr.getRowStartIndex();
+            for (List<String> row : dataRows) { writer.writeRow(rowIndex++, addr.getColumnStartIndex(), row); }
+            writer.save();
+        }
+        return true;
+    }
+
     protected void addData(XSSFSheet sheet, ExcelAddress addr, List<List<String>> dataRows) {
         int startRowIndex = addr.getRowStartIndex();
         int endRowIndex = startRowIndex + dataRows.size();
@@ -28,6 +28,7 @@ import org.nexial.commons.utils.FileUtil;
 import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.excel.ExcelAddress;
+import org.nexial.core.excel.ExcelStreamWriter;
 import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.model.StepResult;
 import org.nexial.core.plugins.db.DaoUtils;
@@ -73,7 +74,23 @@ public class ExcelHelper {
         File f = new File(file);
         Excel excel = FileUtil.isFileReadable(file, MIN_EXCEL_FILE_SIZE) ? new Excel(f) : Excel.newExcel(f);
         Worksheet worksheet = excel.worksheet(sheet, true);
-        worksheet.writeAcross(new ExcelAddress(startCell), rowsAndColumns);
+        ExcelAddress addr = new ExcelAddress(startCell);
+
+        try {
+            if (ExcelStreamWriter.isAppendable(worksheet, addr.getRowStartIndex())) {
+                try (ExcelStreamWriter writer = new ExcelStreamWriter(excel, worksheet.getName())) {
+                    int rowIndex = addr.getRowStartIndex();
+                    for (List<String> row : rowsAndColumns) {
+                        writer.writeRow(rowIndex++, addr.getColumnStartIndex(), row);
+                    }
+                    writer.save();
+                }
+            } else {
+                worksheet.writeAcross(addr, rowsAndColumns);
+            }
+        } finally {
+            excel.close();
+        }
     }
 
     // currently not used; we might remove it after some time...
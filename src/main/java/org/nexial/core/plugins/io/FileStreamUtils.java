@@ -0,0 +1,218 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * file content operations that stream through the file in fixed-size buffers, instead of loading the entire file
+ * into memory. Memory used is bounded regardless of the file size, which matters for multi-GB files.
+ */
+final class FileStreamUtils {
+    static final int BUFFER_SIZE = 1024 * 1024;
+    /** number of characters searched at a time */
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    /** number of characters, from the end of a chunk, searched again along with the next chunk */
+    static final int CHUNK_OVERLAP = 64 * 1024;
+
+    private FileStreamUtils() { }
+
+    /** digest of the content of {@code file}, read through a direct buffer */
+    static byte[] digest(File file, MessageDigest digest) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * same as {@link Matcher#find()} on the content of {@code file}, but searched one chunk at a time. Consecutive
+     * chunks overlap by {@link #CHUNK_OVERLAP} characters, so any match no longer than that is found even if it
+     * crosses the chunk boundary.
+     */
+    static boolean find(File file, Charset charset, Pattern pattern) throws IOException {
+        return find(file, charset, pattern, CHUNK_SIZE, CHUNK_OVERLAP);
+    }
+
+    static boolean find(File file, Charset charset, Pattern pattern, int chunkSize, int overlap) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), charset)) {
+            char[] chunk = new char[chunkSize];
+            StringBuilder window = new StringBuilder();
+            boolean firstChunk = true;
+            while (true) {
+                int read = fill(reader, chunk);
+                boolean lastChunk = read < chunkSize;
+                window.append(chunk, 0, read);
+
+                Matcher matcher = pattern.matcher(window);
+                if (!firstChunk) {
+                    // the window starts in the middle of the file; the first character (already searched) is only
+                    // kept for look-behind and word boundary, and must not be treated as the start of input
+                    matcher.useTransparentBounds(true).useAnchoringBounds(false).region(1, window.length());
+                }
+
+                while (matcher.find()) {
+                    // a match that depends on the end of input is only a match at the end of the file
+                    if (lastChunk || !matcher.requireEnd()) { return true; }
+                }
+
+                if (lastChunk) { return false; }
+
+                window.delete(0, Math.max(window.length() - overlap - 1, 0));
+                firstChunk = false;
+            }
+        }
+    }
+
+    /** true if every line of {@code file} satisfies {@code matcher}, read one line at a time */
+    static boolean allLinesMatch(File file, Charset charset, Predicate<String> matcher) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), charset),
+                                                        BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!matcher.test(line)) { return false; }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * replace, in the order of {@code replacements}, every occurrence of each key with its value, as
+     * {@link org.apache.commons.lang3.StringUtils#replace(String, String, String)} would do one after another over
+     * the entire content of {@code source}. The result is streamed to a temp file next to {@code target}, which then
+     * replaces {@code target} (atomically, if supported). {@code source} and {@code target} can be the same file.
+     */
+    static void replace(File source, File target, Charset charset, Map<String, String> replacements)
+        throws IOException {
+        File targetDir = target.getAbsoluteFile().getParentFile();
+        Files.createDirectories(targetDir.toPath());
+        File temp = File.createTempFile(target.getName() + ".", ".tmp", targetDir);
+
+        try {
+            try (Reader reader = new InputStreamReader(new FileInputStream(source), charset);
+                 Writer writer = newReplacingWriter(new OutputStreamWriter(new FileOutputStream(temp), charset),
+                                                    replacements)) {
+                char[] buffer = new char[BUFFER_SIZE];
+                int read;
+                while ((read = reader.read(buffer)) != -1) { writer.write(buffer, 0, read); }
+            }
+
+            try {
+                Files.move(temp.toPath(), target.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), target.toPath(), REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private static Writer newReplacingWriter(Writer out, Map<String, String> replacements) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(replacements.entrySet());
+        // the first replacement is applied first, hence the outermost writer
+        Writer writer = new BufferedWriter(out, BUFFER_SIZE);
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Map.Entry<String, String> entry = entries.get(i);
+            String search = entry.getKey();
+            String replacement = entry.getValue();
+            if (search != null && !search.isEmpty() && replacement != null) {
+                writer = new ReplacingWriter(writer, search, replacement);
+            }
+        }
+        return writer;
+    }
+
+    private static int fill(Reader reader, char[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = reader.read(buffer, total, buffer.length - total);
+            if (read == -1) { break; }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * replace every occurrence of {@code search} with {@code replacement}, left to right and non-overlapping. Only the
+     * last {@code search.length() - 1} characters are held back, in case they are the start of an occurrence.
+     */
+    private static final class ReplacingWriter extends Writer {
+        private final Writer out;
+        private final String search;
+        private final String replacement;
+        private final StringBuilder pending = new StringBuilder();
+
+        private ReplacingWriter(Writer out, String search, String replacement) {
+            this.out = out;
+            this.search = search;
+            this.replacement = replacement;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            pending.append(buffer, offset, length);
+            drain(false);
+        }
+
+        @Override
+        public void flush() throws IOException { out.flush(); }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain(true);
+            } finally {
+                out.close();
+            }
+        }
+
+        private void drain(boolean endOfInput) throws IOException {
+            int from = 0;
+            int found;
+            while ((found = pending.indexOf(search, from)) != -1) {
+                out.append(pending, from, found).write(replacement);
+                from = found + search.length();
+            }
+
+            int keep = endOfInput ? 0 : Math.min(search.length() - 1, pending.length() - from);
+            out.append(pending, from, pending.length() - keep);
+            pending.delete(0, pending.length() - keep);
+        }
+    }
+}
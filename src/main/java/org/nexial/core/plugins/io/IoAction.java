@@ -21,9 +21,13 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Date;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
@@ -34,7 +38,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.nexial.core.utils.ConsoleUtils;
 
 import static java.io.File.separator;
+import static java.nio.file.StandardOpenOption.*;
 import static org.apache.commons.io.filefilter.DirectoryFileFilter.DIRECTORY;
+import static org.apache.commons.lang3.SystemUtils.IS_OS_WINDOWS;
 import static org.nexial.core.NexialConst.Compare.*;
 import static org.nexial.core.NexialConst.DF_TIMESTAMP;
 import static org.nexial.core.NexialConst.PREFIX_JAR;
@@ -57,74 +63,112 @@ enum IoAction {
 
     boolean isTargetRequired() { return targetRequired; }
 
-    void doAction(Collection<File> sourceFiles, File targetDir) throws IOException {
+    /** {@code parallelism} is the number of files to process at the same time */
+    void doAction(Collection<File> sourceFiles, File targetDir, int parallelism) throws IOException {
         if (targetRequired && targetDir.isFile()) {
             if (CollectionUtils.size(sourceFiles) > 1) {
                 throw new IOException("source represents multiple files, hence target must be a directory");
             }
         }
 
-        for (File file : sourceFiles) {
-            ConsoleUtils.log(this + " " + file + (targetDir != null ? " to " + targetDir : ""));
+        if (parallelism < 2 || CollectionUtils.size(sourceFiles) < 2 || hasSameName(sourceFiles)) {
+            for (File file : sourceFiles) { doFileAction(file, targetDir); }
+            return;
+        }
+
+        // no 2 files of the same name, hence no 2 files land on the same target; they can be processed in parallel
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, sourceFiles.size()));
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (File file : sourceFiles) {
+                results.add(executor.submit(() -> {
+                    doFileAction(file, targetDir);
+                    return null;
+                }));
+            }
 
-            String filepath = file.getAbsolutePath();
-            InputStream input = null;
-            if (jarSupported && StringUtils.contains(filepath, ".jar!")) {
-                String resource = StringUtils.substringAfter(filepath, ".jar!/");
-                if (StringUtils.isBlank(resource)) {
-                    resource = StringUtils.replace(StringUtils.substringAfter(filepath, ".jar!\\"), "\\", "/");
+            IOException error = null;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (error == null) {
+                        error = cause instanceof IOException ? (IOException) cause :
+                                new IOException(cause.getMessage(), cause);
+                    }
                 }
-                input = this.getClass().getResourceAsStream("/" + resource);
-                if (input == null) { throw new IOException("Specified jar resource not found: " + filepath); }
             }
+            if (error != null) { throw error; }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(this + " interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-            switch (this) {
-                case copy:
-                    if (input != null) {
-                        String filename = StringUtils.substringAfterLast(filepath, "/");
-                        if (StringUtils.isBlank(filename)) {
-                            filename = StringUtils.substringAfterLast(filepath, "\\");
-                        }
-                        FileOutputStream out = null;
-                        try {
-                            out = new FileOutputStream(StringUtils
-                                                           .appendIfMissing(targetDir.getAbsolutePath(), separator) +
-                                                       filename);
-                            int bytesCopied = IOUtils.copy(input, out);
-                            ConsoleUtils.log("copied " + bytesCopied + " bytes for " + filepath + " to " + targetDir);
-                        } finally {
-                            input.close();
-                            if (out != null) { out.close(); }
-                        }
-                    } else {
-                        if (targetDir != null && targetDir.isDirectory()) {
-                            File targetFile = new File(targetDir.getAbsoluteFile() + separator + file.getName());
-                            if (!copyByConfig(targetFile)) { return; }
-                            FileUtils.copyFileToDirectory(file, targetDir);
-                        } else {
-                            if (!copyByConfig(targetDir)) { return; }
-                            FileUtils.copyFile(file, targetDir);
-                        }
+    /** {@code return} here means skipping {@code file} (e.g. target exists and is to be kept) */
+    private void doFileAction(File file, File targetDir) throws IOException {
+        ConsoleUtils.log(this + " " + file + (targetDir != null ? " to " + targetDir : ""));
+
+        String filepath = file.getAbsolutePath();
+        InputStream input = null;
+        if (jarSupported && StringUtils.contains(filepath, ".jar!")) {
+            String resource = StringUtils.substringAfter(filepath, ".jar!/");
+            if (StringUtils.isBlank(resource)) {
+                resource = StringUtils.replace(StringUtils.substringAfter(filepath, ".jar!\\"), "\\", "/");
+            }
+            input = this.getClass().getResourceAsStream("/" + resource);
+            if (input == null) { throw new IOException("Specified jar resource not found: " + filepath); }
+        }
+
+        switch (this) {
+            case copy:
+                if (input != null) {
+                    String filename = StringUtils.substringAfterLast(filepath, "/");
+                    if (StringUtils.isBlank(filename)) {
+                        filename = StringUtils.substringAfterLast(filepath, "\\");
                     }
-                    break;
-                case move:
+                    FileOutputStream out = null;
+                    try {
+                        out = new FileOutputStream(StringUtils
+                                                       .appendIfMissing(targetDir.getAbsolutePath(), separator) +
+                                                   filename);
+                        int bytesCopied = IOUtils.copy(input, out);
+                        ConsoleUtils.log("copied " + bytesCopied + " bytes for " + filepath + " to " + targetDir);
+                    } finally {
+                        input.close();
+                        if (out != null) { out.close(); }
+                    }
+                } else {
                     if (targetDir != null && targetDir.isDirectory()) {
                         File targetFile = new File(targetDir.getAbsoluteFile() + separator + file.getName());
                         if (!copyByConfig(targetFile)) { return; }
-                        FileUtils.moveFileToDirectory(file, targetDir, false);
+                        copyFile(file, targetFile);
                     } else {
-                        if (targetDir != null && copyByConfig(targetDir)) {
-                            FileUtils.moveFile(file, targetDir);
-                        }
+                        if (!copyByConfig(targetDir)) { return; }
+                        copyFile(file, targetDir);
                     }
-                    break;
-                case delete:
-                    FileUtils.forceDelete(file);
-                    break;
-                case deleteRecursive:
-                default:
-                    throw new IOException(this + " is not a supported action for multi-file sources");
-            }
+                }
+                break;
+            case move:
+                if (targetDir != null && targetDir.isDirectory()) {
+                    File targetFile = new File(targetDir.getAbsoluteFile() + separator + file.getName());
+                    if (!copyByConfig(targetFile)) { return; }
+                    FileUtils.moveFileToDirectory(file, targetDir, false);
+                } else {
+                    if (targetDir != null && copyByConfig(targetDir)) {
+                        FileUtils.moveFile(file, targetDir);
+                    }
+                }
+                break;
+            case delete:
+                FileUtils.forceDelete(file);
+                break;
+            case deleteRecursive:
+            default:
+                throw new IOException(this + " is not a supported action for multi-file sources");
         }
     }
 
@@ -174,6 +218,35 @@ enum IoAction {
         }
     }
 
+    /** copy via {@link FileChannel#transferTo(long, long, WritableByteChannel)}, without going through the heap */
+    static void copyFile(File source, File target) throws IOException {
+        if (source.getCanonicalPath().equals(target.getCanonicalPath())) {
+            throw new IOException("Source '" + source + "' and destination '" + target + "' are the same");
+        }
+
+        FileUtils.forceMkdirParent(target);
+        try (FileChannel in = FileChannel.open(source.toPath(), READ);
+             FileChannel out = FileChannel.open(target.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) { position += in.transferTo(position, size - position, out); }
+        }
+
+        // preserve file date, as FileUtils.copyFile() does
+        if (!target.setLastModified(source.lastModified())) {
+            ConsoleUtils.log("Unable to preserve last modified time of '" + source + "' to '" + target + "'");
+        }
+    }
+
+    /** true if there are files of the same name in {@code files} (i.e. they would land on the same target) */
+    private static boolean hasSameName(Collection<File> files) {
+        Set<String> names = new HashSet<>();
+        for (File file : files) {
+            if (!names.add(IS_OS_WINDOWS ? StringUtils.lowerCase(file.getName()) : file.getName())) { return true; }
+        }
+        return false;
+    }
+
     /** support file patterns */
     Collection<File> listFilesByPattern(String dirAndPattern) {
         if (jarSupported && StringUtils.startsWith(dirAndPattern, PREFIX_JAR)) {
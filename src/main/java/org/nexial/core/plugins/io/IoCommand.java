@@ -57,16 +57,18 @@ import org.nexial.core.utils.OutputFileUtils;
 import org.nexial.core.utils.OutputResolver;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -80,6 +82,7 @@ import static org.nexial.core.NexialConst.Compare.*;
 import static org.nexial.core.NexialConst.*;
 import static org.nexial.core.SystemVariables.getDefault;
 import static org.nexial.core.SystemVariables.getDefaultBool;
+import static org.nexial.core.SystemVariables.getDefaultInt;
 import static org.nexial.core.plugins.io.ComparisonResult.*;
 import static org.nexial.core.plugins.io.FileMeta.REGEX_FILE_META;
 import static org.nexial.core.plugins.io.IoAction.*;
@@ -197,10 +200,10 @@ public class IoCommand extends BaseCommand {
 
         if (CollectionUtils.isNotEmpty(files) && StringUtils.isNotBlank(textFilter)) {
             List<String> regex = TextUtils.toList(textFilter, "\n", true);
-            files = files.stream().filter(file -> {
+            // each file is scanned independently; order of the matching files is kept
+            files = files.parallelStream().filter(file -> {
                 try {
-                    String content = toTextContent(file);
-                    return regex.stream().allMatch(contentRegex -> RegexUtils.match(content, contentRegex));
+                    return matchContent(file, regex);
                 } catch (IOException e) {
                     ConsoleUtils.error("Unable to read content from " + file + ": " + e.getMessage());
                     return false;
@@ -236,10 +239,8 @@ public class IoCommand extends BaseCommand {
                               configMap2.put(ExecutionContext.unescapeToken(context.replaceTokens(name)),
                                              ExecutionContext.unescapeToken(context.replaceTokens(value))));
 
-        AtomicReference<String> content =
-            new AtomicReference<>(FileUtils.readFileToString(new File(file), DEF_FILE_ENCODING));
-        configMap2.forEach((name, value) -> content.set(StringUtils.replace(content.get(), name, value)));
-        FileUtils.writeStringToFile(new File(saveAs), content.get(), DEF_FILE_ENCODING);
+        // stream through the file, instead of replacing over its entire content in memory
+        FileStreamUtils.replace(new File(file), new File(saveAs), Charset.forName(DEF_FILE_ENCODING), configMap2);
 
         return StepResult.success("search-and-replace completed and saved to '" + saveAs + "'");
     }
@@ -418,19 +419,28 @@ public class IoCommand extends BaseCommand {
         File input = toFile(file);
 
         try {
-            String content = FileUtils.readFileToString(input, DEF_CHARSET);
-            if (StringUtils.isEmpty(content)) { return StepResult.fail("File %s is empty", file); }
-
             boolean lineMode = BooleanUtils.toBoolean(asLines);
             if (lineMode) {
-                boolean allMatched = TextUtils.polyMatchAll(FileUtils.readLines(input, DEF_CHARSET), match);
+                boolean allMatched = FileStreamUtils.allLinesMatch(input,
+                                                                   Charset.forName(DEF_CHARSET),
+                                                                   line -> TextUtils.polyMatch(line, match, false));
                 return new StepResult(allMatched,
                                       (allMatched ? "Every" : "Not every") +
                                       " line in file " + file + " matched '" + match + "'",
                                       null);
             }
 
-            boolean matched = TextUtils.polyMatch(content, match);
+            // "contain" and regex matches are searched through the file; others require the entire content
+            Pattern searchPattern = toSearchPattern(match);
+            boolean matched;
+            if (searchPattern != null) {
+                matched = FileStreamUtils.find(input, Charset.forName(DEF_CHARSET), searchPattern);
+            } else {
+                String content = FileUtils.readFileToString(input, DEF_CHARSET);
+                if (StringUtils.isEmpty(content)) { return StepResult.fail("File %s is empty", file); }
+                matched = TextUtils.polyMatch(content, match);
+            }
+
             return new StepResult(matched,
                                   "File content in file " + file + (matched ? " matched " : " not matched ") +
                                   "to '" + match + "'",
@@ -446,7 +456,9 @@ public class IoCommand extends BaseCommand {
         requires(StringUtils.isNotBlank(zipFile), "invalid zip file", zipFile);
 
         try {
-            FileUtil.zip(filePattern, zipFile);
+            FileUtil.zip(filePattern,
+                         zipFile,
+                         context.getIntData(OPT_IO_PARALLELISM, getDefaultInt(OPT_IO_PARALLELISM)));
             return StepResult.success("zip file '" + zipFile + "' created for '" + filePattern + "'");
         } catch (IOException e) {
             return StepResult.fail("Unable to create zip for '" + filePattern + "' due to " + e.getMessage());
@@ -733,14 +745,19 @@ public class IoCommand extends BaseCommand {
     @Nonnull
     public static String checksum(String file) throws NoSuchAlgorithmException, IOException {
         requiresReadableFile(file);
-        return checksum(FileUtils.readFileToByteArray(new File(file)));
+        // digest is updated one buffer at a time, so that the file is never loaded into memory as a whole
+        return toHex(FileStreamUtils.digest(new File(file), MessageDigest.getInstance(CHECKSUM_ALGO)));
     }
 
     @Nonnull
     public static String checksum(byte[] content) throws NoSuchAlgorithmException {
         MessageDigest md = MessageDigest.getInstance(CHECKSUM_ALGO);
         md.update(content);
-        byte[] digest = md.digest();
+        return toHex(md.digest());
+    }
+
+    @Nonnull
+    private static String toHex(byte[] digest) {
         StringBuilder buffer = new StringBuilder();
         for (byte b : digest) { buffer.append(Integer.toString((b & 0xff) + 0x100, 16).substring(1)); }
         return buffer.toString();
@@ -748,6 +765,51 @@ public class IoCommand extends BaseCommand {
 
     public static String formatPercent(double number) { return PERCENT_FORMAT.format(number); }
 
+    /**
+     * true if the content of {@code file} matches all of {@code regex}. Plain text files are searched through, one
+     * chunk at a time; PDF and Excel files are matched against their extracted text.
+     */
+    protected boolean matchContent(String file, List<String> regex) throws IOException {
+        File input = new File(file);
+        if (StringUtils.endsWithIgnoreCase(file, ".pdf") || StringUtils.endsWithIgnoreCase(file, ".xlsx") ||
+            !FileUtil.isFileReadable(file, 1)) {
+            String content = toTextContent(file);
+            return regex.stream().allMatch(contentRegex -> RegexUtils.match(content, contentRegex));
+        }
+
+        Charset charset = Charset.forName(DEF_FILE_ENCODING);
+        for (String contentRegex : regex) {
+            if (StringUtils.isEmpty(contentRegex)) { return false; }
+            if (!FileStreamUtils.find(input, charset, RegexUtils.getPatternCache().get(contentRegex, 0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * the equivalent search pattern of a "contain" or regex {@code match} (as in
+     * {@link TextUtils#polyMatch(String, String)}), or null if {@code match} is neither.
+     */
+    @Nullable
+    protected static Pattern toSearchPattern(String match) {
+        if (StringUtils.startsWith(match, TextUtils.REGEX)) {
+            String regex = StringUtils.substringAfter(match, TextUtils.REGEX);
+            return StringUtils.isEmpty(regex) ? null : RegexUtils.getPatternCache().get(regex, 0);
+        }
+
+        if (StringUtils.startsWith(match, TextUtils.CONTAIN)) {
+            return Pattern.compile(Pattern.quote(StringUtils.substringAfter(match, TextUtils.CONTAIN)));
+        }
+
+        if (StringUtils.startsWith(match, TextUtils.CONTAIN_ANY_CASE)) {
+            return Pattern.compile(Pattern.quote(StringUtils.substringAfter(match, TextUtils.CONTAIN_ANY_CASE)),
+                                   Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        }
+
+        return null;
+    }
+
     protected String toTextContent(String file) throws IOException {
         if (StringUtils.isBlank(file) || !FileUtil.isFileReadable(file, 1)) { return ""; }
 
@@ -859,7 +921,7 @@ public class IoCommand extends BaseCommand {
             if (sourceFile.isDirectory()) {
                 action.doAction(sourceFile, targetFile);
             } else {
-                action.doAction(sourceFiles, targetFile);
+                action.doAction(sourceFiles, targetFile, resolveIoParallelism());
             }
             return StepResult.success(prolog);
         } catch (IOException e) {
@@ -901,7 +963,7 @@ public class IoCommand extends BaseCommand {
 
         // for delete action
         if (!action.isTargetRequired()) {
-            action.doAction(matched, null);
+            action.doAction(matched, null, resolveIoParallelism());
             return StepResult.success(successMsg);
         }
 
@@ -929,10 +991,14 @@ public class IoCommand extends BaseCommand {
 
         String config = context.getStringData(OPT_IO_COPY_CONFIG, getDefault(OPT_IO_COPY_CONFIG));
         action.setCopyConfig(config);
-        action.doAction(matched, targetDir);
+        action.doAction(matched, targetDir, resolveIoParallelism());
         return StepResult.success(successMsg);
     }
 
+    private int resolveIoParallelism() {
+        return context.getIntData(OPT_IO_PARALLELISM, getDefaultInt(OPT_IO_PARALLELISM));
+    }
+
     @Nonnull
     protected List<File> listMatches(String source, String regex) {
         boolean matchRecursive = context.getBooleanData(OPT_IO_MATCH_RECURSIVE, getDefaultBool(OPT_IO_MATCH_RECURSIVE));
@@ -984,8 +1050,8 @@ public class IoCommand extends BaseCommand {
                 report.addFileMismatch(ComparisonResult.fileSizeDiff(expectedLength, actualLength));
             }
 
-            int expectedLines = CollectionUtils.size(FileUtils.readLines(expectedFile, DEF_CHARSET));
-            int actualLines = CollectionUtils.size(FileUtils.readLines(actualFile, DEF_CHARSET));
+            int expectedLines = countLines(expectedFile);
+            int actualLines = countLines(actualFile);
             if (expectedLines != actualLines) { report.addFileMismatch(fileLineDiff(expectedLines, actualLines)); }
         } catch (IOException e) {
             // unlikely since we've already gone through prepCompare()
@@ -1001,6 +1067,31 @@ public class IoCommand extends BaseCommand {
         return null;
     }
 
+    /**
+     * count the lines of {@code file} the same way as {@link FileUtils#readLines(File, String)} (i.e. line ends with
+     * {@code \n}, {@code \r} or {@code \r\n}), but without reading the lines into memory.
+     */
+    protected static int countLines(File file) throws IOException {
+        int lines = 0;
+        int previous = -1;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    int current = buffer[i] & 0xFF;
+                    // \r\n is one line end, counted at \r
+                    if (current == '\r' || (current == '\n' && previous != '\r')) { lines++; }
+                    previous = current;
+                }
+            }
+        }
+
+        // last line without line end
+        if (previous != -1 && previous != '\n' && previous != '\r') { lines++; }
+        return lines;
+    }
+
     protected File toFile(String file) {
         requires(StringUtils.isNotBlank(file), "invalid file", file);
         File input = new File(file);
@@ -1093,106 +1184,106 @@ public class IoCommand extends BaseCommand {
         }
 
         // 4. line-by-line compare here we go!
+        // lines are aligned via diff, where lines differ only in letter case or spaces are considered the same (they
+        // are reported as such below); the lines of each changed region are then compared line for line
         boolean logMatches = context.getBooleanData(LOG_MATCH, getDefaultBool(LOG_MATCH));
         int currentErrorCounter = report.getMismatchCount();
-        int aPos = -1;
-        int aLastParsed = aPos;
-        for (int ePos = 0; ePos < expectedRows.size(); ePos++) {
-            if (report.getMismatchCount() > currentErrorCounter && failfast) { return failContentComparison(report); }
-
-            String eRow = expectedRows.get(ePos);
-            int pos = ePos + 1;
-            aPos++;
-
-            // 4.1 ACTUAL line not found
-            if (actualRows.size() <= aPos) {
-                report.addLineMismatch(lineMissing(pos, eRow, null));
-                continue;
-            }
-
-            String aRow = actualRows.get(aPos);
-            aLastParsed = aPos;
-
-            // this could be (1) exact match, (2) partial match, (3) completely off
-
-            // 4.2 test for perfect match
-            if (StringUtils.equals(eRow, aRow)) {
-                if (logMatches) {
-                    report.addLineMatch(lineMatched(pos, "perfect match", eRow).maligned(pos, aPos + 1));
-                } else {
-                    report.addLineMatch(null);
+        List<LineDiff.Edit> edits = LineDiff.diff(expectedRows,
+                                                  actualRows,
+                                                  IoCommand::toSimpleMatchKey,
+                                                  LineDiff.DEF_MAX_EDIT_COST);
+        int ePos = 0;
+        int aPos = 0;
+        for (int i = 0; i <= edits.size(); i++) {
+            // past the last edit, the remaining lines are aligned until the end
+            LineDiff.Edit edit = i < edits.size() ? edits.get(i) : null;
+            int eAlignedEnd = edit == null ? eRowCount : edit.getExpectedStart();
+            for (; ePos < eAlignedEnd; ePos++, aPos++) {
+                compareLine(report, ePos, expectedRows.get(ePos), aPos, actualRows.get(aPos), logMatches);
+                if (failfast && report.getMismatchCount() > currentErrorCounter) {
+                    return failContentComparison(report);
                 }
-                continue;
             }
+            if (edit == null) { break; }
 
-            // 4.3 test for mismatched cases
-            if (StringUtils.containsIgnoreCase(eRow, aRow)) {
-                report.addLineMismatch(line(pos, "mismatch due to letter case", eRow, aRow).maligned(pos, aPos + 1));
-                continue;
+            // changed lines
+            for (; ePos < edit.getExpectedEnd() && aPos < edit.getActualEnd(); ePos++, aPos++) {
+                compareLine(report, ePos, expectedRows.get(ePos), aPos, actualRows.get(aPos), logMatches);
+                if (failfast && report.getMismatchCount() > currentErrorCounter) {
+                    return failContentComparison(report);
+                }
             }
 
-            // 4.4 test for leading/trailing spaces
-            String eRowTrimmed = StringUtils.trim(eRow);
-            String aRowTrimmed = StringUtils.trim(aRow);
-            if (StringUtils.equals(eRowTrimmed, aRowTrimmed)) {
-                report.addLineMismatch(line(pos, "mismatch due to leading/trailing spaces", eRow, aRow)
-                                           .maligned(pos, aPos + 1));
-                continue;
+            // extra lines found in EXPECTED
+            for (; ePos < edit.getExpectedEnd(); ePos++) {
+                report.addLineMismatch(lineMissing(ePos + 1, expectedRows.get(ePos), null));
+                if (failfast) { return failContentComparison(report); }
             }
 
-            // 4.5 test for between-letter space mismatch
-            String eRowNormalized = StringUtils.deleteWhitespace(eRowTrimmed);
-            String aRowNormalized = StringUtils.deleteWhitespace(aRowTrimmed);
-            if (StringUtils.equals(eRowNormalized, aRowNormalized)) {
-                report.addLineMismatch(line(pos, "mismatch due to extra spaces", eRow, aRow).maligned(pos, aPos + 1));
-                continue;
+            // extra lines found in ACTUAL
+            for (; aPos < edit.getActualEnd(); aPos++) {
+                report.addLineMismatch(lineExtraFound(aPos + 1, null, actualRows.get(aPos)));
+                if (failfast) { return failContentComparison(report); }
             }
+        }
 
-            // 4.6 test for case and space mismatch
-            if (StringUtils.equalsIgnoreCase(eRowNormalized, aRowNormalized)) {
-                report.addLineMismatch(line(pos, "mismatch due to extra spaces and letter cases", eRow, aRow)
-                                           .maligned(pos, aPos + 1));
-                continue;
-            }
+        return compareMode == DIFF ? createDiff(diffVar, report) : failContentComparison(report);
+    }
 
-            // 4.7 before more testing, let's see if there's another one line here after (actual) that match current (expected)
-            int aMatchedPosition = scanForMatchingRow(eRow, actualRows, ePos);
-            if (aMatchedPosition > ePos) {
-                // match found, but it's after current line
-                // consider this as "extra lines found in ACTUAL
-                for (int j = ePos; j < aMatchedPosition; j++) {
-                    report.addLineMismatch(lineExtraFound((j + 1), null, actualRows.get(j)));
-                }
-                ePos--;
-                aPos = aMatchedPosition - 1;
-                continue;
+    /** compare 2 lines that are aligned (or paired in a changed region), and add the result to {@code report} */
+    protected void compareLine(FileComparisonReport report,
+                               int ePos,
+                               String eRow,
+                               int aPos,
+                               String aRow,
+                               boolean logMatches) {
+        int pos = ePos + 1;
+
+        // this could be (1) exact match, (2) partial match, (3) completely off
+
+        // 4.2 test for perfect match
+        if (StringUtils.equals(eRow, aRow)) {
+            if (logMatches) {
+                report.addLineMatch(lineMatched(pos, "perfect match", eRow).maligned(pos, aPos + 1));
+            } else {
+                report.addLineMatch(null);
             }
+            return;
+        }
 
-            int eMatchedPosition = scanForMatchingRow(aRow, expectedRows, aPos);
-            if (eMatchedPosition > aPos) {
-                // match found, but it's after current line
-                // consider this as "extra lines found in EXPECTED
-                for (int j = aPos; j < eMatchedPosition; j++) {
-                    report.addLineMismatch(lineMissing((j + 1), expectedRows.get(j), null));
-                }
-                ePos = eMatchedPosition - 1;
-                aPos--;
-                continue;
-            }
+        // 4.3 test for mismatched cases
+        if (StringUtils.containsIgnoreCase(eRow, aRow)) {
+            report.addLineMismatch(line(pos, "mismatch due to letter case", eRow, aRow).maligned(pos, aPos + 1));
+            return;
+        }
 
-            // 4.8 test for character distance mismatch
-            report.addLineMismatch(lineDiff(pos, levenshtein.apply(eRowNormalized, aRowNormalized), eRow, aRow)
+        // 4.4 test for leading/trailing spaces
+        String eRowTrimmed = StringUtils.trim(eRow);
+        String aRowTrimmed = StringUtils.trim(aRow);
+        if (StringUtils.equals(eRowTrimmed, aRowTrimmed)) {
+            report.addLineMismatch(line(pos, "mismatch due to leading/trailing spaces", eRow, aRow)
                                        .maligned(pos, aPos + 1));
+            return;
         }
 
-        // scan all extra lines in ACTUAL
-        if (actualRows.size() > expectedRows.size()) {
-            for (int i = aLastParsed + 1; i < actualRows.size(); i++) {
-                report.addLineMismatch(lineExtraFound(i + 1, null, actualRows.get(i)));
-            }
+        // 4.5 test for between-letter space mismatch
+        String eRowNormalized = StringUtils.deleteWhitespace(eRowTrimmed);
+        String aRowNormalized = StringUtils.deleteWhitespace(aRowTrimmed);
+        if (StringUtils.equals(eRowNormalized, aRowNormalized)) {
+            report.addLineMismatch(line(pos, "mismatch due to extra spaces", eRow, aRow).maligned(pos, aPos + 1));
+            return;
         }
 
-        return compareMode == DIFF ? createDiff(diffVar, report) : failContentComparison(report);
+        // 4.6 test for case and space mismatch
+        if (StringUtils.equalsIgnoreCase(eRowNormalized, aRowNormalized)) {
+            report.addLineMismatch(line(pos, "mismatch due to extra spaces and letter cases", eRow, aRow)
+                                       .maligned(pos, aPos + 1));
+            return;
+        }
+
+        // 4.7 test for character distance mismatch
+        report.addLineMismatch(lineDiff(pos, levenshtein.apply(eRowNormalized, aRowNormalized), eRow, aRow)
+                                   .maligned(pos, aPos + 1));
     }
 
     protected void logComparisonReport(String caption, FileComparisonReport report) {
@@ -1226,22 +1317,9 @@ public class IoCommand extends BaseCommand {
         }
     }
 
-    protected int scanForMatchingRow(String matchTo, List<String> matchFrom, int startFrom) {
-        // hopeless
-        if (CollectionUtils.isEmpty(matchFrom) || CollectionUtils.size(matchFrom) <= startFrom) { return -1; }
-        if (matchTo == null) { matchTo = ""; }
-
-        // first we match forward
-        for (int i = startFrom; i < matchFrom.size(); i++) {
-            if (simpleMatch(matchTo, matchFrom.get(i))) { return i; }
-        }
-        return startFrom;
-    }
-
-    protected static boolean simpleMatch(String expected, String actual) {
-        return StringUtils.equals(expected, actual) ||
-               StringUtils.equalsIgnoreCase(StringUtils.deleteWhitespace(expected),
-                                            StringUtils.deleteWhitespace(actual));
+    /** lines of the same key are considered a match, albeit differ in letter case or spaces */
+    protected static String toSimpleMatchKey(String line) {
+        return StringUtils.lowerCase(StringUtils.deleteWhitespace(line));
     }
 
     protected StepResult failContentComparison(FileComparisonReport results) {
@@ -1348,78 +1426,43 @@ public class IoCommand extends BaseCommand {
         // since we are logging line number, order is important
         Map<String, String> logs = new TreeMap<>();
         boolean match = true;
-        boolean found = false;
 
         try {
-            String[] expectedLines = StringUtils.split(FileUtils.readFileToString(expectedFile, DEF_CHARSET), "\n");
-            String[] actualLines = StringUtils.split(FileUtils.readFileToString(actualFile, DEF_CHARSET), "\n");
-
-            // todo: need tests.. what if current file has less lines? NPE? IOBE?
-            for (int i = 0; i < expectedLines.length; i++) {
-                if (actualLines.length > i) {
-                    if (expectedLines[i].equals(actualLines[i])) {
-                        found = true;
-                    } else {
-                        for (int x = 0; x < actualLines.length; x++) {
-                            if (expectedLines[i].equals(actualLines[x])) {
-                                String message =
-                                    "Moved (From line " + (i + 1) + " to " + (x + 1) + "): " + expectedLines[i];
-                                logs.put((i + 1) + "", message);
-                                if (includeMoved) { error(message); }
-                                match = false;
-                                found = true;
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                if (!found) {
-                    if (includeDeleted) {
-                        String message = "Removed from baseline (line " + (i + 1) + "): " + expectedLines[i];
+            List<String> expectedLines =
+                Arrays.asList(StringUtils.split(FileUtils.readFileToString(expectedFile, DEF_CHARSET), "\n"));
+            List<String> actualLines =
+                Arrays.asList(StringUtils.split(FileUtils.readFileToString(actualFile, DEF_CHARSET), "\n"));
+
+            // lines removed from one place and inserted to another are considered as moved
+            List<LineDiff.Edit> edits = LineDiff.diff(expectedLines, actualLines);
+            Map<Integer, Integer> moves = LineDiff.findMoves(expectedLines, actualLines, edits);
+            Set<Integer> movedTo = new HashSet<>(moves.values());
+
+            for (LineDiff.Edit edit : edits) {
+                for (int i = edit.getExpectedStart(); i < edit.getExpectedEnd(); i++) {
+                    if (moves.containsKey(i)) {
+                        String message =
+                            "Moved (From line " + (i + 1) + " to " + (moves.get(i) + 1) + "): " + expectedLines.get(i);
+                        logs.put((i + 1) + "", message);
+                        if (includeMoved) { error(message); }
+                        match = false;
+                    } else if (includeDeleted) {
+                        String message = "Removed from baseline (line " + (i + 1) + "): " + expectedLines.get(i);
                         logs.put((i + 1) + "", message);
                         error(message);
                         match = false;
                     }
                 }
 
-                // reset
-                found = false;
-            }
-
-            for (int i = 0; i < actualLines.length; i++) {
-                if (expectedLines.length > i) {
-                    if (actualLines[i].equals(expectedLines[i])) {
-                        found = true;
-                    } else {
-                        for (String ln : expectedLines) {
-                            if (actualLines[i].equals(ln)) {
-                                // todo: need test. why don't we log such mismatch?
-                                found = true;
-                                break;
-                            }
-                        }
-                    }
-                } else {
-                    for (String ln : expectedLines) {
-                        if (actualLines[i].equals(ln)) {
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-
-                if (!found) {
+                for (int i = edit.getActualStart(); i < edit.getActualEnd(); i++) {
+                    if (movedTo.contains(i)) { continue; }
                     if (includeAdded) {
-                        String message = "Inserted into current (line " + (i + 1) + "): " + actualLines[i];
+                        String message = "Inserted into current (line " + (i + 1) + "): " + actualLines.get(i);
                         logs.put((i + 1) + "", message);
                         error(message);
                     }
                     match = false;
                 }
-
-                // reset
-                found = false;
             }
 
             log("Files are " + (match ? "identical" : "different"));
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * line-based diff between EXPECTED and ACTUAL, via the linear-space variant of Myers' O(ND) difference algorithm.
+ * Lines are first mapped to integer ids (so that each line is hashed only once), and the common leading and trailing
+ * lines are stripped before each (recursive) bisection.
+ * <p>
+ * Memory used is linear to the number of lines. To keep the time bounded as well, a region with more than
+ * {@code maxEditCost} differences (default {@link #DEF_MAX_EDIT_COST}) is not bisected further, but reported as one
+ * {@link Edit} as a whole (i.e. its lines are considered as changed, line for line).
+ */
+public final class LineDiff {
+    public static final int DEF_MAX_EDIT_COST = 2000;
+
+    private final int[] expected;
+    private final int[] actual;
+    private final int maxEditCost;
+    private final List<Edit> edits = new ArrayList<>();
+
+    /**
+     * a region of EXPECTED ({@code expectedStart} inclusive to {@code expectedEnd} exclusive) replaced by a region of
+     * ACTUAL. An empty EXPECTED region means lines inserted; an empty ACTUAL region means lines removed.
+     */
+    public static final class Edit {
+        private final int expectedStart;
+        private final int expectedEnd;
+        private final int actualStart;
+        private final int actualEnd;
+
+        private Edit(int expectedStart, int expectedEnd, int actualStart, int actualEnd) {
+            this.expectedStart = expectedStart;
+            this.expectedEnd = expectedEnd;
+            this.actualStart = actualStart;
+            this.actualEnd = actualEnd;
+        }
+
+        public int getExpectedStart() { return expectedStart; }
+
+        public int getExpectedEnd() { return expectedEnd; }
+
+        public int getActualStart() { return actualStart; }
+
+        public int getActualEnd() { return actualEnd; }
+
+        @Override
+        public String toString() {
+            return "EXPECTED[" + expectedStart + "," + expectedEnd + ") -> " +
+                   "ACTUAL[" + actualStart + "," + actualEnd + ")";
+        }
+    }
+
+    private LineDiff(int[] expected, int[] actual, int maxEditCost) {
+        this.expected = expected;
+        this.actual = actual;
+        this.maxEditCost = maxEditCost;
+    }
+
+    /** diff via exact line match */
+    public static List<Edit> diff(List<String> expected, List<String> actual) {
+        return diff(expected, actual, Function.identity(), DEF_MAX_EDIT_COST);
+    }
+
+    /**
+     * diff {@code expected} and {@code actual}, where 2 lines are considered the same if their {@code normalizer}
+     * form are equal.
+     *
+     * @return the differences in ascending order; the lines between them are the same
+     */
+    public static List<Edit> diff(List<String> expected,
+                                  List<String> actual,
+                                  Function<String, String> normalizer,
+                                  int maxEditCost) {
+        assert expected != null && actual != null && normalizer != null;
+
+        Map<String, Integer> ids = new HashMap<>();
+        LineDiff diff = new LineDiff(toIds(expected, normalizer, ids),
+                                     toIds(actual, normalizer, ids),
+                                     Math.max(maxEditCost, 1));
+        diff.diff(0, diff.expected.length, 0, diff.actual.length);
+        return diff.edits;
+    }
+
+    /**
+     * find the lines removed from EXPECTED that are found as lines inserted to ACTUAL (exact match), via a hash
+     * index of the inserted lines. Each inserted line is matched at most once.
+     *
+     * @return line index of EXPECTED to line index of ACTUAL, in ascending order of EXPECTED.
+     */
+    public static Map<Integer, Integer> findMoves(List<String> expected, List<String> actual, List<Edit> edits) {
+        Map<String, Deque<Integer>> inserted = new HashMap<>();
+        edits.forEach(edit -> {
+            for (int i = edit.actualStart; i < edit.actualEnd; i++) {
+                inserted.computeIfAbsent(actual.get(i), line -> new ArrayDeque<>()).add(i);
+            }
+        });
+
+        Map<Integer, Integer> moves = new LinkedHashMap<>();
+        if (inserted.isEmpty()) { return moves; }
+
+        edits.forEach(edit -> {
+            for (int i = edit.expectedStart; i < edit.expectedEnd; i++) {
+                Deque<Integer> positions = inserted.get(expected.get(i));
+                if (positions != null && !positions.isEmpty()) { moves.put(i, positions.poll()); }
+            }
+        });
+        return moves;
+    }
+
+    private static int[] toIds(List<String> lines, Function<String, String> normalizer, Map<String, Integer> ids) {
+        int[] lineIds = new int[lines.size()];
+        int i = 0;
+        for (String line : lines) {
+            lineIds[i++] = ids.computeIfAbsent(normalizer.apply(line == null ? "" : line), key -> ids.size());
+        }
+        return lineIds;
+    }
+
+    private void diff(int eStart, int eEnd, int aStart, int aEnd) {
+        // strip common leading and trailing lines
+        while (eStart < eEnd && aStart < aEnd && expected[eStart] == actual[aStart]) {
+            eStart++;
+            aStart++;
+        }
+        while (eStart < eEnd && aStart < aEnd && expected[eEnd - 1] == actual[aEnd - 1]) {
+            eEnd--;
+            aEnd--;
+        }
+
+        if (eStart == eEnd && aStart == aEnd) { return; }
+        if (eStart == eEnd || aStart == aEnd) {
+            addEdit(eStart, eEnd, aStart, aEnd);
+            return;
+        }
+
+        bisect(eStart, eEnd, aStart, aEnd);
+    }
+
+    /**
+     * find the "middle snake" of the shortest edit path, and split the problem in 2 there. Both the forward and the
+     * reverse paths are tracked by diagonal (k = x - y), keeping only the furthest reaching x of each diagonal.
+     */
+    private void bisect(int eStart, int eEnd, int aStart, int aEnd) {
+        int eLength = eEnd - eStart;
+        int aLength = aEnd - aStart;
+        int maxD = Math.min((eLength + aLength + 1) / 2, maxEditCost);
+        int vOffset = maxD;
+        // room for diagonal -d-1 to d+1
+        int vLength = 2 * maxD + 2;
+        int[] forward = new int[vLength];
+        int[] reverse = new int[vLength];
+        Arrays.fill(forward, -1);
+        Arrays.fill(reverse, -1);
+        forward[vOffset + 1] = 0;
+        reverse[vOffset + 1] = 0;
+
+        int delta = eLength - aLength;
+        // if the total number of lines is odd, the forward path will collide with the reverse path
+        boolean front = delta % 2 != 0;
+        // offsets for start and end of k loop; prevents mapping of space beyond the grid
+        int k1start = 0;
+        int k1end = 0;
+        int k2start = 0;
+        int k2end = 0;
+
+        for (int d = 0; d < maxD; d++) {
+            // walk the forward path one step
+            for (int k1 = -d + k1start; k1 <= d - k1end; k1 += 2) {
+                int k1Offset = vOffset + k1;
+                int x1 = k1 == -d || (k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1]) ?
+                         forward[k1Offset + 1] : forward[k1Offset - 1] + 1;
+                int y1 = x1 - k1;
+                while (x1 < eLength && y1 < aLength && expected[eStart + x1] == actual[aStart + y1]) {
+                    x1++;
+                    y1++;
+                }
+                forward[k1Offset] = x1;
+
+                if (x1 > eLength) {
+                    // ran off the right of the graph
+                    k1end += 2;
+                } else if (y1 > aLength) {
+                    // ran off the bottom of the graph
+                    k1start += 2;
+                } else if (front) {
+                    int k2Offset = vOffset + delta - k1;
+                    if (k2Offset >= 0 && k2Offset < vLength && reverse[k2Offset] != -1) {
+                        // mirror x2 onto top-left coordinate system
+                        int x2 = eLength - reverse[k2Offset];
+                        if (x1 >= x2) {
+                            split(eStart, eEnd, aStart, aEnd, x1, y1);
+                            return;
+                        }
+                    }
+                }
+            }
+
+            // walk the reverse path one step
+            for (int k2 = -d + k2start; k2 <= d - k2end; k2 += 2) {
+                int k2Offset = vOffset + k2;
+                int x2 = k2 == -d || (k2 != d && reverse[k2Offset - 1] < reverse[k2Offset + 1]) ?
+                         reverse[k2Offset + 1] : reverse[k2Offset - 1] + 1;
+                int y2 = x2 - k2;
+                while (x2 < eLength && y2 < aLength &&
+                       expected[eEnd - x2 - 1] == actual[aEnd - y2 - 1]) {
+                    x2++;
+                    y2++;
+                }
+                reverse[k2Offset] = x2;
+
+                if (x2 > eLength) {
+                    k2end += 2;
+                } else if (y2 > aLength) {
+                    k2start += 2;
+                } else if (!front) {
+                    int k1Offset = vOffset + delta - k2;
+                    if (k1Offset >= 0 && k1Offset < vLength && forward[k1Offset] != -1) {
+                        int x1 = forward[k1Offset];
+                        int y1 = vOffset + x1 - k1Offset;
+                        // mirror x2 onto top-left coordinate system
+                        if (x1 >= eLength - x2) {
+                            split(eStart, eEnd, aStart, aEnd, x1, y1);
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        // either no commonality at all, or too many differences to be worth finding them
+        addEdit(eStart, eEnd, aStart, aEnd);
+    }
+
+    private void split(int eStart, int eEnd, int aStart, int aEnd, int x, int y) {
+        diff(eStart, eStart + x, aStart, aStart + y);
+        diff(eStart + x, eEnd, aStart + y, aEnd);
+    }
+
+    private void addEdit(int eStart, int eEnd, int aStart, int aEnd) {
+        // merge with the previous edit if adjacent, so that a change is not reported as separate removal and insertion
+        int last = edits.size() - 1;
+        if (last >= 0) {
+            Edit previous = edits.get(last);
+            if (previous.expectedEnd == eStart && previous.actualEnd == aStart) {
+                edits.set(last, new Edit(previous.expectedStart, eEnd, previous.actualStart, aEnd));
+                return;
+            }
+        }
+        edits.add(new Edit(eStart, eEnd, aStart, aEnd));
+    }
+}
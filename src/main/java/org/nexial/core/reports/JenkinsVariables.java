@@ -21,6 +21,7 @@ import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.ExecutionVariables;
 
 import static org.nexial.core.NexialConst.Jenkins.*;
 import static org.nexial.core.NexialConst.*;
@@ -48,7 +49,7 @@ public final class JenkinsVariables {
 
         // favor nexial.suite, then nexial.inputExcel, then nexial.excel
         // nexial.excel most likely modified to the output version by this point
-        testScript = System.getProperty(OPT_INPUT_EXCEL_FILE, System.getProperty(OPT_EXCEL_FILE));
+        testScript = ExecutionVariables.getProperty(OPT_INPUT_EXCEL_FILE, System.getProperty(OPT_EXCEL_FILE));
 
         invokedFromJenkins = StringUtils.isNotBlank(buildUserId) &&
                              StringUtils.isNotBlank(buildUser) &&
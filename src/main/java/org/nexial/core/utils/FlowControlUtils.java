@@ -44,7 +44,7 @@ public final class FlowControlUtils {
     public static void checkPauseBefore(ExecutionContext context, TestStep testStep) {
         if (mustNotPause(context, testStep)) { return; }
 
-        String msgPrefix = "PAUSE BEFORE EXECUTION - row " + (testStep.getRow().get(0).getRowIndex() + 1);
+        String msgPrefix = "PAUSE BEFORE EXECUTION - row " + (testStep.getRowIndex() + 1);
 
         if (context.isStepByStep()) {
             ConsoleUtils.pause(context, msgPrefix + ", conditions: step-by-step=true");
@@ -74,7 +74,7 @@ public final class FlowControlUtils {
                 "TEST EXECUTION PAUSED DUE TO PauseAfter() CONDITION. PRESS ENTER ON CONSOLE TO CONTINUE EXECUTION");
         }
 
-        ConsoleUtils.pause(context, "PAUSE AFTER EXECUTION - row " + (testStep.getRow().get(0).getRowIndex() + 1) +
+        ConsoleUtils.pause(context, "PAUSE AFTER EXECUTION - row " + (testStep.getRowIndex() + 1) +
                                     ", conditions: " + serializeDirectives(testStep.getFlowControls().get(PauseAfter)));
     }
 
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * process-wide, thread-safe cache of what is parsed from a file (test script, macro library, data file), so that
+ * the same file referenced by multiple plan rows, iterations or macro invocations is only read and parsed once.
+ * <p>
+ * A cached entry is keyed by the canonical path of the file and a "kind" (what is parsed from the file, since the
+ * same file can be parsed into different forms). On every lookup, the entry is validated against the last modified
+ * time and size of the file; if either has changed, the file is read again and its content hash compared -- the
+ * file is only parsed again if its content has actually changed. Since the timestamp of a file may only have a
+ * resolution of 1 or 2 seconds, an entry cached within {@link #RACY_WINDOW_MS} of the file's last modification is
+ * always validated by its content hash.
+ * <p>
+ * The memory held by this cache is bounded by the total size of the cached files: once it exceeds
+ * {@link #DEF_MAX_TOTAL_SIZE}, the least recently used entries are evicted. The size of a file stands in for the size
+ * of what is parsed from it. Files larger than {@link #MAX_CACHEABLE_SIZE} are parsed on every lookup and never
+ * cached.
+ * <p>
+ * Parsing is done outside of any lock, and cached values are shared among threads. Hence cached values MUST NOT be
+ * modified by the callers; use immutable types or copy before modifying.
+ */
+public final class ParsedFileCache {
+    public static final long DEF_MAX_TOTAL_SIZE = 64 * 1024 * 1024;
+    public static final long MAX_CACHEABLE_SIZE = 8 * 1024 * 1024;
+    private static final long RACY_WINDOW_MS = 2000;
+    private static final String HASH_ALGO = "SHA-256";
+    private static final String KIND_CONTENT = "content";
+    // in access order, so that the least recently used entries are evicted first; guarded by itself
+    private static final LinkedHashMap<String, Entry> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    // total size of the cached files; guarded by CACHE
+    private static long totalSize;
+    private static long maxTotalSize = DEF_MAX_TOTAL_SIZE;
+
+    /** parse the {@code content} of {@code file} into a form that can be cached (and shared) */
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(File file, byte[] content) throws IOException;
+    }
+
+    private ParsedFileCache() { }
+
+    /**
+     * the parsed form ({@code kind}) of {@code file}, parsed via {@code parser} only if not already cached or if the
+     * content of {@code file} has changed since.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(File file, String kind, Parser<T> parser) throws IOException {
+        assert file != null && parser != null;
+
+        String key = file.getCanonicalPath() + "|" + kind;
+        // read timestamp before content: if the file is changed in between, the next lookup would find it changed
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        if (length > MAX_CACHEABLE_SIZE) {
+            MISSES.increment();
+            evict(key);
+            return parser.parse(file, FileUtils.readFileToByteArray(file));
+        }
+
+        Entry entry = cached(key);
+        if (entry != null && entry.isCurrent(lastModified, length)) {
+            HITS.increment();
+            return (T) entry.value;
+        }
+
+        byte[] content = FileUtils.readFileToByteArray(file);
+        byte[] hash = hash(content);
+        if (entry != null && MessageDigest.isEqual(entry.hash, hash)) {
+            // touched, but not changed
+            HITS.increment();
+            cache(key, new Entry(lastModified, length, hash, entry.value));
+            return (T) entry.value;
+        }
+
+        MISSES.increment();
+        T value = parser.parse(file, content);
+        cache(key, new Entry(lastModified, length, hash, value));
+        return value;
+    }
+
+    /** the content of {@code file}, as a new stream over the cached bytes */
+    public static InputStream open(File file) throws IOException {
+        byte[] content = get(file, KIND_CONTENT, (f, bytes) -> bytes);
+        return new ByteArrayInputStream(content);
+    }
+
+    public static long getHitCount() { return HITS.sum(); }
+
+    public static long getMissCount() { return MISSES.sum(); }
+
+    public static int size() {
+        synchronized (CACHE) { return CACHE.size(); }
+    }
+
+    /** total size of the files currently cached */
+    public static long totalSize() {
+        synchronized (CACHE) { return totalSize; }
+    }
+
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            totalSize = 0;
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    /** change the limit on the total size of the cached files; mostly for testing */
+    static void setMaxTotalSize(long maxTotalSize) {
+        synchronized (CACHE) {
+            ParsedFileCache.maxTotalSize = maxTotalSize;
+            evictOverLimit();
+        }
+    }
+
+    private static Entry cached(String key) {
+        synchronized (CACHE) { return CACHE.get(key); }
+    }
+
+    private static void cache(String key, Entry entry) {
+        synchronized (CACHE) {
+            Entry replaced = CACHE.put(key, entry);
+            if (replaced != null) { totalSize -= replaced.length; }
+            totalSize += entry.length;
+            evictOverLimit();
+        }
+    }
+
+    private static void evict(String key) {
+        synchronized (CACHE) {
+            Entry evicted = CACHE.remove(key);
+            if (evicted != null) { totalSize -= evicted.length; }
+        }
+    }
+
+    /** evict the least recently used entries until the total size is within limit; must hold the lock of CACHE */
+    private static void evictOverLimit() {
+        Iterator<Entry> entries = CACHE.values().iterator();
+        while (totalSize > maxTotalSize && entries.hasNext()) {
+            totalSize -= entries.next().length;
+            entries.remove();
+        }
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            // MessageDigest is not thread-safe; hence one per call
+            return MessageDigest.getInstance(HASH_ALGO).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException("Unable to compute " + HASH_ALGO + " hash: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long length;
+        private final long cachedAt;
+        private final byte[] hash;
+        private final Object value;
+
+        private Entry(long lastModified, long length, byte[] hash, Object value) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.cachedAt = System.currentTimeMillis();
+            this.hash = hash;
+            this.value = value;
+        }
+
+        private boolean isCurrent(long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length &&
+                   cachedAt - lastModified >= RACY_WINDOW_MS;
+        }
+    }
+}
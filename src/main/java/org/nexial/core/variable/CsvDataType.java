@@ -30,10 +30,14 @@ import org.apache.commons.lang3.math.NumberUtils;
 import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.ExecutionThread;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.NexialFilter;
 import org.nexial.core.plugins.io.CsvParserBuilder;
 import org.nexial.core.utils.ConsoleUtils;
 
+import com.univocity.parsers.common.Context;
+import com.univocity.parsers.common.ContextWrapper;
 import com.univocity.parsers.common.record.Record;
+import com.univocity.parsers.common.record.RecordFactory;
 import com.univocity.parsers.csv.CsvFormat;
 import com.univocity.parsers.csv.CsvParser;
 
@@ -62,6 +66,10 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     private Map<String, Map<String, Record>> flyweight;
     private boolean readyToParse;
     private boolean keepQuote;
+    // text form is regenerated from `value` only when needed, rather than after every change to `value`
+    private boolean textStale;
+    // column -> normalized value -> row positions; built on demand and discarded whenever the records change
+    private Map<String, Map<String, List<Integer>>> columnIndexes = new HashMap<>();
 
     public CsvDataType(String textValue) throws TypeConversionException { super(textValue); }
 
@@ -73,6 +81,24 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     @Override
     public String toString() { return getName() + "(" + lineSeparator() + getTextValue() + lineSeparator() + ")"; }
 
+    @Override
+    public String getTextValue() {
+        if (textStale) {
+            textValue = toText();
+            textStale = false;
+        }
+        return textValue;
+    }
+
+    @Override
+    public void setTextValue(String textValue) {
+        this.textValue = textValue;
+        this.textStale = false;
+    }
+
+    @Override
+    public String stringify() { return getTextValue(); }
+
     public List<String> getIndices() { return indices; }
 
     public void setIndices(List<String> indices) { this.indices = indices; }
@@ -146,28 +172,66 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         if (this.value.remove(matched)) { this.rowCount--; }
 
         ConsoleUtils.log("updating textValue due to record removal");
-        resetTextValue();
+        recordsChanged();
 
         return matched;
     }
 
     public void removeRows(int... rowIndices) {
-        Arrays.sort(rowIndices);
-        ArrayUtils.reverse(rowIndices);
-        List<String> rows = TextUtils.toList(textValue, recordDelim, false);
-        Arrays.stream(rowIndices).forEach(index -> {
-            if (rows.size() > index) { rows.remove(isHeader() ? index + 1 : index); }
-        });
+        if (CollectionUtils.isEmpty(value) || ArrayUtils.isEmpty(rowIndices)) { return; }
 
-        textValue = TextUtils.toString(rows, recordDelim);
-        parse();
+        // remove directly from the parsed records; no need to re-parse
+        Set<Integer> removing = new HashSet<>();
+        Arrays.stream(rowIndices).forEach(removing::add);
+
+        List<Record> remained = new ArrayList<>(value.size());
+        for (int i = 0; i < value.size(); i++) { if (!removing.contains(i)) { remained.add(value.get(i)); } }
+
+        reset(remained);
+        buildIndices();
     }
 
     public void reset(List<Record> records) {
         this.value = records;
         this.rowCount = CollectionUtils.size(this.value);
         if (!header) { columnCount = rowCount == 0 ? 0 : ArrayUtils.getLength(value.get(0).getValues()); }
-        resetTextValue();
+        recordsChanged();
+    }
+
+    /**
+     * replace the headers and all the records (e.g. after columns are removed, reordered or merged) with
+     * {@code headers} and {@code rows}, without generating and re-parsing the text form. {@code headers} is ignored
+     * if this CSV is not configured with header.
+     */
+    public void reset(List<String> headers, List<String[]> rows) {
+        this.headers = header && headers != null ? new ArrayList<>(headers) : null;
+        if (this.headers != null) { columnCount = this.headers.size(); }
+
+        RecordFactory factory = new RecordFactory(new HeaderContext(this.headers));
+        List<Record> records = new ArrayList<>(CollectionUtils.size(rows));
+        if (rows != null) { rows.forEach(row -> records.add(factory.newRecord(row))); }
+
+        reset(records);
+        buildIndices();
+    }
+
+    /**
+     * positions (in ascending order) of the rows where the value of {@code column}, as normalized via
+     * {@link NexialFilter#normalizeData(String)}, is one of {@code keys}. The index of {@code column} is built on
+     * first use and reused until the records are changed. Returns {@code null} if {@code column} is not a header.
+     */
+    public List<Integer> findRows(String column, Set<String> keys) {
+        if (CollectionUtils.isEmpty(headers) || !headers.contains(column) || keys == null) { return null; }
+        if (CollectionUtils.isEmpty(value)) { return new ArrayList<>(); }
+
+        Map<String, List<Integer>> index = columnIndexes.computeIfAbsent(column, this::indexColumn);
+        List<Integer> positions = new ArrayList<>();
+        keys.forEach(key -> {
+            List<Integer> matched = index.get(key);
+            if (matched != null) { positions.addAll(matched); }
+        });
+        if (keys.size() > 1) { Collections.sort(positions); }
+        return positions;
     }
 
     public void setKeepQuote(boolean keepQuote) { this.keepQuote = keepQuote; }
@@ -194,9 +258,12 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         snapshot.columnCount = columnCount;
         snapshot.indices = indices;
         snapshot.flyweight = flyweight;
+        snapshot.columnIndexes = columnIndexes;
         snapshot.readyToParse = readyToParse;
         snapshot.textValue = textValue;
-        snapshot.value = value;
+        snapshot.textStale = textStale;
+        // shallow copy so that the snapshot (and its text form yet to be generated) is not affected by sorting, etc.
+        snapshot.value = value == null ? null : new ArrayList<>(value);
         return snapshot;
     }
 
@@ -217,7 +284,7 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         }
 
         value.sort((o1, o2) -> ascending ? compare(o1, o2, column) : compare(o2, o1, column));
-        resetTextValue();
+        recordsChanged();
     }
 
     protected int compare(Record first, Record second, String columnName) {
@@ -227,15 +294,36 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         return Array.compare(value1, value2);
     }
 
-    protected void resetTextValue() {
+    /** mark the text form as outdated; it will be regenerated from the current records when next requested */
+    protected void resetTextValue() { textStale = true; }
+
+    /** invalidate all state derived from the records */
+    protected void recordsChanged() {
+        resetTextValue();
+        // replace rather than clear, since the current indexes might still be shared with a snapshot
+        columnIndexes = new HashMap<>();
+    }
+
+    protected Map<String, List<Integer>> indexColumn(String column) {
+        Map<String, List<Integer>> index = new HashMap<>();
+        for (int i = 0; i < value.size(); i++) {
+            index.computeIfAbsent(NexialFilter.normalizeData(value.get(i).getString(column)), key -> new ArrayList<>())
+                 .add(i);
+        }
+        return index;
+    }
+
+    protected String toText() {
         StringBuilder output = new StringBuilder();
 
         if (CollectionUtils.isNotEmpty(headers)) {
             output.append(TextUtils.toString(headers, delim)).append(recordDelim);
         }
 
-        for (Record oneRow : value) { output.append(TextUtils.toCsvLine(oneRow.getValues(), delim, recordDelim)); }
-        textValue = StringUtils.removeEnd(output.toString(), recordDelim);
+        if (value != null) {
+            for (Record oneRow : value) { output.append(TextUtils.toCsvLine(oneRow.getValues(), delim, recordDelim)); }
+        }
+        return StringUtils.removeEnd(output.toString(), recordDelim);
     }
 
     protected String surround(String surroundWith, Set<Integer> onColumns) {
@@ -309,6 +397,8 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
     protected void parse() {
         if (!readyToParse) { return; }
 
+        // make sure we are parsing the latest text form
+        String textValue = getTextValue();
         if (StringUtils.isBlank(textValue)) {
             ConsoleUtils.log("Unable to generate CSV content from empty/blank text...");
             headers = null;
@@ -365,8 +455,11 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
         if (StringUtils.isEmpty(delim)) { delim = detectedFormat.getDelimiter() + ""; }
         if (StringUtils.isEmpty(recordDelim)) { recordDelim = detectedFormat.getLineSeparatorString(); }
 
-        resetTextValue();
+        recordsChanged();
+        buildIndices();
+    }
 
+    protected void buildIndices() {
         if (CollectionUtils.isNotEmpty(indices) && CollectionUtils.isNotEmpty(headers)) {
             flyweight = new HashMap<>();
             indices.forEach(index -> flyweight.put(index, new HashMap<>()));
@@ -374,4 +467,35 @@ public class CsvDataType extends ExpressionDataType<List<Record>> {
                                                         flyweight.get(column).put(record.getString(column), record)));
         }
     }
+
+    /**
+     * context of the records created via {@link #reset(List, List)}; only the headers, if any, are known and the
+     * values of each record are in the same order as the headers.
+     */
+    private static class HeaderContext extends ContextWrapper<Context> {
+        private final String[] headers;
+
+        HeaderContext(List<String> headers) {
+            super(null);
+            this.headers = headers == null ? null : headers.toArray(new String[0]);
+        }
+
+        @Override
+        public String[] headers() { return headers; }
+
+        @Override
+        public String[] selectedHeaders() { return headers; }
+
+        @Override
+        public int[] extractedFieldIndexes() { return null; }
+
+        @Override
+        public boolean columnsReordered() { return false; }
+
+        @Override
+        public int indexOf(String header) { return ArrayUtils.indexOf(headers, header); }
+
+        @Override
+        public int indexOf(Enum<?> header) { return header == null ? -1 : indexOf(header.name()); }
+    }
 }
@@ -46,6 +46,8 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -141,20 +143,9 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         List<NexialFilter> filters = TextUtils.toList(conditions, PAIR_DELIM, converter);
         if (CollectionUtils.isEmpty(filters)) { return data; }
 
-        List<Record> filtered = new ArrayList<>();
         List<Record> rows = data.getValue();
-
-        rows.forEach(row -> {
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
-
-            if (matched) { filtered.add(row); }
-        });
+        List<Record> filtered = new ArrayList<>();
+        findMatches(data, filters, false).forEach(position -> filtered.add(rows.get(position)));
 
         data.reset(filtered);
         return data;
@@ -176,20 +167,8 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
             }
         }
 
-        List<Record> rows = data.getValue();
-        for (Record row : rows) {
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
-
-            if (matched) { return recordToList(row); }
-        }
-
-        return null;
+        List<Integer> matched = findMatches(data, filters, true);
+        return matched.isEmpty() ? null : recordToList(data.getValue().get(matched.get(0)));
     }
 
     public T sortAscending(T data, String column) {
@@ -242,20 +221,18 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
             }
         }
 
-        List<Record> remained = new ArrayList<>();
-        List<Record> rows = data.getValue();
-        rows.forEach(row -> {
-            // matched means such row must not be included in remained
-            boolean matched = true;
-            for (NexialFilter f : filters) {
-                if (!matchFilter(row, f)) {
-                    matched = false;
-                    break;
-                }
-            }
+        // matched rows must not be included in remained
+        List<Integer> matched = findMatches(data, filters, false);
+        if (matched.isEmpty()) { return data; }
 
-            if (!matched) { remained.add(row); }
-        });
+        List<Record> rows = data.getValue();
+        List<Record> remained = new ArrayList<>(rows.size() - matched.size());
+        int next = 0;
+        for (int position : matched) {
+            remained.addAll(rows.subList(next, position));
+            next = position + 1;
+        }
+        remained.addAll(rows.subList(next, rows.size()));
 
         data.reset(remained);
         return data;
@@ -270,35 +247,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         Set<Integer> indicesToRemove = toIndices(data, columnNamesOrIndices);
         if (CollectionUtils.isEmpty(indicesToRemove)) { return data; }
 
-        String recordDelim = data.getRecordDelim();
-        String delim = data.getDelim();
-        StringBuilder csvModified = new StringBuilder();
-
-        if (data.isHeader()) {
-            List<String> modifiedHeaders = new ArrayList<>();
-            for (int i = 0; i < data.getHeaders().size(); i++) {
-                if (indicesToRemove.contains(i)) { continue; }
-                modifiedHeaders.add(TextUtils.csvSafe(data.getHeaders().get(i), data.getDelim(), true));
-            }
-
-            csvModified.append(TextUtils.toString(modifiedHeaders, delim)).append(recordDelim);
-        }
-
-        List<Record> csvRecords = data.getValue();
-        csvRecords.forEach(one -> {
-            StringBuilder rowModified = new StringBuilder();
-            String[] values = one.getValues();
-            for (int i = 0; i < values.length; i++) {
-                if (indicesToRemove.contains(i)) { continue; }
-                rowModified.append(TextUtils.csvSafe(values[i], data.getDelim(), true)).append(delim);
-            }
-
-            csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim)).append(recordDelim);
-        });
-
-        data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-        data.parse();
-        return data;
+        return retainColumnsAt(data, index -> !indicesToRemove.contains(index));
     }
 
     public T retainColumns(T data, String... columnNamesOrIndices) {
@@ -307,37 +256,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         Set<Integer> indicesToRetain = toIndices(data, columnNamesOrIndices);
         if (CollectionUtils.isEmpty(indicesToRetain)) { return data; }
 
-        String recordDelim = data.getRecordDelim();
-        String delim = data.getDelim();
-        StringBuilder csvModified = new StringBuilder();
-
-        if (data.isHeader()) {
-            List<String> modifiedHeaders = new ArrayList<>();
-            for (int i = 0; i < data.getHeaders().size(); i++) {
-                if (indicesToRetain.contains(i)) {
-                    modifiedHeaders.add(TextUtils.csvSafe(data.getHeaders().get(i), data.getDelim(), true));
-                }
-            }
-
-            csvModified.append(TextUtils.toString(modifiedHeaders, delim)).append(recordDelim);
-        }
-
-        List<Record> csvRecords = data.getValue();
-        csvRecords.forEach(one -> {
-            StringBuilder rowModified = new StringBuilder();
-            String[] values = one.getValues();
-            for (int i = 0; i < values.length; i++) {
-                if (indicesToRetain.contains(i)) {
-                    rowModified.append(TextUtils.csvSafe(values[i], data.getDelim(), true)).append(delim);
-                }
-            }
-
-            csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim)).append(recordDelim);
-        });
-
-        data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-        data.parse();
-        return data;
+        return retainColumnsAt(data, indicesToRetain::contains);
     }
 
     public T renameColumn(T data, String find, String replace) {
@@ -351,10 +270,11 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         replace = StringUtils.trim(replace);
 
         List<String> headers = data.getHeaders();
-        if (headers.contains(find)) { headers.set(headers.indexOf(find), replace); }
+        if (!headers.contains(find)) { return data; }
 
-        data.reset(data.getValue());
-        data.parse();
+        List<String> renamed = new ArrayList<>(headers);
+        renamed.set(headers.indexOf(find), replace);
+        data.reset(renamed, toValues(data.getValue(), Record::getValues));
         return data;
     }
 
@@ -364,35 +284,22 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         Set<Integer> indicesToSearch = toIndices(data, columnNameOrIndices);
         if (CollectionUtils.isEmpty(indicesToSearch)) { return data; }
 
-        String recordDelim = data.getRecordDelim();
-        String delim = data.getDelim();
-        StringBuilder csvModified = new StringBuilder();
-
-        if (data.isHeader()) { csvModified.append(TextUtils.toString(data.getHeaders(), delim)).append(recordDelim); }
-
-        List<Record> csvRecords = data.getValue();
-        csvRecords.forEach(row -> {
-            StringBuilder rowModified = new StringBuilder();
-            String[] cells = row.getValues();
+        data.reset(data.getHeaders(), toValues(data.getValue(), row -> {
+            String[] cells = row.getValues().clone();
             for (int i = 0; i < cells.length; i++) {
+                if (!indicesToSearch.contains(i)) { continue; }
+
                 String cell = cells[i];
-                if (indicesToSearch.contains(i)) {
-                    if (StringUtils.equals(cell, searchFor)) {
-                        cell = replaceWith;
-                    } else if (StringUtils.isBlank(searchFor)) {
-                        cell = StringUtils.replace(cell, searchFor, replaceWith);
-                    } else {
-                        cell = RegexUtils.replace(cell, searchFor, replaceWith);
-                    }
+                if (StringUtils.equals(cell, searchFor)) {
+                    cells[i] = replaceWith;
+                } else if (StringUtils.isBlank(searchFor)) {
+                    cells[i] = StringUtils.replace(cell, searchFor, replaceWith);
+                } else {
+                    cells[i] = RegexUtils.replace(cell, searchFor, replaceWith);
                 }
-                rowModified.append(TextUtils.csvSafe(cell, delim, true)).append(delim);
             }
-
-            csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim)).append(recordDelim);
-        });
-
-        data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-        data.parse();
+            return cells;
+        }));
         return data;
     }
 
@@ -407,64 +314,34 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         List<Integer> indices = toRepeatableIndices(data, columnNamesOrIndices);
         if (CollectionUtils.isEmpty(indices)) { return data; }
 
-        String recordDelim = data.getRecordDelim();
-        String delim = data.getDelim();
-
-        StringBuilder csvModified = new StringBuilder();
-
-        if (data.isHeader()) {
-            List<String> headers = data.getHeaders();
-            csvModified.append(indices.stream()
-                                      .map(index -> TextUtils.csvSafe(headers.get(index), delim, true))
-                                      .collect(Collectors.joining(delim)))
-                       .append(recordDelim);
-        }
-
-        List<Record> csvRecords = data.getValue();
-        csvRecords.forEach(row -> {
+        List<String> headers = data.getHeaders();
+        List<String> reorderedHeaders = data.isHeader() && headers != null ?
+                                        indices.stream().map(headers::get).collect(Collectors.toList()) : null;
+        data.reset(reorderedHeaders, toValues(data.getValue(), row -> {
             String[] values = row.getValues();
-            csvModified.append(indices.stream()
-                                      .map(index -> TextUtils.csvSafe(values[index], delim, true))
-                                      .collect(Collectors.joining(delim)))
-                       .append(recordDelim);
-        });
-
-        data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-        data.parse();
+            return indices.stream().map(index -> values[index]).toArray(String[]::new);
+        }));
         return data;
     }
 
     public T distinct(T data) {
         if (data == null || data.getValue() == null) { return data; }
 
-        String recordDelim = data.getRecordDelim();
-        String delim = data.getDelim();
-
-        // store the distinct rows
-        StringBuilder csvModified = new StringBuilder();
-
         // track all the distinct rows
-        List<String> parsed = new ArrayList<>();
-
-        if (data.isHeader()) { csvModified.append(TextUtils.toString(data.getHeaders(), delim)).append(recordDelim); }
+        Set<String> parsed = new HashSet<>();
+        List<Integer> duplicates = new ArrayList<>();
 
         List<Record> csvRecords = data.getValue();
-        csvRecords.forEach(one -> {
-            StringBuilder rowModified = new StringBuilder();
-            String[] values = one.getValues();
-            String combinedValues = TextUtils.toString(values, "|", "", "");
-            if (parsed.contains(combinedValues)) {
+        for (int i = 0; i < csvRecords.size(); i++) {
+            String combinedValues = TextUtils.toString(csvRecords.get(i).getValues(), "|", "", "");
+            if (!parsed.add(combinedValues)) {
                 ConsoleUtils.log(LOG, null, "[CSV] skipping duplicate row: %s", combinedValues);
-            } else {
-                parsed.add(combinedValues);
-
-                for (String value : values) { rowModified.append(TextUtils.csvSafe(value, delim, true)).append(delim); }
-                csvModified.append(StringUtils.removeEnd(rowModified.toString(), delim)).append(recordDelim);
+                duplicates.add(i);
             }
-        });
+        }
 
-        data.setTextValue(StringUtils.removeEnd(csvModified.toString(), recordDelim));
-        data.parse();
+        // remove directly from the parsed records; no need to re-parse
+        data.removeRows(duplicates.stream().mapToInt(Integer::intValue).toArray());
         return data;
     }
 
@@ -580,18 +457,12 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
             for (int j = 0; j < size; j++) { transposed.get(j).add(Objects.toString(values[j])); }
         }
 
-        String delim = data.getDelim();
-        String recordDelim = data.getRecordDelim();
-
-        StringBuilder buffer = new StringBuilder();
-        transposed.forEach(rows -> {
-            StringBuilder oneRow = new StringBuilder();
-            rows.forEach(cell -> oneRow.append(TextUtils.csvSafe(cell, delim, true)).append(delim));
-            buffer.append(StringUtils.removeEnd(oneRow.toString(), delim)).append(recordDelim);
-        });
+        // as before, the first transposed row becomes the header, if this CSV is configured with header
+        List<String[]> rows = transposed.stream().map(row -> row.toArray(new String[0])).collect(Collectors.toList());
+        List<String> headers = null;
+        if (data.isHeader() && !rows.isEmpty()) { headers = Arrays.asList(rows.remove(0)); }
 
-        data.setTextValue(StringUtils.removeEnd(buffer.toString(), recordDelim));
-        data.parse();
+        data.reset(headers, rows);
         return data;
     }
 
@@ -605,21 +476,15 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
     public T pack(T data) {
         if (data == null || data.getValue() == null) { return data; }
 
-        String[] rows = StringUtils.splitByWholeSeparator(data.getTextValue(), data.getRecordDelim());
-        if (ArrayUtils.isEmpty(rows)) { return data; }
-
-        StringBuilder packed = new StringBuilder();
-
-        Arrays.stream(rows).forEach(row -> {
-            // only keep the rows that are not empty and contains non-whitespace characters
-            if (StringUtils.isNotBlank(row) &&
-                !StringUtils.containsOnly(StringUtils.deleteWhitespace(row), data.getDelim())) {
-                packed.append(row).append(data.getRecordDelim());
-            }
-        });
+        // only keep the rows that contains non-whitespace characters
+        List<Integer> emptyRows = new ArrayList<>();
+        List<Record> csvRecords = data.getValue();
+        for (int i = 0; i < csvRecords.size(); i++) {
+            if (Arrays.stream(csvRecords.get(i).getValues()).allMatch(StringUtils::isBlank)) { emptyRows.add(i); }
+        }
 
-        data.setTextValue(StringUtils.removeEnd(packed.toString(), data.getRecordDelim()));
-        data.parse();
+        // remove directly from the parsed records; no need to re-parse
+        data.removeRows(emptyRows.stream().mapToInt(Integer::intValue).toArray());
         return data;
     }
 
@@ -836,21 +701,24 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
 
         assertValidColumns(data, columns);
 
-        Map<String, Integer> counts = new TreeMap<>();
+        // group via hashing in a single pass; sort only the (far fewer) groups at the end
+        Map<String, int[]> counts = new HashMap<>();
+        StringBuilder value = new StringBuilder();
         data.getValue().forEach(record -> {
-            String value = "";
+            value.setLength(0);
             for (String column : columns) {
-                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + record.getString(column);
-                counts.put(value, counts.containsKey(value) ? counts.get(value) + 1 : 1);
+                if (value.length() > 0) { value.append(CSV_FIELD_DEIM); }
+                value.append(record.getString(column));
+                counts.computeIfAbsent(value.toString(), group -> new int[1])[0]++;
             }
         });
 
         StringBuilder groupCsv = new StringBuilder(TextUtils.toString(columns, CSV_FIELD_DEIM, "", "") +
                                                    CSV_FIELD_DEIM + "Count" + CSV_ROW_SEP);
-        counts.forEach((value, count) -> {
-            int numMissingDelim = columns.length - StringUtils.countMatches(value, CSV_FIELD_DEIM) - 1;
-            groupCsv.append(value).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim)).append(CSV_FIELD_DEIM)
-                    .append(count).append(CSV_ROW_SEP);
+        new TreeMap<>(counts).forEach((group, count) -> {
+            int numMissingDelim = columns.length - StringUtils.countMatches(group, CSV_FIELD_DEIM) - 1;
+            groupCsv.append(group).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim)).append(CSV_FIELD_DEIM)
+                    .append(count[0]).append(CSV_ROW_SEP);
         });
 
         return (T) new CsvDataType(StringUtils.removeEnd(groupCsv.toString(), CSV_ROW_SEP));
@@ -867,7 +735,8 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         String sumColumn = columns[columns.length - 1];
         String[] groupColumns = ArrayUtils.remove(columns, columns.length - 1);
 
-        Map<String, Number> sums = new TreeMap<>();
+        Map<String, Number> sums = new HashMap<>();
+        StringBuilder value = new StringBuilder();
         data.getValue().forEach(record -> {
             String sumValueText = StringUtils.trim(StringUtils.replaceChars(record.getString(sumColumn), "\"'$,", ""));
             BigDecimal sumValBD = new BigDecimal(sumValueText);
@@ -878,33 +747,28 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
                 sumValue = sumValBD.intValue();
             }
 
-            String value = "";
+            value.setLength(0);
             for (String column : groupColumns) {
-                value += (StringUtils.isNotEmpty(value) ? CSV_FIELD_DEIM : "") + record.getString(column);
-                if (sums.containsKey(value)) {
-                    Number currentSum = sums.get(value);
-                    if (currentSum instanceof Integer && sumValue instanceof Integer) {
-                        sums.put(value, sumValue.intValue() + currentSum.intValue());
-                    } else {
-                        if (sumValue instanceof BigDecimal) {
-                            sums.put(value, ((BigDecimal) sumValue).add(BigDecimal.valueOf(currentSum.doubleValue())));
-                        } else {
-                            sums.put(value, BigDecimal.valueOf(sumValue.doubleValue())
-                                                      .add(BigDecimal.valueOf(currentSum.doubleValue())));
-                        }
+                if (value.length() > 0) { value.append(CSV_FIELD_DEIM); }
+                value.append(record.getString(column));
+                sums.merge(value.toString(), sumValue, (currentSum, newValue) -> {
+                    if (currentSum instanceof Integer && newValue instanceof Integer) {
+                        return newValue.intValue() + currentSum.intValue();
                     }
-                } else {
-                    sums.put(value, sumValue);
-                }
+                    if (newValue instanceof BigDecimal) {
+                        return ((BigDecimal) newValue).add(BigDecimal.valueOf(currentSum.doubleValue()));
+                    }
+                    return BigDecimal.valueOf(newValue.doubleValue()).add(BigDecimal.valueOf(currentSum.doubleValue()));
+                });
             }
         });
 
         StringBuilder groupCsv = new StringBuilder(TextUtils.toString(groupColumns, CSV_FIELD_DEIM, "", "") +
                                                    CSV_FIELD_DEIM + "Sum" + CSV_ROW_SEP);
-        sums.forEach((value, sum) -> {
-            int numMissingDelim = groupColumns.length - StringUtils.countMatches(value, CSV_FIELD_DEIM) - 1;
+        new TreeMap<>(sums).forEach((group, sum) -> {
+            int numMissingDelim = groupColumns.length - StringUtils.countMatches(group, CSV_FIELD_DEIM) - 1;
             String sumString = sum + "";
-            groupCsv.append(value).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim))
+            groupCsv.append(group).append(StringUtils.repeat(CSV_FIELD_DEIM, numMissingDelim))
                     .append(CSV_FIELD_DEIM)
                     .append(sumString).append(CSV_ROW_SEP);
         });
@@ -957,7 +821,7 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         if (data == null || data.getValue() == null) { return text; }
 
         if (ArrayUtils.getLength(parameters) < 2) {
-            text.setValue(data.textValue);
+            text.setValue(data.getTextValue());
         } else {
             String surroundWith = parameters[0];
             String[] onColumns = ArrayUtils.remove(parameters, 0);
@@ -1088,6 +952,25 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         return indices;
     }
 
+    /** keep only the columns (of the headers and every record) of which the position matches {@code retained} */
+    protected T retainColumnsAt(T data, IntPredicate retained) {
+        List<String> headers = data.getHeaders();
+        List<String> retainedHeaders = data.isHeader() && headers != null ?
+                                       Arrays.asList(retainValues(headers.toArray(new String[0]), retained)) : null;
+        data.reset(retainedHeaders, toValues(data.getValue(), row -> retainValues(row.getValues(), retained)));
+        return data;
+    }
+
+    protected static String[] retainValues(String[] values, IntPredicate retained) {
+        return IntStream.range(0, values.length).filter(retained).mapToObj(i -> values[i]).toArray(String[]::new);
+    }
+
+    protected static List<String[]> toValues(List<Record> records, Function<Record, String[]> mapper) {
+        List<String[]> values = new ArrayList<>(records.size());
+        records.forEach(record -> values.add(mapper.apply(record)));
+        return values;
+    }
+
     protected void assertValidColumns(T data, String[] columns) throws TypeConversionException {
         Object[] invalidColumns = Arrays.stream(columns).filter(column -> !data.hasHeader(column)).toArray();
         boolean columnNotFound = ArrayUtils.isNotEmpty(invalidColumns);
@@ -1097,42 +980,28 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
     }
 
     protected T mergeWithoutHeaders(T data, CsvDataType mergeFrom) {
-        StringBuilder toBuffer = new StringBuilder();
-
-        String toDelim = data.getDelim();
-        String toRecordDelim = data.getRecordDelim();
         List<Record> toRecords = data.getValue();
         int toColumnCount = data.getColumnCount();
-
-        String fromDelim = mergeFrom.getDelim();
         List<Record> fromRecords = mergeFrom.getValue();
 
+        List<String[]> merged = new ArrayList<>(Math.max(toRecords.size(), fromRecords.size()));
+
         // merge all `mergeFrom` records into `data`
         for (int i = 0; i < fromRecords.size(); i++) {
-            Record fromRecord = fromRecords.get(i);
-
+            // missing rows of `data` are filled with empty cells
+            String[] toValues = new String[toColumnCount];
             if (toRecords.size() > i) {
-                Record toRecord = toRecords.get(i);
-                toBuffer.append(TextUtils.toString(toRecord.getValues(), toDelim, "", ""));
+                toValues = toRecords.get(i).getValues();
             } else {
-                toBuffer.append(StringUtils.repeat(toDelim, toColumnCount - 1));
+                Arrays.fill(toValues, "");
             }
-
-            toBuffer.append(toDelim)
-                    .append(TextUtils.toString(fromRecord.getValues(), fromDelim, "", ""))
-                    .append(toRecordDelim);
+            merged.add(ArrayUtils.addAll(toValues, fromRecords.get(i).getValues()));
         }
 
         // in case `data` has more rows, we'll add them verbatim
-        if (toRecords.size() > fromRecords.size()) {
-            for (int i = fromRecords.size(); i < toRecords.size(); i++) {
-                toBuffer.append(TextUtils.toString(toRecords.get(i).getValues(), toDelim, "", ""))
-                        .append(toRecordDelim);
-            }
-        }
+        for (int i = fromRecords.size(); i < toRecords.size(); i++) { merged.add(toRecords.get(i).getValues()); }
 
-        data.setTextValue(StringUtils.removeEnd(toBuffer.toString(), toRecordDelim));
-        data.parse();
+        data.reset(null, merged);
         return data;
     }
 
@@ -1425,6 +1294,36 @@ public class CsvTransformer<T extends CsvDataType> extends Transformer<CsvDataTy
         return new ListDataType(TextUtils.toString(array, delim, "", ""), delim);
     }
 
+    /**
+     * positions (in ascending order) of the rows matching all {@code filters}. When possible, candidate rows are
+     * narrowed down via the column index of the first equality-based filter so that the remaining filters are only
+     * evaluated against these candidates, instead of against every row.
+     */
+    @NotNull
+    private List<Integer> findMatches(T data, List<NexialFilter> filters, boolean firstOnly) {
+        List<Record> rows = data.getValue();
+
+        List<Integer> candidates = null;
+        for (NexialFilter filter : filters) {
+            if (filter == null || filter.isAnySubject()) { continue; }
+            candidates = data.findRows(filter.getSubject(), filter.getEqualityKeys());
+            if (candidates != null) { break; }
+        }
+
+        List<Integer> matched = new ArrayList<>();
+        int count = candidates == null ? rows.size() : candidates.size();
+        for (int i = 0; i < count; i++) {
+            int position = candidates == null ? i : candidates.get(i);
+            Record row = rows.get(position);
+            if (filters.stream().allMatch(filter -> matchFilter(row, filter))) {
+                matched.add(position);
+                if (firstOnly) { break; }
+            }
+        }
+
+        return matched;
+    }
+
     private boolean matchFilter(Record row, NexialFilter filter) {
         if (row == null) { return false; }
         if (filter == null) { return true; }
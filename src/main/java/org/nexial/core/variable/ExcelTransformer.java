@@ -45,6 +45,7 @@ import org.nexial.core.model.ExecutionContext;
 import org.nexial.core.utils.ConsoleUtils;
 
 public class ExcelTransformer<T extends ExcelDataType> extends Transformer {
+    public static final String CSV_RECORD_DELIM = "\r\n";
     private static final Map<String, Integer> FUNCTION_TO_PARAM = discoverFunctions(ExcelTransformer.class);
     private static final Map<String, Method> FUNCTIONS = toFunctionMap(FUNCTION_TO_PARAM,
                                                                        ExcelTransformer.class,
@@ -291,12 +292,20 @@ public class ExcelTransformer<T extends ExcelDataType> extends Transformer {
 
         ExecutionContext context = ExecutionThread.get();
         String delim = context == null ? "," : context.getTextDelim();
-        String recordDelim = "\r\n";
 
-        String csvBuffer = TextUtils.toCsvContent(capturedValues, delim, recordDelim);
+        String csvBuffer = TextUtils.toCsvContent(capturedValues, delim, CSV_RECORD_DELIM);
+        return toCsv(StringUtils.removeEnd(csvBuffer, CSV_RECORD_DELIM), delim, withHeader);
+    }
 
-        CsvDataType csv = new CsvDataType(StringUtils.removeEnd(csvBuffer, recordDelim));
-        csv.setRecordDelim(recordDelim);
+    /**
+     * CSV data of {@code csvContent}, which is in the form of {@link #csv(ExcelDataType)}: records are separated by
+     * {@link #CSV_RECORD_DELIM}, without trailing record delimiter.
+     */
+    @NotNull
+    public static CsvDataType toCsv(String csvContent, String delim, boolean withHeader)
+        throws TypeConversionException {
+        CsvDataType csv = new CsvDataType(csvContent);
+        csv.setRecordDelim(CSV_RECORD_DELIM);
         csv.setDelim(delim);
         csv.setHeader(withHeader);
         csv.setReadyToParse(true);
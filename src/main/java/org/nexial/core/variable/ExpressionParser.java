@@ -18,6 +18,7 @@
 package org.nexial.core.variable;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.StringUtils;
 import org.nexial.commons.utils.RegexUtils;
 import org.nexial.commons.utils.TextUtils;
@@ -26,6 +27,7 @@ import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.variable.Expression.ExpressionFunction;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -36,6 +38,13 @@ import static org.nexial.core.variable.ExpressionConst.*;
 
 public class ExpressionParser {
     private static final String EXPRESSION_END_REGEX = "(\\s*)\\].*";
+    private static final int MAX_PARSED_CACHE_SIZE = 1000;
+    // larger expressions (such as those with inline content) are not worth keeping around
+    private static final int MAX_CACHEABLE_LENGTH = 8 * 1024;
+    // parsed syntax (data type, functions and parameters) per text delimiter and expression text
+    private static final Map<String, ParsedExpression> PARSED_CACHE =
+        Collections.synchronizedMap(new LRUMap<>(MAX_PARSED_CACHE_SIZE));
+    private static final ParsedExpression NOT_EXPRESSION = new ParsedExpression();
     private final ExecutionContext context;
     private final ExpressionDataTypeBuilder typeBuilder;
 
@@ -48,28 +57,54 @@ public class ExpressionParser {
 
     public Expression parse(String text, boolean syntaxOnly) throws TypeConversionException {
         if (StringUtils.isBlank(text)) { return null; }
-        if (!typeBuilder.isValidType(text)) { return null; }
 
-        List<String> typeGrouping = typeBuilder.parseExpressionGroups(text);
-        if (CollectionUtils.size(typeGrouping) != 4) { return null; }
+        // the syntax of the same expression is parsed only once; data type is always created anew since its value
+        // might be derived from the current state of execution (data variables, files, etc.)
+        String delim = context.getTextDelim();
+        ParsedExpression parsed;
+        if (text.length() > MAX_CACHEABLE_LENGTH) {
+            parsed = parseSyntax(text, delim);
+        } else {
+            String cacheKey = delim + "\n" + text;
+            parsed = PARSED_CACHE.get(cacheKey);
+            if (parsed == null) {
+                parsed = parseSyntax(text, delim);
+                PARSED_CACHE.put(cacheKey, parsed);
+            }
+        }
+        if (parsed == NOT_EXPRESSION) { return null; }
 
         // create data type
-        String datatype = StringUtils.trim(typeGrouping.get(0));
-        String dataValue = StringUtils.trim(typeGrouping.get(1));
-        dataValue = StringUtils.removeStart(dataValue, DATATYPE_START);
-        dataValue = StringUtils.removeEnd(dataValue, DATATYPE_END);
-        if (StringUtils.equals(dataValue, "null")) { dataValue = null; }
         ExpressionDataType dataType = null;
         try {
-            dataType = typeBuilder.newDataType(datatype, dataValue);
+            dataType = typeBuilder.newDataType(parsed.dataType, parsed.dataValue);
         } catch (TypeConversionException e) {
             if (!syntaxOnly) { throw e; }
         }
 
         Expression expr = new Expression();
         expr.setDataType(dataType);
+        // function parameters might be supplemented during evaluation; hence a copy per evaluation
+        parsed.functions.forEach(function -> expr.addFunction(
+            new ExpressionFunction(function.getFunctionName(), new ArrayList<>(function.getParams()))));
+        expr.appendOriginalExpression(parsed.originalExpression);
+        return expr;
+    }
+
+    private ParsedExpression parseSyntax(String text, String delim) {
+        if (!typeBuilder.isValidType(text)) { return NOT_EXPRESSION; }
+
+        List<String> typeGrouping = typeBuilder.parseExpressionGroups(text);
+        if (CollectionUtils.size(typeGrouping) != 4) { return NOT_EXPRESSION; }
+
+        ParsedExpression expr = new ParsedExpression();
+        expr.dataType = StringUtils.trim(typeGrouping.get(0));
+        String dataValue = StringUtils.trim(typeGrouping.get(1));
+        dataValue = StringUtils.removeStart(dataValue, DATATYPE_START);
+        dataValue = StringUtils.removeEnd(dataValue, DATATYPE_END);
+        if (StringUtils.equals(dataValue, "null")) { dataValue = null; }
+        expr.dataValue = dataValue;
 
-        String delim = context.getTextDelim();
         String EXPR_PARAM_DELIM = " %% ";
 
         text = preFunctionParsingSubstitution(typeGrouping.get(3));
@@ -99,7 +134,7 @@ public class ExpressionParser {
                          .map(ExpressionParser::removeEscapes)
                          .collect(Collectors.toList());
 
-            expr.addFunction(new ExpressionFunction(functionName, params));
+            expr.functions.add(new ExpressionFunction(functionName, params));
 
             // recollecting all the functions as for textual representation
 
@@ -159,7 +194,7 @@ public class ExpressionParser {
         // constructed original expression which will replaced after evaluation
         String fragment = typeGrouping.get(0) + typeGrouping.get(1) + typeGrouping.get(2) +
                           postFunctionParsingSubstitution(newText.toString(), false);
-        expr.appendOriginalExpression(fragment);
+        expr.originalExpression = fragment;
         return expr;
     }
 
@@ -286,4 +321,12 @@ public class ExpressionParser {
         }
         return text;
     }
+
+    /** syntax of an expression, as parsed from its text */
+    private static final class ParsedExpression {
+        private String dataType;
+        private String dataValue;
+        private final List<ExpressionFunction> functions = new ArrayList<>();
+        private String originalExpression;
+    }
 }
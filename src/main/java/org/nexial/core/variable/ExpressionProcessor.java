@@ -52,7 +52,8 @@ public class ExpressionProcessor {
             asString = "";
         }
         text = StringUtils.replace(text, expr.getOriginalExpression(), asString);
-        return parser.getTypeBuilder().isValidType(text) ? process(text) : text;
+        // parse() determines (and caches) whether there's any more expression to process
+        return process(text);
     }
 
     protected ExpressionDataType evaluate(ExpressionDataType data, ExpressionFunction function)
@@ -25,6 +25,7 @@ import org.nexial.commons.utils.TextUtils;
 import org.nexial.core.ExecutionThread;
 import org.nexial.core.logs.StepErrors;
 import org.nexial.core.model.ExecutionContext;
+import org.nexial.core.model.ExecutionVariables;
 import org.nexial.core.model.Macro;
 import org.nexial.core.utils.ConsoleUtils;
 import org.nexial.core.utils.OutputFileUtils;
@@ -224,7 +225,7 @@ public class ProjectFile {
 
     private String generateHtmlHeader() {
         return "<html>" +
-               "<header><title>Execution Error for " + System.getProperty(OPT_PROJECT_NAME) + "</title></head>" +
+               "<header><title>Execution Error for " + ExecutionVariables.getProperty(OPT_PROJECT_NAME) + "</title></head>" +
                "<body>";
     }
 
@@ -33,18 +33,24 @@ import org.nexial.core.variable.Expression.ExpressionFunction;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.nexial.core.NexialConst.DEF_FILE_ENCODING;
 
 public abstract class Transformer<T extends ExpressionDataType> {
     private static final String REGEX_CAMEL_CASE = "([0-9a-z])([A-Z])";
+    // all functions invoked as (transformer, Object[] args) -> outcome; bound once as the transformers are loaded
+    private static final MethodType FUNCTION_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Map<Method, MethodHandle> FUNCTION_HANDLES = new ConcurrentHashMap<>();
 
     public boolean isValidFunction(ExpressionFunction function) {
         if (function == null) { return false; }
@@ -112,23 +118,29 @@ public abstract class Transformer<T extends ExpressionDataType> {
             }
         }
 
+        Object outcome;
         try {
-            Object outcome = method.invoke(this, args);
-            if (outcome == null) { return null; }
-            if (!(outcome instanceof ExpressionDataType)) {
-                throw new ExpressionFunctionException(typeName, functionName, "Invalid data type after transformation");
-            }
-
-            // ExecutionContext context = ExecutionThread.get();
-            // if (context == null || StringUtils.isBlank(context.getRunId()) || context.isVerbose()) {
-            //     ConsoleUtils.log(msgPrefix + outcome);
-            // }
-
-            return (ExpressionDataType) outcome;
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            MethodHandle handle = FUNCTION_HANDLES.get(method);
+            outcome = handle != null ? (Object) handle.invokeExact((Object) this, args) : method.invoke(this, args);
+        } catch (Error e) {
+            // such as OutOfMemoryError or StackOverflowError; not a failure of this transformer
+            throw e;
+        } catch (Throwable e) {
             ConsoleUtils.error(msgPrefix + e.getMessage());
             throw new ExpressionFunctionException(typeName, functionName, e.getMessage(), e);
         }
+
+        if (outcome == null) { return null; }
+        if (!(outcome instanceof ExpressionDataType)) {
+            throw new ExpressionFunctionException(typeName, functionName, "Invalid data type after transformation");
+        }
+
+        // ExecutionContext context = ExecutionThread.get();
+        // if (context == null || StringUtils.isBlank(context.getRunId()) || context.isVerbose()) {
+        //     ConsoleUtils.log(msgPrefix + outcome);
+        // }
+
+        return (ExpressionDataType) outcome;
     }
 
     /**
@@ -236,6 +248,7 @@ public abstract class Transformer<T extends ExpressionDataType> {
                     if (method != null) {
                         methodMap.put(functionName, method);
                         methodMap.put(expandMethodName(functionName), method);
+                        bindFunctionHandle(method);
                     }
                 } catch (NoSuchMethodException e) {
                     String typeName = dataClass.getSimpleName();
@@ -249,6 +262,22 @@ public abstract class Transformer<T extends ExpressionDataType> {
         return methodMap;
     }
 
+    /**
+     * bind {@code method} as a {@link MethodHandle} so that it can be invoked without the reflection overhead of
+     * {@link Method#invoke(Object, Object...)}. Methods that cannot be bound are invoked via reflection instead.
+     */
+    private static void bindFunctionHandle(Method method) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                                               .asFixedArity()
+                                               .asSpreader(Object[].class, method.getParameterCount())
+                                               .asType(FUNCTION_TYPE);
+            FUNCTION_HANDLES.put(method, handle);
+        } catch (IllegalAccessException e) {
+            ConsoleUtils.log("Unable to bind " + method + "; will invoke via reflection instead: " + e.getMessage());
+        }
+    }
+
     protected static Map<String, Integer> discoverFunctions(Class<? extends Transformer> transformerClass) {
         if (transformerClass == null) { return null; }
 
@@ -20,6 +20,7 @@ package org.nexial.core
 import org.nexial.core.NexialConst.Data.SCOPE
 import org.nexial.core.NexialConst.Exec.*
 import org.nexial.core.NexialConst.OPT_MANAGE_MEM
+import org.nexial.core.NexialConst.OPT_REGEX_STATS
 import org.nexial.core.NexialConst.OUTPUT_TO_CLOUD
 import org.nexial.core.NexialConst.Web.*
 
@@ -36,7 +37,7 @@ object CommandConst {
 
     private val NON_ITERABLE_VARS = listOf(
         ENABLE_EMAIL, POST_EXEC_MAIL_TO, POST_EXEC_EMAIL_SUBJECT, POST_EXEC_EMAIL_HEADER, POST_EXEC_EMAIL_FOOTER,
-        OPT_MANAGE_MEM,
+        OPT_MANAGE_MEM, OPT_REGEX_STATS,
         WPS_EXE_LOCATION,
         OUTPUT_TO_CLOUD,
         GENERATE_EXEC_REPORT, OPT_OPEN_RESULT, OPT_OPEN_EXEC_REPORT,
@@ -493,6 +493,7 @@ class NexialInteractive : ConnectedEventListener, CloseEventListener {
 			if (activity != null) {
 				val activitySummary = resetActivityExecutionSummary(session, activity)
 				allPass = activity.execute()
+				activity.writeResults()
 				parentSummary!!.addNestSummary(activitySummary)
 			}
 		}
@@ -554,7 +555,8 @@ class NexialInteractive : ConnectedEventListener, CloseEventListener {
 
 				// special treatment for `base.section()`
 				if (StringUtils.equals(commandFQN, CMD_SECTION)) {
-					ExcelStyleHelper.formatSectionDescription(testStep)
+					testStep.writeResult(scenario.worksheet)
+					ExcelStyleHelper.formatSectionDescription(scenario.worksheet, testStep)
 
 					// now, jolt down all the steps we need to skip since this section is now SKIPPED
 					// `testStep.getParams().get(0)` represents the number of steps of this `section`
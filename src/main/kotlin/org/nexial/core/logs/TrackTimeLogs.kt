@@ -72,7 +72,7 @@ class TrackTimeLogs {
             val scriptName = StringUtils.substringBeforeLast(
                 StringUtils.substringAfterLast(context.execDef.testScript, "\\"),
                 ".")
-            val scenario = testStep.worksheet.name
+            val scenario = testStep.sheetName
             label = "$scriptName#$scenario"
         }
 
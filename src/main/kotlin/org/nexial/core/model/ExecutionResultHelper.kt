@@ -198,7 +198,10 @@ class ExecutionResultHelper(
 
 		val macroExecutor = testStep.getMacroExecutor() ?: return Pair(currentRow, lastDataRow)
 		val macroSteps = macroExecutor.testSteps
-		if (CollectionUtils.isNotEmpty(macroSteps)) {
+		val macroSheet = macroExecutor.macroSheet
+		if (CollectionUtils.isNotEmpty(macroSteps) && macroSheet != null) {
+			macroExecutor.writeResults()
+
 			val stepSize = macroSteps.size
 			if (lastDataRow == currentRow) lastDataRow++
 
@@ -244,7 +247,7 @@ class ExecutionResultHelper(
 					sectionEndIndex = -1
 				}
 
-				copyMacroSteps(macroStep, currentRow++ + 1, lastDataRow, isRepeatUntil)
+				copyMacroSteps(macroStep, macroSheet, currentRow++ + 1, lastDataRow, isRepeatUntil)
 				mergeVerboseOutput(macroStep, currentRow)
 
 				lastDataRow++
@@ -278,11 +281,14 @@ class ExecutionResultHelper(
 		row.getCell(COL_IDX_PARAMS_START + 2).setCellValue("")
 	}
 
-	private fun copyMacroSteps(macroStep: TestStep?, startRow: Int, endRowIndex: Int, isRepeatUntil: Boolean) {
+	private fun copyMacroSteps(
+		macroStep: TestStep, macroSheet: Worksheet, startRow: Int, endRowIndex: Int,
+		isRepeatUntil: Boolean,
+	) {
 		worksheet.shiftRows(startRow, endRowIndex, 1)
 		val sheet = worksheet.sheet
 		val workbook = sheet.workbook
-		val oldRow = macroStep!!.getRow() ?: return
+		val oldRow = macroStep.resolveRow(macroSheet)
 		val newRow = sheet.getRow(startRow) ?: sheet.createRow(startRow)
 
 		for (i in 0 until COL_IDX_REASON) {
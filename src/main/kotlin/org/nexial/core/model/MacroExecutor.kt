@@ -28,7 +28,6 @@ import org.nexial.core.CommandConst.CMD_SECTION
 import org.nexial.core.CommandConst.CMD_VERBOSE
 import org.nexial.core.ExecutionThread
 import org.nexial.core.NexialConst.*
-import org.nexial.core.NexialConst.Data.DEF_OPEN_EXCEL_AS_DUP
 import org.nexial.core.NexialConst.Data.MACRO_INVOKED_FROM
 import org.nexial.core.NexialConst.LogMessage.ERROR_LOG
 import org.nexial.core.excel.Excel
@@ -43,6 +42,7 @@ import org.nexial.core.utils.ConsoleUtils
 import org.nexial.core.utils.ExecUtils.isRunningInZeroTouchEnv
 import org.nexial.core.utils.FlowControlUtils
 import org.nexial.core.utils.MessageUtils
+import org.nexial.core.utils.ParsedFileCache
 import java.io.File
 import java.io.IOException
 
@@ -55,10 +55,12 @@ class MacroExecutor(private val initialTestStep: TestStep, val macro: Macro,
                     val input: Map<String, String> = hashMapOf(), val output: Map<String, String> = hashMapOf()) {
 
     var macroExcel: Excel? = null
-    private var macroSheet: Worksheet? = null
+    var macroSheet: Worksheet? = null
+        private set
     val context: ExecutionContext = ExecutionThread.get()
     var testSteps: MutableList<TestStep> = mutableListOf()
     var stepCount = 0
+    private val skippedSections = mutableListOf<TestStep>()
 
     fun start(): StepResult {
         val logger = context.getLogger()
@@ -117,7 +119,7 @@ class MacroExecutor(private val initialTestStep: TestStep, val macro: Macro,
                 // if macro step is part of repeat until and is skipped don't reduce total steps
                 if (!initialTestStep.macroPartOfRepeatUntil) activitySummary.adjustTotalSteps(-1)
                 if (testStep.commandFQN == CMD_SECTION) {
-                    ExcelStyleHelper.formatSectionDescription(testStep)
+                    skippedSections.add(testStep)
                     val numOfSteps = testStep.formatSkippedSections(testSteps, i, true)
                     i += numOfSteps
                     // if macro step is part of repeat until and is skipped don't reduce total steps
@@ -226,7 +228,9 @@ class MacroExecutor(private val initialTestStep: TestStep, val macro: Macro,
 
         // open specified sheet
         // try stylesheet to false
-        macroExcel = Excel(macroFile, DEF_OPEN_EXCEL_AS_DUP, true)
+        // the macro library is read once and shared across invocations (until it is changed); each invocation still
+        // gets its own workbook since the execution results are written to the macro steps
+        macroExcel = Excel(macroFile, ParsedFileCache.open(macroFile), true)
         macroSheet = macroExcel!!.worksheet(macro.sheet)
         if (macroSheet == null) {
             throw IOException("Unable to read macro sheet '${macro.sheet}' from file '${macroFile.absolutePath}'")
@@ -240,18 +244,18 @@ class MacroExecutor(private val initialTestStep: TestStep, val macro: Macro,
         for (macroRow in macroStepArea) {
             val currentMacroName = Excel.getCellValue(macroRow[COL_IDX_TESTCASE])
 
-            val testStep = TestStep(initialTestStep.testCase, macroRow, macroSheet)
+            // only the steps of the target macro are parsed; other macros of the same sheet are skipped over
             val macroName = macro.macroName
             if (currentMacroName == macroName) {
                 macroFound = true
+                val testStep = TestStep(initialTestStep.testCase, macroRow, macroSheet)
                 testStep.macro = macro
-                // setting macro name to empty for the first cell so that activity cell formatting avoided
-                testStep.row[COL_IDX_TESTCASE].setCellValue("")
                 testSteps.add(testStep)
                 continue
             }
             if (macroFound) {
                 if (StringUtils.isBlank(currentMacroName)) {
+                    val testStep = TestStep(initialTestStep.testCase, macroRow, macroSheet)
                     testStep.macro = macro
                     testSteps.add(testStep)
                 } else {
@@ -278,6 +282,18 @@ class MacroExecutor(private val initialTestStep: TestStep, val macro: Macro,
         // return MACRO_CACHE.get(macroKey);
     }
 
+    /**
+     * write the buffered results of the macro steps to the macro sheet, from where they are copied into the output
+     */
+    fun writeResults() {
+        val sheet = macroSheet ?: return
+        testSteps.forEach {
+            it.writeResult(sheet)
+            if (it.isCommandRepeater && it.commandRepeater != null) it.commandRepeater.writeResults(sheet)
+        }
+        skippedSections.forEach { ExcelStyleHelper.formatSectionDescription(sheet, it) }
+    }
+
     @Throws(IOException::class)
     fun resolveMacroFile(file: String): File {
         // first, try it as is
@@ -24,7 +24,9 @@ import org.nexial.commons.utils.RegexUtils
 import org.nexial.commons.utils.TextUtils
 import org.nexial.core.NexialConst.*
 import org.nexial.core.NexialConst.Rdbms.DAO_PREFIX
+import org.nexial.core.excel.ExcelAddress
 import org.nexial.core.excel.ExcelConfig.MSG_SCREENCAPTURE
+import org.nexial.core.excel.ExcelStreamReader
 import org.nexial.core.model.ExecutionContext
 import org.nexial.core.model.StepResult
 import org.nexial.core.plugins.base.BaseCommand
@@ -32,9 +34,10 @@ import org.nexial.core.plugins.io.CsvParserBuilder
 import org.nexial.core.utils.CheckUtils.requiresNotBlank
 import org.nexial.core.utils.CheckUtils.requiresReadableFile
 import org.nexial.core.utils.OutputFileUtils
+import org.nexial.core.variable.ExcelTransformer.CSV_RECORD_DELIM
 import java.io.File
 import java.io.StringReader
-import java.sql.SQLException
+import java.io.StringWriter
 
 /**
  * The concept of "localdb" is to maintain a database within a Nexial installation, with its data stay persisted and
@@ -75,12 +78,10 @@ class LocalDbCommand : BaseCommand() {
     fun purge(`var`: String): StepResult {
         requiresValidAndNotReadOnlyVariableName(`var`)
 
-        try {
-            context.removeData(DAO_PREFIX + dbName)
-            dao.dataSource?.connection?.close()
-        } catch (e: SQLException) {
-            // probably not yet connected... ignore
-        }
+        // close all pooled connections to the localdb file before deleting it
+        context.removeData(DAO_PREFIX + dbName)
+        dao.close()
+        rdbms.dataAccess.closeDataSource(dao)
 
         val deleted = FileUtils.deleteQuietly(File(dbFile))
         context.setData(`var`, deleted)
@@ -156,8 +157,25 @@ class LocalDbCommand : BaseCommand() {
         requiresNotBlank(table, "invalid target table name", table)
 
         val buffer = StringBuilder()
-        StringUtils.split(ranges, context.textDelim).forEach {
-            buffer.append(context.replaceTokens("[EXCEL($excel) => read($sheet,$it) csv text]\n"))
+        val excelFile = File(excel)
+        val streamable = ExcelStreamReader.isStreamable(excelFile)
+        if (streamable) {
+            // read only the requested ranges, rather than loading the entire workbook
+            ExcelStreamReader(excelFile).use { reader ->
+                if (reader.hasWorksheet(sheet)) {
+                    StringUtils.split(ranges, context.textDelim).forEach {
+                        val csv = StringWriter()
+                        reader.writeCsv(sheet, ExcelAddress(it), context.textDelim, CSV_RECORD_DELIM, csv)
+                        buffer.append(csv).append("\n")
+                    }
+                }
+            }
+        }
+
+        if (!streamable || buffer.isEmpty()) {
+            StringUtils.split(ranges, context.textDelim).forEach {
+                buffer.append(context.replaceTokens("[EXCEL($excel) => read($sheet,$it) csv text]\n"))
+            }
         }
 
         return importCSV(`var`, buffer.toString(), table)
@@ -186,22 +204,25 @@ class LocalDbCommand : BaseCommand() {
             .setMaxColumnWidth(context.getIntData(CSV_MAX_COLUMN_WIDTH, -1))
             .build()
 
-        // 3. parse csv and resolve csv metadata
-        val csvRecords = parser.parseAllRecords(StringReader(csvContent))
+        // 3. stream csv records and resolve csv metadata
+        parser.beginParsing(StringReader(csvContent))
+        val firstRecord = parser.parseNext()
         val headers = parser.recordMetadata.headers().asList()
 
-        val queries = StringBuilder()
-
         // 4. if target table not exist, create it
         val tableInfo = dao.executeSqls(SqlComponent.toList(
             "SELECT name, \"notnull\" AS 'not_null', dflt_value FROM pragma_table_info('$table') ORDER BY cid;" +
-            "SELECT upper(name) || '=' || dflt_value AS 'defaults' FROM pragma_table_info('$table') WHERE dflt_value IS NOT NULL"))
+            "SELECT upper(name) || '=' || dflt_value AS 'defaults' FROM pragma_table_info('$table') " +
+            "WHERE dflt_value IS NOT NULL"))
 
         val columns = if (tableInfo.rowCount < 1) {
             // target table does not exist, let's create it
-            val tableGenerator = SqliteTableSqlGenerator(table)
-            queries.append(tableGenerator.generateSql(headers)).append("\n")
-            TextUtils.toString(headers.map { treatColumnName(it) }, ",")
+            val ddlResult = dao.executeSql(SqliteTableSqlGenerator(table).generateSql(headers), null)
+            if (ddlResult.hasError()) {
+                context.setData(`var`, ddlResult)
+                return StepResult.fail("Error occurred while creating new table '$table': ${ddlResult.error}")
+            }
+            headers.map { treatColumnName(it) }
         } else {
             // target table exist, let's map out its columns
             val definedColumns = tableInfo[0].cells("name")
@@ -213,14 +234,13 @@ class LocalDbCommand : BaseCommand() {
             val normalizedDefinedColumns = definedColumns.map { it.toString().lowercase() }.sorted()
             val normalizedCsvHeaders = headers.map { it.lowercase() }.sorted()
 
-            TextUtils.toString(
-                if (normalizedDefinedColumns.containsAll(normalizedCsvHeaders)) {
-                    // all CSV headers are found as column name in the existing table. We'll use name-matching mapping
-                    headers
-                } else {
-                    // not all CSV headers are found in existing table as column. We'll use left-to-right mapping
-                    definedColumns.subList(0, headers.size)
-                }.map { treatColumnName(it.toString()) }, ",")
+            if (normalizedDefinedColumns.containsAll(normalizedCsvHeaders)) {
+                // all CSV headers are found as column name in the existing table. We'll use name-matching mapping
+                headers
+            } else {
+                // not all CSV headers are found in existing table as column. We'll use left-to-right mapping
+                definedColumns.subList(0, headers.size)
+            }.map { treatColumnName(it.toString()) }
         }
 
         val defaultValues = if (tableInfo.rowCount < 1)
@@ -232,34 +252,25 @@ class LocalDbCommand : BaseCommand() {
                 TextUtils.toMap(TextUtils.toString(tableInfo[1].cells("defaults"), ","), ",", "=")
         }
 
-        // 5. import data via INSERT generator
-        csvRecords.forEach { record ->
-            queries.append("INSERT INTO $table ($columns) VALUES (")
-                .append(record.values.mapIndexed { index, value ->
-                    "'" + treatColumnValue(
-                        if (StringUtils.isEmpty(value)) defaultValues[headers[index].lowercase()] ?: value
-                        else value
-                    ) + "'"
-                }.joinToString(separator = ","))
-                .append(");\n")
+        // 5. import data via batched INSERT, one record at a time from the parser
+        val records = generateSequence(firstRecord) { parser.parseNext() }.map { record ->
+            Array(record.size) { index ->
+                val value = record[index]
+                if (StringUtils.isEmpty(value))
+                    headers.getOrNull(index)?.let { defaultValues[it.lowercase()] } ?: value
+                else
+                    value
+            }
         }
 
-        // 6. execute generated queries
-        val result = dao.executeSqls(SqlComponent.toList(queries.toString()))
+        val result = dao.bulkInsert(table, columns, records.iterator())
         context.setData(`var`, result)
-        return if (StringUtils.isNotBlank(result.error)) {
-            if (result[0].hasError())
-                StepResult.fail("Error occurred while creating new table '$table': ${result[0].error}")
-            else
-                StepResult.fail("Error occurred while importing CSV to '$table': ${result.error}")
-        } else {
-            val rowsInserted = result.rowsAffected - if (result.size > csvRecords.size) result[0].rowCount else 0
-            return StepResult.success("Successfully imported $rowsInserted rows from CSV to '$table'")
-        }
+        return if (result.hasError())
+            StepResult.fail("Error occurred while importing CSV to '$table': ${result.error}")
+        else
+            StepResult.success("Successfully imported ${result.rowCount} rows from CSV to '$table'")
     }
 
-    private fun treatColumnValue(value: String?) = StringUtils.replace(value, "'", "''")
-
     // handle column names with spaces or commas
     private fun treatColumnName(column: String) = when {
         StringUtils.isEmpty(column)                         -> "\"\""
@@ -24,6 +24,7 @@ import org.nexial.commons.utils.FileUtil
 import org.nexial.commons.utils.TextUtils
 import org.nexial.core.excel.Excel
 import org.nexial.core.excel.ExcelAddress
+import org.nexial.core.excel.ExcelStreamWriter
 import org.nexial.core.model.ExecutionContext
 import java.io.BufferedOutputStream
 import java.io.File
@@ -240,30 +241,35 @@ class ExcelExporter(private val nullValue: String,
 
         val excel = if (FileUtil.isFileReadable(output)) Excel(output, false, false) else Excel.newExcel(output)
         val worksheet = excel.worksheet(sheet, true)
-        val addr = startAddress
+        val startRow = startAddress.rowStartIndex
+        val startColumn = startAddress.columnStartIndex
 
-        // construct header
-        if (header) {
-            worksheet.writeAcross(addr, listOf<List<String>>(columns))
-            addr.advanceRow()
+        try {
+            if (ExcelStreamWriter.isAppendable(worksheet, startRow)) {
+                // rows are flushed to disk as they are written; memory usage stays flat regardless of result size
+                ExcelStreamWriter(excel, worksheet.name).use { writer ->
+                    var rowIndex = startRow
+                    if (header) writer.writeRow(rowIndex++, startColumn, columns)
+                    do {
+                        writer.writeRow(rowIndex++, startColumn, (1..columnCount).map { rs.getString(it) ?: nullValue })
+                        rowCount++
+                    } while (rs.next())
+                    writer.save()
+                }
+            } else {
+                // overwriting existing rows; only possible with the entire worksheet in memory
+                val rows = mutableListOf<List<String>>()
+                if (header) rows.add(columns)
+                do {
+                    rows.add((1..columnCount).map { rs.getString(it) ?: nullValue })
+                    rowCount++
+                } while (rs.next())
+                worksheet.writeAcross(startAddress, rows)
+            }
+        } finally {
+            excel.close()
         }
 
-        // recycle through all rows
-        do {
-            val row = (1..columnCount).map { rs.getString(it) ?: nullValue }
-            // val row = mutableListOf<String>()
-            // for (i in 1..columnCount) row += rs.getString(i) ?: nullValue
-            // worksheet.writeAcross(addr, listOf<List<String>>(row))
-
-            worksheet.writeAcross(addr, listOf(row))
-            addr.advanceRow()
-            rowCount++
-        } while (rs.next())
-
-        // worksheet.save()
-        excel.save()
-        excel.close()
-
         result.setRowCount(rowCount)
 
         return result
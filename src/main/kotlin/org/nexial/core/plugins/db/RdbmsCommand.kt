@@ -35,6 +35,9 @@ import org.nexial.core.utils.OutputFileUtils
 import java.io.File
 import java.io.File.separator
 import java.io.IOException
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 
 class RdbmsCommand : BaseCommand() {
 
@@ -68,6 +71,7 @@ class RdbmsCommand : BaseCommand() {
                 "\t- result saved as \${${`var`}}")
         } finally {
             unsetSslCert()
+            logPoolMetrics(db)
         }
 
         return StepResult.success("executed SQL '$sql'; stored result as \${$`var`}")
@@ -106,6 +110,7 @@ class RdbmsCommand : BaseCommand() {
             StepResult.fail("Error executing runSQLs(${`var`}, $sqls): ${e.message}")
         } finally {
             unsetSslCert()
+            logPoolMetrics(db)
         }
     }
 
@@ -136,8 +141,12 @@ class RdbmsCommand : BaseCommand() {
         val qualifiedSqlList = parseSQLs(db, sqls)
         val msgPrefix = "executed ${qualifiedSqlList.size} SQL(s);"
 
+        var pending: List<Future<JdbcResult>>? = null
         try {
-            for (sqlComponent in qualifiedSqlList) {
+            // independent queries are executed at the same time, but their results are still handled in order
+            pending = submitConcurrently(dao, qualifiedSqlList, outDir)
+
+            for ((index, sqlComponent) in qualifiedSqlList.withIndex()) {
                 val sql = context.replaceTokens(StringUtils.trim(sqlComponent.sql))
                 val printableSql = if (StringUtils.length(sql) > maxSqlDisplayLength)
                     StringUtils.right(sql, maxSqlDisplayLength) + "..."
@@ -145,15 +154,14 @@ class RdbmsCommand : BaseCommand() {
                     sql
 
                 if (StringUtils.isNotBlank(sqlComponent.varName)) {
-                    val varName = context.replaceTokens(sqlComponent.varName)
-                    val outFile = StringUtils.appendIfMissing(OutputFileUtils.webFriendly(varName), ".csv")
-                    val targetFile = File(StringUtils.appendIfMissing(File(outDir).absolutePath, separator) + outFile)
-                    if (!handleResult(dao, sql, targetFile))
+                    val targetFile = toOutputFile(outDir, sqlComponent.varName)
+                    val result = if (pending != null) pending[index].get() else dataAccess.execute(sql, dao, targetFile)
+                    if (!handleResult(result, sql, targetFile))
                         return StepResult.fail("FAILED TO EXECUTE SQL '$printableSql': no result")
                 } else {
                     // not saving result anywhere since this SQL is not mapped to any variable
                     log("executing $printableSql without saving its result")
-                    dao.executeSql(sql, null)
+                    if (pending != null) pending[index].get() else dao.executeSql(sql, null)
                 }
             }
 
@@ -161,10 +169,48 @@ class RdbmsCommand : BaseCommand() {
         } catch (e: Exception) {
             return StepResult.fail("Error executing saveResults($db, $sqls, $outputDir): ${e.message}")
         } finally {
+            pending?.forEach { it.cancel(true) }
             unsetSslCert()
+            logPoolMetrics(db)
         }
     }
 
+    /**
+     * start executing [sqls] at the same time (see [SimpleExtractionDao.resolveQueryParallelism]), each saving its
+     * result the same way as [saveResults] would. Returns null if [sqls] should be executed one after another.
+     */
+    private fun submitConcurrently(dao: SimpleExtractionDao,
+                                   sqls: List<SqlComponent>,
+                                   outDir: String): List<Future<JdbcResult>>? {
+        val parallelism = dao.resolveQueryParallelism(sqls)
+        if (parallelism < 2) return null
+
+        val outputs = sqls.map { if (StringUtils.isNotBlank(it.varName)) toOutputFile(outDir, it.varName) else null }
+        // concurrent writes to the same file would clobber each other
+        val files = outputs.filterNotNull()
+        if (files.size != files.distinct().size) return null
+
+        log("executing ${sqls.size} SQL(s), up to $parallelism at a time")
+        val executor = Executors.newFixedThreadPool(parallelism)
+        try {
+            return sqls.mapIndexed { index, sqlComponent ->
+                val sql = context.replaceTokens(StringUtils.trim(sqlComponent.sql))
+                val output = outputs[index]
+                executor.submit(Callable {
+                    if (output == null) dao.executeSql(sql, null) else dataAccess.execute(sql, dao, output)
+                })
+            }
+        } finally {
+            // submitted queries will continue to completion
+            executor.shutdown()
+        }
+    }
+
+    private fun toOutputFile(outDir: String, varName: String): File {
+        val outFile = StringUtils.appendIfMissing(OutputFileUtils.webFriendly(context.replaceTokens(varName)), ".csv")
+        return File(StringUtils.appendIfMissing(File(outDir).absolutePath, separator) + outFile)
+    }
+
     fun saveResult(db: String, sql: String, output: String): StepResult {
         requiresNotBlank(db, "invalid db", db)
         requiresNotBlank(sql, "invalid sql", sql)
@@ -187,6 +233,7 @@ class RdbmsCommand : BaseCommand() {
             StepResult.fail("Error executing saveResult($db, $sql, $output): ${e.message}")
         } finally {
             unsetSslCert()
+            logPoolMetrics(db)
         }
     }
 
@@ -350,8 +397,11 @@ class RdbmsCommand : BaseCommand() {
         return OutputFileUtils.resolveRawContent(fileOrContent, context)
     }
 
-    private fun handleResult(dao: SimpleExtractionDao, query: String?, saveTo: File): Boolean {
-        val result = dataAccess.execute(query, dao, saveTo) ?: return false
+    private fun handleResult(dao: SimpleExtractionDao, query: String?, saveTo: File): Boolean =
+        handleResult(dataAccess.execute(query, dao, saveTo), query, saveTo)
+
+    private fun handleResult(result: JdbcResult?, query: String?, saveTo: File): Boolean {
+        if (result == null) return false
 
         val displaySql = if (StringUtils.length(query) > maxSqlDisplayLength)
             StringUtils.right(query, maxSqlDisplayLength) + "..."
@@ -399,6 +449,14 @@ class RdbmsCommand : BaseCommand() {
         return file
     }
 
+    /** connection pool usage after this step, to help sizing the database load */
+    private fun logPoolMetrics(db: String) {
+        if (db.startsWith(NAMESPACE)) return
+        val dao = context.getObjectData(DAO_PREFIX + db) as? SimpleExtractionDao ?: return
+        val metrics = dataAccess.getPoolMetrics(dao)
+        if (StringUtils.isNotBlank(metrics)) log("connection pool '$db': $metrics")
+    }
+
     private fun unsetSslCert() {
         // done with connection... probably good idea to remove mongo-specific trust store to avoid SSL issue elsewhere
         System.clearProperty("javax.net.ssl.trustStore")
@@ -98,7 +98,7 @@ class ExternalCommand : BaseCommand() {
     fun runProgram(programPathAndParams: String): StepResult {
         requires(StringUtils.isNotBlank(programPathAndParams), "empty/null programPathAndParams")
 
-        val currentRow = context.currentTestStep.row[0].reference
+        val currentRow = context.currentTestStep.reference
         val outputFileName = "runProgram_$currentRow.log"
         context.setData(OPT_RUN_PROGRAM_OUTPUT, outputFileName)
         val fileName = Syspath().out("fullpath") + separator + outputFileName
@@ -118,7 +118,7 @@ class ExternalCommand : BaseCommand() {
     fun runProgramNoWait(programPathAndParams: String): StepResult {
         requires(StringUtils.isNotBlank(programPathAndParams), "empty/null programPathAndParams")
 
-        val currentRow = context.currentTestStep.row[0].reference
+        val currentRow = context.currentTestStep.reference
         val outputFileName = "runProgramNoWait_$currentRow.log"
         context.setData(OPT_RUN_PROGRAM_OUTPUT, outputFileName)
         val fileName = Syspath().out("fullpath") + separator + outputFileName
@@ -18,9 +18,14 @@
 package org.nexial.commons.utils;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
 import org.junit.Assert;
@@ -28,6 +33,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.nexial.core.NexialTestUtils;
 
+import static java.io.File.separator;
+import static org.nexial.core.NexialConst.DEF_CHARSET;
+import static org.nexial.core.NexialConst.TEMP;
+
 public class FileUtilTest {
     private static final String PACKAGE = StringUtils.replace(FileUtilTest.class.getPackage().getName(), ".", "/");
     private static final String CLASSNAME = FileUtilTest.class.getSimpleName();
@@ -67,6 +76,40 @@ public class FileUtilTest {
         Assert.assertTrue(FileUtil.isFileReadable(expectedFile.getAbsolutePath()));
     }
 
+    @Test
+    public void listFilesAndZip() throws Exception {
+        File base = new File(TEMP + CLASSNAME + "-listFiles");
+        File zipFile = new File(TEMP + CLASSNAME + "-listFiles.zip");
+        try {
+            FileUtils.writeStringToFile(new File(base, "a.txt"), "a", DEF_CHARSET);
+            FileUtils.writeStringToFile(new File(base, "b.log"), "b", DEF_CHARSET);
+            FileUtils.writeStringToFile(new File(base, "sub/c.txt"), "c", DEF_CHARSET);
+            FileUtils.forceMkdir(new File(base, "empty.txt"));
+
+            Assert.assertEquals(Collections.singletonList("a.txt"),
+                                toNames(FileUtil.listFiles(base.getAbsolutePath(), ".+\\.txt", false)));
+            Assert.assertEquals(Arrays.asList("a.txt", "c.txt"),
+                                toNames(FileUtil.listFiles(base.getAbsolutePath(), ".+\\.txt", true)));
+            Assert.assertEquals(Arrays.asList("a.txt", "b.log", "c.txt"),
+                                toNames(FileUtil.listFiles(base.getAbsolutePath(), "", true)));
+            Assert.assertTrue(FileUtil.listFiles(base.getAbsolutePath() + "/nonexistent", "", true).isEmpty());
+
+            FileUtil.zip(base.getAbsolutePath(), zipFile.getAbsolutePath(), 2);
+            try (ZipFile zip = new ZipFile(zipFile)) {
+                Assert.assertEquals(3, zip.size());
+                Assert.assertEquals("c", IOUtils.toString(zip.getInputStream(zip.getEntry("sub" + separator + "c.txt")),
+                                                          DEF_CHARSET));
+            }
+        } finally {
+            FileUtils.deleteQuietly(base);
+            FileUtils.deleteQuietly(zipFile);
+        }
+    }
+
+    private static List<String> toNames(List<File> files) {
+        return files.stream().map(File::getName).sorted().collect(Collectors.toList());
+    }
+
     @Test
     public void extractFilename() throws Exception {
         Assert.assertEquals("", FileUtil.extractFilename(null));
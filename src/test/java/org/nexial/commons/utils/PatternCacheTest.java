@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.commons.utils;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+
+public class PatternCacheTest {
+
+    @Test
+    public void hitsAndMisses() {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile);
+
+        Pattern pattern = cache.get("a+b", 0);
+        Assert.assertSame(pattern, cache.get("a+b", 0));
+        Assert.assertNotSame(pattern, cache.get("a+b", CASE_INSENSITIVE));
+        Assert.assertEquals(CASE_INSENSITIVE, cache.get("a+b", CASE_INSENSITIVE).flags());
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.0001);
+
+        Map<String, Long> top = cache.getTopPatterns(1);
+        Assert.assertEquals(1, top.size());
+        Assert.assertEquals(2L, (long) top.get("a+b"));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws Exception {
+        PatternCache<Pattern> cache = new PatternCache<>(Pattern::compile, 3);
+        Pattern first = cache.get("1", 0);
+        cache.get("2", 0);
+        cache.get("3", 0);
+
+        // make sure "1" is most recently used
+        Thread.sleep(1);
+        Assert.assertSame(first, cache.get("1", 0));
+
+        cache.get("4", 0);
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertSame(first, cache.get("1", 0));
+    }
+
+    @Test
+    public void regexUtilsShareCache() {
+        PatternCache<Pattern> cache = RegexUtils.getPatternCache();
+        long misses = cache.getMissCount();
+        Assert.assertTrue(RegexUtils.isExact("PatternCacheTest", "Pattern.+Test"));
+        Assert.assertTrue(RegexUtils.isExact("PatternCacheTest", "Pattern.+Test"));
+        Assert.assertTrue(cache.getMissCount() <= misses + 1);
+        Assert.assertTrue(cache.getTopPatterns(PatternCache.DEF_MAX_SIZE).containsKey("Pattern.+Test"));
+    }
+}
@@ -31,6 +31,7 @@ import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.excel.ExcelAddress;
 import org.nexial.core.model.ExecutionDefinition;
+import org.nexial.core.model.ExecutionVariables;
 import org.nexial.core.model.TestProject;
 import org.nexial.core.utils.ExecUtils;
 import org.springframework.util.ResourceUtils;
@@ -59,6 +60,9 @@ public class ExecutionInputPrepTest {
     @Before
     public void setUp() throws Exception {
         System.out.println("creating test artifacts");
+        // prep() sets the output location to the execution variables of the current thread
+        ExecutionVariables.bind(new ExecutionVariables());
+
         projectHome = createUniqueTempDir().getAbsolutePath() + separator;
 
         dirScript = new File(Project.appendScript(projectHome));
@@ -132,6 +136,7 @@ public class ExecutionInputPrepTest {
     @After
     public void tearDown() throws Exception {
         System.out.println("destroying test artifacts");
+        ExecutionVariables.bind(null);
         FileUtils.deleteDirectory(new File(projectHome));
     }
 
@@ -188,6 +193,11 @@ public class ExecutionInputPrepTest {
 
             Map<String, String> expectedData = expectedDataMap.get(iterationIndex);
 
+            // merged test script is kept in memory until saved
+            Assert.assertFalse(targetOutputFile.exists());
+            Assert.assertNotNull(targetExcel.worksheet(SHEET_MERGED_DATA));
+            targetExcel.save();
+
             Excel excel = new Excel(targetOutputFile);
             Worksheet worksheet = excel.worksheet(SHEET_MERGED_DATA);
             int lastRow = worksheet.findLastDataRow(new ExcelAddress("A1"));
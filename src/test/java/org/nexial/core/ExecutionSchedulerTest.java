@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.model.ExecutionDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.nexial.core.NexialConst.Exec.*;
+import static org.nexial.core.NexialConst.ExitStatus.OUTPUT_LOCATION;
+
+public class ExecutionSchedulerTest {
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Map<String, AtomicInteger> runningByType = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> maxRunningByType = new ConcurrentHashMap<>();
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        System.clearProperty(MAX_PARALLEL_SCRIPTS);
+        System.clearProperty(MAX_PARALLEL_UI_SCRIPTS);
+        System.clearProperty(MAX_PARALLEL_API_SCRIPTS);
+        System.clearProperty(OUTPUT_LOCATION);
+    }
+
+    @Test
+    public void deriveResourceType() {
+        Assert.assertEquals(RESOURCE_TYPE_API, ExecutionScheduler.deriveResourceType(null));
+        Assert.assertEquals(RESOURCE_TYPE_API, ExecutionScheduler.deriveResourceType(new ArrayList<>()));
+        Assert.assertEquals(RESOURCE_TYPE_API, ExecutionScheduler.deriveResourceType(Arrays.asList("base", "ws", "")));
+        Assert.assertEquals(RESOURCE_TYPE_API,
+                            ExecutionScheduler.deriveResourceType(Arrays.asList("rdbms", "io", "webmail")));
+
+        Assert.assertEquals(RESOURCE_TYPE_UI, ExecutionScheduler.deriveResourceType(Arrays.asList("base", "web")));
+        Assert.assertEquals(RESOURCE_TYPE_UI, ExecutionScheduler.deriveResourceType(Arrays.asList(" Desktop ", "io")));
+        Assert.assertEquals(RESOURCE_TYPE_UI, ExecutionScheduler.deriveResourceType(Arrays.asList("ws", "mobile")));
+    }
+
+    @Test
+    public void maxParallelScripts() throws Exception {
+        System.setProperty(MAX_PARALLEL_SCRIPTS, "2");
+        System.setProperty(MAX_PARALLEL_API_SCRIPTS, "6");
+
+        // every 2 scripts must be running at the same time to get past the barrier
+        CyclicBarrier pair = new CyclicBarrier(2);
+        List<ExecutionDefinition> executions = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) { executions.add(newExecution("api" + i, RESOURCE_TYPE_API, false)); }
+
+        Assert.assertEquals(6, newScheduler(executions, () -> pair.await(10, SECONDS)).execute().size());
+        Assert.assertEquals(Collections.emptyList(), errors);
+        Assert.assertEquals(12, events.size());
+        Assert.assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void maxParallelScriptsByType() throws Exception {
+        System.setProperty(MAX_PARALLEL_SCRIPTS, "3");
+        System.setProperty(MAX_PARALLEL_UI_SCRIPTS, "1");
+        System.setProperty(MAX_PARALLEL_API_SCRIPTS, "6");
+
+        List<ExecutionDefinition> executions = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            executions.add(newExecution("ui" + i, RESOURCE_TYPE_UI, false));
+            executions.add(newExecution("api" + i, RESOURCE_TYPE_API, false));
+        }
+
+        Assert.assertEquals(6, newScheduler(executions, () -> Thread.sleep(50)).execute().size());
+        Assert.assertEquals(Collections.emptyList(), errors);
+        Assert.assertTrue(maxRunning.get() <= 3);
+        // ui scripts run one at a time, while the api scripts proceed alongside
+        Assert.assertEquals(1, maxRunningByType.get(RESOURCE_TYPE_UI).get());
+        Assert.assertTrue(maxRunningByType.get(RESOURCE_TYPE_API).get() > 1);
+    }
+
+    @Test
+    public void serialBarrier() throws Exception {
+        System.setProperty(MAX_PARALLEL_SCRIPTS, "4");
+        System.setProperty(MAX_PARALLEL_API_SCRIPTS, "4");
+
+        List<ExecutionDefinition> executions = Arrays.asList(newExecution("before1", RESOURCE_TYPE_API, false),
+                                                             newExecution("before2", RESOURCE_TYPE_API, false),
+                                                             newExecution("serial", RESOURCE_TYPE_API, true),
+                                                             newExecution("after1", RESOURCE_TYPE_API, false),
+                                                             newExecution("after2", RESOURCE_TYPE_API, false));
+
+        List<String> scripts = new ArrayList<>();
+        newScheduler(executions, () -> Thread.sleep(50)).execute()
+            .forEach(summary -> scripts.add(summary.getName()));
+
+        Assert.assertEquals(Collections.emptyList(), errors);
+        // summaries in plan order
+        Assert.assertEquals(Arrays.asList("before1", "before2", "serial", "after1", "after2"), scripts);
+
+        // the serial script starts after its predecessors have started...
+        Assert.assertTrue(events.indexOf("start:serial") > events.indexOf("start:before1"));
+        Assert.assertTrue(events.indexOf("start:serial") > events.indexOf("start:before2"));
+        // ...and nothing past it starts before it completes
+        Assert.assertTrue(events.indexOf("start:after1") > events.indexOf("end:serial"));
+        Assert.assertTrue(events.indexOf("start:after2") > events.indexOf("end:serial"));
+    }
+
+    private ExecutionScheduler newScheduler(List<ExecutionDefinition> executions, Script script) {
+        return new ExecutionScheduler("test-run", executions, exec -> ExecutionThread.newInstance(exec, () -> {
+            String name = exec.getTestScript();
+            AtomicInteger runningOfType = runningByType.computeIfAbsent(exec.getResourceType(),
+                                                                        type -> new AtomicInteger());
+            ((ExecutionThread) Thread.currentThread()).getExecutionSummary().setName(name);
+
+            events.add("start:" + name);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            maxRunningByType.computeIfAbsent(exec.getResourceType(), type -> new AtomicInteger())
+                            .accumulateAndGet(runningOfType.incrementAndGet(), Math::max);
+            try {
+                script.run();
+            } catch (Exception e) {
+                errors.add(e);
+            } finally {
+                running.decrementAndGet();
+                runningOfType.decrementAndGet();
+                events.add("end:" + name);
+            }
+        }));
+    }
+
+    private static ExecutionDefinition newExecution(String name, String resourceType, boolean serial) {
+        ExecutionDefinition exec = new ExecutionDefinition() {
+            @Override
+            public String getOutPath() { return System.getProperty("java.io.tmpdir"); }
+        };
+        exec.setTestScript(name);
+        exec.setResourceType(resourceType);
+        exec.setSerialMode(serial);
+        return exec;
+    }
+
+    @FunctionalInterface
+    private interface Script {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.excel.Excel;
+import org.nexial.core.excel.Excel.Worksheet;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.nexial.core.utils.ExecUtils.createUniqueTempDir;
+
+public class LoadTestRunnerTest {
+	private File tempDir;
+
+	@After
+	public void tearDown() throws Exception {
+		if (tempDir != null) { FileUtils.deleteDirectory(tempDir); }
+	}
+
+	@Test
+	public void testScriptNeverSaved() throws Exception {
+		tempDir = createUniqueTempDir();
+		File testScriptFile = new File(tempDir, "loadtest.xlsx");
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			workbook.createSheet("scenario1").createRow(0).createCell(0).setCellValue("step 1");
+			Excel.save(testScriptFile, workbook);
+		}
+
+		LoadTestRunner runner = new LoadTestRunner(null, null, "test");
+		runner.prepare(new Excel(testScriptFile, false, false));
+		Assert.assertEquals(testScriptFile, runner.getTestScriptFile());
+		byte[] prepared = FileUtils.readFileToByteArray(testScriptFile);
+		long lastModified = testScriptFile.lastModified();
+
+		// a short run of 4 virtual users, 5 iterations each; each iteration writes and saves its step results
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> users = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			users.add(executor.submit(() -> {
+				for (int iteration = 1; iteration <= 5; iteration++) {
+					Excel script = runner.newVirtualUserScript();
+					Assert.assertTrue(script.isInMemoryOnly());
+
+					Worksheet worksheet = script.worksheet("scenario1");
+					worksheet.getSheet().getRow(0).createCell(1).setCellValue("PASS " + iteration);
+					worksheet.save();
+					script.save();
+				}
+				return null;
+			}));
+		}
+		executor.shutdown();
+		for (Future<?> user : users) { user.get(); }
+
+		Assert.assertEquals(lastModified, testScriptFile.lastModified());
+		Assert.assertArrayEquals(prepared, FileUtils.readFileToByteArray(testScriptFile));
+	}
+}
@@ -25,6 +25,7 @@ import org.junit.Test;
 import org.nexial.core.NexialTestUtils;
 import org.nexial.core.excel.Excel.Worksheet;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 
 import static org.apache.poi.ss.usermodel.Row.MissingCellPolicy.CREATE_NULL_AS_BLANK;
@@ -82,4 +83,57 @@ public class ExcelSaveTest {
 		Assert.assertEquals("FAIL", scenario2.getSheet().getRow(5).getCell(13).getStringCellValue());
 		Assert.assertEquals("FAIL", scenario2.getSheet().getRow(6).getCell(13).getStringCellValue());
 	}
+
+	@Test
+	public void testDeferredSave() throws Exception {
+		long lastModified = fixture.lastModified();
+
+		Excel excel = new Excel(fixture);
+		excel.enableDeferredSave();
+		Worksheet scenario1 = excel.worksheet("Scenario1");
+		scenario1.getSheet().getRow(4).getCell(13, CREATE_NULL_AS_BLANK).setCellValue("PASS");
+		scenario1.save();
+		Assert.assertEquals(lastModified, fixture.lastModified());
+
+		// in-memory copy, saved to a different file
+		File copy = new File(TEMP + "copy-" + fixture.getName());
+		FileUtils.deleteQuietly(copy);
+		Excel inMemory = new Excel(copy, new ByteArrayInputStream(FileUtils.readFileToByteArray(fixture)), false);
+		Assert.assertFalse(copy.exists());
+		excel.save();
+		inMemory.save();
+		Assert.assertTrue(copy.canRead());
+		FileUtils.forceDelete(copy);
+
+		excel = new Excel(fixture);
+		Assert.assertEquals("PASS", excel.worksheet("Scenario1").getSheet().getRow(4).getCell(13).getStringCellValue());
+	}
+
+	@Test
+	public void testDeferredSaveWithFlushInterval() throws Exception {
+		Excel excel = new Excel(fixture);
+		excel.enableDeferredSave(60000);
+		Worksheet scenario1 = excel.worksheet("Scenario1");
+		scenario1.getSheet().getRow(4).getCell(13, CREATE_NULL_AS_BLANK).setCellValue("PASS");
+		// not yet due
+		scenario1.save();
+		Assert.assertNotEquals("PASS", readResult());
+
+		// due
+		excel.enableDeferredSave(1);
+		Thread.sleep(10);
+		scenario1.save();
+		Assert.assertEquals("PASS", readResult());
+
+		// just written; not due again until the interval has passed
+		excel.enableDeferredSave(60000);
+		scenario1.getSheet().getRow(4).getCell(13).setCellValue("FAIL");
+		scenario1.save();
+		Assert.assertEquals("PASS", readResult());
+	}
+
+	private String readResult() throws Exception {
+		Excel excel = new Excel(fixture);
+		return Excel.getCellValue(excel.worksheet("Scenario1").getSheet().getRow(4).getCell(13));
+	}
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.excel;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.excel.Excel.Worksheet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.nexial.core.NexialConst.TEMP;
+
+public class ExcelStreamReaderTest {
+	private File fixture;
+
+	@Before
+	public void init() throws Exception {
+		fixture = new File(TEMP + this.getClass().getSimpleName() + ".xlsx");
+
+		try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(fixture)) {
+			XSSFSheet sheet = workbook.createSheet("Data");
+			XSSFRow row = sheet.createRow(0);
+			row.createCell(0).setCellValue("name");
+			row.createCell(1).setCellValue("age");
+			row.createCell(2).setCellValue("note");
+
+			row = sheet.createRow(1);
+			row.createCell(0).setCellValue("John");
+			row.createCell(1).setCellValue(42);
+			row.createCell(2).setCellValue("hello, world");
+
+			// row 3 is missing; row 4 has a gap in the middle
+			row = sheet.createRow(3);
+			row.createCell(0).setCellValue("Jane");
+			row.createCell(2).setCellValue(true);
+
+			workbook.createSheet("Empty");
+			workbook.write(out);
+		}
+	}
+
+	@After
+	public void tearDown() { FileUtils.deleteQuietly(fixture); }
+
+	@Test
+	public void sameAsWorkbook() throws Exception {
+		Assert.assertTrue(ExcelStreamReader.isStreamable(fixture));
+
+		Excel excel = new Excel(fixture, false, false);
+		Worksheet worksheet = excel.worksheet("Data");
+
+		try (ExcelStreamReader reader = new ExcelStreamReader(fixture)) {
+			Assert.assertEquals(Arrays.asList("Data", "Empty"), reader.getWorksheetNames());
+			Assert.assertTrue(reader.hasWorksheet("data"));
+			Assert.assertFalse(reader.hasWorksheet("Nope"));
+
+			for (String range : Arrays.asList("A1:C4", "B1:C2", "A2:C6", "B4", "A5:C9")) {
+				ExcelAddress addr = new ExcelAddress(range);
+				Assert.assertEquals(range, worksheet.readRange(addr), reader.readRange("Data", addr));
+
+				List<List<String>> cells = reader.cells("Data", addr);
+				Assert.assertEquals(range, worksheet.cells(addr).size(), cells.size());
+			}
+
+			Assert.assertEquals(Arrays.asList(Arrays.asList("name", "age", "note"),
+			                                  Arrays.asList("John", "42", "\"hello, world\""),
+			                                  Arrays.asList(),
+			                                  Arrays.asList("Jane", "", "TRUE")),
+			                    reader.readRange("Data", new ExcelAddress("A1:C4")));
+			Assert.assertEquals(Arrays.asList(Arrays.asList("John", "42", "hello, world"),
+			                                  Arrays.asList("Jane", "", "TRUE")),
+			                    reader.cells("Data", new ExcelAddress("A2:C4")));
+
+			StringWriter csv = new StringWriter();
+			Assert.assertEquals(3, reader.writeCsv("Data", new ExcelAddress("A1:B3"), ",", "\r\n", csv));
+			Assert.assertEquals("name,age\r\nJohn,42\r\n", csv.toString());
+
+			// continued from the previous range; as with Worksheet.readRange(), rows past the last row of the
+			// worksheet are empty records
+			Assert.assertEquals(2, reader.writeCsv("Data", new ExcelAddress("A6:B7"), ",", "\r\n", true, csv));
+			Assert.assertEquals(1, reader.writeCsv("Data", new ExcelAddress("A4:C4"), ",", "\r\n", true, csv));
+			Assert.assertEquals("name,age\r\nJohn,42\r\n\r\n\r\n\r\nJane,,TRUE", csv.toString());
+
+			Assert.assertTrue(reader.cells("Empty", new ExcelAddress("A1:C3")).isEmpty());
+		} finally {
+			excel.close();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.excel;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.nexial.core.excel.Excel.Worksheet;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.nexial.core.NexialConst.TEMP;
+
+public class ExcelStreamWriterTest {
+	private File fixture;
+
+	@Before
+	public void init() {
+		fixture = new File(TEMP + this.getClass().getSimpleName() + ".xlsx");
+		FileUtils.deleteQuietly(fixture);
+	}
+
+	@After
+	public void tearDown() { FileUtils.deleteQuietly(fixture); }
+
+	@Test
+	public void appendRows() throws Exception {
+		int rowCount = ExcelStreamWriter.DEF_ROW_WINDOW * 3;
+
+		// new worksheet
+		Excel excel = Excel.newExcel(fixture);
+		Worksheet worksheet = excel.worksheet("Data", true);
+		Assert.assertTrue(ExcelStreamWriter.isAppendable(worksheet, 0));
+		try (ExcelStreamWriter writer = new ExcelStreamWriter(excel, "Data")) {
+			writer.writeRow(0, 1, Arrays.asList("id", "name"));
+			for (int i = 1; i <= rowCount; i++) { writer.writeRow(i, 1, Arrays.asList(i + "", "name" + i)); }
+			writer.save();
+		}
+		excel.close();
+
+		excel = new Excel(fixture, false, false);
+		worksheet = excel.worksheet("Data");
+		Assert.assertEquals(Arrays.asList("id", "name"), worksheet.readRange(new ExcelAddress("B1:C1")).get(0));
+		Assert.assertEquals(Arrays.asList(rowCount + "", "name" + rowCount),
+		                    worksheet.readRange(new ExcelAddress("B" + (rowCount + 1) + ":C" + (rowCount + 1))).get(0));
+
+		// existing worksheet: only rows after the last one can be streamed
+		Assert.assertFalse(ExcelStreamWriter.isAppendable(worksheet, rowCount));
+		Assert.assertTrue(ExcelStreamWriter.isAppendable(worksheet, rowCount + 1));
+		try (ExcelStreamWriter writer = new ExcelStreamWriter(excel, "Data")) {
+			Assert.assertEquals(rowCount, writer.getLastRowIndex());
+			try {
+				writer.writeRow(rowCount, 1, Collections.singletonList("overwrite"));
+				Assert.fail("expected IllegalArgumentException for existing row");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+
+			writer.writeRow(rowCount + 2, 1, Arrays.asList("last", "row"));
+			writer.save();
+		}
+		excel.close();
+
+		excel = new Excel(fixture, false, false);
+		worksheet = excel.worksheet("Data");
+		Assert.assertEquals("name1", Excel.getCellValue(worksheet.cell(new ExcelAddress("C2"))));
+		Assert.assertEquals(Arrays.asList("last", "row"),
+		                    worksheet.readRange(new ExcelAddress("B" + (rowCount + 3) + ":C" + (rowCount + 3))).get(0));
+		excel.close();
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.model.ExecutionVariables.Scope;
+
+public class ExecutionVariablesTest {
+    private static final String SYS_PROP = "ExecutionVariablesTest.sysProp";
+
+    @After
+    public void tearDown() {
+        System.clearProperty(SYS_PROP);
+        ExecutionVariables.bind(null);
+    }
+
+    @Test
+    public void scopes() {
+        ExecutionVariables variables = new ExecutionVariables();
+        variables.set("a", "execution");
+        Assert.assertEquals("execution", variables.get("a"));
+
+        variables.set("a", "iteration", Scope.ITERATION);
+        variables.set("a", "macro", Scope.MACRO);
+        Assert.assertEquals("macro", variables.get("a"));
+
+        variables.clear(Scope.MACRO);
+        Assert.assertEquals("iteration", variables.get("a"));
+
+        // setting an outer scope discards the inner ones
+        variables.set("a", "script", Scope.SCRIPT);
+        Assert.assertEquals("script", variables.get("a"));
+        variables.clear(Scope.ITERATION);
+        Assert.assertEquals("script", variables.get("a"));
+    }
+
+    @Test
+    public void systemPropertiesAsFallback() {
+        System.setProperty(SYS_PROP, "from system");
+
+        ExecutionVariables variables = new ExecutionVariables();
+        Assert.assertEquals("from system", variables.get(SYS_PROP));
+        Assert.assertTrue(variables.names("ExecutionVariablesTest.").contains(SYS_PROP));
+
+        variables.set(SYS_PROP, "overridden");
+        Assert.assertEquals("overridden", variables.get(SYS_PROP));
+        Assert.assertEquals("from system", System.getProperty(SYS_PROP));
+
+        // removal masks the System property for this store only
+        Assert.assertEquals("overridden", variables.remove(SYS_PROP));
+        Assert.assertNull(variables.get(SYS_PROP));
+        Assert.assertFalse(variables.names("ExecutionVariablesTest.").contains(SYS_PROP));
+        Assert.assertEquals("from system", System.getProperty(SYS_PROP));
+    }
+
+    @Test
+    public void snapshot() {
+        ExecutionVariables variables = new ExecutionVariables();
+        variables.set("a", "1");
+        variables.set("b", "2", Scope.ITERATION);
+
+        ExecutionVariables forked = variables.snapshot();
+        Assert.assertEquals("1", forked.get("a"));
+        Assert.assertEquals("2", forked.get("b"));
+
+        forked.set("a", "forked");
+        forked.remove("b");
+        Assert.assertEquals("forked", forked.get("a"));
+        Assert.assertNull(forked.get("b"));
+        Assert.assertEquals("1", variables.get("a"));
+        Assert.assertEquals("2", variables.get("b"));
+
+        variables.set("c", "3");
+        Assert.assertNull(forked.get("c"));
+    }
+
+    @Test
+    public void threadConfined() throws Exception {
+        ExecutionVariables variables = new ExecutionVariables();
+        ExecutionVariables.bind(variables);
+        ExecutionVariables.setProperty(SYS_PROP, "main");
+        Assert.assertEquals("main", ExecutionVariables.getProperty(SYS_PROP));
+        Assert.assertNull(System.getProperty(SYS_PROP));
+
+        AtomicReference<String> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            ExecutionVariables.bind(new ExecutionVariables());
+            ExecutionVariables.setProperty(SYS_PROP, "other");
+            other.set(ExecutionVariables.getProperty(SYS_PROP));
+            ExecutionVariables.bind(null);
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertEquals("other", other.get());
+        Assert.assertEquals("main", ExecutionVariables.getProperty(SYS_PROP));
+    }
+
+    @Test
+    public void setWithoutExecution() {
+        ExecutionVariables.bind(null);
+        try {
+            ExecutionVariables.setProperty(SYS_PROP, "unbound");
+            Assert.fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected: no silent fallback to System properties
+        }
+        Assert.assertNull(System.getProperty(SYS_PROP));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.model.LoadTestMetrics.Metric;
+
+public class LoadTestMetricsTest {
+
+    @Test
+    public void percentiles() {
+        Metric metric = new Metric();
+        // 1ms to 100ms
+        for (int i = 1; i <= 100; i++) { metric.record(i * 1_000_000L, i % 10 != 0); }
+
+        Assert.assertEquals(100, metric.getCount());
+        Assert.assertEquals(10, metric.getErrorCount());
+        Assert.assertEquals(0.1, metric.getErrorRate(), 0.0001);
+        Assert.assertEquals(1, metric.getMinMs(), 0.0001);
+        Assert.assertEquals(100, metric.getMaxMs(), 0.0001);
+        Assert.assertEquals(50.5, metric.getMeanMs(), 0.0001);
+
+        // histogram buckets are accurate to 2%
+        Assert.assertEquals(50, metric.getPercentileMs(50), 1);
+        Assert.assertEquals(90, metric.getPercentileMs(90), 1.8);
+        Assert.assertEquals(99, metric.getPercentileMs(99), 2);
+        Assert.assertEquals(100, metric.getPercentileMs(100), 0.0001);
+    }
+
+    @Test
+    public void empty() {
+        Metric metric = new Metric();
+        Assert.assertEquals(0, metric.getCount());
+        Assert.assertEquals(0, metric.getPercentileMs(99), 0);
+        Assert.assertEquals(0, metric.getMinMs(), 0);
+        Assert.assertEquals(0, metric.getErrorRate(), 0);
+    }
+
+    @Test
+    public void users() {
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        metrics.userStarted();
+        metrics.userStarted();
+        metrics.userStopped();
+        metrics.userStarted();
+        metrics.userStopped();
+        metrics.userStopped();
+
+        Assert.assertEquals(0, metrics.getActiveUsers());
+        Assert.assertEquals(2, metrics.getPeakUsers());
+    }
+}
@@ -25,6 +25,9 @@ import org.nexial.commons.utils.RegexUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 
 import static java.io.File.separator;
 import static org.apache.commons.lang3.SystemUtils.JAVA_IO_TMPDIR;
@@ -247,6 +250,22 @@ public class NexialFilterTest {
         Assert.assertTrue(NexialFilter.newInstance("a match   ca.*o+.*rao.* ").isMatch("carpool karaoke"));
     }
 
+    @Test
+    public void equalityKeys() {
+        Assert.assertEquals(Collections.singleton("abc"), NexialFilter.newInstance("x = \"abc\"").getEqualityKeys());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "b c")),
+                            NexialFilter.newInstance("x in [a| \"b c\"]").getEqualityKeys());
+        Assert.assertEquals(Collections.singleton(""), NexialFilter.newInstance("x is []").getEqualityKeys());
+
+        // numeric and empty controls also match other text, so equality alone is not sufficient
+        Assert.assertNull(NexialFilter.newInstance("x = 20").getEqualityKeys());
+        Assert.assertNull(NexialFilter.newInstance("x = (empty)").getEqualityKeys());
+        Assert.assertNull(NexialFilter.newInstance("x != abc").getEqualityKeys());
+        Assert.assertNull(NexialFilter.newInstance("x contain abc").getEqualityKeys());
+
+        Assert.assertEquals("abc", NexialFilter.normalizeData(" \"abc\" "));
+    }
+
     @Test
     public void isMatchUnaryFilter() {
         Assert.assertTrue(NexialFilter.newInstance("true").isMatch("true"));
@@ -25,6 +25,8 @@ import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.junit.Assert;
 import org.junit.Test;
 import org.nexial.core.NexialTestUtils;
@@ -32,6 +34,7 @@ import org.nexial.core.excel.Excel;
 import org.nexial.core.excel.Excel.Worksheet;
 import org.nexial.core.model.FlowControl.Directive;
 
+import static org.nexial.core.excel.ExcelConfig.*;
 import static org.nexial.core.model.FlowControl.Directive.EndIf;
 import static org.nexial.core.model.FlowControl.Directive.SkipIf;
 
@@ -178,4 +181,47 @@ public class TestScenarioTest {
         context.cleanProject();
     }
 
+    @Test
+    public void writeResultAtOutputTime() throws Exception {
+        File file = NexialTestUtils.getResourceFile(this.getClass(), "TestScenarioTest1.xlsx");
+        MockExecutionContext context = new MockExecutionContext();
+        Worksheet worksheet = new Excel(file).worksheet("Test Scenario");
+        TestScenario scenario = new TestScenario(context, worksheet);
+
+        TestStep testStep = scenario.getTestCase("Perform Activity 1").getTestSteps().get(1);
+        Assert.assertEquals("Test Scenario", testStep.getSheetName());
+
+        List<XSSFCell> row = testStep.resolveRow(worksheet);
+        Assert.assertEquals(testStep.getRowIndex(), row.get(0).getRowIndex());
+        Assert.assertEquals("I say, I'm working! No more description!",
+                            Excel.getCellValue(row.get(COL_IDX_DESCRIPTION)));
+
+        // nothing is written until there's a result
+        testStep.writeResult(worksheet);
+        Assert.assertTrue(StringUtils.isEmpty(Excel.getCellValue(row.get(COL_IDX_RESULT))));
+
+        TestStepResult.Param param = new TestStepResult.Param();
+        param.value = "123.0";
+        param.comment = "${num1}";
+
+        TestStepResult result = TestStepResult.executed(false);
+        result.setOutcome(StepResult.fail("not equal"), false);
+        result.setDescription("resolved description");
+        result.setElapsedMs(1234, true);
+        result.setResultText("FAIL not equal");
+        result.setParams(new TestStepResult.Param[]{param});
+        result.setReasonText("numbers differ");
+        result.writeTo(worksheet, row);
+
+        Assert.assertEquals("resolved description", Excel.getCellValue(row.get(COL_IDX_DESCRIPTION)));
+        Assert.assertEquals(1234, row.get(COL_IDX_ELAPSED_MS).getNumericCellValue(), 0);
+        Assert.assertEquals(worksheet.getStyle(STYLE_ELAPSED_MS_BAD_SLA), row.get(COL_IDX_ELAPSED_MS).getCellStyle());
+        Assert.assertEquals("FAIL not equal", Excel.getCellValue(row.get(COL_IDX_RESULT)));
+        Assert.assertEquals("123.0", Excel.getCellValue(row.get(COL_IDX_PARAMS_START)));
+        Assert.assertNotNull(row.get(COL_IDX_PARAMS_START).getCellComment());
+        Assert.assertEquals("numbers differ", Excel.getCellValue(row.get(COL_IDX_REASON)));
+
+        context.cleanProject();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.nexial.core.excel.ExcelConfig.*;
+
+public class TestStepDefinitionTest {
+
+	@Test
+	public void parse() throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			List<XSSFCell> row = newRow(workbook, 4, "do something", "base", "assertEqual(a,b)", "(empty)", "b");
+			TestStepDefinition definition = TestStepDefinition.of(row, "[file][sheet][activity]");
+
+			Assert.assertEquals(4, definition.getRowIndex());
+			Assert.assertEquals("do something", definition.getDescription());
+			Assert.assertEquals("base", definition.getTarget());
+			Assert.assertEquals("assertEqual(a,b)", definition.getCommand());
+			Assert.assertEquals(Arrays.asList("", "b"), definition.getParams());
+			// as written in the script, so that the output shows the original text
+			Assert.assertEquals(Arrays.asList("(empty)", "b"), definition.getParamTexts());
+		}
+	}
+
+	@Test
+	public void missingCommand() throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			List<XSSFCell> row = newRow(workbook, 9, "do something", "base", "");
+			try {
+				TestStepDefinition.of(row, "[file][sheet][activity]");
+				Assert.fail("expects IllegalArgumentException");
+			} catch (IllegalArgumentException e) {
+				Assert.assertEquals("[file][sheet][activity] no command specified on ROW 10", e.getMessage());
+			}
+
+			try {
+				TestStepDefinition.of(newRow(workbook, 10, "", "", "x"), null);
+				Assert.fail("expects IllegalArgumentException");
+			} catch (IllegalArgumentException e) {
+				Assert.assertEquals("no target specified on ROW 11", e.getMessage());
+			}
+		}
+	}
+
+	private static List<XSSFCell> newRow(XSSFWorkbook workbook, int rowIndex, String... values) {
+		XSSFRow row = (workbook.getNumberOfSheets() == 0 ? workbook.createSheet() : workbook.getSheetAt(0))
+			              .createRow(rowIndex);
+		List<XSSFCell> cells = new ArrayList<>();
+		for (int i = 0; i <= COL_IDX_REASON; i++) {
+			XSSFCell cell = row.createCell(i);
+			// values start from the description column
+			int valueIndex = i - COL_IDX_DESCRIPTION;
+			if (valueIndex >= 0 && valueIndex < values.length) { cell.setCellValue(values[valueIndex]); }
+			cells.add(cell);
+		}
+		return cells;
+	}
+}
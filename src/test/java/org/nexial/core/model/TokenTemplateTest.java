@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenTemplateTest {
+
+    @Test
+    public void parse() {
+        TokenTemplate template = TokenTemplate.of("Hello ${name}, ${greeting} ${name}!", Function.identity());
+        Assert.assertFalse(template.isLiteral());
+        Assert.assertFalse(template.isDynamic());
+        Assert.assertEquals(Arrays.asList("name", "greeting"), Arrays.asList(template.getTokenNames().toArray()));
+
+        Map<String, String> values = new HashMap<>();
+        values.put("name", "John");
+        Assert.assertEquals("Hello John, ${greeting} John!", template.render(values));
+
+        values.put("greeting", "welcome");
+        Assert.assertEquals("Hello John, welcome John!", template.render(values));
+
+        // cached per source text
+        Assert.assertSame(template, TokenTemplate.of("Hello ${name}, ${greeting} ${name}!", Function.identity()));
+    }
+
+    @Test
+    public void literal() {
+        Assert.assertTrue(TokenTemplate.of("just some text", Function.identity()).isLiteral());
+        Assert.assertTrue(TokenTemplate.of("unclosed ${token", Function.identity()).isLiteral());
+        Assert.assertFalse(TokenTemplate.of("[TEXT(abc) => upper]", Function.identity()).isLiteral());
+        Assert.assertFalse(TokenTemplate.of("[TEXT(abc) => upper]", Function.identity()).isDynamic());
+    }
+
+    @Test
+    public void dynamic() {
+        Assert.assertTrue(TokenTemplate.of("$(sysdate|now|yyyy)", Function.identity()).isDynamic());
+        Assert.assertTrue(TokenTemplate.of("${list}[2]", Function.identity()).isDynamic());
+        Assert.assertTrue(TokenTemplate.of("${a${b}", Function.identity()).isDynamic());
+        Assert.assertTrue(TokenTemplate.of("${}", Function.identity()).isDynamic());
+        Assert.assertTrue(TokenTemplate.of("crypt:abcdef", Function.identity()).isDynamic());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+public class ColumnarResultDataTest {
+
+	@Test
+	public void inMemory() throws Exception {
+		ColumnarResultData data = newData(100, 10);
+		Assert.assertFalse(data.isSpilled());
+		assertData(data, 10);
+	}
+
+	@Test
+	public void spilled() throws Exception {
+		ColumnarResultData data = newData(3, 10);
+		Assert.assertTrue(data.isSpilled());
+		assertData(data, 10);
+
+		// reading the spilled rows out of order
+		Assert.assertEquals("name9", data.get(9).get("NAME"));
+		Assert.assertEquals("name4", data.get(4).get("NAME"));
+	}
+
+	@Test
+	public void sameAsListOfMap() throws Exception {
+		ColumnarResultData data = newData(2, 5);
+
+		List<Map<String, Object>> expected = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("ID", String.valueOf(i));
+			row.put("NAME", "name" + i);
+			row.put("PHOTO", i % 2 == 0 ? null : new byte[]{(byte) i});
+			expected.add(row);
+		}
+
+		Assert.assertEquals(expected.size(), data.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertEquals(expected.get(i).keySet(), data.get(i).keySet());
+			Assert.assertEquals(expected.get(i).get("ID"), data.get(i).get("ID"));
+			Assert.assertEquals(expected.get(i).toString().replaceAll("\\[B@\\w+", ""),
+			                    data.get(i).toString().replaceAll("\\[B@\\w+", ""));
+		}
+
+		// duplicate column: the last one wins, as with LinkedHashMap
+		ColumnarResultData duplicate = new ColumnarResultData(Arrays.asList("A", "B", "A"), 0);
+		duplicate.addRow(new Object[]{"1", "2", "3"});
+		duplicate.doneAdding();
+		Assert.assertEquals("{A=3, B=2}", duplicate.get(0).toString());
+	}
+
+	@Test
+	public void spilledInChunks() throws Exception {
+		// rows of about 1/3 of a read chunk, hence a few rows per chunk; one row larger than a chunk
+		int rowSize = ColumnarResultData.READ_CHUNK_SIZE / 3;
+		ColumnarResultData data = new ColumnarResultData(Arrays.asList("ID", "PHOTO"), 1);
+		for (int i = 0; i < 20; i++) {
+			int length = i == 10 ? ColumnarResultData.READ_CHUNK_SIZE * 2 : rowSize;
+			data.addRow(new Object[]{String.valueOf(i), newBytes(length, i)});
+		}
+		data.doneAdding();
+
+		// abandoned iterators hold no open stream
+		for (int i = 0; i < 100; i++) {
+			Iterator<Map<String, Object>> rows = data.iterator();
+			Assert.assertEquals("0", rows.next().get("ID"));
+			Assert.assertEquals("1", rows.next().get("ID"));
+		}
+
+		int i = 0;
+		for (Map<String, Object> row : data) {
+			Assert.assertEquals(String.valueOf(i), row.get("ID"));
+			Assert.assertArrayEquals(newBytes(i == 10 ? ColumnarResultData.READ_CHUNK_SIZE * 2 : rowSize, i),
+			                         (byte[]) row.get("PHOTO"));
+			i++;
+		}
+		Assert.assertEquals(20, i);
+
+		for (int j = 19; j >= 0; j--) { Assert.assertEquals(String.valueOf(j), data.get(j).get("ID")); }
+		Assert.assertEquals(20, data.cells("ID").size());
+		Assert.assertEquals("19", data.cells("ID").get(19));
+	}
+
+	@Test
+	public void readWhileAdding() throws Exception {
+		ColumnarResultData data = new ColumnarResultData(Arrays.asList("ID", "NAME", "PHOTO"), 2);
+		for (int i = 0; i < 5; i++) {
+			data.addRow(new Object[]{String.valueOf(i), "name" + i, i % 2 == 0 ? null : new byte[]{(byte) i}});
+			Assert.assertEquals("name" + i, data.get(i).get("NAME"));
+		}
+		data.doneAdding();
+		assertData(data, 5);
+	}
+
+	private static byte[] newBytes(int length, int seed) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) { bytes[i] = (byte) (i + seed); }
+		return bytes;
+	}
+
+	private static ColumnarResultData newData(int spillThreshold, int rows) throws Exception {
+		ColumnarResultData data = new ColumnarResultData(Arrays.asList("ID", "NAME", "PHOTO"), spillThreshold);
+		for (int i = 0; i < rows; i++) {
+			data.addRow(new Object[]{String.valueOf(i), "name" + i, i % 2 == 0 ? null : new byte[]{(byte) i}});
+		}
+		data.doneAdding();
+		return data;
+	}
+
+	private static void assertData(ColumnarResultData data, int rows) {
+		Assert.assertEquals(rows, data.size());
+
+		int i = 0;
+		for (Map<String, Object> row : data) {
+			Assert.assertEquals(String.valueOf(i), row.get("ID"));
+			Assert.assertEquals("name" + i, row.get("NAME"));
+			if (i % 2 == 0) {
+				Assert.assertNull(row.get("PHOTO"));
+			} else {
+				Assert.assertArrayEquals(new byte[]{(byte) i}, (byte[]) row.get("PHOTO"));
+			}
+			i++;
+		}
+		Assert.assertEquals(rows, i);
+
+		List<Object> names = data.cells("NAME");
+		Assert.assertEquals(rows, names.size());
+		Assert.assertEquals("name" + (rows - 1), names.get(rows - 1));
+		Assert.assertTrue(data.cells("UNKNOWN").isEmpty());
+	}
+}
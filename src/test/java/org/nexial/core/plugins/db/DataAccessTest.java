@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.model.MockExecutionContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.nexial.core.NexialConst.Rdbms.*;
+
+public class DataAccessTest {
+	private MockExecutionContext context;
+
+	@After
+	public void tearDown() {
+		if (context != null) { context.cleanProject(); }
+	}
+
+	@Test
+	public void toPoolKey() {
+		context = new MockExecutionContext();
+		DataAccess dataAccess = new DataAccess();
+		dataAccess.setContext(context);
+
+		context.setData("db1" + OPT_DB_USER, "scott");
+		context.setData("db1" + OPT_DB_PASSWORD, "tiger");
+		context.setData("db2" + OPT_DB_USER, "scott");
+		context.setData("db2" + OPT_DB_PASSWORD, "tiger");
+
+		// different names, same connection and pool setup: same pool
+		String key1 = dataAccess.toPoolKey("db1", "org.h2.Driver", "jdbc:h2:mem:test");
+		Assert.assertEquals(key1, dataAccess.toPoolKey("db2", "org.h2.Driver", "jdbc:h2:mem:test"));
+
+		// any difference in connection or pool setup: separate pools
+		Assert.assertNotEquals(key1, dataAccess.toPoolKey("db1", "org.h2.Driver", "jdbc:h2:mem:other"));
+
+		context.setData("db2" + OPT_DB_PASSWORD, "lion");
+		Assert.assertNotEquals(key1, dataAccess.toPoolKey("db2", "org.h2.Driver", "jdbc:h2:mem:test"));
+
+		context.setData("db2" + OPT_DB_PASSWORD, "tiger");
+		context.setData("db2" + OPT_DB_POOL_MAX_TOTAL, "3");
+		Assert.assertNotEquals(key1, dataAccess.toPoolKey("db2", "org.h2.Driver", "jdbc:h2:mem:test"));
+
+		context.setData("db2" + OPT_DB_POOL_MAX_TOTAL, "0");
+		context.setData("db2" + OPT_DB_AUTOCOMMIT, !DEF_AUTOCOMMIT);
+		Assert.assertNotEquals(key1, dataAccess.toPoolKey("db2", "org.h2.Driver", "jdbc:h2:mem:test"));
+	}
+
+	@Test
+	public void sharedPoolEviction() {
+		String poolKey = this.getClass().getName() + ".sharedPoolEviction";
+		AtomicInteger created = new AtomicInteger();
+		Supplier<BasicDataSource> newDataSource = () -> {
+			created.incrementAndGet();
+			return new BasicDataSource();
+		};
+		DataAccess dataAccess = new DataAccess();
+
+		// 2 daos (say, of 2 executions) of the same setup share one pool
+		SimpleExtractionDao dao1 = new SimpleExtractionDao();
+		dao1.setDataSource(DataAccess.leaseDataSource(poolKey, dao1, newDataSource));
+		SimpleExtractionDao dao2 = new SimpleExtractionDao();
+		dao2.setDataSource(DataAccess.leaseDataSource(poolKey, dao2, newDataSource));
+		Assert.assertEquals(1, created.get());
+		Assert.assertSame(dao1.getDataSource(), dao2.getDataSource());
+
+		// still in use by dao2; not closed
+		BasicDataSource pool = (BasicDataSource) dao1.getDataSource();
+		Assert.assertFalse(dataAccess.closeDataSource(dao1));
+		Assert.assertFalse(pool.isClosed());
+
+		// no longer in use: closed and evicted
+		Assert.assertTrue(dataAccess.closeDataSource(dao2));
+		Assert.assertTrue(pool.isClosed());
+		Assert.assertFalse(dataAccess.closeDataSource(dao2));
+
+		// starts anew
+		SimpleExtractionDao dao3 = new SimpleExtractionDao();
+		dao3.setDataSource(DataAccess.leaseDataSource(poolKey, dao3, newDataSource));
+		Assert.assertEquals(2, created.get());
+		Assert.assertNotSame(pool, dao3.getDataSource());
+		Assert.assertFalse(((BasicDataSource) dao3.getDataSource()).isClosed());
+
+		Assert.assertTrue(dataAccess.closeDataSource(dao3));
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * just enough of a JDBC driver to test the import of query results, without a database: the connection operations
+ * ({@code commit}, {@code rollback}, {@code close}, {@code PRAGMA ...}) are recorded, the rows inserted via batches
+ * are kept, and queries return {@link #setQueryResult(String[], int[], List) the configured rows}.
+ */
+class FakeJdbc {
+	private final String productName;
+	private final List<String> operations = Collections.synchronizedList(new ArrayList<>());
+	private final List<List<Object>> inserted = Collections.synchronizedList(new ArrayList<>());
+	private final List<List<Object>> pending = new ArrayList<>();
+	private boolean autoCommit = true;
+	private int failOnBatch = -1;
+	private int batchCount;
+
+	private String[] columns = new String[0];
+	private int[] columnTypes = new int[0];
+	private List<Object[]> rows = new ArrayList<>();
+
+	FakeJdbc(String productName) { this.productName = productName; }
+
+	/** the {@code nth} batch (starting from 1) would fail */
+	void setFailOnBatch(int nth) { this.failOnBatch = nth; }
+
+	void setQueryResult(String[] columns, int[] columnTypes, List<Object[]> rows) {
+		this.columns = columns;
+		this.columnTypes = columnTypes;
+		this.rows = rows;
+	}
+
+	List<String> getOperations() { return operations; }
+
+	List<List<Object>> getInserted() { return inserted; }
+
+	DataSource newDataSource() {
+		return proxy(DataSource.class, (proxy, method, args) -> {
+			if (method.getName().equals("getConnection")) { return newConnection(); }
+			return defaultValue(method.getReturnType());
+		});
+	}
+
+	private Connection newConnection() {
+		return proxy(Connection.class, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getMetaData":
+					return proxy(DatabaseMetaData.class, (p, m, a) -> m.getName().equals("getDatabaseProductName") ?
+					                                                  productName : defaultValue(m.getReturnType()));
+				case "getAutoCommit":
+					return autoCommit;
+				case "setAutoCommit":
+					autoCommit = (boolean) args[0];
+					operations.add("setAutoCommit(" + autoCommit + ")");
+					return null;
+				case "commit":
+				case "rollback":
+				case "close":
+					operations.add(method.getName());
+					return null;
+				case "createStatement":
+					return newStatement();
+				case "prepareStatement":
+					return ((String) args[0]).startsWith("INSERT") ? newInsertStatement() : newQueryStatement();
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private Statement newStatement() {
+		return proxy(Statement.class, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "execute":
+					operations.add((String) args[0]);
+					return false;
+				case "executeQuery":
+					// PRAGMA query: one row of one value
+					return newResultSet(new String[]{"value"}, new int[]{Types.VARCHAR},
+					                    Collections.singletonList(new Object[]{"DEFAULT"}));
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private PreparedStatement newInsertStatement() {
+		List<Object> row = new ArrayList<>();
+		return proxy(PreparedStatement.class, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "setObject":
+					setValue(row, (int) args[0], args[1]);
+					return null;
+				case "setNull":
+					setValue(row, (int) args[0], null);
+					return null;
+				case "addBatch":
+					pending.add(new ArrayList<>(row));
+					row.clear();
+					return null;
+				case "executeBatch":
+					if (++batchCount == failOnBatch) { throw new SQLException("batch " + batchCount + " failed"); }
+					int[] counts = new int[pending.size()];
+					Arrays.fill(counts, 1);
+					inserted.addAll(pending);
+					pending.clear();
+					return counts;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private PreparedStatement newQueryStatement() {
+		return proxy(PreparedStatement.class, (proxy, method, args) -> {
+			if (method.getName().equals("executeQuery")) { return newResultSet(columns, columnTypes, rows); }
+			return defaultValue(method.getReturnType());
+		});
+	}
+
+	private static ResultSet newResultSet(String[] columns, int[] columnTypes, List<Object[]> rows) {
+		int[] position = {-1};
+		boolean[] wasNull = {false};
+		ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getColumnCount":
+					return columns.length;
+				case "getColumnLabel":
+				case "getColumnName":
+					return columns[(int) args[0] - 1];
+				case "getColumnType":
+					return columnTypes[(int) args[0] - 1];
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+
+		return proxy(ResultSet.class, (proxy, method, args) -> {
+			String name = method.getName();
+			switch (name) {
+				case "next":
+					return ++position[0] < rows.size();
+				case "getMetaData":
+					return metaData;
+				case "wasNull":
+					return wasNull[0];
+				default:
+					if (name.startsWith("get") && args != null && args.length == 1 && args[0] instanceof Integer) {
+						Object value = rows.get(position[0])[(int) args[0] - 1];
+						wasNull[0] = value == null;
+						return value == null ? defaultValue(method.getReturnType()) : convert(value, name);
+					}
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private static Object convert(Object value, String getter) {
+		switch (getter) {
+			case "getLong":
+				return ((Number) value).longValue();
+			case "getDouble":
+				return ((Number) value).doubleValue();
+			case "getBigDecimal":
+				return new BigDecimal(value.toString());
+			case "getString":
+				return value.toString();
+			default:
+				return value;
+		}
+	}
+
+	private static void setValue(List<Object> row, int index, Object value) {
+		while (row.size() < index) { row.add(null); }
+		row.set(index - 1, value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(FakeJdbc.class.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "toString":
+					if (args == null) { return "Fake" + type.getSimpleName(); }
+					break;
+				case "hashCode":
+					if (args == null) { return System.identityHashCode(proxy); }
+					break;
+				case "equals":
+					if (args != null && args.length == 1 && method.getParameterTypes()[0] == Object.class) {
+						return proxy == args[0];
+					}
+					break;
+			}
+			return handler.invoke(proxy, method, args);
+		});
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class) { return false; }
+		if (type == int.class) { return 0; }
+		if (type == long.class) { return 0L; }
+		if (type == double.class) { return 0d; }
+		if (type == float.class) { return 0f; }
+		if (type == short.class) { return (short) 0; }
+		if (type == byte.class) { return (byte) 0; }
+		return null;
+	}
+}
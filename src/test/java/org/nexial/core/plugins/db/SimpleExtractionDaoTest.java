@@ -0,0 +1,324 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.db;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.ExecutionThread;
+import org.nexial.core.model.MockExecutionContext;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.Collectors;
+
+import static java.sql.Types.*;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.nexial.core.NexialConst.Rdbms.QUERY_PARALLELISM;
+
+public class SimpleExtractionDaoTest {
+	private static final List<String> COLUMNS = Arrays.asList("ID", "NAME");
+	// more than the default import buffer size of 100 rows
+	private static final int ROWS = 250;
+	private static final String[] TYPED_COLUMNS =
+		{"ID", "RATE", "AMOUNT", "ACTIVE", "PHOTO", "NAME", "CREATED", "BALANCE"};
+	private static final int[] TYPED_COLUMN_TYPES =
+		{BIGINT, DOUBLE, NUMERIC, BOOLEAN, VARBINARY, VARCHAR, TIMESTAMP, DECIMAL};
+	// more digits than a double can hold
+	private static final BigDecimal BALANCE = new BigDecimal("12345678901234567890.1234");
+
+	private MockExecutionContext context;
+
+	@After
+	public void tearDown() {
+		ExecutionThread.unset();
+		if (context != null) { context.cleanProject(); }
+	}
+
+	@Test
+	public void bulkInsert_ownConnection() {
+		FakeJdbc jdbc = new FakeJdbc("SQLite");
+		SimpleExtractionDao dao = newDao(jdbc, true);
+
+		JdbcResult result = dao.bulkInsert("T", COLUMNS, newRecords(ROWS).iterator());
+		Assert.assertFalse(result.getError(), result.hasError());
+		Assert.assertEquals(ROWS, result.getRowCount());
+		Assert.assertEquals(ROWS, jdbc.getInserted().size());
+		Assert.assertEquals(Arrays.asList(1L, "name1"), jdbc.getInserted().get(1));
+		Assert.assertEquals(Arrays.asList(2L, null), jdbc.getInserted().get(2));
+
+		// pragmas relaxed for the import and restored afterwards; connection returned to the pool
+		Assert.assertEquals(Arrays.asList("PRAGMA journal_mode=MEMORY",
+		                                  "PRAGMA synchronous=OFF",
+		                                  "setAutoCommit(false)",
+		                                  "commit",
+		                                  "setAutoCommit(true)",
+		                                  "PRAGMA journal_mode=DEFAULT",
+		                                  "PRAGMA synchronous=DEFAULT",
+		                                  "close"),
+		                    jdbc.getOperations());
+	}
+
+	@Test
+	public void bulkInsert_ownConnectionRollback() {
+		FakeJdbc jdbc = new FakeJdbc("H2");
+		jdbc.setFailOnBatch(2);
+		SimpleExtractionDao dao = newDao(jdbc, true);
+
+		JdbcResult result = dao.bulkInsert("T", COLUMNS, newRecords(ROWS).iterator());
+		Assert.assertTrue(result.hasError());
+		Assert.assertTrue(result.isRolledBack());
+		Assert.assertEquals(0, result.getRowCount());
+		Assert.assertEquals(Arrays.asList("setAutoCommit(false)", "rollback", "setAutoCommit(true)", "close"),
+		                    jdbc.getOperations());
+	}
+
+	@Test
+	public void bulkInsert_sharedTransaction() {
+		FakeJdbc jdbc = new FakeJdbc("SQLite");
+		SimpleExtractionDao dao = newDao(jdbc, false);
+
+		JdbcResult result = dao.bulkInsert("T", COLUMNS, newRecords(ROWS).iterator());
+		Assert.assertFalse(result.getError(), result.hasError());
+		Assert.assertEquals(ROWS, result.getRowCount());
+		Assert.assertEquals(ROWS, jdbc.getInserted().size());
+
+		// the transaction (and its connection) belongs to the user: no commit, no pragmas, not closed
+		Assert.assertEquals(Collections.emptyList(), jdbc.getOperations());
+		Assert.assertNotNull(dao.transactedConnection);
+	}
+
+	@Test
+	public void bulkInsert_sharedTransactionError() {
+		FakeJdbc jdbc = new FakeJdbc("SQLite");
+		jdbc.setFailOnBatch(2);
+		SimpleExtractionDao dao = newDao(jdbc, false);
+
+		JdbcResult result = dao.bulkInsert("T", COLUMNS, newRecords(ROWS).iterator());
+		Assert.assertTrue(result.hasError());
+		// left for the user to commit or roll back
+		Assert.assertFalse(result.isRolledBack());
+		Assert.assertEquals(Collections.emptyList(), jdbc.getOperations());
+	}
+
+	@Test
+	public void importResults_typed() {
+		FakeJdbc source = new FakeJdbc("H2");
+		source.setQueryResult(TYPED_COLUMNS, TYPED_COLUMN_TYPES, newTypedRows(ROWS));
+		FakeJdbc target = new FakeJdbc("SQLite");
+		List<String> ddl = new ArrayList<>();
+
+		JdbcResult result = importResults(source, target, ddl);
+		Assert.assertFalse(result.getError(), result.hasError());
+		Assert.assertEquals(ROWS, result.getRowCount());
+		Assert.assertEquals(1, ddl.size());
+		Assert.assertTrue(ddl.get(0), ddl.get(0).startsWith("CREATE TABLE IF NOT EXISTS T("));
+
+		// each value is bound as read, by its column type
+		List<List<Object>> inserted = target.getInserted();
+		Assert.assertEquals(ROWS, inserted.size());
+		List<Object> row = inserted.get(1);
+		Assert.assertEquals(1L, row.get(0));
+		Assert.assertEquals(1.5d, row.get(1));
+		Assert.assertEquals(new BigDecimal("10.25"), row.get(2));
+		Assert.assertEquals(Boolean.TRUE, row.get(3));
+		Assert.assertArrayEquals(new byte[]{1, 2}, (byte[]) row.get(4));
+		Assert.assertEquals("name1", row.get(5));
+		Assert.assertEquals("2021-01-02 03:04:05", row.get(6));
+		Assert.assertEquals(BALANCE, row.get(7));
+
+		// null stays null, regardless of column type
+		Assert.assertEquals(Arrays.asList(0L, null, null, null, null, null, null, null), inserted.get(0));
+		Assert.assertTrue(target.getOperations().contains("commit"));
+	}
+
+	@Test
+	public void importResults_insertError() {
+		FakeJdbc source = new FakeJdbc("H2");
+		source.setQueryResult(TYPED_COLUMNS, TYPED_COLUMN_TYPES, newTypedRows(ROWS));
+		FakeJdbc target = new FakeJdbc("SQLite");
+		target.setFailOnBatch(2);
+
+		JdbcResult result = importResults(source, target, new ArrayList<>());
+		Assert.assertTrue(result.hasError());
+		Assert.assertTrue(result.getError(), result.getError().contains("batch 2 failed"));
+		// nothing committed
+		Assert.assertEquals(0, result.getRowCount());
+		Assert.assertTrue(target.getOperations().contains("rollback"));
+		Assert.assertFalse(target.getOperations().contains("commit"));
+	}
+
+	@Test
+	public void resolveQueryParallelism() {
+		context = new MockExecutionContext();
+		context.setData(QUERY_PARALLELISM, 4);
+		SimpleExtractionDao dao = newQueryDao(null);
+
+		List<SqlComponent> queries = newQueries(3);
+		Assert.assertEquals(3, dao.resolveQueryParallelism(queries));
+		Assert.assertEquals(4, dao.resolveQueryParallelism(newQueries(6)));
+
+		// not all queries
+		List<SqlComponent> sqls = new ArrayList<>(queries);
+		sqls.add(new SqlComponent("UPDATE t SET a = 1"));
+		Assert.assertEquals(1, dao.resolveQueryParallelism(sqls));
+
+		// depends on the result of an earlier query
+		sqls = new ArrayList<>(queries);
+		sqls.add(new SqlComponent("-- nexial:q9\nSELECT * FROM t WHERE id = '${q1}.data[0].ID'"));
+		Assert.assertEquals(1, dao.resolveQueryParallelism(sqls));
+
+		// only one query
+		Assert.assertEquals(1, dao.resolveQueryParallelism(newQueries(1)));
+
+		// in a transaction
+		dao.setAutoCommit(false);
+		Assert.assertEquals(1, dao.resolveQueryParallelism(queries));
+		dao.setAutoCommit(true);
+
+		// not pooled
+		SimpleExtractionDao unpooled = newDao(new FakeJdbc("H2"), true);
+		unpooled.setContext(context);
+		Assert.assertEquals(1, unpooled.resolveQueryParallelism(queries));
+
+		// not enabled
+		context.setData(QUERY_PARALLELISM, 1);
+		Assert.assertEquals(1, dao.resolveQueryParallelism(queries));
+	}
+
+	@Test
+	public void executeConcurrently() {
+		context = new MockExecutionContext();
+		ExecutionThread.set(context);
+		List<SqlComponent> queries = newQueries(4);
+
+		context.setData(QUERY_PARALLELISM, 1);
+		JdbcOutcome sequential = newQueryDao(null).executeSqls(queries);
+		Assert.assertEquals(4, sequential.size());
+
+		// all 4 queries must be executing at the same time to get past the barrier
+		context.setData(QUERY_PARALLELISM, 4);
+		JdbcOutcome concurrent = newQueryDao(new CyclicBarrier(4)).executeSqls(queries);
+		Assert.assertNull(concurrent.getError(), concurrent.getError());
+
+		// same results, in the same order as the queries
+		Assert.assertEquals(sqlOf(sequential), sqlOf(concurrent));
+		Assert.assertEquals(queries.stream().map(SqlComponent::getSql).collect(Collectors.toList()), sqlOf(concurrent));
+		Assert.assertEquals(sequential.getNamedOutcome().keySet(), concurrent.getNamedOutcome().keySet());
+		Assert.assertEquals(sequential.getRowsAffected(), concurrent.getRowsAffected());
+		Assert.assertEquals(sequential.getError(), concurrent.getError());
+
+		for (int i = 0; i < queries.size(); i++) {
+			String varName = queries.get(i).getVarName();
+			JdbcResult result = concurrent.get(i);
+			Assert.assertSame(result, concurrent.get(varName));
+			Assert.assertEquals(sequential.get(i).getRowCount(), result.getRowCount());
+			// each result is assigned to its variable, and timed on its own
+			Assert.assertSame(result, context.getObjectData(varName));
+			Assert.assertTrue(result.getStartTime() >= concurrent.getStartTime());
+			Assert.assertTrue(result.getElapsedTime() >= 0);
+		}
+	}
+
+	private SimpleExtractionDao newQueryDao(CyclicBarrier barrier) {
+		SimpleExtractionDao dao = new SimpleExtractionDao() {
+			@Override
+			public JdbcResult executeSql(String sql, File saveTo) {
+				long startTime = System.currentTimeMillis();
+				if (barrier != null) {
+					try {
+						barrier.await(10, SECONDS);
+					} catch (Exception e) {
+						throw new RuntimeException("queries are not executed at the same time", e);
+					}
+				}
+
+				JdbcResult result = new JdbcResult(sql);
+				result.setRowCount(sql.length());
+				return result.setTiming(startTime);
+			}
+		};
+		// pooled and auto-commit, hence eligible for concurrent queries
+		dao.setDataSource(new BasicDataSource());
+		dao.setAutoCommit(true);
+		dao.setContext(context);
+		return dao;
+	}
+
+	private static List<SqlComponent> newQueries(int count) {
+		List<SqlComponent> queries = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			queries.add(new SqlComponent("-- nexial:q" + i + "\nSELECT * FROM t" + i + " WHERE a > " + i));
+		}
+		return queries;
+	}
+
+	private static List<String> sqlOf(JdbcOutcome outcome) {
+		return outcome.stream().map(JdbcResult::getSql).collect(Collectors.toList());
+	}
+
+	private JdbcResult importResults(FakeJdbc source, FakeJdbc target, List<String> ddl) {
+		context = new MockExecutionContext();
+
+		SimpleExtractionDao sourceDao = newDao(source, true);
+		sourceDao.setContext(context);
+
+		SimpleExtractionDao targetDao = new SimpleExtractionDao() {
+			@Override
+			public JdbcResult executeSql(String sql, File saveTo) {
+				ddl.add(sql);
+				return new JdbcResult(sql);
+			}
+		};
+		targetDao.setDataSource(target.newDataSource());
+		targetDao.setAutoCommit(true);
+		targetDao.setContext(context);
+
+		return sourceDao.importResults(new SqlComponent("SELECT * FROM SOURCE"), targetDao,
+		                               new SqliteTableSqlGenerator("T"));
+	}
+
+	private static List<Object[]> newTypedRows(int count) {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[]{0L, null, null, null, null, null, null, null});
+		for (int i = 1; i < count; i++) {
+			rows.add(new Object[]{(long) i, i + 0.5d, new BigDecimal("10.25"), i % 2 == 1, new byte[]{1, 2},
+			                      "name" + i, "2021-01-02 03:04:05", BALANCE});
+		}
+		return rows;
+	}
+
+	private static SimpleExtractionDao newDao(FakeJdbc jdbc, boolean autoCommit) {
+		SimpleExtractionDao dao = new SimpleExtractionDao();
+		dao.setDataSource(jdbc.newDataSource());
+		dao.setAutoCommit(autoCommit);
+		return dao;
+	}
+
+	private static List<Object[]> newRecords(int count) {
+		List<Object[]> records = new ArrayList<>();
+		for (int i = 0; i < count; i++) { records.add(new Object[]{(long) i, i % 2 == 0 ? null : "name" + i}); }
+		return records;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class CsvExtendedComparisonTest {
+	// enough rows for 4 chunks of at least MIN_CHUNK_SIZE rows each
+	private static final int ROWS = CsvExtendedComparison.MIN_CHUNK_SIZE * 4;
+
+	@Test
+	public void parallelSameAsSequential() throws Exception {
+		StringBuilder expected = new StringBuilder("ID,NAME,AMOUNT\n");
+		StringBuilder actual = new StringBuilder("ID,NAME,AMOUNT\n");
+		for (int i = 0; i < ROWS; i++) {
+			// every 1000th identity appears twice, so that some chunks might need to move past the same identity
+			String id = String.format("%06d", i % 1000 == 0 ? i + 1 : i);
+			expected.append(id).append(",name").append(i).append(",").append(i).append(".00\n");
+
+			if (i % 997 == 0) { continue; }
+			if (i % 501 == 0) { actual.append(String.format("%06d", i)).append("X,extra,0\n"); }
+			actual.append(id).append(",name").append(i % 313 == 0 ? "?" : "").append(i)
+			      .append(",").append(i % 211 == 0 ? i + 1 : i).append("\n");
+		}
+
+		CsvComparisonResult sequential = compare(expected.toString(), actual.toString(), 1);
+		CsvComparisonResult parallel = compare(expected.toString(), actual.toString(), 4);
+
+		Assert.assertTrue(sequential.getFailCount() > 0);
+		Assert.assertEquals(ROWS, parallel.getExpectedRowCount());
+		Assert.assertEquals(sequential.getExpectedRowCount(), parallel.getExpectedRowCount());
+		Assert.assertEquals(sequential.getActualRowCount(), parallel.getActualRowCount());
+		Assert.assertEquals(sequential.getFailCount(), parallel.getFailCount());
+		Assert.assertEquals(sequential.getFailedIdentities(), parallel.getFailedIdentities());
+		// same discrepancies, in the same order
+		Assert.assertEquals(sequential.getDiscrepancies(), parallel.getDiscrepancies());
+	}
+
+	private static CsvComparisonResult compare(String expected, String actual, int parallelism) throws Exception {
+		CsvExtendedComparison comparison = new CsvExtendedComparison();
+		comparison.setDelimiter(",");
+		comparison.setExpectedContent(expected);
+		comparison.setActualContent(actual);
+		comparison.setExpectedIdentityColumns(Collections.singletonList("ID"));
+		comparison.setActualIdentityColumns(Collections.singletonList("ID"));
+		comparison.setDisplayFields(Arrays.asList("ID", "NAME"));
+		comparison.setNumberFields(Collections.singletonList("AMOUNT"));
+		comparison.setParallelism(parallelism);
+		return comparison.compare();
+	}
+}
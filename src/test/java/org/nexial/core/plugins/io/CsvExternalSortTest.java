@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class CsvExternalSortTest {
+
+	@Test
+	public void sorted_inMemory() throws Exception {
+		try (CsvExternalSort sort = new CsvExternalSort(10)) {
+			sort.add(new String[]{"c", "1"});
+			sort.add(new String[]{"a", "2"});
+			sort.add(new String[]{"b", "3"});
+			sort.add(new String[]{"a", "4"});
+
+			Assert.assertEquals(4, sort.size());
+			Assert.assertEquals("a2,a4,b3,c1", join(sort.sorted()));
+		}
+	}
+
+	@Test
+	public void sorted_spilled() throws Exception {
+		Random random = new Random(7);
+		List<String[]> records = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			records.add(new String[]{"id" + random.nextInt(50), String.valueOf(i), i % 10 == 0 ? null : "é" + i});
+		}
+
+		try (CsvExternalSort sort = new CsvExternalSort(64)) {
+			for (String[] record : records) { sort.add(record); }
+
+			// stable sort, just like the in-memory sort
+			records.sort(Comparator.comparing(record -> record[0]));
+
+			Iterator<String[]> sorted = sort.sorted();
+			for (String[] expected : records) {
+				Assert.assertTrue(sorted.hasNext());
+				Assert.assertArrayEquals(expected, sorted.next());
+			}
+			Assert.assertFalse(sorted.hasNext());
+		}
+	}
+
+	private static String join(Iterator<String[]> records) {
+		StringBuilder buffer = new StringBuilder();
+		records.forEachRemaining(record -> buffer.append(record[0]).append(record[1]).append(","));
+		return buffer.substring(0, buffer.length() - 1);
+	}
+}
@@ -93,6 +93,30 @@ public class ExcelCommandTest {
         Assert.assertArrayEquals(new String[]{".", "l", ";", "'", "", ""}, twoDlist.get(3).toArray());
     }
 
+    @Test
+    public void csvMultipleRanges() throws Exception {
+        ExcelCommand command = new ExcelCommand();
+        command.init(context);
+
+        String excel = ResourceUtils.getResourceFilePath(resourceBasePath + "/" + CLASSNAME + "2.xlsx");
+        Assert.assertTrue(FileUtil.isFileReadable(excel));
+        String target = new File(excel).getParent() + "/" + CLASSNAME + "3.csv";
+
+        // records of each range follow those of the previous range; rows past the last row of the worksheet
+        // (A100:C101) are empty records, same as Worksheet.readRange()
+        StepResult result = command.csv(excel, "Sheet1", "A1:C2,A100:C101,E1:E2", target);
+        Assert.assertTrue(result.isSuccess());
+
+        File output = new File(target);
+        Assert.assertTrue(FileUtil.isFileReadable(output, 10));
+        Assert.assertEquals("A1,B1,C1\r\n" +
+                            "A2,B2,C2\r\n" +
+                            "\r\n" +
+                            "\r\n" +
+                            "E1\r\n" +
+                            "E2", FileUtils.readFileToString(output, DEF_FILE_ENCODING));
+    }
+
     @Test
     public void columnarCsv() throws Exception {
         ExcelCommand command = new ExcelCommand();
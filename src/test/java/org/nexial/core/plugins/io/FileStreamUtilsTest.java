@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.NexialConst.TEMP;
+
+public class FileStreamUtilsTest {
+	private final File fixture = new File(TEMP + this.getClass().getSimpleName() + ".txt");
+	private final File target = new File(TEMP + this.getClass().getSimpleName() + ".out.txt");
+
+	@After
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(fixture.toPath());
+		Files.deleteIfExists(target.toPath());
+	}
+
+	@Test
+	public void digest() throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 100000; i++) { content.append("line ").append(i).append('\n'); }
+		byte[] bytes = content.toString().getBytes(UTF_8);
+		Files.write(fixture.toPath(), bytes);
+
+		Assert.assertTrue(MessageDigest.isEqual(MessageDigest.getInstance("SHA-256").digest(bytes),
+		                                        FileStreamUtils.digest(fixture, MessageDigest.getInstance("SHA-256"))));
+	}
+
+	@Test
+	public void find() throws Exception {
+		Files.write(fixture.toPath(), "0123456789abcdefghij0123456789".getBytes(UTF_8));
+
+		// match across the chunk boundary
+		Assert.assertTrue(find("89ab", 10, 4));
+		Assert.assertTrue(find("j0", 10, 4));
+		Assert.assertFalse(find("xyz", 10, 4));
+
+		// start/end of input only at the start/end of the file
+		Assert.assertTrue(find("^0123", 10, 4));
+		Assert.assertFalse(find("^abc", 10, 4));
+		Assert.assertTrue(find("789$", 10, 4));
+		Assert.assertFalse(find("789a$", 10, 4));
+		Assert.assertFalse(find("ghij$", 10, 4));
+
+		// same as searching the entire content in one go
+		Assert.assertTrue(find("^0123.*789$", 100, 4));
+	}
+
+	@Test
+	public void allLinesMatch() throws Exception {
+		Files.write(fixture.toPath(), "apple\navocado\r\napricot".getBytes(UTF_8));
+		Assert.assertTrue(FileStreamUtils.allLinesMatch(fixture, UTF_8, line -> line.startsWith("a")));
+		Assert.assertFalse(FileStreamUtils.allLinesMatch(fixture, UTF_8, line -> line.startsWith("ap")));
+	}
+
+	@Test
+	public void replace() throws Exception {
+		StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < 200000; i++) {
+			buffer.append("${name} is ").append(i % 7 == 0 ? "aaa" : "bb").append('\n');
+		}
+		String content = buffer.toString();
+		Files.write(fixture.toPath(), content.getBytes(UTF_8));
+
+		Map<String, String> replacements = new LinkedHashMap<>();
+		replacements.put("${name}", "John");
+		replacements.put("aa", "a");
+		replacements.put("John is", "Jane is");
+		replacements.put("", "ignored");
+
+		String expected = content;
+		for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+			expected = StringUtils.replace(expected, replacement.getKey(), replacement.getValue());
+		}
+
+		FileStreamUtils.replace(fixture, target, UTF_8, replacements);
+		Assert.assertEquals(expected, new String(Files.readAllBytes(target.toPath()), UTF_8));
+
+		// in place
+		FileStreamUtils.replace(fixture, fixture, UTF_8, replacements);
+		Assert.assertEquals(expected, new String(Files.readAllBytes(fixture.toPath()), UTF_8));
+	}
+
+	private boolean find(String regex, int chunkSize, int overlap) throws Exception {
+		return FileStreamUtils.find(fixture, UTF_8, Pattern.compile(regex), chunkSize, overlap);
+	}
+}
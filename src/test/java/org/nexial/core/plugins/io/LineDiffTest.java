@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.plugins.io;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nexial.core.plugins.io.LineDiff.Edit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class LineDiffTest {
+
+	@Test
+	public void diff() {
+		List<String> expected = Arrays.asList("a", "b", "c", "d", "e");
+		List<String> actual = Arrays.asList("a", "c", "d", "x", "e", "f");
+
+		List<Edit> edits = LineDiff.diff(expected, actual);
+		Assert.assertEquals(3, edits.size());
+		assertEdit(edits.get(0), 1, 2, 1, 1);
+		assertEdit(edits.get(1), 4, 4, 3, 4);
+		assertEdit(edits.get(2), 5, 5, 5, 6);
+		Assert.assertEquals(actual, apply(expected, actual, edits));
+
+		Assert.assertTrue(LineDiff.diff(expected, expected).isEmpty());
+
+		edits = LineDiff.diff(expected, new ArrayList<>());
+		Assert.assertEquals(1, edits.size());
+		assertEdit(edits.get(0), 0, 5, 0, 0);
+	}
+
+	@Test
+	public void diff_normalized() {
+		List<String> expected = Arrays.asList("Hello World", "second line", "third");
+		List<String> actual = Arrays.asList("hello   world", "inserted", "second line", "third");
+
+		List<Edit> edits = LineDiff.diff(expected,
+		                                 actual,
+		                                 line -> StringUtils.lowerCase(StringUtils.deleteWhitespace(line)),
+		                                 LineDiff.DEF_MAX_EDIT_COST);
+		Assert.assertEquals(1, edits.size());
+		assertEdit(edits.get(0), 1, 1, 1, 2);
+	}
+
+	@Test
+	public void diff_random() {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			List<String> expected = randomLines(random, random.nextInt(30));
+			List<String> actual = randomLines(random, random.nextInt(30));
+			Assert.assertEquals(actual, apply(expected, actual, LineDiff.diff(expected, actual)));
+
+			// even when edit cost is capped, the edits remain correct
+			Assert.assertEquals(actual, apply(expected, actual, LineDiff.diff(expected, actual, s -> s, 2)));
+		}
+	}
+
+	@Test
+	public void diff_large() {
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) { expected.add("line " + i); }
+		List<String> actual = new ArrayList<>(expected);
+		actual.remove(50000);
+		actual.add(70000, "new line");
+		actual.set(90000, "changed line");
+
+		List<Edit> edits = LineDiff.diff(expected, actual);
+		Assert.assertEquals(3, edits.size());
+		assertEdit(edits.get(0), 50000, 50001, 50000, 50000);
+		assertEdit(edits.get(1), 70001, 70001, 70000, 70001);
+		assertEdit(edits.get(2), 90000, 90001, 90000, 90001);
+	}
+
+	@Test
+	public void findMoves() {
+		List<String> expected = Arrays.asList("a", "b", "c", "d");
+		List<String> actual = Arrays.asList("b", "c", "d", "a", "e");
+
+		List<Edit> edits = LineDiff.diff(expected, actual);
+		Map<Integer, Integer> moves = LineDiff.findMoves(expected, actual, edits);
+		Assert.assertEquals(1, moves.size());
+		Assert.assertEquals(Integer.valueOf(3), moves.get(0));
+	}
+
+	private static void assertEdit(Edit edit, int expectedStart, int expectedEnd, int actualStart, int actualEnd) {
+		Assert.assertEquals(edit.toString(), expectedStart, edit.getExpectedStart());
+		Assert.assertEquals(edit.toString(), expectedEnd, edit.getExpectedEnd());
+		Assert.assertEquals(edit.toString(), actualStart, edit.getActualStart());
+		Assert.assertEquals(edit.toString(), actualEnd, edit.getActualEnd());
+	}
+
+	/** rebuild ACTUAL from EXPECTED and the edits */
+	private static List<String> apply(List<String> expected, List<String> actual, List<Edit> edits) {
+		List<String> applied = new ArrayList<>();
+		int ePos = 0;
+		for (Edit edit : edits) {
+			applied.addAll(expected.subList(ePos, edit.getExpectedStart()));
+			applied.addAll(actual.subList(edit.getActualStart(), edit.getActualEnd()));
+			ePos = edit.getExpectedEnd();
+		}
+		applied.addAll(expected.subList(ePos, expected.size()));
+		return applied;
+	}
+
+	private static List<String> randomLines(Random random, int count) {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < count; i++) { lines.add(String.valueOf((char) ('a' + random.nextInt(4)))); }
+		return lines;
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.nexial.core.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nexial.core.NexialConst.TEMP;
+
+public class ParsedFileCacheTest {
+	private File fixture;
+
+	@Before
+	public void init() throws Exception {
+		ParsedFileCache.clear();
+		fixture = new File(TEMP + this.getClass().getSimpleName() + ".txt");
+		FileUtils.writeStringToFile(fixture, "hello world", UTF_8);
+		// move out of the window where timestamp alone cannot be trusted
+		fixture.setLastModified(System.currentTimeMillis() - 60000);
+	}
+
+	@After
+	public void tearDown() {
+		FileUtils.deleteQuietly(fixture);
+		ParsedFileCache.setMaxTotalSize(ParsedFileCache.DEF_MAX_TOTAL_SIZE);
+		ParsedFileCache.clear();
+	}
+
+	@Test
+	public void get() throws Exception {
+		AtomicInteger parsed = new AtomicInteger();
+		ParsedFileCache.Parser<String> parser = (file, content) -> {
+			parsed.incrementAndGet();
+			return new String(content, UTF_8).toUpperCase();
+		};
+
+		Assert.assertEquals("HELLO WORLD", ParsedFileCache.get(fixture, "upper", parser));
+		Assert.assertEquals("HELLO WORLD", ParsedFileCache.get(fixture, "upper", parser));
+		Assert.assertEquals(1, parsed.get());
+
+		// different kind, parsed separately
+		Assert.assertEquals("hello", ParsedFileCache.get(fixture, "first", (file, content) -> "hello"));
+		Assert.assertEquals(1, parsed.get());
+
+		// touched but not changed: no need to parse again
+		fixture.setLastModified(System.currentTimeMillis() - 30000);
+		Assert.assertEquals("HELLO WORLD", ParsedFileCache.get(fixture, "upper", parser));
+		Assert.assertEquals(1, parsed.get());
+
+		// changed: parse again
+		FileUtils.writeStringToFile(fixture, "hello again", UTF_8);
+		Assert.assertEquals("HELLO AGAIN", ParsedFileCache.get(fixture, "upper", parser));
+		Assert.assertEquals(2, parsed.get());
+
+		// changed without a change in timestamp or size, but within the window of unreliable timestamp
+		long lastModified = fixture.lastModified();
+		FileUtils.writeStringToFile(fixture, "hello there", UTF_8);
+		fixture.setLastModified(lastModified);
+		Assert.assertEquals("HELLO THERE", ParsedFileCache.get(fixture, "upper", parser));
+		Assert.assertEquals(3, parsed.get());
+	}
+
+	@Test
+	public void tooLargeToCache() throws Exception {
+		AtomicInteger parsed = new AtomicInteger();
+		ParsedFileCache.Parser<Integer> parser = (file, content) -> {
+			parsed.incrementAndGet();
+			return content.length;
+		};
+
+		Assert.assertEquals(11, (int) ParsedFileCache.get(fixture, "length", parser));
+		Assert.assertEquals(1, ParsedFileCache.size());
+
+		// grown beyond the limit: always parsed, and no longer cached
+		int length = (int) ParsedFileCache.MAX_CACHEABLE_SIZE + 1;
+		FileUtils.writeByteArrayToFile(fixture, new byte[length]);
+		fixture.setLastModified(System.currentTimeMillis() - 60000);
+		Assert.assertEquals(length, (int) ParsedFileCache.get(fixture, "length", parser));
+		Assert.assertEquals(length, (int) ParsedFileCache.get(fixture, "length", parser));
+		Assert.assertEquals(3, parsed.get());
+		Assert.assertEquals(0, ParsedFileCache.size());
+		Assert.assertEquals(0, ParsedFileCache.getHitCount());
+	}
+
+	@Test
+	public void boundedByTotalSize() throws Exception {
+		File[] files = new File[3];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = new File(TEMP + this.getClass().getSimpleName() + i + ".txt");
+			FileUtils.writeStringToFile(files[i], "0123456789", UTF_8);
+			files[i].setLastModified(System.currentTimeMillis() - 60000);
+		}
+
+		AtomicInteger parsed = new AtomicInteger();
+		ParsedFileCache.Parser<String> parser = (file, content) -> {
+			parsed.incrementAndGet();
+			return file.getName();
+		};
+
+		try {
+			// room for 2 of the 10-byte files
+			ParsedFileCache.setMaxTotalSize(25);
+			ParsedFileCache.get(files[0], "name", parser);
+			ParsedFileCache.get(files[1], "name", parser);
+			Assert.assertEquals(2, ParsedFileCache.size());
+			Assert.assertEquals(20, ParsedFileCache.totalSize());
+
+			// files[0] is now more recently used than files[1], which is evicted to make room for files[2]
+			ParsedFileCache.get(files[0], "name", parser);
+			ParsedFileCache.get(files[2], "name", parser);
+			Assert.assertEquals(3, parsed.get());
+			Assert.assertEquals(2, ParsedFileCache.size());
+			Assert.assertEquals(20, ParsedFileCache.totalSize());
+
+			ParsedFileCache.get(files[0], "name", parser);
+			Assert.assertEquals(3, parsed.get());
+			ParsedFileCache.get(files[1], "name", parser);
+			Assert.assertEquals(4, parsed.get());
+
+			// lowering the limit evicts right away
+			ParsedFileCache.setMaxTotalSize(15);
+			Assert.assertEquals(1, ParsedFileCache.size());
+			Assert.assertEquals(10, ParsedFileCache.totalSize());
+		} finally {
+			for (File file : files) { FileUtils.deleteQuietly(file); }
+		}
+	}
+
+	@Test
+	public void open() throws Exception {
+		try (InputStream content = ParsedFileCache.open(fixture)) {
+			Assert.assertEquals("hello world", IOUtils.toString(content, UTF_8));
+		}
+
+		// every stream starts from the beginning
+		try (InputStream content = ParsedFileCache.open(fixture)) {
+			Assert.assertEquals("hello world", IOUtils.toString(content, UTF_8));
+		}
+
+		Assert.assertEquals(1, ParsedFileCache.getMissCount());
+		Assert.assertEquals(1, ParsedFileCache.getHitCount());
+	}
+}
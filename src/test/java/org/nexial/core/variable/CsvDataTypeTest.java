@@ -19,6 +19,7 @@ package org.nexial.core.variable;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -218,4 +219,124 @@ public class CsvDataTypeTest {
                             "1^14^000003868^CN,000003868,769.5800,114.8000",
                             fixture.getTextValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void remove_rows_and_snapshot() throws Exception {
+        CsvDataType fixture = new CsvDataType("Name,Age\n" +
+                                              "John,29\n" +
+                                              "Mary,31\n" +
+                                              "Peter,45\n" +
+                                              "Sue,18\n");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setIndices(Collections.singletonList("Name"));
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        fixture.removeRows(2, 0);
+        Assert.assertEquals(2, fixture.getRowCount());
+        Assert.assertNull(fixture.retrieveFromCache("Name", "John"));
+        Assert.assertNotNull(fixture.retrieveFromCache("Name", "Sue"));
+        Assert.assertEquals("Name,Age\nMary,31\nSue,18", fixture.getTextValue());
+
+        // snapshot is not affected by subsequent changes
+        CsvDataType snapshot = fixture.snapshot();
+        fixture.sortAscending("Age");
+        Assert.assertEquals("Name,Age\nSue,18\nMary,31", fixture.stringify());
+        Assert.assertEquals("Name,Age\nMary,31\nSue,18", snapshot.stringify());
+    }
+
+    @Test
+    public void find_rows() throws Exception {
+        CsvDataType fixture = new CsvDataType("Name,Dept\n" +
+                                              "John,IT\n" +
+                                              "Mary,HR\n" +
+                                              "Peter,IT\n" +
+                                              "Sue,\"Ops\"\n");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        Assert.assertEquals(Arrays.asList(0, 2), fixture.findRows("Dept", Collections.singleton("IT")));
+        Assert.assertEquals(Arrays.asList(0, 1, 2),
+                            fixture.findRows("Dept", new HashSet<>(Arrays.asList("IT", "HR"))));
+        Assert.assertEquals(Collections.singletonList(3), fixture.findRows("Dept", Collections.singleton("Ops")));
+        Assert.assertNull(fixture.findRows("Location", Collections.singleton("IT")));
+
+        // index is discarded as records change
+        fixture.sortDescending("Name");
+        Assert.assertEquals(Arrays.asList(1, 3), fixture.findRows("Dept", Collections.singleton("IT")));
+        fixture.removeRows(0);
+        Assert.assertEquals(Arrays.asList(0, 2), fixture.findRows("Dept", Collections.singleton("IT")));
+    }
+
+    @Test
+    public void distinct_and_pack() throws Exception {
+        CsvDataType fixture = new CsvDataType("Name,Dept\n" +
+                                              "John,IT\n" +
+                                              "Mary,HR\n" +
+                                              " , \n" +
+                                              "John,IT\n" +
+                                              "Sue,Ops\n" +
+                                              "Mary,HR\n");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setIndices(Collections.singletonList("Name"));
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        transformer.distinct(fixture);
+        Assert.assertEquals(4, fixture.getRowCount());
+        Assert.assertEquals("Name,Dept\nJohn,IT\nMary,HR\n,\nSue,Ops", fixture.getTextValue());
+
+        transformer.pack(fixture);
+        Assert.assertEquals(3, fixture.getRowCount());
+        Assert.assertNotNull(fixture.retrieveFromCache("Name", "Sue"));
+        Assert.assertEquals("Name,Dept\nJohn,IT\nMary,HR\nSue,Ops", fixture.getTextValue());
+    }
+
+    @Test
+    public void restructure_columns() throws Exception {
+        CsvDataType fixture = new CsvDataType("Name,Age,Dept\n" +
+                                              "John,29,IT\n" +
+                                              "Mary,31,\"HR, Payroll\"\n");
+        fixture.setDelim(",");
+        fixture.setHeader(true);
+        fixture.setIndices(Collections.singletonList("Name"));
+        fixture.setRecordDelim("\n");
+        fixture.setReadyToParse(true);
+        fixture.parse();
+
+        // records are rebuilt with the new columns, and are accessible by the new headers
+        CsvTransformer<CsvDataType> transformer = new CsvTransformer<>();
+        transformer.reorder(fixture, "Dept", "Name");
+        Assert.assertEquals(Arrays.asList("Dept", "Name"), fixture.getHeaders());
+        Assert.assertEquals(2, fixture.getColumnCount());
+        Assert.assertEquals(2, fixture.getRowCount());
+        Record record = fixture.getValue().get(1);
+        Assert.assertEquals("HR, Payroll", record.getString("Dept"));
+        Assert.assertEquals("Mary", record.getString("Name"));
+        Assert.assertSame(record, fixture.retrieveFromCache("Name", "Mary"));
+        Assert.assertEquals("Dept,Name\nIT,John\n\"HR, Payroll\",Mary", fixture.getTextValue());
+
+        transformer.renameColumn(fixture, "Dept", "Department");
+        Assert.assertEquals("IT", fixture.getValue().get(0).getString("Department"));
+        Assert.assertEquals("Department,Name\nIT,John\n\"HR, Payroll\",Mary", fixture.getTextValue());
+
+        transformer.removeColumns(fixture, "Department");
+        Assert.assertEquals(1, fixture.getColumnCount());
+        Assert.assertEquals("John", fixture.getValue().get(0).getString("Name"));
+        Assert.assertEquals("Name\nJohn\nMary", fixture.getTextValue());
+
+        // the first transposed row becomes the header
+        transformer.transpose(fixture);
+        Assert.assertEquals(Arrays.asList("John", "Mary"), fixture.getHeaders());
+        Assert.assertEquals(0, fixture.getRowCount());
+        Assert.assertEquals("John,Mary", fixture.getTextValue());
+    }
+}